@@ -129,6 +129,7 @@ public interface Exchange {
     String FILTER_MATCHED       = "CamelFilterMatched";
     String FILE_LOCK_FILE_ACQUIRED   = "CamelFileLockFileAcquired"; 
     String FILE_LOCK_FILE_NAME  = "CamelFileLockFileName";
+    String FILE_ZERO_COPY       = "CamelFileZeroCopy";
 
     String GROUPED_EXCHANGE = "CamelGroupedExchange";
     
@@ -192,6 +193,7 @@ public interface Exchange {
     String SPLIT_INDEX        = "CamelSplitIndex";
     String SPLIT_COMPLETE     = "CamelSplitComplete";
     String SPLIT_SIZE         = "CamelSplitSize";
+    String STRIPED_PRODUCER_CACHE = "CamelStripedProducerCache";
 
     String TIMER_COUNTER         = "CamelTimerCounter";
     String TIMER_FIRED_TIME      = "CamelTimerFiredTime";
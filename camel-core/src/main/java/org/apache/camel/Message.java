@@ -153,6 +153,8 @@ public interface Message {
      * <p/>
      * <b>Important:</b> If you want to walk the returned {@link Map} and fetch all the keys and values, you should use
      * the {@link java.util.Map#entrySet()} method, which ensure you get the keys in the original case.
+     * The {@link org.apache.camel.impl.DefaultMessage DefaultMessage} returns the headers in the order they
+     * were added, and not sorted by their keys.
      *
      * @return all the headers in a Map
      */
@@ -132,4 +132,15 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[]{SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING});
     }
 
+    public static TabularType listThrottlerRatesTabularType() throws OpenDataException {
+        CompositeType ct = listThrottlerRatesCompositeType();
+        return new TabularType("listThrottlerRates", "Lists the current rate of the throttler for each correlation key", ct, new String[]{"key"});
+    }
+
+    public static CompositeType listThrottlerRatesCompositeType() throws OpenDataException {
+        return new CompositeType("rates", "Rates", new String[]{"key", "rate"},
+                new String[]{"Key", "Rate"},
+                new OpenType[]{SimpleType.STRING, SimpleType.LONG});
+    }
+
 }
@@ -29,6 +29,15 @@ public interface ManagedInflightRepositoryMBean extends ManagedServiceMBean {
     @ManagedOperation(description = "Current size of inflight exchanges which are from the given route.")
     int size(String routeId);
 
+    @ManagedOperation(description = "Duration in millis of the oldest inflight exchange which is from the given route.")
+    long oldestInflightDuration(String routeId);
+
+    @ManagedAttribute(description = "Whether the inflight exchanges are tracked so they can be browsed.")
+    boolean isInflightBrowseEnabled();
+
+    @ManagedAttribute(description = "Whether the inflight exchanges are tracked so they can be browsed.")
+    void setInflightBrowseEnabled(boolean inflightBrowseEnabled);
+
     @ManagedOperation(description = "Lists all the exchanges which are currently inflight")
     TabularData browse();
 
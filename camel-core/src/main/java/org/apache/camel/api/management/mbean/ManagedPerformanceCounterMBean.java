@@ -59,6 +59,21 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "50th Percentile Processing Time [milliseconds]")
+    long getP50ProcessingTime();
+
+    @ManagedAttribute(description = "99th Percentile Processing Time [milliseconds]")
+    long getP99ProcessingTime();
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time [milliseconds]")
+    long getP999ProcessingTime();
+
+    @ManagedAttribute(description = "Whether the latency histogram for percentile processing times is enabled")
+    boolean isLatencyHistogramEnabled();
+
+    @ManagedAttribute(description = "Whether the latency histogram for percentile processing times is enabled")
+    void setLatencyHistogramEnabled(boolean latencyHistogramEnabled);
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
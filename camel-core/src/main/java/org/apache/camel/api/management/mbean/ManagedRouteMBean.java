@@ -40,6 +40,9 @@ public interface ManagedRouteMBean extends ManagedPerformanceCounterMBean {
     @Deprecated
     Integer getInflightExchanges();
 
+    @ManagedAttribute(description = "Duration in millis of the oldest inflight Exchange")
+    Long getOldestInflightDuration();
+
     @ManagedAttribute(description = "Camel ID")
     String getCamelId();
 
@@ -31,6 +31,15 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Chiper used if writing with encryption")
     String getSpoolChiper();
 
+    @ManagedAttribute(description = "Whether spooled files are memory mapped when reading")
+    void setSpoolMemoryMapped(boolean memoryMapped);
+
+    @ManagedAttribute(description = "Whether spooled files are memory mapped when reading")
+    boolean isSpoolMemoryMapped();
+
+    @ManagedAttribute(description = "Maximum number of bytes of the off-heap buffer pool used before spooling to disk")
+    long getBufferPoolSize();
+
     @ManagedAttribute(description = "Threshold in bytes when overflow and spooling to disk instead of keeping in memory")
     void setSpoolThreshold(long threshold);
 
@@ -85,6 +94,21 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of StreamCache created using the off-heap buffer pool")
+    long getCacheBufferPoolCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached using the off-heap buffer pool")
+    long getCacheBufferPoolSize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for stream caches using the off-heap buffer pool.")
+    long getCacheBufferPoolAverageSize();
+
+    @ManagedAttribute(description = "Number of bytes currently in use from the off-heap buffer pool")
+    long getBufferPoolUsed();
+
+    @ManagedAttribute(description = "Number of spooled files currently in use")
+    long getSpoolFilesInUse();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
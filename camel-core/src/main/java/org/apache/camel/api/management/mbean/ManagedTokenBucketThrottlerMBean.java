@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedTokenBucketThrottlerMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "Maximum requires per period")
+    long getMaximumRequestsPerPeriod();
+
+    @ManagedAttribute(description = "Maximum requires per period")
+    void setMaximumRequestsPerPeriod(long maximumRequestsPerPeriod);
+
+    @ManagedAttribute(description = "Time period in millis")
+    long getTimePeriodMillis();
+
+    @ManagedAttribute(description = "Time period in millis")
+    void setTimePeriodMillis(long timePeriodMillis);
+
+    @ManagedAttribute(description = "Number of exchanges currently throttled")
+    int getThrottledCount();
+
+    @ManagedAttribute(description = "Correlation expression used to throttle per key")
+    String getCorrelationExpression();
+
+    @ManagedAttribute(description = "Maximum number of correlation keys to keep a bucket for")
+    int getMaximumKeys();
+
+    @ManagedAttribute(description = "Current number of correlation keys which has a bucket")
+    int getKeyCount();
+
+    @ManagedAttribute(description = "Number of exchanges let through during the last time period")
+    long getCurrentRate();
+
+    @ManagedOperation(description = "Lists the number of exchanges let through during the last time period for each correlation key")
+    TabularData currentRates();
+
+}
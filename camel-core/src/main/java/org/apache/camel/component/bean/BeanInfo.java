@@ -50,6 +50,7 @@ import org.apache.camel.language.LanguageAnnotation;
 import org.apache.camel.spi.Registry;
 import org.apache.camel.util.CastUtils;
 import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StringQuoteHelper;
 import org.slf4j.Logger;
@@ -63,6 +64,7 @@ public class BeanInfo {
     private static final Logger LOG = LoggerFactory.getLogger(BeanInfo.class);
     private static final String CGLIB_CLASS_SEPARATOR = "$$";
     private static final List<Method> EXCLUDED_METHODS = new ArrayList<Method>();
+    private static final int CHOSEN_METHOD_CACHE_SIZE = 1000;
     private final CamelContext camelContext;
     private final BeanComponent component;
     private final Class<?> type;
@@ -75,6 +77,9 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithCustomAnnotation = new ArrayList<MethodInfo>();
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<MethodInfo>();
     private Map<Method, MethodInfo> methodMap = new HashMap<Method, MethodInfo>();
+    private boolean hasHandlerAnnotation;
+    // the methods chosen for the message body types, so we do not need to choose the method for every message
+    private Map<ChosenMethodKey, MethodInfo> chosenMethods;
 
     static {
         // exclude all java.lang.Object methods as we dont want to invoke them
@@ -121,6 +126,8 @@ public class BeanInfo {
             operationsWithCustomAnnotation = beanInfo.operationsWithCustomAnnotation;
             operationsWithHandlerAnnotation = beanInfo.operationsWithHandlerAnnotation;
             methodMap = beanInfo.methodMap;
+            hasHandlerAnnotation = beanInfo.hasHandlerAnnotation;
+            chosenMethods = beanInfo.chosenMethods;
             return;
         }
 
@@ -152,6 +159,8 @@ public class BeanInfo {
         operationsWithCustomAnnotation = Collections.unmodifiableList(operationsWithCustomAnnotation);
         operationsWithHandlerAnnotation = Collections.unmodifiableList(operationsWithHandlerAnnotation);
         methodMap = Collections.unmodifiableMap(methodMap);
+        hasHandlerAnnotation = !operationsWithHandlerAnnotation.isEmpty();
+        chosenMethods = new LRUCache<ChosenMethodKey, MethodInfo>(16, CHOSEN_METHOD_CACHE_SIZE, false);
 
         // add new bean info to cache
         component.addBeanInfoToCache(key, this);
@@ -250,7 +259,7 @@ public class BeanInfo {
 
                     // but first let's try to choose a method and see if that complies with the name
                     // must use the method name which may have qualifiers
-                    methodInfo = chooseMethod(pojo, exchange, methodName);
+                    methodInfo = chooseMethodUsingCache(pojo, exchange, methodName);
 
                     // validate that if we want an explicit no-arg method, then that's what we get
                     if (emptyParameters) {
@@ -272,7 +281,7 @@ public class BeanInfo {
 
         if (methodInfo == null) {
             // no name or type
-            methodInfo = chooseMethod(pojo, exchange, null);
+            methodInfo = chooseMethodUsingCache(pojo, exchange, null);
         }
         if (methodInfo == null) {
             methodInfo = defaultMethod;
@@ -286,6 +295,30 @@ public class BeanInfo {
         return null;
     }
 
+    /**
+     * Chooses the method to invoke, using the method which was chosen before for a message body of the same type.
+     * <p/>
+     * The method is only cached if it was chosen without converting the message body, as whether the body
+     * can be converted depends on its value and not only its type.
+     */
+    private MethodInfo chooseMethodUsingCache(Object pojo, Exchange exchange, String name) throws AmbiguousMethodCallException {
+        Object body = exchange.getIn().getBody();
+        boolean exception = exchange.getException() != null || exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class) != null;
+        ChosenMethodKey key = new ChosenMethodKey(body != null ? body.getClass() : null,
+                exchange.getPattern().isOutCapable(), exception, name);
+
+        MethodInfo answer = chosenMethods.get(key);
+        if (answer == null) {
+            answer = chooseMethod(pojo, exchange, name);
+            if (answer != null && exchange.getIn().getBody() == body) {
+                chosenMethods.put(key, answer);
+            }
+        } else {
+            LOG.trace("Using cached chosen method: {} for key: {}", answer, key);
+        }
+        return answer;
+    }
+
     /**
      * Introspects the given class
      *
@@ -1088,6 +1121,13 @@ public class BeanInfo {
         return false;
     }
 
+    /**
+     * Whether any of the methods has the {@link Handler} annotation.
+     */
+    public boolean hasAnyMethodHandlerAnnotation() {
+        return hasHandlerAnnotation;
+    }
+
     /**
      * Gets the list of methods sorted by A..Z method name.
      *
@@ -1146,4 +1186,48 @@ public class BeanInfo {
         return null;
     }
 
+    /**
+     * Key for the methods chosen for the messages, which contains what the choice depends on.
+     */
+    private static final class ChosenMethodKey {
+        private final Class<?> bodyType;
+        private final boolean outCapable;
+        private final boolean exception;
+        private final String name;
+
+        private ChosenMethodKey(Class<?> bodyType, boolean outCapable, boolean exception, String name) {
+            this.bodyType = bodyType;
+            this.outCapable = outCapable;
+            this.exception = exception;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChosenMethodKey)) {
+                return false;
+            }
+            ChosenMethodKey that = (ChosenMethodKey) o;
+            return bodyType == that.bodyType && outCapable == that.outCapable && exception == that.exception
+                    && ObjectHelper.equal(name, that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = bodyType != null ? bodyType.hashCode() : 0;
+            result = 31 * result + (outCapable ? 1 : 0);
+            result = 31 * result + (exception ? 1 : 0);
+            result = 31 * result + (name != null ? name.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "ChosenMethodKey[" + bodyType + ", " + outCapable + ", " + exception + ", " + name + "]";
+        }
+    }
+
 }
@@ -140,8 +140,9 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
         }
 
         // set temporary header which is a hint for the bean info that introspect the bean
-        if (in.getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) == null) {
-            in.setHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, isMultiParameterArray());
+        // (no need to set the header if false, as that is the default)
+        if (isMultiParameterArray() && in.getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) == null) {
+            in.setHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, true);
         }
 
         MethodInvocation invocation;
@@ -238,13 +239,6 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
         // don't allow if any of the methods has a @Handler annotation
         // as the @Handler annotation takes precedence and is supposed to trigger invocation
         // of the given method
-        for (MethodInfo method : info.getMethods()) {
-            if (method.hasHandlerAnnotation()) {
-                return false;
-            }
-        }
-
-        // fallback and allow using the processor
-        return true;
+        return !info.hasAnyMethodHandlerAnnotation();
     }
 }
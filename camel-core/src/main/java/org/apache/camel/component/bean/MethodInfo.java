@@ -36,6 +36,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Expression;
 import org.apache.camel.ExpressionEvaluationException;
+import org.apache.camel.Message;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Pattern;
 import org.apache.camel.Processor;
@@ -418,32 +419,33 @@ public class MethodInfo {
         LOG.trace("Creating parameters expression for {} parameters", size);
 
         final Expression[] expressions = new Expression[size];
+        final Class<?>[] parameterTypes = new Class<?>[size];
         for (int i = 0; i < size; i++) {
             Expression parameterExpression = parameters.get(i).getExpression();
             expressions[i] = parameterExpression;
+            parameterTypes[i] = parameters.get(i).getType();
             LOG.trace("Parameter #{} has expression: {}", i, parameterExpression);
         }
         return new Expression() {
             @SuppressWarnings("unchecked")
             public <T> T evaluate(Exchange exchange, Class<T> type) {
                 Object[] answer = new Object[size];
-                Object body = exchange.getIn().getBody();
-                boolean multiParameterArray = false;
-                if (exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) != null) {
-                    multiParameterArray = exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, Boolean.class);
-                    if (multiParameterArray) {
-                        // Just change the message body to an Object array
-                        if (!(body instanceof Object[])) {
-                            body = exchange.getIn().getBody(Object[].class);
-                        }
-                    }
+                Message in = exchange.getIn();
+                Object body = in.getBody();
+                boolean multiParameterArray = isMultiParameterArray(in);
+                if (multiParameterArray && !(body instanceof Object[])) {
+                    // Just change the message body to an Object array
+                    body = in.getBody(Object[].class);
                 }
 
                 // if there was an explicit method name to invoke, then we should support using
                 // any provided parameter values in the method name
-                String methodName = exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME, "", String.class);
-                // the parameter values is between the parenthesis
-                String methodParameters = ObjectHelper.between(methodName, "(", ")");
+                String methodParameters = null;
+                if (size > 0) {
+                    String methodName = in.getHeader(Exchange.BEAN_METHOD_NAME, "", String.class);
+                    // the parameter values is between the parenthesis
+                    methodParameters = ObjectHelper.between(methodName, "(", ")");
+                }
                 // use an iterator to walk the parameter values
                 Iterator<?> it = null;
                 if (methodParameters != null) {
@@ -457,14 +459,16 @@ public class MethodInfo {
                 // we need to do this before the expressions gets evaluated as it may contain
                 // a @Bean expression which would by mistake read these headers. So the headers
                 // must be removed at this point of time
-                exchange.getIn().removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
-                exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
+                if (in.hasHeaders()) {
+                    in.removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+                    in.removeHeader(Exchange.BEAN_METHOD_NAME);
+                }
 
                 for (int i = 0; i < size; i++) {
                     // grab the parameter value for the given index
                     Object parameterValue = it != null && it.hasNext() ? it.next() : null;
                     // and the expected parameter type
-                    Class<?> parameterType = parameters.get(i).getType();
+                    Class<?> parameterType = parameterTypes[i];
                     // the value for the parameter to use
                     Object value = null;
 
@@ -623,6 +627,19 @@ public class MethodInfo {
         };
     }
 
+    /**
+     * Whether the message body holds the parameter values as an array
+     */
+    private static boolean isMultiParameterArray(Message in) {
+        Object header = in.getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+        if (header == null) {
+            return false;
+        } else if (header instanceof Boolean) {
+            return (Boolean) header;
+        }
+        return in.getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, Boolean.class);
+    }
+
     /**
      * Finds the oneway annotation in priority order; look for method level annotations first, then the class level annotations,
      * then super class annotations then interface annotations
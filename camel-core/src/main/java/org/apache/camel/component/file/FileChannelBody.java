@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.camel.util.IOHelper;
+
+/**
+ * A message body which represents the content of a local file, which network producers can send
+ * using zero-copy, such as {@link FileChannel#transferTo(long, long, WritableByteChannel)}, instead of
+ * reading the content of the file into memory.
+ * <p/>
+ * A {@link GenericFile} from the file component (or a {@link File}) can be converted to this type, as long the
+ * file is a local file without an explicit charset configured. This type can be converted to an {@link InputStream},
+ * {@link File} or <tt>byte[]</tt>, so producers which do not support zero-copy fallback to streaming the file.
+ * <p/>
+ * The length of the file is determined when this body is created, so any content appended to the file
+ * afterwards is not included.
+ *
+ * @version 
+ */
+public final class FileChannelBody {
+
+    private final File file;
+    private final long length;
+
+    public FileChannelBody(File file) {
+        this.file = file;
+        this.length = file.length();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Opens a new {@link FileChannel} for reading the file, which the caller <b>must</b> close after usage.
+     */
+    public FileChannel openChannel() throws IOException {
+        return new FileInputStream(file).getChannel();
+    }
+
+    /**
+     * Opens a new {@link InputStream} for reading the file, which the caller <b>must</b> close after usage.
+     */
+    public InputStream openInputStream() throws IOException {
+        return IOHelper.buffered(new FileInputStream(file));
+    }
+
+    /**
+     * Transfers the content of the file to the given channel, using zero-copy if supported by the operating system.
+     *
+     * @param target the channel to write to
+     * @return the number of bytes transferred
+     * @throws IOException is thrown if error transferring the content
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        FileChannel channel = openChannel();
+        try {
+            long position = 0;
+            // the channel may transfer fewer bytes than requested, so keep going until done
+            while (position < length) {
+                long transferred = channel.transferTo(position, length - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return position;
+        } finally {
+            IOHelper.close(channel, "file channel", null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileChannelBody[" + file + "]";
+    }
+}
@@ -17,11 +17,23 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.Processor;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -29,7 +41,11 @@ import org.apache.camel.util.ObjectHelper;
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    // the maximum number of listed files which are waiting to be validated when scanning in parallel
+    private static final int SCAN_QUEUE_SIZE = 1000;
+
     private String endpointPath;
+    private ExecutorService scanExecutorService;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -105,9 +121,146 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return true;
     }
 
+    @Override
+    protected boolean isStreamingScan() {
+        return getEndpoint().isStreamingScan() && endpoint.getSorter() == null && endpoint.getSortBy() == null;
+    }
+
+    @Override
+    protected int streamDirectory(String fileName) throws Exception {
+        File directory = new File(fileName);
+        if (!directory.exists() || !directory.isDirectory()) {
+            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+            if (getEndpoint().isDirectoryMustExist()) {
+                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+            }
+            return 0;
+        }
+
+        StreamingBatch batch = new StreamingBatch();
+        try {
+            if (scanExecutorService != null && endpoint.isRecursive()) {
+                scanDirectoryParallel(directory, batch);
+            } else {
+                scanDirectory(directory, batch, 0);
+            }
+        } catch (Exception e) {
+            batch.abort();
+            throw e;
+        }
+        return batch.done();
+    }
+
+    /**
+     * Scans the directory using a {@link DirectoryStream} so the files are processed as they are found.
+     *
+     * @return whether or not to continue scanning, <tt>false</tt> means no more files should be found
+     */
+    private boolean scanDirectory(File directory, StreamingBatch batch, int depth) throws IOException {
+        log.trace("Scanning directory: {}", directory.getPath());
+        depth++;
+
+        DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath());
+        try {
+            for (Path path : stream) {
+                GenericFile<File> gf = asGenericFile(endpointPath, path.toFile(), getEndpoint().getCharset());
+                if (gf.isDirectory()) {
+                    if (isValidSubDirectory(gf, depth) && !scanDirectory(gf.getFile(), batch, depth)) {
+                        return false;
+                    }
+                } else if (depth >= endpoint.minDepth && isValidFile(gf, false, null) && !batch.add(gf)) {
+                    return false;
+                }
+            }
+        } finally {
+            IOHelper.close(stream, "directory stream", log);
+        }
+        return true;
+    }
+
+    /**
+     * Scans the directory where the sub directories are listed concurrently by the scan thread pool, and the
+     * listed files are validated and processed by this thread, so filters etc. does not need to be thread safe.
+     */
+    private void scanDirectoryParallel(File directory, StreamingBatch batch) throws Exception {
+        BlockingQueue<ScanEntry> queue = new LinkedBlockingQueue<ScanEntry>(SCAN_QUEUE_SIZE);
+        AtomicBoolean stopped = new AtomicBoolean();
+        // the sub directories waiting to be listed, where we only submit as many listers as the parallelism
+        // so the thread pool never rejects a lister, and the deepest directories are listed first
+        Deque<ScanEntry> pendingDirectories = new ArrayDeque<ScanEntry>();
+        int parallelism = getEndpoint().getScanParallelism();
+
+        scanExecutorService.submit(new DirectoryLister(directory, 1, queue, stopped));
+        int activeListers = 1;
+        try {
+            while (activeListers > 0) {
+                ScanEntry entry = queue.poll(1000, TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    // the listers are stopped when we are stopping
+                    if (!isRunAllowed()) {
+                        return;
+                    }
+                } else if (entry.file == null) {
+                    // the directory has been listed
+                    activeListers--;
+                    if (entry.cause != null) {
+                        throw entry.cause;
+                    }
+                } else if (entry.file.isDirectory()) {
+                    if (isValidSubDirectory(entry.file, entry.depth)) {
+                        pendingDirectories.add(entry);
+                    }
+                } else if (entry.depth >= endpoint.minDepth && isValidFile(entry.file, false, null) && !batch.add(entry.file)) {
+                    return;
+                }
+
+                while (activeListers < parallelism && !pendingDirectories.isEmpty()) {
+                    ScanEntry next = pendingDirectories.pollLast();
+                    scanExecutorService.submit(new DirectoryLister(next.file.getFile(), next.depth + 1, queue, stopped));
+                    activeListers++;
+                }
+            }
+        } finally {
+            // let the listers stop, which will discard the remainder files as they have not been validated
+            stopped.set(true);
+            queue.clear();
+        }
+    }
+
+    private boolean isValidSubDirectory(GenericFile<File> directory, int depth) {
+        return endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(directory, true, null);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().isStreamingScan() && getEndpoint().getScanParallelism() > 1 && scanExecutorService == null) {
+            scanExecutorService = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newFixedThreadPool(this, "FileScanner[" + endpointPath + "]", getEndpoint().getScanParallelism());
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (scanExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(scanExecutorService);
+            scanExecutorService = null;
+        }
+        super.doStop();
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
         String onlyName = FileUtil.stripPath(doneFileName);
+        if (files == null) {
+            // the files in the directory are not gathered when streaming, so check the file system instead
+            File doneFile = new File(file.getFile().getParentFile(), onlyName);
+            if (!doneFile.exists()) {
+                log.trace("Done file: {} does not exist", doneFileName);
+                return false;
+            }
+            return true;
+        }
         // the done file name must be among the files
         for (File f : files) {
             if (f.getName().equals(onlyName)) {
@@ -173,4 +326,70 @@ public class FileConsumer extends GenericFileConsumer<File> {
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
+
+    /**
+     * A file found when scanning in parallel, or the end of a directory if the file is <tt>null</tt>.
+     */
+    private static final class ScanEntry {
+        private final GenericFile<File> file;
+        private final int depth;
+        private final Exception cause;
+
+        private ScanEntry(GenericFile<File> file, int depth, Exception cause) {
+            this.file = file;
+            this.depth = depth;
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Lists a single directory, and passes on the files found to the consumer thread.
+     */
+    private final class DirectoryLister implements Runnable {
+        private final File directory;
+        private final int depth;
+        private final BlockingQueue<ScanEntry> queue;
+        private final AtomicBoolean stopped;
+
+        private DirectoryLister(File directory, int depth, BlockingQueue<ScanEntry> queue, AtomicBoolean stopped) {
+            this.directory = directory;
+            this.depth = depth;
+            this.queue = queue;
+            this.stopped = stopped;
+        }
+
+        public void run() {
+            log.trace("Scanning directory: {}", directory.getPath());
+            Exception cause = null;
+            DirectoryStream<Path> stream = null;
+            try {
+                stream = Files.newDirectoryStream(directory.toPath());
+                for (Path path : stream) {
+                    GenericFile<File> gf = asGenericFile(endpointPath, path.toFile(), getEndpoint().getCharset());
+                    if (!offer(new ScanEntry(gf, depth, null))) {
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                cause = e;
+            } finally {
+                IOHelper.close(stream, "directory stream", log);
+            }
+            offer(new ScanEntry(null, depth, cause));
+        }
+
+        private boolean offer(ScanEntry entry) {
+            try {
+                // wait for the consumer thread to catch up, unless the scan is stopped
+                while (!stopped.get()) {
+                    if (queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
 }
@@ -44,6 +44,10 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean renameUsingCopy;
     @UriParam(defaultValue = "true")
     private boolean forceWrites = true;
+    @UriParam(defaultValue = "false")
+    private boolean streamingScan;
+    @UriParam(defaultValue = "1")
+    private int scanParallelism = 1;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -194,4 +198,31 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setForceWrites(boolean forceWrites) {
         this.forceWrites = forceWrites;
     }
+
+    public boolean isStreamingScan() {
+        return streamingScan;
+    }
+
+    /**
+     * Whether the consumer should process the files while scanning the directories, instead of gathering
+     * all the files before processing them. The scan stops as soon as <tt>maxMessagesPerPoll</tt> files has been found.
+     * <p/>
+     * This is only in use if no sorting is configured, as all files must be gathered before they can be sorted.
+     */
+    public void setStreamingScan(boolean streamingScan) {
+        this.streamingScan = streamingScan;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * Sets the number of threads which list the directories concurrently when <tt>streamingScan</tt>
+     * and <tt>recursive</tt> is enabled, which can speedup scanning deep directory trees.
+     * The files are still validated and processed by the consumer thread.
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
 }
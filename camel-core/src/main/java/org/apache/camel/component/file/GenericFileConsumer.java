@@ -108,9 +108,21 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             return 0;
         }
 
+        String name = endpoint.getConfiguration().getDirectory();
+
+        // process the files while scanning the directories, if they do not need to be gathered first
+        if (isStreamingScan()) {
+            StopWatch watch = new StopWatch();
+            int polledMessages = streamDirectory(name);
+            if (log.isDebugEnabled()) {
+                log.debug("Took {} to poll and process {} files: {}", new Object[]{TimeUtils.printDuration(watch.stop()), polledMessages, name});
+            }
+            postPollCheck();
+            return polledMessages;
+        }
+
         // gather list of files to process
         List<GenericFile<T>> files = new ArrayList<GenericFile<T>>();
-        String name = endpoint.getConfiguration().getDirectory();
 
         // time how long time it takes to poll
         StopWatch stop = new StopWatch();
@@ -289,6 +301,54 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         // noop
     }
 
+    /**
+     * Whether the files should be processed using {@link #streamDirectory(String)} one at a time,
+     * instead of gathering all the files using {@link #pollDirectory(String, java.util.List, int)} and
+     * processing them as a batch.
+     * <p/>
+     * This is only possible if the files does not need to be sorted. Is <tt>false</tt> by default.
+     */
+    protected boolean isStreamingScan() {
+        return false;
+    }
+
+    /**
+     * Scans the given directory for files, and processes the files using a {@link StreamingBatch}.
+     * <p/>
+     * By default the files are gathered using {@link #pollDirectory(String, java.util.List, int)} first,
+     * and then processed one at a time. Override to process the files while scanning the directories.
+     *
+     * @param fileName the starting directory
+     * @return the number of files which was processed
+     * @throws Exception is thrown if error scanning the directory
+     */
+    protected int streamDirectory(String fileName) throws Exception {
+        List<GenericFile<T>> files = new ArrayList<GenericFile<T>>();
+        try {
+            pollDirectory(fileName, files, 0);
+        } catch (Exception e) {
+            removeExcessiveInProgressFiles(files);
+            throw e;
+        }
+
+        StreamingBatch batch = new StreamingBatch();
+        int index = 0;
+        try {
+            while (index < files.size()) {
+                if (!batch.add(files.get(index++))) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            batch.abort();
+            throw e;
+        } finally {
+            // the files which was not added to the batch is no longer in progress
+            removeExcessiveInProgressFiles(files.subList(index, files.size()));
+        }
+        return batch.done();
+    }
+
     /**
      * Polls the given directory for files to process
      *
@@ -505,6 +565,13 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected boolean isValidFile(GenericFile<T> file, boolean isDirectory, List<T> files) {
         String absoluteFilePath = file.getAbsoluteFilePath();
 
+        // skip files which has not changed since they were consumed, before doing any more costly checks
+        GenericFileIndex index = endpoint.getIndex();
+        if (!isDirectory && index != null && index.isUnchanged(file)) {
+            log.trace("File is unchanged since it was consumed. Will skip this file: {}", file);
+            return false;
+        }
+
         if (!isMatched(file, isDirectory, files)) {
             log.trace("File did not match. Will skip this file: {}", file);
             return false;
@@ -662,6 +729,102 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         return fileExpressionResult;
     }
 
+    /**
+     * Processes the files of a streaming scan one by one as they are found.
+     * <p/>
+     * A file is processed when the next file is found (or the scan is done), so the last file can be marked as
+     * completing the batch. As the total number of files is not known while scanning, the {@link Exchange#BATCH_SIZE}
+     * is the number of files found so far, which is only the final size on the last exchange.
+     */
+    protected final class StreamingBatch {
+        private Exchange previous;
+        private int found;
+        private int index;
+        private int processed;
+
+        /**
+         * Adds the next valid file, which has been added to the in progress repository.
+         *
+         * @param file the file
+         * @return <tt>true</tt> to continue scanning, <tt>false</tt> to stop as no more files should be added
+         */
+        public boolean add(GenericFile<T> file) {
+            Exchange exchange = endpoint.createExchange(file);
+            endpoint.configureExchange(exchange);
+            endpoint.configureMessage(file, exchange.getIn());
+            found++;
+
+            if (previous != null) {
+                if (!isBatchAllowed()) {
+                    discard(previous);
+                    discard(exchange);
+                    previous = null;
+                    return false;
+                }
+                process(previous, false);
+            }
+            previous = exchange;
+
+            // no sorting so we can stop as soon as we hit the limit
+            return isBatchAllowed() && (maxMessagesPerPoll <= 0 || found < maxMessagesPerPoll);
+        }
+
+        /**
+         * The scan is done, so the last file is processed.
+         *
+         * @return the number of files which was processed
+         */
+        public int done() {
+            if (previous != null) {
+                if (isBatchAllowed()) {
+                    process(previous, true);
+                } else {
+                    discard(previous);
+                }
+                previous = null;
+            }
+            if (found > 0) {
+                log.debug("Total {} files found while scanning", found);
+            }
+            return processed;
+        }
+
+        /**
+         * The scan failed, so the file which has not been processed is removed from the in progress repository.
+         */
+        public void abort() {
+            if (previous != null) {
+                discard(previous);
+                previous = null;
+            }
+        }
+
+        private void process(Exchange exchange, boolean last) {
+            exchange.setProperty(Exchange.BATCH_INDEX, index);
+            exchange.setProperty(Exchange.BATCH_SIZE, last ? index + 1 : found);
+            exchange.setProperty(Exchange.BATCH_COMPLETE, last);
+            index++;
+
+            // the next file is pending while we process this file
+            pendingExchanges = last ? 0 : 1;
+
+            boolean started;
+            if (customProcessor != null) {
+                started = customProcessExchange(exchange, customProcessor);
+            } else {
+                started = processExchange(exchange);
+            }
+            if (started) {
+                processed++;
+            }
+        }
+
+        private void discard(Exchange exchange) {
+            GenericFile<?> file = exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE, GenericFile.class);
+            endpoint.getInProgressRepository().remove(file.getAbsoluteFilePath());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private GenericFile<T> getExchangeFileProperty(Exchange exchange) {
         return (GenericFile<T>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
@@ -52,6 +52,11 @@ public final class GenericFileConverter {
         // use a fallback type converter so we can convert the embedded body if the value is GenericFile
         if (GenericFile.class.isAssignableFrom(value.getClass())) {
 
+            // a file is only sent as-is if genericFileToFileChannelBody allows it
+            if (type == FileChannelBody.class) {
+                return null;
+            }
+
             GenericFile<?> file = (GenericFile<?>) value;
             Class<?> from = file.getBody().getClass();
 
@@ -162,6 +167,43 @@ public final class GenericFileConverter {
         return null;
     }
 
+    @Converter
+    public static FileChannelBody genericFileToFileChannelBody(GenericFile<?> file, Exchange exchange) {
+        // only a local file without an explicit charset can be sent as-is
+        if (file.getFile() instanceof File && file.getCharset() == null) {
+            return fileToFileChannelBody((File) file.getFile());
+        }
+        return null;
+    }
+
+    @Converter
+    public static FileChannelBody fileToFileChannelBody(File file) {
+        if (file.isFile()) {
+            return new FileChannelBody(file);
+        }
+        return null;
+    }
+
+    @Converter
+    public static InputStream fileChannelBodyToInputStream(FileChannelBody body) throws IOException {
+        return body.openInputStream();
+    }
+
+    @Converter
+    public static String fileChannelBodyToString(FileChannelBody body, Exchange exchange) throws IOException {
+        return IOConverter.toString(body.getFile(), exchange);
+    }
+
+    @Converter
+    public static File fileChannelBodyToFile(FileChannelBody body) {
+        return body.getFile();
+    }
+
+    @Converter
+    public static byte[] fileChannelBodyToByteArray(FileChannelBody body) throws IOException {
+        return IOConverter.toByteArray(body.getFile());
+    }
+
     private static BufferedReader genericFileToReader(GenericFile<?> file, Exchange exchange) throws IOException, NoTypeConversionAvailableException {
         if (file.getFile() instanceof File) {
             // prefer to use a file input stream if its a java.io.File
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.file;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.file.attribute.PosixFilePermission;
@@ -127,6 +128,9 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     @UriParam
     protected IdempotentRepository<String> idempotentRepository;
     @UriParam
+    protected String indexFile;
+    protected GenericFileIndex index;
+    @UriParam
     protected GenericFileFilter<T> filter;
     @UriParam
     protected AntPathMatcherGenericFileFilter<T> antFilter;
@@ -580,6 +584,31 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
         this.idempotentRepository = idempotentRepository;
     }
 
+    public String getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Sets the file name of a persistent index of the consumed files, which allows the consumer to skip files
+     * which has not changed since they were consumed, also after a restart.
+     * <p/>
+     * Each endpoint must use its own index file. The files which are in progress are not stored in the index.
+     */
+    public void setIndexFile(String indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    public GenericFileIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets a custom index of the consumed files, to be used instead of creating one from {@link #setIndexFile(String)}.
+     */
+    public void setIndex(GenericFileIndex index) {
+        this.index = index;
+    }
+
     public GenericFileFilter<T> getFilter() {
         return filter;
     }
@@ -1027,7 +1056,14 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
 
     @Override
     protected void doStart() throws Exception {
+        if (index == null && indexFile != null) {
+            index = new GenericFileIndex(new File(indexFile));
+        }
         ServiceHelper.startServices(inProgressRepository, idempotentRepository);
+        if (index != null) {
+            // add the index as a service so its enlisted in JMX
+            getCamelContext().addService(index, false);
+        }
         super.doStart();
     }
 
@@ -1035,5 +1071,9 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     protected void doStop() throws Exception {
         super.doStop();
         ServiceHelper.stopServices(inProgressRepository, idempotentRepository);
+        if (index != null) {
+            getCamelContext().removeService(index);
+            ServiceHelper.stopService(index);
+        }
     }
 }
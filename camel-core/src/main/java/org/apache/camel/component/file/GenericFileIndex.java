@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.processor.idempotent.MappedFileIdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * A persistent index of the files which has been consumed by a {@link GenericFileConsumer}, which allows
+ * the consumer to skip files which has not changed since they were consumed, without having to run the
+ * filters and the idempotent checks on every poll.
+ * <p/>
+ * A file is identified by its absolute path, its length and its last modified timestamp, as captured
+ * when the directory was scanned. The index is kept in a memory mapped {@link MappedFileIdempotentRepository}
+ * so it does not take up heap, and it survives a restart, so a consumer which leaves the files in place
+ * (such as with <tt>noop=true</tt>) quickly resumes where it left off.
+ * <p/>
+ * Notice that a new file which has the same name, length and last modified timestamp as a file which has
+ * been consumed before, is regarded as unchanged and is skipped.
+ * <p/>
+ * Only the consumed files are persisted. The files which are in progress are tracked by the in-progress repository
+ * of the endpoint, which is kept in memory, so a file which was in progress when the consumer was stopped
+ * is consumed again after a restart.
+ * <p/>
+ * An index file can only be used by one endpoint at a time, and starting a second index with the same index file
+ * fails. Use a separate index file per endpoint.
+ *
+ * @version 
+ */
+@ManagedResource(description = "Managed GenericFileIndex")
+public class GenericFileIndex extends ServiceSupport {
+
+    private final MappedFileIdempotentRepository repository;
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    public GenericFileIndex(File indexFile) {
+        ObjectHelper.notNull(indexFile, "indexFile");
+        this.repository = new MappedFileIdempotentRepository(indexFile);
+    }
+
+    /**
+     * Whether the file has been consumed before and has not changed since.
+     *
+     * @param file the file
+     * @return <tt>true</tt> if the file is unchanged and should be skipped
+     */
+    public boolean isUnchanged(GenericFile<?> file) {
+        scanned.incrementAndGet();
+        if (repository.contains(keyFor(file))) {
+            skipped.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the file to the index, after it has been consumed.
+     *
+     * @param file the file
+     */
+    public void add(GenericFile<?> file) {
+        repository.add(keyFor(file));
+    }
+
+    /**
+     * Removes the file from the index, so it will be consumed again.
+     *
+     * @param file the file
+     */
+    public void remove(GenericFile<?> file) {
+        repository.remove(keyFor(file));
+    }
+
+    protected static String keyFor(GenericFile<?> file) {
+        // the path is first as it may contain the separator
+        return file.getAbsoluteFilePath() + ":" + file.getFileLength() + ":" + file.getLastModified();
+    }
+
+    public MappedFileIdempotentRepository getRepository() {
+        return repository;
+    }
+
+    @ManagedAttribute(description = "The file path for the index")
+    public String getIndexFile() {
+        return repository.getFilePath();
+    }
+
+    @ManagedAttribute(description = "The number of files in the index")
+    public int getSize() {
+        return repository.getSize();
+    }
+
+    @ManagedAttribute(description = "The maximum number of files to keep in the index")
+    public int getMaxEntries() {
+        return repository.getMaxEntries();
+    }
+
+    /**
+     * Sets the maximum number of files to keep in the index, the oldest files are discarded when the
+     * index is compacted.
+     * <p/>
+     * The default is 1000000.
+     */
+    @ManagedAttribute(description = "The maximum number of files to keep in the index")
+    public void setMaxEntries(int maxEntries) {
+        repository.setMaxEntries(maxEntries);
+    }
+
+    @ManagedAttribute(description = "The number of files checked against the index")
+    public long getScannedCount() {
+        return scanned.get();
+    }
+
+    @ManagedAttribute(description = "The number of unchanged files which was skipped")
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+
+    @ManagedAttribute(description = "The ratio of files which was skipped as they were unchanged")
+    public double getSkipRatio() {
+        // read skipped first so the ratio is never above 1
+        long skip = skipped.get();
+        long scan = scanned.get();
+        return scan > 0 ? (double) skip / scan : 0d;
+    }
+
+    @ManagedOperation(description = "Reset the scan statistics")
+    public void resetStatistics() {
+        scanned.set(0);
+        skipped.set(0);
+    }
+
+    @ManagedOperation(description = "Clears the index so all files will be consumed again")
+    public void clear() throws Exception {
+        repository.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "GenericFileIndex[" + repository.getFilePath() + "]";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(repository);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(repository);
+    }
+}
@@ -117,6 +117,11 @@ public class GenericFileOnCompletion<T> implements Synchronization {
             }
         }
 
+        // and add to the index as the file has been consumed
+        if (endpoint.getIndex() != null) {
+            endpoint.getIndex().add(file);
+        }
+
         handleDoneFile(exchange);
 
         try {
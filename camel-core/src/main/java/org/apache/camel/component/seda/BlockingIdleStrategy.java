@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Implementation of {@link IdleStrategy} which blocks on the queue for up to the poll timeout.
+ * <p/>
+ * This is the default strategy, which uses no CPU while idle, but the consumer thread has to be woken up
+ * by the producer when a new exchange arrives.
+ */
+public class BlockingIdleStrategy implements IdleStrategy {
+
+    @Override
+    public Exchange poll(BlockingQueue<Exchange> queue, long pollTimeout, int idleCount) throws InterruptedException {
+        return queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "blocking";
+    }
+}
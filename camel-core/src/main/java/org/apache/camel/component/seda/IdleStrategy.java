@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Strategy for how a {@link SedaConsumer} waits for the next {@link Exchange} when the queue is empty.
+ * <p/>
+ * The consumer calls the strategy in a loop until an exchange is returned, and checks whether it should stop
+ * between the calls, so a strategy should not wait longer than the poll timeout.
+ *
+ * @see BlockingIdleStrategy
+ * @see ParkIdleStrategy
+ * @see SpinYieldIdleStrategy
+ */
+public interface IdleStrategy {
+
+    /**
+     * Polls the next exchange from the queue, waiting according to this strategy if the queue is empty.
+     *
+     * @param queue       the queue
+     * @param pollTimeout the poll timeout in millis configured on the endpoint
+     * @param idleCount   the number of polls in a row which did not return an exchange
+     * @return the exchange, or <tt>null</tt> if no exchange was available
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Exchange poll(BlockingQueue<Exchange> queue, long pollTimeout, int idleCount) throws InterruptedException;
+
+}
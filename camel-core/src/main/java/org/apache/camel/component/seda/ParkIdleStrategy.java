@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Implementation of {@link IdleStrategy} which polls the queue without blocking, and parks the consumer thread
+ * when the queue is empty. The park time is doubled for each poll in a row which did not return an exchange,
+ * from the minimum up to the maximum park time.
+ * <p/>
+ * The producers never have to wake up the consumer thread, at the cost of up to the maximum park time
+ * of added latency when the consumer has been idle.
+ */
+public class ParkIdleStrategy implements IdleStrategy {
+
+    private final long minParkNanos;
+    private final long maxParkNanos;
+
+    public ParkIdleStrategy() {
+        this(TimeUnit.MICROSECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public ParkIdleStrategy(long minParkNanos, long maxParkNanos) {
+        this.minParkNanos = minParkNanos;
+        this.maxParkNanos = maxParkNanos;
+    }
+
+    public long getMinParkNanos() {
+        return minParkNanos;
+    }
+
+    public long getMaxParkNanos() {
+        return maxParkNanos;
+    }
+
+    @Override
+    public Exchange poll(BlockingQueue<Exchange> queue, long pollTimeout, int idleCount) throws InterruptedException {
+        Exchange exchange = queue.poll();
+        if (exchange == null) {
+            long max = Math.min(maxParkNanos, TimeUnit.MILLISECONDS.toNanos(pollTimeout));
+            // avoid overflow when shifting as the idle count keeps growing
+            long park = idleCount < 32 ? minParkNanos << idleCount : max;
+            LockSupport.parkNanos(Math.max(1, Math.min(park, max)));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return exchange;
+    }
+
+    @Override
+    public String toString() {
+        return "park";
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.camel.Component;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.UriEndpointComponent;
+import org.apache.camel.util.EndpointHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +39,8 @@ public class SedaComponent extends UriEndpointComponent {
     protected final int maxConcurrentConsumers = 500;
     protected int queueSize;
     protected int defaultConcurrentConsumers = 1;
+    protected int defaultMaxDrainSize = 1;
+    private IdleStrategy defaultIdleStrategy;
     private final Map<String, QueueReference> queues = new HashMap<String, QueueReference>();
     private BlockingQueueFactory<Exchange> defaultQueueFactory = new LinkedBlockingQueueFactory<Exchange>();
 
@@ -65,6 +68,22 @@ public class SedaComponent extends UriEndpointComponent {
         return defaultConcurrentConsumers;
     }
 
+    public void setMaxDrainSize(int maxDrainSize) {
+        defaultMaxDrainSize = maxDrainSize;
+    }
+
+    public int getMaxDrainSize() {
+        return defaultMaxDrainSize;
+    }
+
+    public IdleStrategy getIdleStrategy() {
+        return defaultIdleStrategy;
+    }
+
+    public void setIdleStrategy(IdleStrategy idleStrategy) {
+        defaultIdleStrategy = idleStrategy;
+    }
+
     public BlockingQueueFactory<Exchange> getDefaultQueueFactory() {
         return defaultQueueFactory;
     }
@@ -173,10 +192,33 @@ public class SedaComponent extends UriEndpointComponent {
         } else {
             answer = createEndpoint(uri, this, queue, consumers);
         }
+        answer.setMaxDrainSize(getAndRemoveParameter(parameters, "maxDrainSize", Integer.class, defaultMaxDrainSize));
+        IdleStrategy idleStrategy = resolveAndRemoveIdleStrategy(parameters);
+        if (idleStrategy != null) {
+            answer.setIdleStrategy(idleStrategy);
+        }
         answer.configureProperties(parameters);
         return answer;
     }
 
+    /**
+     * Resolves the idle strategy which can either be one of the names <tt>blocking</tt>, <tt>park</tt>,
+     * <tt>spinYield</tt> or a reference to an {@link IdleStrategy} in the registry.
+     */
+    protected IdleStrategy resolveAndRemoveIdleStrategy(Map<String, Object> parameters) {
+        String value = getAndRemoveParameter(parameters, "idleStrategy", String.class);
+        if (value == null) {
+            return defaultIdleStrategy;
+        } else if ("blocking".equals(value)) {
+            return new BlockingIdleStrategy();
+        } else if ("park".equals(value)) {
+            return new ParkIdleStrategy();
+        } else if ("spinYield".equals(value)) {
+            return new SpinYieldIdleStrategy();
+        }
+        return EndpointHelper.resolveReferenceParameter(getCamelContext(), value, IdleStrategy.class);
+    }
+
     protected SedaEndpoint createEndpoint(String endpointUri, Component component, BlockingQueueFactory<Exchange> queueFactory, int concurrentConsumers) {
         return new SedaEndpoint(endpointUri, component, queueFactory, concurrentConsumers);
     }
@@ -16,11 +16,11 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
@@ -31,12 +31,14 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.SuspendableService;
+import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.LoggingExceptionHandler;
 import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -56,6 +58,8 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // exchanges which has been taken from the queue, but not yet processed
+    private final AtomicInteger inHand = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
@@ -64,11 +68,15 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private final int maxDrainSize;
+    private final IdleStrategy idleStrategy;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.maxDrainSize = endpoint.getMaxDrainSize();
+        this.idleStrategy = endpoint.getIdleStrategy() != null ? endpoint.getIdleStrategy() : new BlockingIdleStrategy();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -101,11 +109,11 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
     public int getPendingExchangesSize() {
         // the route is shutting down, so either we should purge the queue,
-        // or return how many exchanges are still on the queue
+        // or return how many exchanges are still on the queue, or taken from the queue but not yet processed
         if (endpoint.isPurgeWhenStopping()) {
             endpoint.purgeQueue();
         }
-        return endpoint.getQueue().size();
+        return endpoint.getQueue().size() + inHand.get();
     }
 
     @Override
@@ -152,6 +160,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
+        int idleCount = 0;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && (isRunAllowed())) {
 
@@ -187,35 +196,49 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
             Exchange exchange = null;
             try {
-                // use the end user configured poll timeout
-                exchange = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+                // use the end user configured poll timeout and idle strategy
+                exchange = idleStrategy.poll(queue, pollTimeout, idleCount);
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Polled queue {} with timeout {} ms. -> {}", new Object[]{ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange});
                 }
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
+                    idleCount = 0;
+                    if (maxDrainSize > 1) {
+                        // take the exchanges which are already on the queue as well
+                        List<Exchange> exchanges = new ArrayList<Exchange>(Math.min(maxDrainSize, 64));
+                        exchanges.add(exchange);
+                        queue.drainTo(exchanges, maxDrainSize - 1);
+                        inHand.addAndGet(exchanges.size());
+                        if (endpoint.isRecordingDrains()) {
+                            endpoint.onDrained(queue.size() + exchanges.size(), exchanges.size());
+                        }
+                        if (endpoint.isDrainAsGroupedExchange()) {
+                            try {
+                                processGroupedExchange(exchanges);
+                            } finally {
+                                inHand.addAndGet(-exchanges.size());
+                            }
                         } else {
-                            exchange.setIn(newExchange.getIn());
+                            for (Exchange drained : exchanges) {
+                                try {
+                                    processExchange(drained);
+                                } finally {
+                                    inHand.decrementAndGet();
+                                }
+                            }
                         }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+                    } else {
+                        if (endpoint.isRecordingDrains()) {
+                            endpoint.onDrained(queue.size() + 1, 1);
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                        processExchange(exchange);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
                     break;
+                } else if (idleCount < Integer.MAX_VALUE) {
+                    idleCount++;
                 }
             } catch (InterruptedException e) {
                 LOG.debug("Sleep interrupted, are we stopping? {}", isStopping() || isStopped());
@@ -233,6 +256,95 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         LOG.debug("Ending this polling consumer thread, there are still {} consumer threads left.", latch.getCount());
     }
 
+    /**
+     * Processes the exchange taken from the queue, and copies the result back to the exchange
+     *
+     * @param exchange the exchange taken from the queue
+     */
+    private void processExchange(Exchange exchange) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    /**
+     * Processes the exchanges taken from the queue as a single exchange, which holds the exchanges
+     * in the {@link Exchange#GROUPED_EXCHANGE} property.
+     * <p/>
+     * The exchanges are done when the grouped exchange is done, and fails if the grouped exchange failed.
+     * Exchanges which expects a reply are not grouped, as the grouped exchange cannot reply to them, and they
+     * fail instead.
+     *
+     * @param drained the exchanges taken from the queue
+     */
+    private void processGroupedExchange(List<Exchange> drained) {
+        final List<Exchange> exchanges = new ArrayList<Exchange>(drained.size());
+        final List<Exchange> copies = new ArrayList<Exchange>(drained.size());
+        for (Exchange exchange : drained) {
+            if (ExchangeHelper.isOutCapable(exchange)) {
+                rejectGroupedExchange(exchange);
+            } else {
+                exchanges.add(exchange);
+                copies.add(prepareExchange(exchange));
+            }
+        }
+        if (copies.isEmpty()) {
+            return;
+        }
+
+        final Exchange grouped = new DefaultExchange(endpoint);
+        grouped.setProperty(Exchange.GROUPED_EXCHANGE, copies);
+        grouped.setProperty(Exchange.BATCH_SIZE, copies.size());
+        // the grouped exchanges is done when the unit of work of the grouped exchange is done
+        grouped.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                for (int i = 0; i < copies.size(); i++) {
+                    Exchange copy = copies.get(i);
+                    if (exchange.getException() != null) {
+                        copy.setException(exchange.getException());
+                        exchanges.get(i).setException(exchange.getException());
+                    }
+                    UnitOfWorkHelper.doneSynchronizations(copy, copy.handoverCompletions(), LOG);
+                }
+            }
+        });
+
+        try {
+            sendToConsumers(grouped);
+            // log exception if an exception occurred and was not handled
+            if (grouped.getException() != null) {
+                getExceptionHandler().handleException("Error processing grouped exchange", grouped, grouped.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing grouped exchange", grouped, e);
+        }
+    }
+
+    private void rejectGroupedExchange(Exchange exchange) {
+        exchange.setException(new IllegalArgumentException("Exchange with pattern " + exchange.getPattern()
+                + " expects a reply, which is not supported when drainAsGroupedExchange is enabled on " + endpoint));
+        getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+        // done the exchange so any waiting producer is notified about the failure
+        UnitOfWorkHelper.doneSynchronizations(exchange, exchange.handoverCompletions(), LOG);
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -37,6 +37,7 @@ import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.impl.DefaultEndpoint;
+import org.apache.camel.management.mbean.LatencyHistogram;
 import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.spi.BrowsableEndpoint;
 import org.apache.camel.spi.UriEndpoint;
@@ -85,8 +86,18 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
 
     @UriParam
     private boolean failIfNoConsumers;
+    @UriParam(defaultValue = "1")
+    private int maxDrainSize = 1;
+    @UriParam(defaultValue = "false")
+    private boolean drainAsGroupedExchange;
+    @UriParam(defaultValue = "blocking")
+    private IdleStrategy idleStrategy = new BlockingIdleStrategy();
+    @UriParam(defaultValue = "false")
+    private boolean drainStatisticsEnabled;
 
     private BlockingQueueFactory<Exchange> queueFactory;
+    private volatile LatencyHistogram queueDepthHistogram;
+    private volatile LatencyHistogram drainSizeHistogram;
 
     public SedaEndpoint() {
         queueFactory = new LinkedBlockingQueueFactory<Exchange>();
@@ -326,6 +337,130 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
         this.purgeWhenStopping = purgeWhenStopping;
     }
 
+    @ManagedAttribute(description = "Maximum number of exchanges a consumer takes from the queue at once")
+    public int getMaxDrainSize() {
+        return maxDrainSize;
+    }
+
+    /**
+     * Sets the maximum number of exchanges a consumer takes from the queue each time it wakes up.
+     * <p/>
+     * The default is <tt>1</tt>, by which the consumer takes one exchange at a time.
+     */
+    public void setMaxDrainSize(int maxDrainSize) {
+        this.maxDrainSize = maxDrainSize;
+    }
+
+    @ManagedAttribute(description = "Whether the drained exchanges are routed as a single grouped exchange")
+    public boolean isDrainAsGroupedExchange() {
+        return drainAsGroupedExchange;
+    }
+
+    /**
+     * Sets whether the exchanges drained at once (see {@link #setMaxDrainSize(int)}) are routed as a single
+     * exchange, which holds the exchanges as a {@link java.util.List} in the {@link Exchange#GROUPED_EXCHANGE} property.
+     * <p/>
+     * The default is <tt>false</tt>, by which the drained exchanges are routed one by one.
+     * <p/>
+     * The grouped exchange has no reply for the individual exchanges, and therefore exchanges which expect a reply
+     * (eg {@link org.apache.camel.ExchangePattern#InOut}) are not grouped, but fail with an
+     * {@link IllegalArgumentException}.
+     */
+    public void setDrainAsGroupedExchange(boolean drainAsGroupedExchange) {
+        this.drainAsGroupedExchange = drainAsGroupedExchange;
+    }
+
+    public IdleStrategy getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    /**
+     * Sets the strategy for how the consumers wait for exchanges when the queue is empty.
+     * <p/>
+     * The default is {@link BlockingIdleStrategy}.
+     */
+    public void setIdleStrategy(IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
+    @ManagedAttribute(description = "Strategy for how the consumers wait when the queue is empty")
+    public String getIdleStrategyName() {
+        return idleStrategy != null ? idleStrategy.toString() : null;
+    }
+
+    @ManagedAttribute(description = "Whether the queue depth and drain size statistics are enabled")
+    public boolean isDrainStatisticsEnabled() {
+        return drainStatisticsEnabled;
+    }
+
+    /**
+     * Sets whether to record the queue depth and the number of exchanges taken from the queue
+     * each time a consumer wakes up.
+     * <p/>
+     * The default is <tt>false</tt>, unless latency histograms are enabled on the
+     * {@link org.apache.camel.spi.ManagementStrategy}.
+     */
+    @ManagedAttribute(description = "Whether the queue depth and drain size statistics are enabled")
+    public void setDrainStatisticsEnabled(boolean drainStatisticsEnabled) {
+        this.drainStatisticsEnabled = drainStatisticsEnabled;
+        if (!drainStatisticsEnabled) {
+            drainSizeHistogram = null;
+            queueDepthHistogram = null;
+        } else if (drainSizeHistogram == null) {
+            queueDepthHistogram = new LatencyHistogram();
+            drainSizeHistogram = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the queue depth and the number of exchanges a consumer took from the queue when it woke up
+     */
+    void onDrained(int queueDepth, int drainSize) {
+        LatencyHistogram depth = queueDepthHistogram;
+        LatencyHistogram size = drainSizeHistogram;
+        if (depth != null && size != null) {
+            depth.recordValue(queueDepth);
+            size.recordValue(drainSize);
+        }
+    }
+
+    /**
+     * Whether {@link #onDrained(int, int)} records anything, so the consumers can avoid computing the queue depth.
+     */
+    boolean isRecordingDrains() {
+        return drainSizeHistogram != null;
+    }
+
+    @ManagedAttribute(description = "Number of times the consumers took exchanges from the queue")
+    public long getDrainCount() {
+        LatencyHistogram size = drainSizeHistogram;
+        return size != null ? size.getTotalCount() : 0;
+    }
+
+    @ManagedOperation(description = "Queue depth at the given percentile, sampled when the consumers took exchanges from the queue")
+    public long queueDepthAtPercentile(double percentile) {
+        LatencyHistogram depth = queueDepthHistogram;
+        return depth != null ? depth.getValueAtPercentile(percentile) : 0;
+    }
+
+    @ManagedOperation(description = "Number of exchanges taken from the queue at once at the given percentile")
+    public long drainSizeAtPercentile(double percentile) {
+        LatencyHistogram size = drainSizeHistogram;
+        return size != null ? size.getValueAtPercentile(percentile) : 0;
+    }
+
+    @ManagedOperation(description = "Resets the queue depth and drain size statistics")
+    public void resetDrainStatistics() {
+        LatencyHistogram depth = queueDepthHistogram;
+        LatencyHistogram size = drainSizeHistogram;
+        if (depth != null) {
+            depth.reset();
+        }
+        if (size != null) {
+            size.reset();
+        }
+    }
+
     @ManagedAttribute(description = "Singleton")
     public boolean isSingleton() {
         return true;
@@ -489,6 +624,11 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
             queue = getQueue();
         }
 
+        // record the drain statistics along with the latency histograms
+        if (!drainStatisticsEnabled && getCamelContext().getManagementStrategy().isLatencyHistogramEnabled()) {
+            setDrainStatisticsEnabled(true);
+        }
+
         // special for unit testing where we can set a system property to make seda poll faster
         // and therefore also react faster upon shutdown, which makes overall testing faster of the Camel project
         String override = System.getProperty("CamelSedaPollTimeout", "" + getPollTimeout());
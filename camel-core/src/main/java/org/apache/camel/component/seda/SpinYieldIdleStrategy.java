@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Implementation of {@link IdleStrategy} which polls the queue without blocking, and busy spins for a number
+ * of polls when the queue is empty, then yields the consumer thread for a number of polls, and then blocks
+ * on the queue for up to the poll timeout as the {@link BlockingIdleStrategy}.
+ * <p/>
+ * This gives the lowest latency for bursts of exchanges, at the cost of using CPU while spinning, so it
+ * should only be used when there are more cores than busy threads.
+ */
+public class SpinYieldIdleStrategy implements IdleStrategy {
+
+    private final int maxSpins;
+    private final int maxYields;
+
+    public SpinYieldIdleStrategy() {
+        this(100, 100);
+    }
+
+    public SpinYieldIdleStrategy(int maxSpins, int maxYields) {
+        this.maxSpins = maxSpins;
+        this.maxYields = maxYields;
+    }
+
+    public int getMaxSpins() {
+        return maxSpins;
+    }
+
+    public int getMaxYields() {
+        return maxYields;
+    }
+
+    @Override
+    public Exchange poll(BlockingQueue<Exchange> queue, long pollTimeout, int idleCount) throws InterruptedException {
+        if (idleCount >= maxSpins + maxYields) {
+            return queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+        }
+        Exchange exchange = queue.poll();
+        if (exchange == null && idleCount >= maxSpins) {
+            Thread.yield();
+        }
+        return exchange;
+    }
+
+    @Override
+    public String toString() {
+        return "spinYield";
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An {@link InputStream} which reads from a number of {@link ByteBuffer}s without copying the buffers,
+ * such as direct buffers from the stream caching buffer pool, or a memory mapped file.
+ * <p/>
+ * The content of each buffer is from its position to its limit. The stream only uses its own views of the buffers,
+ * so the same buffers can be read by many streams.
+ */
+class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer[] buffers;
+    private final long length;
+    private int index;
+
+    ByteBufferInputStream(ByteBuffer... buffers) {
+        this.buffers = new ByteBuffer[buffers.length];
+        long total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            // use a read-only view of the buffer so we do not affect the original buffer
+            this.buffers[i] = buffers[i].slice().asReadOnlyBuffer();
+            total += this.buffers[i].remaining();
+        }
+        this.length = total;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buffer = nextBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        return buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = nextBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                break;
+            }
+            int count = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkValid();
+        long answer = 0;
+        for (int i = index; i < buffers.length; i++) {
+            answer += buffers[i].remaining();
+        }
+        return (int) Math.min(answer, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.position(0);
+        }
+        index = 0;
+    }
+
+    /**
+     * Writes the remaining content to the given output, which is done directly from the buffers
+     * if the output is a {@link WritableByteChannel}.
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        checkValid();
+        WritableByteChannel out;
+        if (os instanceof WritableByteChannel) {
+            out = (WritableByteChannel) os;
+        } else {
+            out = Channels.newChannel(os);
+        }
+        for (int i = index; i < buffers.length; i++) {
+            ByteBuffer buffer = buffers[i].duplicate();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Checks whether the buffers can still be read, which allows sub classes to fail if the buffers has been released.
+     */
+    protected void checkValid() throws IOException {
+        // noop
+    }
+
+    private ByteBuffer nextBuffer() throws IOException {
+        checkValid();
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+
+}
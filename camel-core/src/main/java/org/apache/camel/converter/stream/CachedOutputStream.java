@@ -43,6 +43,9 @@ import org.slf4j.LoggerFactory;
  * This output stream will store the content into a File if the stream context size is exceed the
  * THRESHOLD value. The default THRESHOLD value is {@link StreamCache#DEFAULT_SPOOL_THRESHOLD} bytes .
  * <p/>
+ * If the {@link StreamCachingStrategy} has an off-heap buffer pool, then the content is stored in buffers
+ * from the pool before its stored into a File, which only happens if the pool is exhausted.
+ * <p/>
  * The temp file will store in the temp directory, you can configure it by setting the TEMP_DIR property.
  * If you don't set the TEMP_DIR property, it will choose the directory which is set by the
  * system property of "java.io.tmpdir".
@@ -86,9 +89,10 @@ public class CachedOutputStream extends OutputStream {
                 public void onDone(Exchange exchange) {
                     try {
                         if (fileInputStreamCache != null) {
-                            fileInputStreamCache.close();
+                            fileInputStreamCache.release();
                         }
                         close();
+                        cleanUpBuffers();
                         try {
                             cleanUpTempFile();
                         } catch (Exception e) {
@@ -128,8 +132,9 @@ public class CachedOutputStream extends OutputStream {
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
             if (fileInputStreamCache != null) {
-                fileInputStreamCache.close();
+                fileInputStreamCache.release();
             }
+            cleanUpBuffers();
             try {
                 cleanUpTempFile();
             } catch (Exception e) {
@@ -156,41 +161,53 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
-        }
+        checkSpool(len);
         currentStream.write(b, off, len);
     }
 
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
-        }
+        checkSpool(b.length);
         currentStream.write(b);
     }
 
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
-        }
+        checkSpool(1);
         currentStream.write(b);
     }
 
+    private void checkSpool(int len) throws IOException {
+        if (!inMemory) {
+            return;
+        }
+        if (currentStream instanceof ByteArrayOutputStream) {
+            if (strategy.shouldSpoolCache(totalLength) && !pageToBufferPool(len)) {
+                pageToFileStream();
+            }
+        } else if (currentStream instanceof PooledBufferOutputStream) {
+            // spool to disk if there is no more room in the buffer pool
+            if (!((PooledBufferOutputStream) currentStream).reserve(len)) {
+                pageToFileStream();
+            }
+        }
+    }
+
     public InputStream getInputStream() throws IOException {
         flush();
 
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof PooledBufferOutputStream) {
+                return ((PooledBufferOutputStream) currentStream).newStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
         } else {
             try {
                 if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers);
+                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers, strategy.isSpoolMemoryMapped());
                 }
                 return fileInputStreamCache;
             } catch (FileNotFoundException e) {
@@ -221,13 +238,15 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof PooledBufferOutputStream) {
+                return ((PooledBufferOutputStream) currentStream).newStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
         } else {
             try {
                 if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers);
+                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers, strategy.isSpoolMemoryMapped());
                 }
                 return fileInputStreamCache;
             } catch (FileNotFoundException e) {
@@ -244,17 +263,48 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void cleanUpBuffers() {
+        // give the buffers back to the pool
+        if (currentStream instanceof PooledBufferOutputStream) {
+            ((PooledBufferOutputStream) currentStream).release();
+        }
+    }
+
+    private boolean pageToBufferPool(int len) throws IOException {
+        flush();
+
+        ByteArrayOutputStream bout = (ByteArrayOutputStream) currentStream;
+        PooledBufferOutputStream pooled = new PooledBufferOutputStream(strategy);
+        // reserve room for the current content and the content about to be written
+        if (!pooled.reserve((long) bout.size() + len)) {
+            pooled.release();
+            return false;
+        }
+
+        LOG.trace("Using off-heap buffer pool for stream cache of size: {}", totalLength);
+
+        bout.writeTo(pooled);
+        currentStream = pooled;
+        return true;
+    }
+
     private void pageToFileStream() throws IOException {
         flush();
 
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream previous = currentStream;
         tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
 
         LOG.trace("Creating temporary stream cache file: {}", tempFile);
 
         try {
             currentStream = createOutputStream(tempFile);
-            bout.writeTo(currentStream);
+            if (previous instanceof PooledBufferOutputStream) {
+                PooledBufferOutputStream pooled = (PooledBufferOutputStream) previous;
+                pooled.writeTo(currentStream);
+                pooled.release();
+            } else {
+                ((ByteArrayOutputStream) previous).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
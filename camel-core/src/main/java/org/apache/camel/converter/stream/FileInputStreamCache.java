@@ -23,6 +23,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
@@ -31,25 +35,42 @@ import javax.crypto.CipherInputStream;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StreamCache;
 import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A {@link StreamCache} for {@link File}s
+ * <p/>
+ * The file can optionally be memory mapped, which allows the file to be read many times, such as when
+ * using multicast or redelivery, without copying the content through a new {@link FileInputStream} each time.
+ * The mapping is unmapped when the cache is {@link #release() released}, which is done before the spooled file
+ * is deleted, and the cache can no longer be read thereafter.
  */
 public final class FileInputStreamCache extends InputStream implements StreamCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FileInputStreamCache.class);
     private InputStream stream;
     private final File file;
     private final CipherPair ciphers;
     private final long length;
+    private final boolean memoryMapped;
+    private MappedByteBuffer mapped;
+    private volatile boolean released;
 
     public FileInputStreamCache(File file) throws FileNotFoundException {
         this(file, null);
     }
     
     FileInputStreamCache(File file, CipherPair ciphers) throws FileNotFoundException {
+        this(file, ciphers, false);
+    }
+
+    FileInputStreamCache(File file, CipherPair ciphers, boolean memoryMapped) throws FileNotFoundException {
         this.file = file;
         this.stream = null;
         this.ciphers = ciphers;
         this.length = file.length();
+        // memory mapping is not possible with encryption or for files bigger than 2gb
+        this.memoryMapped = memoryMapped && ciphers == null && length <= Integer.MAX_VALUE;
     }
     
     @Override
@@ -59,6 +80,18 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         }
     }
 
+    /**
+     * Closes the cache and unmaps the file if it was memory mapped, so the file can be deleted.
+     */
+    void release() {
+        close();
+        released = true;
+        if (mapped != null) {
+            unmap(mapped);
+            mapped = null;
+        }
+    }
+
     @Override
     public void reset() {
         // reset by closing and creating a new stream based on the file
@@ -89,6 +122,8 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
             s.close();
             fc.close();
+        } else if (memoryMapped) {
+            ((ByteBufferInputStream) getInputStream()).writeTo(os);
         } else {
             IOHelper.copy(getInputStream(), os);
         }
@@ -120,6 +155,24 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        if (memoryMapped) {
+            if (released) {
+                throw new IOException("Cannot read from stream cache as its file has been released");
+            }
+            // map the file once, and then each stream reads directly from the mapped memory
+            if (mapped == null) {
+                mapped = mapFile(file);
+            }
+            return new ByteBufferInputStream(mapped) {
+                @Override
+                protected void checkValid() throws IOException {
+                    if (released) {
+                        throw new IOException("Cannot read from stream cache as its file has been released");
+                    }
+                }
+            };
+        }
+
         InputStream in = new BufferedInputStream(new FileInputStream(file));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.getDecryptor()) {
@@ -135,4 +188,31 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return in;
     }
 
+    private static MappedByteBuffer mapFile(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            // the mapping remains valid after the channel is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+        } finally {
+            IOHelper.close(raf);
+        }
+    }
+
+    private static void unmap(ByteBuffer buffer) {
+        // there is no public api to unmap a buffer, so use its cleaner, otherwise the mapping is only
+        // released when the buffer is garbage collected
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                Method cleanMethod = cleaner.getClass().getMethod("clean");
+                cleanMethod.setAccessible(true);
+                cleanMethod.invoke(cleaner);
+            }
+        } catch (Exception e) {
+            LOG.debug("Cannot unmap memory mapped file. The mapping is released when garbage collected.", e);
+        }
+    }
+
 }
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.spi.StreamCachingStrategy;
+
+/**
+ * An {@link OutputStream} which stores the content in direct (off-heap) buffers
+ * acquired from the buffer pool of the {@link StreamCachingStrategy}.
+ * <p/>
+ * The buffers must be given back to the pool using {@link #release()} when the content is no longer in use.
+ */
+final class PooledBufferOutputStream extends OutputStream {
+
+    private final StreamCachingStrategy strategy;
+    private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    private int current;
+    private long capacity;
+    private long length;
+    private volatile boolean released;
+
+    PooledBufferOutputStream(StreamCachingStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Ensures there is room for writing the given number of bytes, by acquiring more buffers from the pool.
+     *
+     * @return <tt>true</tt> if there is room, <tt>false</tt> if the pool is exhausted
+     */
+    boolean reserve(long len) {
+        while (capacity - length < len) {
+            ByteBuffer buffer = strategy.acquireBuffer();
+            if (buffer == null) {
+                return false;
+            }
+            buffers.add(buffer);
+            capacity += buffer.capacity();
+        }
+        return true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        currentBuffer().put((byte) b);
+        length++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuffer buffer = currentBuffer();
+            int count = Math.min(len, buffer.remaining());
+            buffer.put(b, off, count);
+            off += count;
+            len -= count;
+            length += count;
+        }
+    }
+
+    /**
+     * Writes the content to the given output
+     */
+    void writeTo(OutputStream os) throws IOException {
+        new ByteBufferInputStream(contentBuffers()).writeTo(os);
+    }
+
+    /**
+     * Creates a new {@link PooledInputStreamCache} view of the buffers
+     */
+    PooledInputStreamCache newStreamCache() {
+        return new PooledInputStreamCache(this, contentBuffers());
+    }
+
+    long length() {
+        return length;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Gives the buffers back to the pool
+     */
+    void release() {
+        if (!released) {
+            released = true;
+            for (ByteBuffer buffer : buffers) {
+                strategy.releaseBuffer(buffer);
+            }
+            buffers.clear();
+            current = 0;
+            capacity = 0;
+        }
+    }
+
+    private ByteBuffer currentBuffer() throws IOException {
+        if (released) {
+            throw new IOException("Cannot write to stream as its buffers has been released");
+        }
+        // the buffers are filled in order
+        while (current < buffers.size()) {
+            ByteBuffer buffer = buffers.get(current);
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            current++;
+        }
+        throw new IOException("Cannot write to stream as there is no more room in its buffers");
+    }
+
+    private ByteBuffer[] contentBuffers() {
+        ByteBuffer[] answer = new ByteBuffer[buffers.size()];
+        for (int i = 0; i < answer.length; i++) {
+            // view the written content of the buffer
+            ByteBuffer view = buffers.get(i).duplicate();
+            view.flip();
+            answer[i] = view;
+        }
+        return answer;
+    }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for caching using direct (off-heap) buffers from the buffer pool
+ * of the {@link org.apache.camel.spi.StreamCachingStrategy}.
+ * <p/>
+ * The buffers are given back to the pool when the exchange is done, and the cache can no longer be read thereafter.
+ */
+public final class PooledInputStreamCache extends ByteBufferInputStream implements StreamCache {
+
+    private final PooledBufferOutputStream owner;
+
+    PooledInputStreamCache(PooledBufferOutputStream owner, ByteBuffer... buffers) {
+        super(buffers);
+        this.owner = owner;
+    }
+
+    public boolean inMemory() {
+        // the buffers are off-heap but still in memory
+        return true;
+    }
+
+    @Override
+    protected void checkValid() throws IOException {
+        if (owner.isReleased()) {
+            throw new IOException("Cannot read from stream cache as its buffers has been released");
+        }
+    }
+
+}
@@ -176,8 +176,9 @@ public final class DefaultExchange implements Exchange {
             getProperties().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
-            if (name != null) {
-                getProperties().remove(name);
+            // (there is no need to create the properties if there are none)
+            if (name != null && properties != null) {
+                properties.remove(name);
             }
         }
     }
@@ -17,6 +17,7 @@
 package org.apache.camel.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -24,51 +25,93 @@ import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.concurrent.StripedCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Default {@link org.apache.camel.spi.InflightRepository}.
+ * <p/>
+ * The number of inflight exchanges is kept using a striped counter, so updating the count scales when
+ * many threads are routing messages. The exchanges themselves are only tracked if
+ * {@link #isInflightBrowseEnabled() browsing} is enabled, which is disabled by default.
+ * <p/>
+ * Each route counts its inflight exchanges grouped by the time the exchanges was created (in slots of
+ * {@link #AGE_SLOT_MILLIS} millis), which allows to cheaply find the age of the oldest inflight exchange of the route,
+ * also when browsing is disabled. The counts are spread over a number of stripes by the exchange id, so exchanges
+ * created at the same time do not contend on the same stripe.
  *
  * @version 
  */
 public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
 
+    /**
+     * The granularity in millis of the oldest inflight duration per route
+     */
+    public static final long AGE_SLOT_MILLIS = 100;
+
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInflightRepository.class);
+    private static final int MAX_STRIPES = 64;
+    private static final int STRIPES;
+
+    static {
+        int n = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (n < processors * 2 && n < MAX_STRIPES) {
+            n <<= 1;
+        }
+        STRIPES = n;
+    }
+
     private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<String, Exchange>();
-    private final ConcurrentMap<String, AtomicInteger> routeCount = new ConcurrentHashMap<String, AtomicInteger>();
+    private final StripedCounter count = new StripedCounter();
+    private final ConcurrentMap<String, RouteInflight> routeCount = new ConcurrentHashMap<String, RouteInflight>();
+    private volatile boolean inflightBrowseEnabled;
 
     public void add(Exchange exchange) {
-        inflight.put(exchange.getExchangeId(), exchange);
+        count.increment();
+        if (inflightBrowseEnabled) {
+            inflight.put(exchange.getExchangeId(), exchange);
+        }
     }
 
     public void remove(Exchange exchange) {
-        inflight.remove(exchange.getExchangeId());
+        count.decrement();
+        if (inflightBrowseEnabled) {
+            inflight.remove(exchange.getExchangeId());
+        }
     }
 
     public void add(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.putIfAbsent(routeId, new AtomicInteger(1));
-        if (existing != null) {
-            existing.incrementAndGet();
+        RouteInflight existing = routeCount.get(routeId);
+        if (existing == null) {
+            RouteInflight created = new RouteInflight();
+            existing = routeCount.putIfAbsent(routeId, created);
+            if (existing == null) {
+                existing = created;
+            }
         }
+        existing.add(exchange);
     }
 
     public void remove(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        RouteInflight existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.decrementAndGet();
+            existing.remove(exchange);
         }
     }
 
     public int size() {
-        return inflight.size();
+        if (inflightBrowseEnabled) {
+            return inflight.size();
+        }
+        return (int) Math.max(0, count.get());
     }
 
     @Deprecated
@@ -83,8 +126,34 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
     @Override
     public int size(String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
-        return existing != null ? existing.get() : 0;
+        RouteInflight existing = routeCount.get(routeId);
+        return existing != null ? existing.size() : 0;
+    }
+
+    @Override
+    public long oldestInflightDuration(String routeId) {
+        RouteInflight existing = routeCount.get(routeId);
+        if (existing == null) {
+            return 0;
+        }
+        long oldest = existing.oldestSlot();
+        return oldest != Long.MAX_VALUE ? Math.max(0, System.currentTimeMillis() - oldest * AGE_SLOT_MILLIS) : 0;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        if (this.inflightBrowseEnabled == inflightBrowseEnabled) {
+            return;
+        }
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+        if (!inflightBrowseEnabled) {
+            inflight.clear();
+        }
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
     }
 
     @Override
@@ -140,6 +209,11 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         routeCount.clear();
     }
 
+    private static long getCreatedSlot(Exchange exchange) {
+        Date created = exchange.getProperty(Exchange.CREATED_TIMESTAMP, Date.class);
+        return created != null ? created.getTime() / AGE_SLOT_MILLIS : -1;
+    }
+
     private static long getExchangeDuration(Exchange exchange) {
         long duration = 0;
         Date created = exchange.getProperty(Exchange.CREATED_TIMESTAMP, Date.class);
@@ -149,6 +223,164 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         return duration;
     }
 
+    /**
+     * The inflight exchanges of a route, which are counted per slot of the time the exchanges was created,
+     * in a number of stripes chosen by the exchange id.
+     */
+    private static final class RouteInflight {
+
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        RouteInflight() {
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        void add(Exchange exchange) {
+            stripes[index(exchange)].add(getCreatedSlot(exchange));
+        }
+
+        void remove(Exchange exchange) {
+            long slot = getCreatedSlot(exchange);
+            int index = index(exchange);
+            if (!stripes[index].remove(slot)) {
+                // the exchange id has been changed while the exchange was inflight, so remove it from the
+                // other stripes, which keeps the counts per slot correct
+                for (int i = 1; i < STRIPES; i++) {
+                    if (stripes[(index + i) & (STRIPES - 1)].remove(slot)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        int size() {
+            int answer = 0;
+            for (Stripe stripe : stripes) {
+                answer += stripe.size;
+            }
+            return answer;
+        }
+
+        long oldestSlot() {
+            long answer = Long.MAX_VALUE;
+            for (Stripe stripe : stripes) {
+                answer = Math.min(answer, stripe.oldest);
+            }
+            return answer;
+        }
+
+        private static int index(Exchange exchange) {
+            int h = exchange.getExchangeId().hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (STRIPES - 1);
+        }
+    }
+
+    /**
+     * A stripe of the inflight exchanges of a route, which counts the exchanges per created slot in ascending order
+     * of the slots. As exchanges are mostly created in the latest slot, and complete in about the order they
+     * was created, the slots are kept in an array which is appended to, and emptied slots are only removed
+     * from the head of the array, or when the array is full.
+     */
+    private static final class Stripe {
+
+        private long[] slots = new long[4];
+        private int[] counts = new int[4];
+        private int head;
+        private int tail;
+        // exchanges without a created timestamp are counted but not part of the age
+        private int untimed;
+        // the slot of the oldest exchange (Long.MAX_VALUE if none) and the number of exchanges,
+        // which can be read without locking
+        private volatile long oldest = Long.MAX_VALUE;
+        private volatile int size;
+
+        synchronized void add(long slot) {
+            if (slot < 0) {
+                untimed++;
+            } else if (head < tail && slots[tail - 1] == slot) {
+                counts[tail - 1]++;
+            } else if (head == tail || slots[tail - 1] < slot) {
+                ensureCapacity();
+                slots[tail] = slot;
+                counts[tail] = 1;
+                tail++;
+            } else {
+                // an exchange which was created before the latest slot, so count it in its slot in order
+                ensureCapacity();
+                int pos = search(slot);
+                if (pos >= 0) {
+                    counts[pos]++;
+                } else {
+                    pos = -(pos + 1);
+                    System.arraycopy(slots, pos, slots, pos + 1, tail - pos);
+                    System.arraycopy(counts, pos, counts, pos + 1, tail - pos);
+                    slots[pos] = slot;
+                    counts[pos] = 1;
+                    tail++;
+                }
+            }
+            size++;
+            updateOldest();
+        }
+
+        synchronized boolean remove(long slot) {
+            if (slot < 0) {
+                if (untimed == 0) {
+                    return false;
+                }
+                untimed--;
+            } else {
+                int pos = search(slot);
+                if (pos < 0 || counts[pos] == 0) {
+                    return false;
+                }
+                counts[pos]--;
+                // drop the emptied slots from the head
+                while (head < tail && counts[head] == 0) {
+                    head++;
+                }
+                if (head == tail) {
+                    head = 0;
+                    tail = 0;
+                }
+            }
+            size--;
+            updateOldest();
+            return true;
+        }
+
+        private void updateOldest() {
+            oldest = head < tail ? slots[head] : Long.MAX_VALUE;
+        }
+
+        private int search(long slot) {
+            return Arrays.binarySearch(slots, head, tail, slot);
+        }
+
+        private void ensureCapacity() {
+            if (tail < slots.length) {
+                return;
+            }
+            // compact the array by removing the emptied slots, and grow the array if still more than half full
+            int n = 0;
+            for (int i = head; i < tail; i++) {
+                if (counts[i] > 0) {
+                    slots[n] = slots[i];
+                    counts[n] = counts[i];
+                    n++;
+                }
+            }
+            head = 0;
+            tail = n;
+            if (tail * 2 > slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+                counts = Arrays.copyOf(counts, counts.length * 2);
+            }
+        }
+    }
+
     private static final class InflightExchangeEntry implements InflightExchange {
 
         private final Exchange exchange;
@@ -23,7 +23,9 @@ import java.util.Set;
 import javax.activation.DataHandler;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.util.CaseInsensitiveHashMap;
 import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.util.CopyOnWriteCaseInsensitiveMap;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.MessageHelper;
 
@@ -34,6 +36,15 @@ import org.apache.camel.util.MessageHelper;
  * This allows us to be able to lookup headers using case insensitive keys, making it easier for end users
  * as they do not have to be worried about using exact keys.
  * See more details at {@link org.apache.camel.util.CaseInsensitiveMap}.
+ * <p/>
+ * The headers are stored in a {@link org.apache.camel.util.CopyOnWriteCaseInsensitiveMap} which allows copies
+ * of this message to share the headers until either message changes its headers. The entries are kept in a
+ * {@link org.apache.camel.util.CaseInsensitiveHashMap} which has the same semantics as the
+ * {@link org.apache.camel.util.CaseInsensitiveMap} but is faster and keeps the headers in the order they were added.
+ * <p/>
+ * <b>Important:</b> As the headers are no longer kept in a {@link java.util.TreeMap}, iterating the headers returns
+ * them in the order they were added, and not sorted by their keys as in older Camel releases. Setting an existing
+ * header does not change its position.
  *
  * @version 
  */
@@ -170,11 +181,11 @@ public class DefaultMessage extends MessageSupport {
     }
 
     public void setHeaders(Map<String, Object> headers) {
-        if (headers instanceof CaseInsensitiveMap) {
+        if (headers instanceof CaseInsensitiveMap || headers instanceof CaseInsensitiveHashMap || headers instanceof CopyOnWriteCaseInsensitiveMap) {
             this.headers = headers;
         } else {
             // wrap it in a case insensitive map
-            this.headers = new CaseInsensitiveMap(headers);
+            this.headers = new CopyOnWriteCaseInsensitiveMap(headers);
         }
     }
 
@@ -194,12 +205,14 @@ public class DefaultMessage extends MessageSupport {
      * A factory method to lazily create the headers to make it easy to create
      * efficient Message implementations which only construct and populate the
      * Map on demand
+     * <p/>
+     * The default map iterates the headers in the order they were added.
      *
      * @return return a newly constructed Map possibly containing headers from
      *         the underlying inbound transport
      */
     protected Map<String, Object> createHeaders() {
-        Map<String, Object> map = new CaseInsensitiveMap();
+        Map<String, Object> map = new CopyOnWriteCaseInsensitiveMap();
         populateInitialHeaders(map);
         return map;
     }
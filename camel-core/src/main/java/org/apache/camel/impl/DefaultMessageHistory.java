@@ -20,7 +20,6 @@ import java.util.Date;
 
 import org.apache.camel.MessageHistory;
 import org.apache.camel.NamedNode;
-import org.apache.camel.util.StopWatch;
 
 /**
  * Default {@link org.apache.camel.MessageHistory}.
@@ -30,15 +29,21 @@ public class DefaultMessageHistory implements MessageHistory {
     private final String routeId;
     private final NamedNode node;
     private final String nodeId;
-    private final Date timestamp;
-    private final StopWatch stopWatch;
+    // keep the time as longs as there is a message history for every node the message is routed
+    private final long timestamp;
+    private final long start;
+    private long elapsed = -1;
 
     public DefaultMessageHistory(String routeId, NamedNode node, Date timestamp) {
+        this(routeId, node, timestamp.getTime());
+    }
+
+    public DefaultMessageHistory(String routeId, NamedNode node, long timestamp) {
         this.routeId = routeId;
         this.node = node;
         this.nodeId = node.getId();
         this.timestamp = timestamp;
-        this.stopWatch = new StopWatch();
+        this.start = System.nanoTime();
     }
 
     public String getRouteId() {
@@ -50,15 +55,19 @@ public class DefaultMessageHistory implements MessageHistory {
     }
 
     public Date getTimestamp() {
-        return timestamp;
+        return new Date(timestamp);
     }
 
     public long getElapsed() {
-        return stopWatch.taken();
+        long answer = elapsed;
+        if (answer < 0) {
+            answer = (System.nanoTime() - start) / 1000000;
+        }
+        return answer;
     }
 
     public void nodeProcessingDone() {
-        stopWatch.stop();
+        elapsed = (System.nanoTime() - start) / 1000000;
     }
 
     @Override
@@ -671,7 +671,33 @@ public class DefaultShutdownStrategy extends ServiceSupport implements ShutdownS
             return;
         }
 
-        Collection<InflightRepository.InflightExchange> inflights = camelContext.getInflightRepository().browse();
+        InflightRepository repository = camelContext.getInflightRepository();
+        if (!repository.isInflightBrowseEnabled()) {
+            // the exchanges are not tracked, so log the number of inflight exchanges per route
+            StringBuilder sb = new StringBuilder();
+            for (RouteStartupOrder route : routes) {
+                String routeId = route.getRoute().getId();
+                int size = repository.size(routeId);
+                if (size > 0) {
+                    sb.append("\n\tInflightRoute: [routeId=").append(routeId)
+                            .append(", inflight=").append(size)
+                            .append(", oldestDuration=").append(repository.oldestInflightDuration(routeId))
+                            .append("]");
+                }
+            }
+            if (sb.length() == 0) {
+                return;
+            }
+            sb.insert(0, "There are inflight exchanges (enable inflightBrowseEnabled to log the exchanges):");
+            if (infoLevel) {
+                LOG.info(sb.toString());
+            } else {
+                LOG.debug(sb.toString());
+            }
+            return;
+        }
+
+        Collection<InflightRepository.InflightExchange> inflights = repository.browse();
         int size = inflights.size();
         if (size == 0) {
             return;
@@ -19,14 +19,19 @@ package org.apache.camel.impl;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.PooledInputStreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
@@ -60,6 +65,9 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
     private String spoolChiper;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
+    private boolean spoolMemoryMapped;
+    private long bufferPoolSize;
+    private volatile BufferPool bufferPool;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<SpoolRule>();
     private boolean anySpoolRules;
@@ -132,6 +140,34 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         this.bufferSize = bufferSize;
     }
 
+    public boolean isSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    public void setSpoolMemoryMapped(boolean spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
+    public long getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    public void setBufferPoolSize(long bufferPoolSize) {
+        this.bufferPoolSize = bufferPoolSize;
+    }
+
+    public ByteBuffer acquireBuffer() {
+        BufferPool pool = bufferPool;
+        return pool != null ? pool.acquire() : null;
+    }
+
+    public void releaseBuffer(ByteBuffer buffer) {
+        BufferPool pool = bufferPool;
+        if (pool != null) {
+            pool.release(buffer);
+        }
+    }
+
     public boolean isRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
     }
@@ -193,7 +229,9 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             }
             if (statistics.isStatisticsEnabled()) {
                 try {
-                    if (cache.inMemory()) {
+                    if (cache instanceof PooledInputStreamCache) {
+                        statistics.updateBufferPool(cache.length());
+                    } else if (cache.inMemory()) {
                         statistics.updateMemory(cache.length());
                     } else {
                         statistics.updateSpool(cache.length());
@@ -263,6 +301,14 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             throw new IllegalArgumentException("SpoolHeapMemoryWatermarkThreshold must not be higher than 99, was: " + spoolUsedHeapMemoryThreshold);
         }
 
+        if (bufferPoolSize > 0) {
+            if (bufferPoolSize < this.bufferSize) {
+                throw new IllegalArgumentException("BufferPoolSize must not be lower than BufferSize " + this.bufferSize + ", was: " + bufferPoolSize);
+            }
+            bufferPool = new BufferPool(bufferPoolSize, this.bufferSize);
+            LOG.debug("Using off-heap buffer pool of {} bytes with buffers of {} bytes", bufferPoolSize, this.bufferSize);
+        }
+
         // if we can overflow to disk then make sure directory exists / is created
         if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0) {
 
@@ -329,6 +375,8 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         }
 
         statistics.reset();
+        // the buffers is no longer in use and will be garbage collected
+        bufferPool = null;
     }
 
     @Override
@@ -339,6 +387,8 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
+            + ", bufferPoolSize=" + bufferPoolSize
+            + ", spoolMemoryMapped=" + spoolMemoryMapped
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
@@ -400,10 +450,57 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         }
     }
 
+    /**
+     * A pool of direct (off-heap) buffers of the same size, which allocates the buffers on demand
+     * up till the maximum size of the pool.
+     */
+    private static final class BufferPool {
+
+        private final long maxSize;
+        private final int bufferSize;
+        private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<ByteBuffer>();
+        private final AtomicLong used = new AtomicLong();
+
+        private BufferPool(long maxSize, int bufferSize) {
+            this.maxSize = maxSize;
+            this.bufferSize = bufferSize;
+        }
+
+        ByteBuffer acquire() {
+            while (true) {
+                long current = used.get();
+                if (current + bufferSize > maxSize) {
+                    LOG.trace("Buffer pool is exhausted with {} bytes in use", current);
+                    return null;
+                }
+                if (used.compareAndSet(current, current + bufferSize)) {
+                    break;
+                }
+            }
+            ByteBuffer buffer = free.poll();
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(bufferSize);
+            }
+            return buffer;
+        }
+
+        void release(ByteBuffer buffer) {
+            if (buffer.capacity() == bufferSize && buffer.isDirect()) {
+                buffer.clear();
+                free.offer(buffer);
+                used.addAndGet(-bufferSize);
+            }
+        }
+
+        long getUsed() {
+            return used.get();
+        }
+    }
+
     /**
      * Represents utilization statistics.
      */
-    private static final class UtilizationStatistics implements Statistics {
+    private final class UtilizationStatistics implements Statistics {
 
         private boolean statisticsEnabled;
         private volatile long memoryCounter;
@@ -412,6 +509,9 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         private volatile long spoolCounter;
         private volatile long spoolSize;
         private volatile long spoolAverageSize;
+        private volatile long bufferPoolCounter;
+        private volatile long bufferPoolSize;
+        private volatile long bufferPoolAverageSize;
 
         synchronized void updateMemory(long size) {
             memoryCounter++;
@@ -425,6 +525,12 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             spoolAverageSize = spoolSize / spoolCounter;
         }
 
+        synchronized void updateBufferPool(long size) {
+            bufferPoolCounter++;
+            bufferPoolSize += size;
+            bufferPoolAverageSize = bufferPoolSize / bufferPoolCounter;
+        }
+
         public long getCacheMemoryCounter() {
             return memoryCounter;
         }
@@ -449,6 +555,33 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             return spoolAverageSize;
         }
 
+        public long getCacheBufferPoolCounter() {
+            return bufferPoolCounter;
+        }
+
+        public long getCacheBufferPoolSize() {
+            return bufferPoolSize;
+        }
+
+        public long getCacheBufferPoolAverageSize() {
+            return bufferPoolAverageSize;
+        }
+
+        public long getBufferPoolUsed() {
+            BufferPool pool = bufferPool;
+            return pool != null ? pool.getUsed() : 0;
+        }
+
+        public long getSpoolFilesInUse() {
+            File dir = spoolDirectory;
+            if (dir == null) {
+                return 0;
+            }
+            // the spool directory is only used for the spooled files
+            String[] files = dir.list();
+            return files != null ? files.length : 0;
+        }
+
         public synchronized void reset() {
             memoryCounter = 0;
             memorySize = 0;
@@ -456,6 +589,9 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             spoolCounter = 0;
             spoolSize = 0;
             spoolAverageSize = 0;
+            bufferPoolCounter = 0;
+            bufferPoolSize = 0;
+            bufferPoolAverageSize = 0;
         }
 
         public boolean isStatisticsEnabled() {
@@ -467,8 +603,10 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         }
 
         public String toString() {
-            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s,"
+                    + " bufferPoolCounter=%s, bufferPoolSize=%s, bufferPoolAverageSize=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize,
+                    bufferPoolCounter, bufferPoolSize, bufferPoolAverageSize);
         }
     }
 
@@ -236,17 +236,12 @@ public class ProducerCache extends ServiceSupport {
                 exchange.setException(e);
             }
         } finally {
-            if (producer instanceof ServicePoolAware) {
-                // release back to the pool
-                pool.release(endpoint, producer);
-            } else if (!producer.isSingleton()) {
-                // stop and shutdown non-singleton producers as we should not leak resources
-                try {
-                    ServiceHelper.stopAndShutdownService(producer);
-                } catch (Exception e) {
-                    // ignore and continue
-                    LOG.warn("Error stopping/shutting down producer: " + producer, e);
-                }
+            try {
+                // release back to the pool, or stop and shutdown non-singleton producers as we should not leak resources
+                releaseProducer(endpoint, producer);
+            } catch (Exception e) {
+                // ignore and continue
+                LOG.warn("Error stopping/shutting down producer: " + producer, e);
             }
         }
 
@@ -311,17 +306,12 @@ public class ProducerCache extends ServiceSupport {
                             EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
                         }
 
-                        if (producer instanceof ServicePoolAware) {
-                            // release back to the pool
-                            pool.release(endpoint, producer);
-                        } else if (!producer.isSingleton()) {
-                            // stop and shutdown non-singleton producers as we should not leak resources
-                            try {
-                                ServiceHelper.stopAndShutdownService(producer);
-                            } catch (Exception e) {
-                                // ignore and continue
-                                LOG.warn("Error stopping/shutting down producer: " + producer, e);
-                            }
+                        try {
+                            // release back to the pool, or stop and shutdown non-singleton producers as we should not leak resources
+                            releaseProducer(endpoint, producer);
+                        } catch (Exception e) {
+                            // ignore and continue
+                            LOG.warn("Error stopping/shutting down producer: " + producer, e);
                         }
                     } finally {
                         callback.done(doneSync);
@@ -0,0 +1,358 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.FailedToCreateProducerException;
+import org.apache.camel.Producer;
+import org.apache.camel.ServicePoolAware;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.CamelContextHelper;
+import org.apache.camel.util.LRUCache;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ProducerCache} which is designed for dynamic EIPs such as the recipient list and routing slip,
+ * which may send to many distinct endpoints from many threads.
+ * <p/>
+ * Looking up a cached producer does not lock, and creating a producer only locks the stripe of its
+ * endpoint key, so threads sending to other endpoints are not blocked while a producer is being created.
+ * The endpoint key is the endpoint uri, which has been normalized by the {@link CamelContext}
+ * when the endpoint was resolved, so the same endpoint always maps to the same key.
+ * <p/>
+ * Instead of the shared producer service pool, the {@link ServicePoolAware} producers are pooled per endpoint,
+ * where each pool keeps at most as many idle producers as have been in use concurrently for its endpoint
+ * (bounded by the maximum pool size). The pools themselves are kept in a LRU cache of the same capacity as the
+ * producers, and the idle producers of an evicted pool are stopped.
+ * <p/>
+ * When the cache is full, an endpoint is only admitted to the cache the second time it is missed within
+ * the last capacity misses. Until then its producer is used once and stopped, as for a non singleton producer.
+ * This avoids that sending to more distinct endpoints than the cache can hold, evicts all the cached producers
+ * and stops and starts a producer on every send, as the cached producers then keep being hit.
+ * <p/>
+ * The hits, misses and evicted statistics include both the cached and the pooled producers.
+ *
+ * @version 
+ */
+public class StripedProducerCache extends ProducerCache {
+    public static final int DEFAULT_MAXIMUM_POOL_SIZE = 8;
+    private static final Logger LOG = LoggerFactory.getLogger(StripedProducerCache.class);
+    private static final int STRIPES = 32;
+
+    private final LRUCache<String, Producer> producers;
+    private final LRUCache<String, ProducerPool> pools;
+    // the endpoints which was missed once while the cache was full
+    private final LRUCache<String, Boolean> candidates;
+    // the producers which was not admitted to the cache, and must be stopped when released
+    private final Set<Producer> uncached = Collections.newSetFromMap(new ConcurrentHashMap<Producer, Boolean>());
+    private final int cacheSize;
+    private final Object[] locks = new Object[STRIPES];
+    private final AtomicLong poolHits = new AtomicLong();
+    private final AtomicLong poolMisses = new AtomicLong();
+    private final AtomicLong poolDiscarded = new AtomicLong();
+    private int maximumPoolSize = DEFAULT_MAXIMUM_POOL_SIZE;
+
+    public StripedProducerCache(Object source, CamelContext camelContext) {
+        this(source, camelContext, CamelContextHelper.getMaximumCachePoolSize(camelContext));
+    }
+
+    public StripedProducerCache(Object source, CamelContext camelContext, int cacheSize) {
+        this(source, camelContext, createLRUCache(cacheSize), cacheSize);
+    }
+
+    private StripedProducerCache(Object source, CamelContext camelContext, LRUCache<String, Producer> producers, int cacheSize) {
+        super(source, camelContext, producers);
+        this.producers = producers;
+        // stop the pools when evicted, which stops their idle producers
+        this.pools = new LRUCache<String, ProducerPool>(16, cacheSize, true);
+        this.candidates = new LRUCache<String, Boolean>(16, cacheSize, false);
+        this.cacheSize = cacheSize;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle producers pooled per endpoint, for producers which are {@link ServicePoolAware}.
+     */
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    @Override
+    protected Producer doGetProducer(Endpoint endpoint, boolean pooled) {
+        String key = endpoint.getEndpointUri();
+
+        // the endpoint is known to use pooled producers
+        if (pooled) {
+            ProducerPool pool = pools.get(key);
+            if (pool != null) {
+                Producer answer = pool.acquire();
+                if (answer != null) {
+                    poolHits.incrementAndGet();
+                    return answer;
+                }
+                poolMisses.incrementAndGet();
+                answer = createProducer(endpoint);
+                pool.onCreated();
+                return answer;
+            }
+        }
+
+        Producer answer = producers.get(key);
+        if (answer != null) {
+            return answer;
+        }
+
+        synchronized (locks[(key.hashCode() & 0x7fffffff) % STRIPES]) {
+            // another thread may have created the producer while we waited for the lock
+            if (producers.containsKey(key)) {
+                answer = producers.get(key);
+                if (answer != null) {
+                    return answer;
+                }
+            }
+
+            answer = createProducer(endpoint);
+            if (pooled && answer instanceof ServicePoolAware) {
+                LOG.debug("Adding to producer pool with key: {} for producer: {}", endpoint, answer);
+                ProducerPool pool = pools.get(key);
+                if (pool == null && admit(key, pools.size())) {
+                    pool = new ProducerPool(key);
+                    try {
+                        ServiceHelper.startService(pool);
+                    } catch (Exception e) {
+                        throw ObjectHelper.wrapRuntimeCamelException(e);
+                    }
+                    pools.put(key, pool);
+                }
+                // without a pool the producer is discarded when released
+                if (pool != null) {
+                    pool.onCreated();
+                }
+            } else if (answer.isSingleton()) {
+                if (admit(key, producers.size())) {
+                    LOG.debug("Adding to producer cache with key: {} for producer: {}", endpoint, answer);
+                    producers.put(key, answer);
+                } else {
+                    uncached.add(answer);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Whether the endpoint with the given key should be added to the cache, which is always the case until the cache is full.
+     * Then the endpoint must have been missed before, so a scan over many endpoints does not evict the cached producers.
+     */
+    private boolean admit(String key, int size) {
+        if (size < cacheSize || candidates.remove(key) != null) {
+            return true;
+        }
+        candidates.put(key, Boolean.TRUE);
+        return false;
+    }
+
+    private Producer createProducer(Endpoint endpoint) {
+        try {
+            Producer answer = endpoint.createProducer();
+            // add as service which will also start the service
+            // (false => we and handling the lifecycle of the producer in this cache)
+            getCamelContext().addService(answer, false);
+            return answer;
+        } catch (Exception e) {
+            throw new FailedToCreateProducerException(endpoint, e);
+        }
+    }
+
+    @Override
+    public void releaseProducer(Endpoint endpoint, Producer producer) throws Exception {
+        if (producer instanceof ServicePoolAware) {
+            ProducerPool pool = pools.get(endpoint.getEndpointUri());
+            if (pool == null || !pool.release(producer)) {
+                poolDiscarded.incrementAndGet();
+                ServiceHelper.stopAndShutdownService(producer);
+            }
+        } else if (!producer.isSingleton() || uncached.remove(producer)) {
+            // stop and shutdown non-singleton and not cached producers as we should not leak resources
+            ServiceHelper.stopAndShutdownService(producer);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        try {
+            super.doStop();
+        } finally {
+            ServiceHelper.stopServices(pools.values());
+            pools.clear();
+            candidates.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = producers.size();
+        for (ProducerPool pool : pools.values()) {
+            size += pool.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long getHits() {
+        return producers.getHits() + poolHits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return producers.getMisses() + poolMisses.get();
+    }
+
+    @Override
+    public long getEvicted() {
+        return producers.getEvicted() + pools.getEvicted() + poolDiscarded.get();
+    }
+
+    @Override
+    public void resetCacheStatistics() {
+        producers.resetStatistics();
+        pools.resetStatistics();
+        poolHits.set(0);
+        poolMisses.set(0);
+        poolDiscarded.set(0);
+    }
+
+    @Override
+    public void purge() {
+        producers.clear();
+        candidates.clear();
+        List<ProducerPool> purged = new ArrayList<ProducerPool>(pools.values());
+        pools.clear();
+        try {
+            ServiceHelper.stopServices(purged);
+        } catch (Exception e) {
+            LOG.warn("Error stopping producer pools. This exception will be ignored.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StripedProducerCache for source: " + getSource() + ", capacity: " + getCapacity();
+    }
+
+    /**
+     * The pool of the producers of a single endpoint.
+     */
+    private final class ProducerPool extends ServiceSupport {
+        private final String key;
+        private final Queue<Producer> idle = new ConcurrentLinkedQueue<Producer>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private ProducerPool(String key) {
+            this.key = key;
+        }
+
+        Producer acquire() {
+            Producer answer = idle.poll();
+            if (answer != null) {
+                idleCount.decrementAndGet();
+                onCreated();
+            }
+            return answer;
+        }
+
+        /**
+         * Registers a producer of this pool being in use, and keeps track of the peak concurrency
+         */
+        void onCreated() {
+            int current = inUse.incrementAndGet();
+            int max = peak.get();
+            while (current > max && !peak.compareAndSet(max, current)) {
+                max = peak.get();
+            }
+        }
+
+        /**
+         * Releases the producer back to the pool, or returns <tt>false</tt> if the pool is full or stopped
+         */
+        boolean release(Producer producer) {
+            inUse.decrementAndGet();
+            if (!isStarted()) {
+                return false;
+            }
+            int capacity = Math.min(maximumPoolSize, peak.get());
+            if (idleCount.incrementAndGet() > capacity) {
+                idleCount.decrementAndGet();
+                return false;
+            }
+            idle.add(producer);
+            // the pool may have been stopped concurrently, which would not have stopped this producer
+            if (!isStarted() && idle.remove(producer)) {
+                idleCount.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        int size() {
+            return idleCount.get();
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            // noop
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            List<Producer> stopped = new ArrayList<Producer>();
+            Producer producer;
+            while ((producer = idle.poll()) != null) {
+                stopped.add(producer);
+            }
+            idleCount.set(0);
+            ServiceHelper.stopAndShutdownServices(stopped);
+        }
+
+        @Override
+        public String toString() {
+            return "ProducerPool[" + key + "]";
+        }
+    }
+}
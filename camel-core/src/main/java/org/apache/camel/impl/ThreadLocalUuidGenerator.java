@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.spi.UuidGenerator;
+
+/**
+ * {@link org.apache.camel.spi.UuidGenerator} which is optimized for generating many ids concurrently
+ * from many threads.
+ * <p/>
+ * Each thread is given its own unique prefix once, which is generated using {@link ActiveMQUuidGenerator},
+ * and then generates the ids by appending its own sequence number to the prefix. Generating ids therefore
+ * does not require any shared state between the threads, which {@link ActiveMQUuidGenerator} requires
+ * for its sequence number.
+ * <p/>
+ * The ids are unique, and uses the same format as {@link ActiveMQUuidGenerator} with the thread sequence
+ * number appended, for example <tt>ID-myhost-49152-1420070400000-0-5-1</tt>.
+ */
+public class ThreadLocalUuidGenerator implements UuidGenerator {
+
+    // the max number of digits of a long
+    private static final int MAX_DIGITS = 19;
+
+    private final ActiveMQUuidGenerator prefixGenerator;
+    private final ThreadLocal<ThreadSequence> sequences = new ThreadLocal<ThreadSequence>() {
+        @Override
+        protected ThreadSequence initialValue() {
+            return new ThreadSequence(prefixGenerator.generateUuid() + "-");
+        }
+    };
+
+    public ThreadLocalUuidGenerator(String prefix) {
+        this.prefixGenerator = new ActiveMQUuidGenerator(prefix);
+    }
+
+    public ThreadLocalUuidGenerator() {
+        this.prefixGenerator = new ActiveMQUuidGenerator();
+    }
+
+    public String generateUuid() {
+        return sequences.get().next();
+    }
+
+    /**
+     * The prefix and sequence number of a thread, which appends the digits of the sequence
+     * number directly to a buffer which already contains the prefix.
+     */
+    private static final class ThreadSequence {
+
+        private final char[] buffer;
+        private final int prefixLength;
+        private long sequence;
+
+        private ThreadSequence(String prefix) {
+            this.prefixLength = prefix.length();
+            this.buffer = new char[prefixLength + MAX_DIGITS];
+            prefix.getChars(0, prefixLength, buffer, 0);
+        }
+
+        private String next() {
+            long value = ++sequence;
+
+            int digits = 1;
+            for (long n = value / 10; n > 0; n /= 10) {
+                digits++;
+            }
+
+            int pos = prefixLength + digits;
+            for (long n = value; pos > prefixLength; n /= 10) {
+                buffer[--pos] = (char) ('0' + (int) (n % 10));
+            }
+            return new String(buffer, 0, prefixLength + digits);
+        }
+    }
+}
@@ -123,6 +123,22 @@ public class TimeoutInflightRepository extends ServiceSupport implements Infligh
         return 0;
     }
 
+    @Override
+    public long oldestInflightDuration(String routeId) {
+        // We don't support this interface yet
+        return 0;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        // do nothing here
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return false;
+    }
+
     @Override
     public Collection<InflightExchange> browse() {
         return null;
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -61,16 +62,22 @@ import org.slf4j.LoggerFactory;
  * Therefore its recommended to specify FQN class names in the {@link #META_INF_SERVICES} file.
  * Likewise the procedure for scanning using {@link PackageScanClassResolver} may require custom implementations
  * to work in various containers such as JBoss, OSGi, etc.
+ * <p/>
+ * If the JAR has been built with the Camel annotation processor, then the {@link #META_INF_LOADERS} file contains
+ * a list of {@link TypeConverterLoader}s which has been generated for the {@link Converter} classes, and those are
+ * used instead, which avoids scanning and reflection. The {@link #META_INF_SERVICES} file in the same JAR is then skipped.
  *
  * @version 
  */
 public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_LOADERS = "META-INF/services/org/apache/camel/TypeConverterLoader";
     private static final Logger LOG = LoggerFactory.getLogger(AnnotationTypeConverterLoader.class);
     private static final Charset UTF8 = Charset.forName("UTF-8");
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<String> visitedURIs = new HashSet<String>();
+    protected Set<String> indexedLocations = new HashSet<String>();
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
@@ -80,15 +87,29 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
         String[] packageNames;
 
+        // load the type converters which has been indexed at build time first, as those JARs should not be scanned
+        LOG.trace("Searching for {} services", META_INF_LOADERS);
+        try {
+            loadGeneratedTypeConverterLoaders(registry);
+        } catch (IOException e) {
+            throw new TypeConverterLoaderException("Cannot load the type converter loaders which has been generated at build time.", e);
+        }
+
         LOG.trace("Searching for {} services", META_INF_SERVICES);
         try {
             packageNames = findPackageNames();
-            if (packageNames == null || packageNames.length == 0) {
-                throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
-            }
         } catch (Exception e) {
             throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.", e);
         }
+        if (packageNames == null || packageNames.length == 0) {
+            if (indexedLocations.isEmpty()) {
+                throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
+            }
+            LOG.debug("No additional package names found in classpath for annotated type converters.");
+            indexedLocations.clear();
+            visitedURIs.clear();
+            return;
+        }
 
         // if we only have camel-core on the classpath then we have already pre-loaded all its type converters
         // but we exposed the "org.apache.camel.core" package in camel-core. This ensures there is at least one
@@ -116,7 +137,11 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             LOG.trace("Found converter packages to scan: {}", packageNames);
             Set<Class<?>> scannedClasses = resolver.findAnnotated(Converter.class, packageNames);
             if (scannedClasses.isEmpty()) {
-                throw new TypeConverterLoaderException("Cannot find any type converter classes from the following packages: " + Arrays.asList(packageNames));
+                // the packages may have been scanned together with packages which has since been indexed at build time
+                if (indexedLocations.isEmpty()) {
+                    throw new TypeConverterLoaderException("Cannot find any type converter classes from the following packages: " + Arrays.asList(packageNames));
+                }
+                LOG.debug("Cannot find any type converter classes from the following packages: {}", Arrays.asList(packageNames));
             }
             LOG.debug("Found " + packageNames.length + " packages with " + scannedClasses.size() + " @Converter classes to load");
             classes.addAll(scannedClasses);
@@ -133,6 +158,7 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         // now clear the maps so we do not hold references
         visitedClasses.clear();
         visitedURIs.clear();
+        indexedLocations.clear();
     }
 
     /**
@@ -215,6 +241,10 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             if (!visitedURIs.contains(path)) {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(path);
+                if (indexedLocations.contains(getLocation(url, META_INF_SERVICES))) {
+                    LOG.debug("Skipping file {} as the type converters has been indexed at build time, from url: {}", META_INF_SERVICES, url);
+                    continue;
+                }
                 LOG.debug("Loading file {} to retrieve list of packages, from url: {}", META_INF_SERVICES, url);
                 BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
                 try {
@@ -236,6 +266,86 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
     }
 
+    /**
+     * Loads the type converters using the {@link TypeConverterLoader}s which has been generated at build time,
+     * as listed in the {@link #META_INF_LOADERS} files.
+     *
+     * @param registry the registry
+     * @throws IOException is thrown for IO related errors
+     */
+    protected void loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) throws IOException, TypeConverterLoaderException {
+        ClassLoader ccl = Thread.currentThread().getContextClassLoader();
+        if (ccl != null) {
+            findGeneratedTypeConverterLoaders(registry, ccl);
+        }
+        findGeneratedTypeConverterLoaders(registry, getClass().getClassLoader());
+    }
+
+    protected void findGeneratedTypeConverterLoaders(TypeConverterRegistry registry, ClassLoader classLoader) throws IOException, TypeConverterLoaderException {
+        Enumeration<URL> resources = classLoader.getResources(META_INF_LOADERS);
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            // remember the location so we do not load it twice, and do not scan it afterwards
+            if (indexedLocations.add(getLocation(url, META_INF_LOADERS))) {
+                loadGeneratedTypeConverterLoaders(registry, classLoader, url);
+            }
+        }
+    }
+
+    /**
+     * Loads the type converters using the {@link TypeConverterLoader}s listed in the given file.
+     *
+     * @param registry    the registry
+     * @param classLoader the class loader to load the type converter loaders
+     * @param url         the url of the file
+     * @throws IOException is thrown for IO related errors
+     */
+    protected void loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry, ClassLoader classLoader, URL url) throws IOException, TypeConverterLoaderException {
+        LOG.debug("Loading file {} to retrieve list of type converter loaders, from url: {}", META_INF_LOADERS, url);
+        Set<String> names = new LinkedHashSet<String>();
+        BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
+        try {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
+                }
+                tokenize(names, line);
+            }
+        } finally {
+            IOHelper.close(reader, null, LOG);
+        }
+
+        for (String name : names) {
+            try {
+                LOG.trace("Loading type converter loader: {}", name);
+                Class<?> type = classLoader.loadClass(name);
+                TypeConverterLoader loader = ObjectHelper.newInstance(type, TypeConverterLoader.class);
+                loader.load(registry);
+            } catch (ClassNotFoundException e) {
+                LOG.warn("Ignoring type converter loader: " + name + " as it could not be found: " + e);
+            } catch (NoClassDefFoundError e) {
+                LOG.warn("Ignoring type converter loader: " + name + " as a dependent class could not be found: " + e, e);
+            }
+        }
+        LOG.debug("Loaded {} type converter loaders from url: {}", names.size(), url);
+    }
+
+    /**
+     * Gets the location of the JAR (or directory) which contains the given file
+     */
+    private static String getLocation(URL url, String fileName) {
+        String location = url.toExternalForm();
+        if (location.endsWith(fileName)) {
+            location = location.substring(0, location.length() - fileName.length());
+        }
+        return location;
+    }
+
     /**
      * Tokenizes the line from the META-IN/services file using commas and
      * ignoring whitespace between packages
@@ -57,6 +57,9 @@ import org.slf4j.LoggerFactory;
 public abstract class BaseTypeConverterRegistry extends ServiceSupport implements TypeConverter, TypeConverterRegistry {
     protected final Logger log = LoggerFactory.getLogger(getClass());
     protected final ConcurrentMap<TypeMapping, TypeConverter> typeMappings = new ConcurrentHashMap<TypeMapping, TypeConverter>();
+    // two level cache (to type -> from type) of the type converters found, which allows to lookup
+    // a type converter on the hot path without creating a new TypeMapping key
+    protected final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter>> converterCache = new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter>>();
     // for misses use a soft reference cache map, as the classes may be un-deployed at runtime
     protected final LRUSoftCache<TypeMapping, TypeMapping> misses = new LRUSoftCache<TypeMapping, TypeMapping>(1000);
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<TypeConverterLoader>();
@@ -246,6 +249,15 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             return type.cast(value);
         }
 
+        // same instance type of the wrapper type (eg Integer to int)
+        if (type.isPrimitive() && ObjectHelper.convertPrimitiveTypeToWrapperType(type).isInstance(value)) {
+            // no type conversion was needed
+            if (statistics.isStatisticsEnabled()) {
+                noopCounter.incrementAndGet();
+            }
+            return value;
+        }
+
         // special for NaN numbers, which we can only convert for floating numbers
         if (ObjectHelper.isNaN(value)) {
             // no type conversion was needed
@@ -267,17 +279,21 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             attemptCounter.incrementAndGet();
         }
 
-        // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
-            // we have tried before but we cannot convert this one
-            return Void.TYPE;
+        // try the cached type converters first, which does not create any new objects
+        TypeConverter converter = getCachedTypeConverter(type, value.getClass());
+        if (converter == null) {
+            // check if we have tried it before and if its a miss
+            TypeMapping key = new TypeMapping(type, value.getClass());
+            if (misses.containsKey(key)) {
+                // we have tried before but we cannot convert this one
+                return Void.TYPE;
+            }
+
+            // try to find a suitable type converter
+            converter = getOrFindTypeConverter(key);
         }
-        
-        // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(key);
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            log.trace("Using converter: {} to convert [{}=>{}]", new Object[]{converter, value.getClass(), type});
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
@@ -358,7 +374,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
+            TypeMapping key = new TypeMapping(type, value.getClass());
             misses.put(key, key);
+            removeCachedTypeConverter(type, value.getClass());
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
@@ -379,6 +397,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             typeMappings.put(key, typeConverter);
             // remove any previous misses, as we added the new type converter
             misses.remove(key);
+            removeCachedTypeConverter(toType, fromType);
         }
     }
 
@@ -390,6 +409,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (converter != null) {
             typeMappings.remove(key);
             misses.remove(key);
+            removeCachedTypeConverter(toType, fromType);
         }
         return converter != null;
     }
@@ -454,9 +474,41 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 typeMappings.putIfAbsent(key, converter);
             }
         }
+        if (converter != null) {
+            addCachedTypeConverter(key.getToType(), key.getFromType(), converter);
+        }
         return converter;
     }
 
+    /**
+     * Gets the cached type converter to convert between the given types, without creating any new objects.
+     *
+     * @return the type converter, or <tt>null</tt> if not cached
+     */
+    protected TypeConverter getCachedTypeConverter(Class<?> toType, Class<?> fromType) {
+        ConcurrentMap<Class<?>, TypeConverter> converters = converterCache.get(toType);
+        return converters != null ? converters.get(fromType) : null;
+    }
+
+    protected void addCachedTypeConverter(Class<?> toType, Class<?> fromType, TypeConverter typeConverter) {
+        ConcurrentMap<Class<?>, TypeConverter> converters = converterCache.get(toType);
+        if (converters == null) {
+            converters = new ConcurrentHashMap<Class<?>, TypeConverter>();
+            ConcurrentMap<Class<?>, TypeConverter> existing = converterCache.putIfAbsent(toType, converters);
+            if (existing != null) {
+                converters = existing;
+            }
+        }
+        converters.put(fromType, typeConverter);
+    }
+
+    protected void removeCachedTypeConverter(Class<?> toType, Class<?> fromType) {
+        ConcurrentMap<Class<?>, TypeConverter> converters = converterCache.get(toType);
+        if (converters != null && fromType != null) {
+            converters.remove(fromType);
+        }
+    }
+
     @Override
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
         return doLookup(toType, fromType, false);
@@ -596,6 +648,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         typeMappings.clear();
+        converterCache.clear();
         misses.clear();
         statistics.reset();
     }
@@ -17,19 +17,46 @@
 package org.apache.camel.impl.converter;
 
 import java.io.IOException;
+import java.net.URL;
+
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.spi.TypeConverterRegistry;
 
 /**
  * Will load all type converters from camel-core without classpath scanning, which makes
  * it much faster.
  * <p/>
  * The {@link CorePackageScanClassResolver} contains a hardcoded list of the type converter classes to load.
+ * If camel-core has been built with the Camel annotation processor, then the type converters are loaded
+ * by the type converter loaders which has been generated at build time, as listed in the {@link #META_INF_CORE_LOADERS} file.
  */
 public class CoreTypeConverterLoader extends AnnotationTypeConverterLoader {
+    public static final String META_INF_CORE_LOADERS = "META-INF/services/org/apache/camel/CoreTypeConverterLoader";
 
     public CoreTypeConverterLoader() {
         super(new CorePackageScanClassResolver());
     }
 
+    @Override
+    public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+        ClassLoader classLoader = CoreTypeConverterLoader.class.getClassLoader();
+        URL url = classLoader != null ? classLoader.getResource(META_INF_CORE_LOADERS) : null;
+        if (url != null) {
+            try {
+                loadGeneratedTypeConverterLoaders(registry, classLoader, url);
+            } catch (IOException e) {
+                throw new TypeConverterLoaderException("Cannot load the type converter loaders from: " + url, e);
+            }
+        } else {
+            super.load(registry);
+        }
+    }
+
+    @Override
+    protected void loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) {
+        // only the type converters from camel-core should be loaded
+    }
+
     @Override
     protected String[] findPackageNames() throws IOException {
         // this method doesn't change the behavior of the CorePackageScanClassResolver
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.TypeConverterAware;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.util.CastUtils;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Base class for the {@link TypeConverterLoader}s which are generated at build time by the Camel annotation processor,
+ * for each class with {@link org.apache.camel.Converter} methods.
+ * <p/>
+ * The generated loader registers the converter methods with their index, and invokes the converter methods directly
+ * from {@link #convertTo(int, Class, org.apache.camel.Exchange, Object, org.apache.camel.spi.TypeConverterRegistry)},
+ * so the type converters can be loaded without classpath scanning and without reflection.
+ *
+ * @version 
+ */
+public abstract class GeneratedTypeConverterLoaderSupport implements TypeConverterLoader {
+
+    private final Class<?> type;
+    private volatile CachingInjector<?> injector;
+
+    protected GeneratedTypeConverterLoaderSupport(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Invokes the converter method with the given index.
+     *
+     * @param index     the index of the converter method
+     * @param type      the type to convert to
+     * @param exchange  the exchange, may be <tt>null</tt>
+     * @param value     the value to convert
+     * @param registry  the registry
+     * @return the converted value
+     * @throws Exception is thrown from the converter method
+     */
+    protected abstract Object convertTo(int index, Class<?> type, Exchange exchange, Object value, TypeConverterRegistry registry) throws Exception;
+
+    /**
+     * Registers the converter method with the given index as a type converter.
+     */
+    protected void addTypeConverter(TypeConverterRegistry registry, Class<?> toType, Class<?> fromType, int index, boolean allowNull) {
+        registry.addTypeConverter(toType, fromType, new GeneratedTypeConverter(registry, index, allowNull));
+    }
+
+    /**
+     * Registers the converter method with the given index as a fallback type converter.
+     */
+    protected void addFallbackTypeConverter(TypeConverterRegistry registry, int index, boolean allowNull, boolean canPromote) {
+        registry.addFallbackTypeConverter(new GeneratedTypeConverter(registry, index, allowNull), canPromote);
+    }
+
+    /**
+     * Gets the instance of the converter class, which is used for converter methods which are not static.
+     */
+    protected Object getInstance(TypeConverterRegistry registry) {
+        if (injector == null) {
+            synchronized (this) {
+                if (injector == null) {
+                    injector = new CachingInjector<Object>(registry, CastUtils.cast(type, Object.class));
+                }
+            }
+        }
+        Object instance = injector.newInstance();
+        if (instance == null) {
+            throw new RuntimeCamelException("Could not instantiate an instance of: " + type.getCanonicalName());
+        }
+        // inject parent type converter
+        if (instance instanceof TypeConverterAware && registry instanceof TypeConverter) {
+            ((TypeConverterAware) instance).setTypeConverter((TypeConverter) registry);
+        }
+        return instance;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + type.getName() + "]";
+    }
+
+    /**
+     * The type converter which invokes the converter method with the given index.
+     */
+    private final class GeneratedTypeConverter extends TypeConverterSupport {
+
+        private final TypeConverterRegistry registry;
+        private final int index;
+        private final boolean allowNull;
+
+        private GeneratedTypeConverter(TypeConverterRegistry registry, int index, boolean allowNull) {
+            this.registry = registry;
+            this.index = index;
+            this.allowNull = allowNull;
+        }
+
+        @Override
+        public boolean allowNull() {
+            return allowNull;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> toType, Exchange exchange, Object value) {
+            try {
+                return (T) GeneratedTypeConverterLoaderSupport.this.convertTo(index, toType, exchange, value, registry);
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "GeneratedTypeConverter: " + type.getName() + "#" + index;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralNode;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Compiles common shapes of the parsed <a href="http://camel.apache.org/simple.html">simple language</a>
+ * AST into specialized {@link Expression} and {@link Predicate} objects, which are cheaper to evaluate
+ * than the generic objects created from the AST nodes.
+ * <p/>
+ * The following shapes are supported:
+ * <ul>
+ *   <li>templates such as <tt>Hello ${body} from ${header.foo}</tt>, where the literal texts are kept as
+ *   strings instead of constant expressions which must be type converted on every evaluation</li>
+ *   <li>predicates such as <tt>${in.header.foo} == 'bar'</tt> and <tt>${body} != 'bar'</tt>, where the right
+ *   hand side is a quoted literal, which are evaluated as a {@link Predicate} directly instead of a boolean
+ *   expression adapted to a predicate</li>
+ * </ul>
+ * The compiled objects evaluate the same as the objects created from the AST. If the AST does not have one
+ * of the supported shapes then <tt>null</tt> is returned to let the parser create the objects as usual.
+ *
+ * @version 
+ */
+public final class SimpleCompiler {
+
+    private SimpleCompiler() {
+    }
+
+    /**
+     * Compiles the nodes of a parsed expression.
+     *
+     * @param expression the input string
+     * @param nodes      the AST nodes of the expression
+     * @return the compiled expression, or <tt>null</tt> if the nodes cannot be compiled
+     */
+    public static Expression compileExpression(String expression, List<SimpleNode> nodes) {
+        if (nodes.size() < 2) {
+            // a single node is already created as a specialized expression
+            return null;
+        }
+
+        final List<Object> parts = new ArrayList<Object>(nodes.size());
+        int length = 0;
+        for (SimpleNode node : nodes) {
+            if (node instanceof LiteralNode) {
+                String text = ((LiteralNode) node).getText();
+                length += text.length();
+                parts.add(text);
+            } else {
+                Expression exp = node.createExpression(expression);
+                if (exp != null) {
+                    parts.add(exp);
+                    // assume some room for the value of the function
+                    length += 16;
+                }
+            }
+        }
+        if (parts.size() < 2) {
+            return null;
+        }
+        return new CompiledConcatExpression(expression, parts.toArray(), length);
+    }
+
+    /**
+     * Compiles the nodes of a parsed predicate.
+     *
+     * @param expression the input string
+     * @param nodes      the AST nodes of the predicate
+     * @return the compiled predicate, or <tt>null</tt> if the nodes cannot be compiled
+     */
+    public static Predicate compilePredicate(String expression, List<SimpleNode> nodes) {
+        if (nodes.size() != 1 || !(nodes.get(0) instanceof BinaryExpression)) {
+            return null;
+        }
+
+        BinaryExpression binary = (BinaryExpression) nodes.get(0);
+        BinaryOperatorType operator = binary.getOperator();
+        if (operator != BinaryOperatorType.EQ && operator != BinaryOperatorType.NOT_EQ) {
+            return null;
+        }
+        if (!(binary.getLeft() instanceof SimpleFunctionStart)) {
+            return null;
+        }
+        String literal = quotedLiteralText(binary.getRight());
+        if (literal == null) {
+            return null;
+        }
+
+        Expression left = binary.getLeft().createExpression(expression);
+        // same text as the predicate created from the AST
+        String text = left + " " + binary.getToken().getText() + " " + literal;
+        return new CompiledEqualPredicate(text, left, literal, operator == BinaryOperatorType.NOT_EQ);
+    }
+
+    /**
+     * Gets the text of the node if its a quoted literal without any embedded functions.
+     *
+     * @return the text, or <tt>null</tt> if the node is not a quoted literal
+     */
+    private static String quotedLiteralText(SimpleNode node) {
+        CompositeNodes block;
+        if (node instanceof SingleQuoteStart) {
+            block = ((SingleQuoteStart) node).getBlock();
+        } else if (node instanceof DoubleQuoteStart) {
+            block = ((DoubleQuoteStart) node).getBlock();
+        } else {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : block.getChildren()) {
+            if (!(child instanceof LiteralNode)) {
+                return null;
+            }
+            sb.append(((LiteralNode) child).getText());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Concatenates literal texts and the values of the functions.
+     */
+    private static final class CompiledConcatExpression extends ExpressionAdapter {
+
+        private final String expression;
+        private final Object[] parts;
+        private final int length;
+
+        private CompiledConcatExpression(String expression, Object[] parts, int length) {
+            this.expression = expression;
+            this.parts = parts;
+            this.length = length;
+        }
+
+        public Object evaluate(Exchange exchange) {
+            StringBuilder buffer = new StringBuilder(length);
+            for (Object part : parts) {
+                if (part instanceof String) {
+                    buffer.append((String) part);
+                } else {
+                    String text = ((Expression) part).evaluate(exchange, String.class);
+                    if (text != null) {
+                        buffer.append(text);
+                    }
+                }
+            }
+            return buffer.toString();
+        }
+
+        @Override
+        public String toString() {
+            return expression;
+        }
+    }
+
+    /**
+     * Compares the value of a function with a literal text, using the same type coercion
+     * as the <tt>==</tt> and <tt>!=</tt> operators.
+     */
+    private static final class CompiledEqualPredicate implements Predicate {
+
+        private final String text;
+        private final Expression left;
+        private final String literal;
+        private final boolean not;
+
+        private CompiledEqualPredicate(String text, Expression left, String literal, boolean not) {
+            this.text = text;
+            this.left = left;
+            this.literal = literal;
+            this.not = not;
+        }
+
+        public boolean matches(Exchange exchange) {
+            Object value = left.evaluate(exchange, Object.class);
+            boolean equal;
+            if (value == null) {
+                // the literal is never null
+                equal = false;
+            } else if (value instanceof String) {
+                // no need for type coercion
+                equal = literal.equals(value);
+            } else {
+                equal = ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), value, literal);
+            }
+            return not ? !equal : equal;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+}
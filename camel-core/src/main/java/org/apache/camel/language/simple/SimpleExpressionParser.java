@@ -47,6 +47,15 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         super(expression, allowEscape);
     }
 
+    /**
+     * @param expression  the input string
+     * @param allowEscape whether escaping is allowed
+     * @param compile     whether to compile common shapes into specialized objects using {@link SimpleCompiler}
+     */
+    public SimpleExpressionParser(String expression, boolean allowEscape, boolean compile) {
+        super(expression, allowEscape, compile);
+    }
+
     public Expression parseExpression() {
         clear();
         try {
@@ -82,6 +91,13 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         // compact and stack unary operators
         prepareUnaryExpressions();
 
+        if (compile) {
+            Expression answer = SimpleCompiler.compileExpression(expression, nodes);
+            if (answer != null) {
+                return answer;
+            }
+        }
+
         // create and return as a Camel expression
         List<Expression> expressions = createExpressions();
         if (expressions.isEmpty()) {
@@ -16,10 +16,13 @@
  */
 package org.apache.camel.language.simple;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.PredicateToExpressionAdapter;
 
@@ -86,15 +89,30 @@ import org.apache.camel.util.PredicateToExpressionAdapter;
  * return the full path including the starting directory.
  * <br/>
  * The <b>only</b> file is the filename only with all paths clipped.
- *
+ * <p/>
+ * The created expressions and predicates are cached in a LRU cache keyed by the input string (see {@link #setCacheSize(int)})
+ * so parsing the same input again is cheap, and common shapes such as templates and comparing a function with a quoted
+ * literal are compiled into specialized objects (see {@link #setCompile(boolean)}).
  */
 public class SimpleLanguage extends LanguageSupport {
 
+    // the default number of parsed expressions and predicates to keep in the caches
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    // changed when the function tokens are changed, as the cached expressions are parsed using the old tokens
+    private static final AtomicInteger FUNCTION_TOKENS_VERSION = new AtomicInteger();
+
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     protected boolean allowEscape = true;
 
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+    private boolean compile = true;
+    private volatile LRUCache<String, Expression> expressionCache;
+    private volatile LRUCache<String, Predicate> predicateCache;
+    private volatile int functionTokensVersion;
+
     /**
      * Default constructor.
      */
@@ -104,14 +122,28 @@ public class SimpleLanguage extends LanguageSupport {
     public Predicate createPredicate(String expression) {
         ObjectHelper.notNull(expression, "expression");
 
-        expression = loadResource(expression);
+        LRUCache<String, Predicate> cache = getPredicateCache();
+        Predicate answer = cache != null ? cache.get(expression) : null;
+        if (answer != null) {
+            return answer;
+        }
+
+        answer = doCreatePredicate(loadResource(expression));
+
+        // do not cache resources as their content may change
+        if (cache != null && !expression.startsWith(RESOURCE)) {
+            cache.put(expression, answer);
+        }
+        return answer;
+    }
 
+    private Predicate doCreatePredicate(String expression) {
         // support old simple language syntax
         @SuppressWarnings("deprecation")
         Predicate answer = SimpleBackwardsCompatibleParser.parsePredicate(expression, allowEscape);
         if (answer == null) {
             // use the new parser
-            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, compile);
             answer = parser.parsePredicate();
         }
         return answer;
@@ -120,19 +152,95 @@ public class SimpleLanguage extends LanguageSupport {
     public Expression createExpression(String expression) {
         ObjectHelper.notNull(expression, "expression");
 
-        expression = loadResource(expression);
+        LRUCache<String, Expression> cache = getExpressionCache();
+        Expression answer = cache != null ? cache.get(expression) : null;
+        if (answer != null) {
+            return answer;
+        }
+
+        answer = doCreateExpression(loadResource(expression));
+
+        // do not cache resources as their content may change
+        if (cache != null && !expression.startsWith(RESOURCE)) {
+            cache.put(expression, answer);
+        }
+        return answer;
+    }
 
+    private Expression doCreateExpression(String expression) {
         // support old simple language syntax
         @SuppressWarnings("deprecation")
         Expression answer = SimpleBackwardsCompatibleParser.parseExpression(expression, allowEscape);
         if (answer == null) {
             // use the new parser
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape);
+            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, compile);
             answer = parser.parseExpression();
         }
         return answer;
     }
 
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of parsed expressions and predicates to cache.
+     * <p/>
+     * The default size is 1000. Use 0 or a negative value to turn off caching.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        clearCaches();
+    }
+
+    public boolean isCompile() {
+        return compile;
+    }
+
+    /**
+     * Whether to compile common shapes of expressions and predicates into specialized objects
+     * which are cheaper to evaluate.
+     * <p/>
+     * This option is default <tt>true</tt>.
+     *
+     * @see SimpleCompiler
+     */
+    public void setCompile(boolean compile) {
+        this.compile = compile;
+        clearCaches();
+    }
+
+    private void clearCaches() {
+        expressionCache = null;
+        predicateCache = null;
+        functionTokensVersion = FUNCTION_TOKENS_VERSION.get();
+    }
+
+    private LRUCache<String, Expression> getExpressionCache() {
+        if (functionTokensVersion != FUNCTION_TOKENS_VERSION.get()) {
+            clearCaches();
+        }
+        LRUCache<String, Expression> answer = expressionCache;
+        if (answer == null && cacheSize > 0) {
+            // the cached objects are not services so they should not be stopped on eviction
+            answer = new LRUCache<String, Expression>(Math.min(16, cacheSize), cacheSize, false);
+            expressionCache = answer;
+        }
+        return answer;
+    }
+
+    private LRUCache<String, Predicate> getPredicateCache() {
+        if (functionTokensVersion != FUNCTION_TOKENS_VERSION.get()) {
+            clearCaches();
+        }
+        LRUCache<String, Predicate> answer = predicateCache;
+        if (answer == null && cacheSize > 0) {
+            answer = new LRUCache<String, Predicate>(Math.min(16, cacheSize), cacheSize, false);
+            predicateCache = answer;
+        }
+        return answer;
+    }
+
     /**
      * Creates a new {@link Expression}.
      * <p/>
@@ -194,6 +302,7 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public static void changeFunctionStartToken(String... startToken) {
         SimpleTokenizer.changeFunctionStartToken(startToken);
+        FUNCTION_TOKENS_VERSION.incrementAndGet();
     }
     
     /**
@@ -208,6 +317,7 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public static void changeFunctionEndToken(String... endToken) {
         SimpleTokenizer.changeFunctionEndToken(endToken);
+        FUNCTION_TOKENS_VERSION.incrementAndGet();
     }
 
     /**
@@ -60,6 +60,15 @@ public class SimplePredicateParser extends BaseSimpleParser {
         super(expression, allowEscape);
     }
 
+    /**
+     * @param expression  the input string
+     * @param allowEscape whether escaping is allowed
+     * @param compile     whether to compile common shapes into specialized objects using {@link SimpleCompiler}
+     */
+    public SimplePredicateParser(String expression, boolean allowEscape, boolean compile) {
+        super(expression, allowEscape, compile);
+    }
+
     public Predicate parsePredicate() {
         clear();
         try {
@@ -115,6 +124,13 @@ public class SimplePredicateParser extends BaseSimpleParser {
         // compact and stack logical expressions
         prepareLogicalExpressions();
 
+        if (compile) {
+            Predicate answer = SimpleCompiler.compilePredicate(expression, nodes);
+            if (answer != null) {
+                return answer;
+            }
+        }
+
         // create and return as a Camel predicate
         List<Predicate> predicates = createPredicates();
         if (predicates.isEmpty()) {
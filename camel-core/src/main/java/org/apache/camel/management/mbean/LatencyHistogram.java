@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of processing times, which is used to compute percentiles such as the 99th percentile
+ * of the processing time.
+ * <p/>
+ * The values are counted in buckets which grows exponentially, where each power of two is divided into
+ * {@link #SUB_BUCKETS} buckets (similar to a HdrHistogram with two significant digits), so the relative error
+ * of a percentile is at most 1/{@link #SUB_BUCKETS}, and values below 2 * {@link #SUB_BUCKETS} are exact.
+ * Recording a value is lock free and does not allocate any objects.
+ */
+public class LatencyHistogram {
+
+    public static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+    // values below this number is recorded exactly
+    private static final int LINEAR = SUB_BUCKETS * 2;
+    // the max number of shifts needed to fit a positive long value into the sub buckets
+    private static final int MAX_SHIFT = 62 - SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR + MAX_SHIFT * SUB_BUCKETS);
+
+    /**
+     * Records the value
+     *
+     * @param value the value such as the processing time, negative values are recorded as zero
+     */
+    public void recordValue(long value) {
+        counts.incrementAndGet(bucketIndex(value < 0 ? 0 : value));
+    }
+
+    /**
+     * Gets the value at the given percentile.
+     * <p/>
+     * The value is the highest value which is counted in the same bucket as the value at the percentile.
+     *
+     * @param percentile the percentile such as <tt>99.9</tt>
+     * @return the value, or <tt>0</tt> if no values has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        double p = Math.min(Math.max(percentile, 0), 100);
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            count += snapshot[i];
+            if (count >= rank) {
+                return highestValueInBucket(i);
+            }
+        }
+        return highestValueInBucket(snapshot.length - 1);
+    }
+
+    /**
+     * Gets the total number of values recorded
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Resets the histogram
+     * <p/>
+     * Values recorded concurrently with the reset may be lost.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        // shift the value so it fits into the sub buckets of its power of two
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        if (shift == MAX_SHIFT && subBucket == SUB_BUCKETS * 2 - 1) {
+            return Long.MAX_VALUE;
+        }
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
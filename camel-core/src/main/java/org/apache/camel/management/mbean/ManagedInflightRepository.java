@@ -57,6 +57,21 @@ public class ManagedInflightRepository extends ManagedService implements Managed
         return inflightRepository.size(routeId);
     }
 
+    @Override
+    public long oldestInflightDuration(String routeId) {
+        return inflightRepository.oldestInflightDuration(routeId);
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightRepository.isInflightBrowseEnabled();
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        inflightRepository.setInflightBrowseEnabled(inflightBrowseEnabled);
+    }
+
     @Override
     public TabularData browse() {
         return browse(-1, false);
@@ -42,15 +42,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic totalProcessingTime;
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
-    private Statistic meanProcessingTime;
     private Statistic firstExchangeCompletedTimestamp;
-    private String firstExchangeCompletedExchangeId;
+    private volatile String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
-    private String firstExchangeFailureExchangeId;
+    private volatile String firstExchangeFailureExchangeId;
     private Statistic lastExchangeCompletedTimestamp;
-    private String lastExchangeCompletedExchangeId;
+    private volatile String lastExchangeCompletedExchangeId;
     private Statistic lastExchangeFailureTimestamp;
-    private String lastExchangeFailureExchangeId;
+    private volatile String lastExchangeFailureExchangeId;
+    private volatile LatencyHistogram latencyHistogram;
     private boolean statisticsEnabled = true;
 
     public void init(ManagementStrategy strategy) {
@@ -68,12 +68,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.totalProcessingTime = new Statistic("org.apache.camel.totalProcessingTime", this, Statistic.UpdateMode.COUNTER);
         this.lastProcessingTime = new Statistic("org.apache.camel.lastProcessingTime", this, Statistic.UpdateMode.VALUE);
         this.deltaProcessingTime = new Statistic("org.apache.camel.deltaProcessingTime", this, Statistic.UpdateMode.DELTA);
-        this.meanProcessingTime = new Statistic("org.apache.camel.meanProcessingTime", this, Statistic.UpdateMode.VALUE);
 
         this.firstExchangeCompletedTimestamp = new Statistic("org.apache.camel.firstExchangeCompletedTimestamp", this, Statistic.UpdateMode.VALUE);
         this.firstExchangeFailureTimestamp = new Statistic("org.apache.camel.firstExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
         this.lastExchangeCompletedTimestamp = new Statistic("org.apache.camel.lastExchangeCompletedTimestamp", this, Statistic.UpdateMode.VALUE);
         this.lastExchangeFailureTimestamp = new Statistic("org.apache.camel.lastExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
+
+        if (strategy != null && strategy.isLatencyHistogramEnabled()) {
+            this.latencyHistogram = new LatencyHistogram();
+        }
     }
 
     @Override
@@ -90,7 +93,6 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.reset();
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
-        meanProcessingTime.reset();
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -99,6 +101,10 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastExchangeCompletedExchangeId = null;
         lastExchangeFailureTimestamp.reset();
         lastExchangeFailureExchangeId = null;
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram != null) {
+            histogram.reset();
+        }
     }
 
     public long getExchangesCompleted() throws Exception {
@@ -128,7 +134,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public long getMeanProcessingTime() throws Exception {
-        return meanProcessingTime.getValue();
+        return meanProcessingTime();
     }
 
     public long getMaxProcessingTime() throws Exception {
@@ -147,6 +153,30 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    public long getP50ProcessingTime() {
+        return percentileProcessingTime(50);
+    }
+
+    public long getP99ProcessingTime() {
+        return percentileProcessingTime(99);
+    }
+
+    public long getP999ProcessingTime() {
+        return percentileProcessingTime(99.9);
+    }
+
+    public boolean isLatencyHistogramEnabled() {
+        return latencyHistogram != null;
+    }
+
+    public void setLatencyHistogramEnabled(boolean latencyHistogramEnabled) {
+        if (!latencyHistogramEnabled) {
+            latencyHistogram = null;
+        } else if (latencyHistogram == null) {
+            latencyHistogram = new LatencyHistogram();
+        }
+    }
+
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
         return value > 0 ? new Date(value) : null;
@@ -191,11 +221,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.statisticsEnabled = statisticsEnabled;
     }
 
-    public synchronized void processExchange(Exchange exchange) {
+    public void processExchange(Exchange exchange) {
         exchangesInflight.increment();
     }
 
-    public synchronized void completedExchange(Exchange exchange, long time) {
+    public void completedExchange(Exchange exchange, long time) {
         increment();
         exchangesCompleted.increment();
         exchangesInflight.decrement();
@@ -214,24 +244,21 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
 
-        long now = new Date().getTime();
-        if (firstExchangeCompletedTimestamp.getUpdateCount() == 0) {
-            firstExchangeCompletedTimestamp.updateValue(now);
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram != null) {
+            histogram.recordValue(time);
         }
 
-        lastExchangeCompletedTimestamp.updateValue(now);
-        if (firstExchangeCompletedExchangeId == null) {
+        long now = System.currentTimeMillis();
+        // only the exchange which set the first timestamp sets the first exchange id
+        if (firstExchangeCompletedTimestamp.compareAndSet(0, now)) {
             firstExchangeCompletedExchangeId = exchange.getExchangeId();
         }
+        lastExchangeCompletedTimestamp.updateValue(now);
         lastExchangeCompletedExchangeId = exchange.getExchangeId();
-
-        // update mean
-        long count = exchangesCompleted.getValue();
-        long mean = count > 0 ? totalProcessingTime.getValue() / count : 0;
-        meanProcessingTime.updateValue(mean);
     }
 
-    public synchronized void failedExchange(Exchange exchange) {
+    public void failedExchange(Exchange exchange) {
         increment();
         exchangesFailed.increment();
         exchangesInflight.decrement();
@@ -244,15 +271,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             externalRedeliveries.increment();
         }
 
-        long now = new Date().getTime();
-        if (firstExchangeFailureTimestamp.getUpdateCount() == 0) {
-            firstExchangeFailureTimestamp.updateValue(now);
-        }
-
-        lastExchangeFailureTimestamp.updateValue(now);
-        if (firstExchangeFailureExchangeId == null) {
+        long now = System.currentTimeMillis();
+        // only the exchange which set the first timestamp sets the first exchange id
+        if (firstExchangeFailureTimestamp.compareAndSet(0, now)) {
             firstExchangeFailureExchangeId = exchange.getExchangeId();
         }
+        lastExchangeFailureTimestamp.updateValue(now);
         lastExchangeFailureExchangeId = exchange.getExchangeId();
     }
 
@@ -269,7 +293,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime()));
+        if (latencyHistogram != null) {
+            sb.append(String.format(" p50ProcessingTime=\"%s\"", getP50ProcessingTime()));
+            sb.append(String.format(" p99ProcessingTime=\"%s\"", getP99ProcessingTime()));
+            sb.append(String.format(" p999ProcessingTime=\"%s\"", getP999ProcessingTime()));
+        }
 
         if (fullStats) {
             sb.append(String.format(" resetTimestamp=\"%s\"", dateAsString(resetTimestamp.getValue())));
@@ -286,6 +315,21 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return sb.toString();
     }
 
+    private long meanProcessingTime() {
+        // the mean is computed when needed instead of for every exchange
+        long count = exchangesCompleted.getValue();
+        return count > 0 ? totalProcessingTime.getValue() / count : 0;
+    }
+
+    private long percentileProcessingTime(double percentile) {
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram == null) {
+            return 0;
+        }
+        // the bucket of the percentile may be larger than the max processing time
+        return Math.min(histogram.getValueAtPercentile(percentile), maxProcessingTime.getValue());
+    }
+
     private static String dateAsString(long value) {
         if (value == 0) {
             return "";
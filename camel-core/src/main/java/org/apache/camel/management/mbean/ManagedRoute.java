@@ -104,6 +104,10 @@ public class ManagedRoute extends ManagedPerformanceCounter implements TimerList
         return (int) super.getExchangesInflight();
     }
 
+    public Long getOldestInflightDuration() {
+        return context.getInflightRepository().oldestInflightDuration(getRouteId());
+    }
+
     public String getCamelId() {
         return context.getName();
     }
@@ -58,6 +58,18 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getSpoolChiper();
     }
 
+    public void setSpoolMemoryMapped(boolean memoryMapped) {
+        streamCachingStrategy.setSpoolMemoryMapped(memoryMapped);
+    }
+
+    public boolean isSpoolMemoryMapped() {
+        return streamCachingStrategy.isSpoolMemoryMapped();
+    }
+
+    public long getBufferPoolSize() {
+        return streamCachingStrategy.getBufferPoolSize();
+    }
+
     public void setSpoolThreshold(long threshold) {
         streamCachingStrategy.setSpoolThreshold(threshold);
     }
@@ -130,6 +142,26 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    public long getCacheBufferPoolCounter() {
+        return streamCachingStrategy.getStatistics().getCacheBufferPoolCounter();
+    }
+
+    public long getCacheBufferPoolSize() {
+        return streamCachingStrategy.getStatistics().getCacheBufferPoolSize();
+    }
+
+    public long getCacheBufferPoolAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheBufferPoolAverageSize();
+    }
+
+    public long getBufferPoolUsed() {
+        return streamCachingStrategy.getStatistics().getBufferPoolUsed();
+    }
+
+    public long getSpoolFilesInUse() {
+        return streamCachingStrategy.getStatistics().getSpoolFilesInUse();
+    }
+
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
     }
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.Map;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
+import org.apache.camel.api.management.mbean.ManagedTokenBucketThrottlerMBean;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.TokenBucketThrottler;
+import org.apache.camel.util.ObjectHelper;
+
+import static org.apache.camel.builder.Builder.constant;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed TokenBucketThrottler")
+public class ManagedTokenBucketThrottler extends ManagedProcessor implements ManagedTokenBucketThrottlerMBean {
+    private final TokenBucketThrottler throttler;
+
+    public ManagedTokenBucketThrottler(CamelContext context, TokenBucketThrottler throttler, ProcessorDefinition<?> definition) {
+        super(context, throttler, definition);
+        this.throttler = throttler;
+    }
+
+    public TokenBucketThrottler getThrottler() {
+        return throttler;
+    }
+
+    public long getMaximumRequestsPerPeriod() {
+        return getThrottler().getCurrentMaximumRequestsPerPeriod();
+    }
+
+    public void setMaximumRequestsPerPeriod(long maximumRequestsPerPeriod) {
+        getThrottler().setMaximumRequestsPerPeriodExpression(constant(maximumRequestsPerPeriod));
+    }
+
+    public long getTimePeriodMillis() {
+        return getThrottler().getTimePeriodMillis();
+    }
+
+    public void setTimePeriodMillis(long timePeriodMillis) {
+        getThrottler().setTimePeriodMillis(timePeriodMillis);
+    }
+
+    public int getThrottledCount() {
+        return getThrottler().getDelayedCount();
+    }
+
+    public String getCorrelationExpression() {
+        return getThrottler().getCorrelationExpression() != null ? getThrottler().getCorrelationExpression().toString() : null;
+    }
+
+    public int getMaximumKeys() {
+        return getThrottler().getMaximumKeys();
+    }
+
+    public int getKeyCount() {
+        return getThrottler().getKeyCount();
+    }
+
+    public long getCurrentRate() {
+        return getThrottler().getCurrentRate();
+    }
+
+    public TabularData currentRates() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listThrottlerRatesTabularType());
+            for (Map.Entry<Object, Long> entry : getThrottler().getCurrentRates().entrySet()) {
+                CompositeType ct = CamelOpenMBeanTypes.listThrottlerRatesCompositeType();
+                String key = entry.getKey().toString();
+                long rate = entry.getValue();
+
+                CompositeData data = new CompositeDataSupport(ct, new String[]{"key", "rate"}, new Object[]{key, rate});
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+}
@@ -16,8 +16,17 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.util.concurrent.StripedCounter;
+
 /**
  * Default implementation of {@link Statistic}
+ * <p/>
+ * The statistic is updated without locking, as the statistics is updated for every exchange by many threads
+ * concurrently. Counters use a {@link StripedCounter}, and the minimum and maximum values are only written
+ * when the value changes. Only the {@link UpdateMode#DELTA} mode is updated while locking, as it must update
+ * both the current and the last value.
  */
 public class Statistic {
 
@@ -44,10 +53,14 @@ public class Statistic {
         VALUE, DIFFERENCE, DELTA, COUNTER, MAXIMUM, MINIMUM
     }
 
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
     private final UpdateMode updateMode;
-    private long lastValue;
-    private long value;
+    private final StripedCounter counter;
+    private final AtomicLong value;
+    // only used by the DELTA mode, guarded by this
     private long updateCount;
+    private long lastValue;
 
     /**
      * Instantiates a new statistic.
@@ -58,77 +71,138 @@ public class Statistic {
      */
     public Statistic(String name, Object owner, UpdateMode updateMode) {
         this.updateMode = updateMode;
+        if (updateMode == UpdateMode.COUNTER) {
+            this.counter = new StripedCounter();
+            this.value = null;
+        } else {
+            this.counter = null;
+            this.value = new AtomicLong(initialValue());
+        }
     }
 
-    public synchronized void updateValue(long newValue) {
+    public void updateValue(long newValue) {
+        if (updateMode == UpdateMode.DELTA) {
+            updateDelta(newValue);
+            return;
+        }
+
         switch (this.updateMode) {
         case COUNTER:
-            this.value += newValue;
+            counter.add(newValue);
             break;
         case VALUE:
-            this.value = newValue;
+            value.set(newValue);
             break;
         case DIFFERENCE:
-            this.value -= newValue;
-            if (this.value < 0) {
-                this.value = -this.value;
-            }
-            break;
-        case DELTA:
-            if (updateCount > 0) {
-                this.lastValue = this.value;
+            while (true) {
+                long current = value.get();
+                long update = current - newValue;
+                if (value.compareAndSet(current, update < 0 ? -update : update)) {
+                    break;
+                }
             }
-            this.value = newValue;
             break;
         case MAXIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value < newValue) {
-                this.value = newValue;
+            // initialize value at first time (the initial value is lower than any value)
+            while (true) {
+                long current = value.get();
+                if (current != NO_VALUE && current >= newValue) {
+                    break;
+                }
+                if (value.compareAndSet(current, newValue)) {
+                    break;
+                }
             }
             break;
         case MINIMUM:
             // initialize value at first time
-            if (this.updateCount == 0 || this.value > newValue) {
-                this.value = newValue;
+            while (true) {
+                long current = value.get();
+                if (current != NO_VALUE && current <= newValue) {
+                    break;
+                }
+                if (value.compareAndSet(current, newValue)) {
+                    break;
+                }
             }
             break;
         default:
         }
-        this.updateCount++;
     }
 
-    public synchronized void increment() {
+    /**
+     * Sets the value if the current value is the expected value, such as setting a timestamp only the first time.
+     * <p/>
+     * This is not supported by the {@link UpdateMode#COUNTER} and {@link UpdateMode#DELTA} modes.
+     *
+     * @param expect the expected value
+     * @param update the new value
+     * @return <tt>true</tt> if the value was set, <tt>false</tt> if the current value was not the expected value
+     */
+    public boolean compareAndSet(long expect, long update) {
+        if (updateMode == UpdateMode.COUNTER || updateMode == UpdateMode.DELTA) {
+            throw new UnsupportedOperationException("CompareAndSet is not supported by update mode " + updateMode);
+        }
+        // avoid the atomic update if its already set
+        return value.get() == expect && value.compareAndSet(expect, update);
+    }
+
+    public void increment() {
         updateValue(1);
     }
 
-    public synchronized void decrement() {
+    public void decrement() {
         updateValue(-1);
     }
 
-    public synchronized long getValue() {
+    public long getValue() {
+        if (updateMode == UpdateMode.COUNTER) {
+            return counter.get();
+        }
         if (updateMode == UpdateMode.DELTA) {
-            if (updateCount == 0) {
-                return this.value;
-            } else {
-                return this.value - this.lastValue;
-            }
-        } else {
-            return this.value;
+            return getDelta();
         }
+        long answer = value.get();
+        return answer == NO_VALUE ? 0 : answer;
     }
 
+    /**
+     * Number of updates, which is only tracked by the {@link UpdateMode#DELTA} mode, and 0 for the other modes.
+     */
     public synchronized long getUpdateCount() {
         return this.updateCount;
     }
 
     public synchronized void reset() {
-        this.value = 0;
+        if (counter != null) {
+            counter.reset();
+        } else {
+            value.set(initialValue());
+        }
         this.lastValue = 0;
         this.updateCount = 0;
     }
 
     public String toString() {
-        return "" + value;
+        return "" + getValue();
+    }
+
+    private synchronized void updateDelta(long newValue) {
+        long previous = value.get();
+        value.set(newValue);
+        if (updateCount > 0) {
+            this.lastValue = previous;
+        }
+        this.updateCount++;
+    }
+
+    private synchronized long getDelta() {
+        long answer = value.get();
+        return updateCount > 0 ? answer - this.lastValue : answer;
+    }
+
+    private long initialValue() {
+        return updateMode == UpdateMode.MINIMUM || updateMode == UpdateMode.MAXIMUM ? NO_VALUE : 0;
     }
 
 }
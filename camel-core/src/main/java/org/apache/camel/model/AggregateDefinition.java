@@ -81,6 +81,10 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Integer lockStripes;
+    @XmlAttribute
+    private Boolean hashedWheelTimeoutMap;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -214,6 +218,12 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         if (getOptimisticLocking() != null) {
             answer.setOptimisticLocking(getOptimisticLocking());
         }
+        if (getLockStripes() != null) {
+            answer.setLockStripes(getLockStripes());
+        }
+        if (getHashedWheelTimeoutMap() != null) {
+            answer.setHashedWheelTimeoutMap(getHashedWheelTimeoutMap());
+        }
         if (getCompletionPredicate() != null) {
             Predicate predicate = getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -521,6 +531,22 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
+    public Boolean getHashedWheelTimeoutMap() {
+        return hashedWheelTimeoutMap;
+    }
+
+    public void setHashedWheelTimeoutMap(Boolean hashedWheelTimeoutMap) {
+        this.hashedWheelTimeoutMap = hashedWheelTimeoutMap;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -851,6 +877,32 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Turns on using striped locks, so different correlation keys can be aggregated in parallel.
+     * The same correlation key is always aggregated in sequence, as each correlation key is bound to one of the locks.
+     * <p/>
+     * Cannot be used together with optimistic locking or completion from batch consumer.
+     *
+     * @param lockStripes  the number of striped locks to use
+     * @return the builder
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
+    /**
+     * Turns on using a hashed timing wheel to keep track of the completion timeouts.
+     * The timeout checker then only visits the correlation keys which are due to time out,
+     * instead of scanning all the correlation keys, which scales better when there are many open correlation keys.
+     *
+     * @return the builder
+     */
+    public AggregateDefinition hashedWheelTimeoutMap() {
+        setHashedWheelTimeoutMap(true);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -33,6 +33,8 @@ import org.apache.camel.Processor;
 import org.apache.camel.model.loadbalancer.CircuitBreakerLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -40,6 +42,8 @@ import org.apache.camel.model.loadbalancer.TopicLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.WeightedLoadBalancerDefinition;
 import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
 import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LatencyAwareLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastInflightLoadBalancer;
 import org.apache.camel.processor.loadbalancer.LoadBalancer;
 import org.apache.camel.processor.loadbalancer.RandomLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RoundRobinLoadBalancer;
@@ -70,7 +74,9 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
             @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "topic", type = TopicLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "weighted", type = WeightedLoadBalancerDefinition.class),
-            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class)}
+            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastInflight", type = LeastInflightLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "latencyAware", type = LatencyAwareLoadBalancerDefinition.class)}
     )
     private LoadBalancerDefinition loadBalancerType;
     @XmlElementRef
@@ -286,6 +292,44 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least inflight load balancer, which selects the processor with the fewest exchanges currently being processed
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInflight() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LeastInflightLoadBalancer()));
+        return this;
+    }
+
+    /**
+     * Uses latency aware load balancer, which picks two random processors and selects the one with the
+     * lowest moving average response time weighted by the number of exchanges currently being processed
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition latencyAware() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LatencyAwareLoadBalancer()));
+        return this;
+    }
+
+    /**
+     * Uses latency aware load balancer, which picks two random processors and selects the one with the
+     * lowest moving average response time weighted by the number of exchanges currently being processed
+     *
+     * @param smoothingFactor  the weight of the latest response time in the moving average, between 0 and 1.
+     * @param decayWindow      time in milliseconds for the response time of an idle processor to decay, or 0 to not decay.
+     * @return the builder
+     */
+    public LoadBalanceDefinition latencyAware(double smoothingFactor, long decayWindow) {
+        LatencyAwareLoadBalancer latencyAware = new LatencyAwareLoadBalancer();
+        latencyAware.setSmoothingFactor(smoothingFactor);
+        latencyAware.setDecayWindow(decayWindow);
+
+        setLoadBalancerType(new LoadBalancerDefinition(latencyAware));
+        return this;
+    }
+
     /**
      * Uses the custom load balancer
      *
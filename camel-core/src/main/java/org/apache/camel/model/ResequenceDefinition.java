@@ -261,6 +261,21 @@ public class ResequenceDefinition extends ProcessorDefinition<ResequenceDefiniti
         return this;
     }
 
+    /**
+     * Sets an expression to group the messages by, where each group is re-ordered as a separate stream
+     * and the groups are delivered concurrently, for the stream resequencer
+     *
+     * @param groupExpression  the expression to evaluate the group key
+     * @return the builder
+     */
+    public ResequenceDefinition groupExpression(Expression groupExpression) {
+        if (streamConfig == null) {
+            throw new IllegalStateException("groupExpression() only supported for stream resequencer");
+        }
+        streamConfig.setGroupExpression(new ExpressionSubElementDefinition(groupExpression));
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Resequencer[" + getExpression() + " -> " + getOutputs() + "]";
@@ -409,6 +424,9 @@ public class ResequenceDefinition extends ProcessorDefinition<ResequenceDefiniti
         if (config.getIgnoreInvalidExchanges() != null) {
             resequencer.setIgnoreInvalidExchanges(config.getIgnoreInvalidExchanges());
         }
+        if (config.getGroupExpression() != null) {
+            resequencer.setGroupExpression(config.getGroupExpression().createExpression(routeContext));
+        }
         return resequencer;
     }
 
@@ -72,6 +72,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Boolean shareUnitOfWork;
     @XmlAttribute
     private Boolean parallelAggregate;
+    @XmlAttribute
+    private Integer maxInflight;
+    @XmlAttribute
+    private Boolean unorderedAggregation;
 
     public SplitDefinition() {
     }
@@ -106,10 +110,15 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, isParallelProcessing);
         ExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredExecutorService(routeContext, "Split", this, isParallelProcessing);
 
+        boolean isUnorderedAggregation = getUnorderedAggregation() != null && getUnorderedAggregation();
+        int maxInflight = getMaxInflight() != null ? getMaxInflight() : 0;
         long timeout = getTimeout() != null ? getTimeout() : 0;
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        if (maxInflight > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("MaxInflight is used but ParallelProcessing has not been enabled.");
+        }
         if (onPrepareRef != null) {
             onPrepare = CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), onPrepareRef, Processor.class);
         }
@@ -118,7 +127,7 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
 
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing, threadPool, shutdownThreadPool, isStreaming, isStopOnException(),
-                            timeout, onPrepare, isShareUnitOfWork, isParallelAggregate);
+                            timeout, onPrepare, isShareUnitOfWork, isParallelAggregate, maxInflight, isUnorderedAggregation);
         if (isShareUnitOfWork) {
             // wrap answer in a sub unit of work, since we share the unit of work
             CamelInternalProcessor internalProcessor = new CamelInternalProcessor(answer);
@@ -240,6 +249,35 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         setStreaming(true);
         return this;
     }
+
+    /**
+     * Sets the maximum number of splitted messages which can be in-flight at the same time, when using parallel processing.
+     * When the limit is reached the splitter waits with splitting the next message until a message has been processed
+     * and aggregated. This ensures the memory usage is bounded, such as when splitting big files in streaming mode,
+     * where otherwise the splitter would read ahead of the processing and keep the pending messages in memory.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @param maxInflight the maximum number of in-flight messages
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
+    /**
+     * If enabled then the replies are aggregated in the order they are completed, instead of the order the messages was splitted,
+     * when using parallel processing. This avoids keeping completed replies in memory while waiting for a slow reply before them.
+     * <p/>
+     * In streaming mode the replies are always aggregated in the order they are completed.
+     *
+     * @return the builder
+     */
+    public SplitDefinition unorderedAggregation() {
+        setUnorderedAggregation(true);
+        return this;
+    }
     
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
@@ -380,6 +418,22 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         this.parallelAggregate = parallelAggregate;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
+    public Boolean getUnorderedAggregation() {
+        return unorderedAggregation;
+    }
+
+    public void setUnorderedAggregation(Boolean unorderedAggregation) {
+        this.unorderedAggregation = unorderedAggregation;
+    }
+
     public Boolean getStopOnException() {
         return stopOnException;
     }
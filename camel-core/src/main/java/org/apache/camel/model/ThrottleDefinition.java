@@ -21,6 +21,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
@@ -28,7 +29,9 @@ import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
+import org.apache.camel.processor.DelayProcessorSupport;
 import org.apache.camel.processor.Throttler;
+import org.apache.camel.processor.TokenBucketThrottler;
 import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.RouteContext;
 import org.apache.camel.util.ObjectHelper;
@@ -56,6 +59,12 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     private Boolean callerRunsWhenRejected;
     @XmlAttribute
     private Boolean rejectExecution;
+    @XmlAttribute
+    private Boolean tokenBucket;
+    @XmlElement(name = "correlationExpression")
+    private ExpressionSubElementDefinition correlationExpression;
+    @XmlAttribute @Metadata(defaultValue = "1000")
+    private Integer maximumKeys;
     
     public ThrottleDefinition() {
     }
@@ -82,7 +91,9 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     public Processor createProcessor(RouteContext routeContext) throws Exception {
         Processor childProcessor = this.createChildProcessor(routeContext, true);
 
-        boolean async = getAsyncDelayed() != null && getAsyncDelayed();
+        boolean useTokenBucket = (getTokenBucket() != null && getTokenBucket()) || getCorrelationExpression() != null;
+        // the token bucket throttler does not block the caller thread by default
+        boolean async = getAsyncDelayed() != null ? getAsyncDelayed() : useTokenBucket;
         boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, async);
         ScheduledExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredScheduledExecutorService(routeContext, "Throttle", this, async);
         
@@ -96,7 +107,18 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         }
 
         boolean reject = getRejectExecution() != null && getRejectExecution();
-        Throttler answer = new Throttler(routeContext.getCamelContext(), childProcessor, maxRequestsExpression, period, threadPool, shutdownThreadPool, reject);
+        DelayProcessorSupport answer;
+        if (useTokenBucket) {
+            Expression correlation = getCorrelationExpression() != null ? getCorrelationExpression().createExpression(routeContext) : null;
+            TokenBucketThrottler throttler = new TokenBucketThrottler(routeContext.getCamelContext(), childProcessor, maxRequestsExpression, period,
+                    correlation, threadPool, shutdownThreadPool, reject);
+            if (getMaximumKeys() != null) {
+                throttler.setMaximumKeys(getMaximumKeys());
+            }
+            answer = throttler;
+        } else {
+            answer = new Throttler(routeContext.getCamelContext(), childProcessor, maxRequestsExpression, period, threadPool, shutdownThreadPool, reject);
+        }
 
         answer.setAsyncDelayed(async);
         if (getCallerRunsWhenRejected() == null) {
@@ -177,6 +199,42 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Enables using a token bucket to throttle, which does not use any locks, and by default
+     * does not block the caller thread while delaying.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        setTokenBucket(true);
+        return this;
+    }
+
+    /**
+     * Throttles each correlation key (such as a tenant header) separately, where each key has its own token bucket.
+     * This turns on using a token bucket to throttle.
+     *
+     * @param correlationExpression  the expression to evaluate the correlation key
+     * @return the builder
+     */
+    public ThrottleDefinition correlationExpression(Expression correlationExpression) {
+        setCorrelationExpression(new ExpressionSubElementDefinition(correlationExpression));
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of correlation keys to keep a token bucket for, when throttling per correlation key.
+     * <p/>
+     * Is by default <tt>1000</tt>
+     *
+     * @param maximumKeys  the maximum number of keys
+     * @return the builder
+     */
+    public ThrottleDefinition maximumKeys(int maximumKeys) {
+        setMaximumKeys(maximumKeys);
+        return this;
+    }
+
     /**
      * Sets the ExecutorService which could be used by throttle definition
      *
@@ -258,4 +316,31 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     public void setRejectExecution(Boolean rejectExecution) {
         this.rejectExecution = rejectExecution;
     }
+
+    public Boolean getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public void setTokenBucket(Boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    public ExpressionSubElementDefinition getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    /**
+     * Expression to evaluate the correlation key, where each key is throttled using its own token bucket
+     */
+    public void setCorrelationExpression(ExpressionSubElementDefinition correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
+
+    public Integer getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    public void setMaximumKeys(Integer maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
 }
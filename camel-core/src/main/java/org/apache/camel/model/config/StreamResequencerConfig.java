@@ -19,9 +19,11 @@ package org.apache.camel.model.config;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
+import org.apache.camel.model.ExpressionSubElementDefinition;
 import org.apache.camel.processor.resequencer.DefaultExchangeComparator;
 import org.apache.camel.processor.resequencer.ExpressionResultComparator;
 import org.apache.camel.spi.Metadata;
@@ -45,6 +47,8 @@ public class StreamResequencerConfig extends ResequencerConfig {
     private String comparatorRef;
     @XmlAttribute
     private Boolean rejectOld;
+    @XmlElement(name = "groupExpression")
+    private ExpressionSubElementDefinition groupExpression;
 
     /**
      * Creates a new {@link StreamResequencerConfig} instance using default
@@ -192,4 +196,16 @@ public class StreamResequencerConfig extends ResequencerConfig {
         return rejectOld;
     }
 
+    public ExpressionSubElementDefinition getGroupExpression() {
+        return groupExpression;
+    }
+
+    /**
+     * To re-order the messages per group, where each group is a separate stream which is re-ordered
+     * and delivered concurrently with the other groups.
+     */
+    public void setGroupExpression(ExpressionSubElementDefinition groupExpression) {
+        this.groupExpression = groupExpression;
+    }
+
 }
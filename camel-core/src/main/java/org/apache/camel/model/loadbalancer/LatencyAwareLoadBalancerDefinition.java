@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.LatencyAwareLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.RouteContext;
+
+/**
+ * Latency aware load balancer
+ * <p/>
+ * The latency aware load balancer picks two random endpoints and selects the one with the lowest moving average
+ * response time, weighted by the number of exchanges currently being processed by the endpoint.
+ * The response time of an endpoint which has not been used for a while decays, so it is tried again.
+ */
+@Metadata(label = "configuration,loadbalance")
+@XmlRootElement(name = "latencyAware")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class LatencyAwareLoadBalancerDefinition extends LoadBalancerDefinition {
+    @XmlAttribute
+    private Double smoothingFactor;
+    @XmlAttribute
+    private Long decayWindow;
+
+    public LatencyAwareLoadBalancerDefinition() {
+    }
+
+    @Override
+    protected LoadBalancer createLoadBalancer(RouteContext routeContext) {
+        LatencyAwareLoadBalancer answer = new LatencyAwareLoadBalancer();
+        if (getSmoothingFactor() != null) {
+            answer.setSmoothingFactor(getSmoothingFactor());
+        }
+        if (getDecayWindow() != null) {
+            answer.setDecayWindow(getDecayWindow());
+        }
+        return answer;
+    }
+
+    public Double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    /**
+     * The weight of the latest response time in the moving average of the response time, between 0 and 1.
+     * A higher value reacts faster to changes in the response time. The default is 0.3.
+     */
+    public void setSmoothingFactor(Double smoothingFactor) {
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public Long getDecayWindow() {
+        return decayWindow;
+    }
+
+    /**
+     * The time in millis it takes for the response time of an idle endpoint to decay to about a third,
+     * so a slow endpoint is tried again. Use 0 to not decay. The default is 10000 millis.
+     */
+    public void setDecayWindow(Long decayWindow) {
+        this.decayWindow = decayWindow;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyAwareLoadBalancer";
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.processor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Queue;
@@ -45,7 +46,6 @@ import org.apache.camel.spi.RoutePolicy;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.util.MessageHelper;
-import org.apache.camel.util.StopWatch;
 import org.apache.camel.util.UnitOfWorkHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,6 +70,11 @@ import org.slf4j.LoggerFactory;
  * This reduces number of stack frames needed during routing, and reduce the number of lines in stacktraces, as well
  * makes debugging the routing engine easier for end users.
  * <p/>
+ * The advices are kept in a fixed array which is built when the route is created, and the state of the advices is kept
+ * in fixed slots on the callback, so routing an exchange only creates one object in this processor, regardless of
+ * the number of advices. Advices which need to know the time taken, implement {@link CamelInternalProcessorTimedAdvice},
+ * which allows the time to be taken only once for all the advices, and only when a timed advice returned a state.
+ * <p/>
  * <b>Debugging tips:</b> Camel end users whom want to debug their Camel applications with the Camel source code, then make sure to
  * read the source code of this class about the debugging tips, which you can find in the
  * {@link #process(org.apache.camel.Exchange, org.apache.camel.AsyncCallback)} method.
@@ -77,7 +82,10 @@ import org.slf4j.LoggerFactory;
 public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
-    private final List<CamelInternalProcessorAdvice> advices = new ArrayList<CamelInternalProcessorAdvice>();
+    private static final CamelInternalProcessorAdvice[] NO_ADVICES = new CamelInternalProcessorAdvice[0];
+    // the advices are added when the route is created, and then used as a fixed array during routing
+    private CamelInternalProcessorAdvice[] advices = NO_ADVICES;
+    private boolean[] timedAdvices = new boolean[0];
 
     public CamelInternalProcessor() {
     }
@@ -92,7 +100,12 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * @param advice  the advice to add
      */
     public void addAdvice(CamelInternalProcessorAdvice advice) {
-        advices.add(advice);
+        CamelInternalProcessorAdvice[] copy = Arrays.copyOf(advices, advices.length + 1);
+        copy[advices.length] = advice;
+        boolean[] timedCopy = Arrays.copyOf(timedAdvices, timedAdvices.length + 1);
+        timedCopy[timedAdvices.length] = advice instanceof CamelInternalProcessorTimedAdvice;
+        advices = copy;
+        timedAdvices = timedCopy;
     }
 
     /**
@@ -133,20 +146,25 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             return true;
         }
 
-        final List<Object> states = new ArrayList<Object>(advices.size());
-        for (CamelInternalProcessorAdvice task : advices) {
+        // create internal callback which will keep the state of the advices, and execute the advices in reverse order when done
+        final InternalCallback internal = new InternalCallback(exchange, callback);
+        for (int i = 0; i < advices.length; i++) {
             try {
+                CamelInternalProcessorAdvice task = advices[i];
                 Object state = task.before(exchange);
-                states.add(state);
+                internal.setState(i, state);
+                // only take the time if a timed advice is active, which it is when it returns a state
+                if (state != null && timedAdvices[i] && !internal.timed) {
+                    internal.timed = true;
+                    internal.start = System.nanoTime();
+                }
             } catch (Throwable e) {
                 exchange.setException(e);
                 callback.done(true);
                 return true;
             }
         }
-
-        // create internal callback which will execute the advices in reverse order when done
-        callback = new InternalCallback(states, exchange, callback);
+        callback = internal;
 
         // UNIT_OF_WORK_PROCESS_SYNC is @deprecated and we should remove it from Camel 3.0
         Object synchronous = exchange.removeProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
@@ -213,31 +231,86 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     /**
      * Internal callback that executes the after advices.
+     * <p/>
+     * The state of the first advices are kept in fixed slots, as there is only a few advices on most processors.
      */
     private final class InternalCallback implements AsyncCallback {
 
-        private final List<Object> states;
         private final Exchange exchange;
         private final AsyncCallback callback;
-
-        private InternalCallback(List<Object> states, Exchange exchange, AsyncCallback callback) {
-            this.states = states;
+        private boolean timed;
+        private long start;
+        private Object state0;
+        private Object state1;
+        private Object state2;
+        private Object state3;
+        private Object[] states;
+
+        private InternalCallback(Exchange exchange, AsyncCallback callback) {
             this.exchange = exchange;
             this.callback = callback;
         }
 
+        private void setState(int index, Object state) {
+            if (state == null) {
+                // the slots are null by default
+                return;
+            }
+            switch (index) {
+            case 0:
+                state0 = state;
+                break;
+            case 1:
+                state1 = state;
+                break;
+            case 2:
+                state2 = state;
+                break;
+            case 3:
+                state3 = state;
+                break;
+            default:
+                if (states == null) {
+                    states = new Object[advices.length];
+                }
+                states[index] = state;
+            }
+        }
+
+        private Object getState(int index) {
+            switch (index) {
+            case 0:
+                return state0;
+            case 1:
+                return state1;
+            case 2:
+                return state2;
+            case 3:
+                return state3;
+            default:
+                return states != null ? states[index] : null;
+            }
+        }
+
         @Override
+        @SuppressWarnings("unchecked")
         public void done(boolean doneSync) {
             // NOTE: if you are debugging Camel routes, then all the code in the for loop below is internal only
             // so you can step straight to the finally block and invoke the callback
 
+            long elapsed = timed ? System.nanoTime() - start : 0;
+
             // we should call after in reverse order
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states.get(i);
+                for (int i = advices.length - 1; i >= 0; i--) {
+                    CamelInternalProcessorAdvice task = advices[i];
+                    Object state = getState(i);
                     try {
-                        task.after(exchange, state);
+                        if (timedAdvices[i]) {
+                            ((CamelInternalProcessorTimedAdvice) task).after(exchange, state, elapsed);
+                        } else {
+                            task.after(exchange, state);
+                        }
                     } catch (Exception e) {
                         exchange.setException(e);
                         // allow all advices to complete even if there was an exception
@@ -320,7 +393,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * The current implementation of this advice is only used for route level statistics. For processor levels
      * they are still wrapped in the route processor chains.
      */
-    public static class InstrumentationAdvice implements CamelInternalProcessorAdvice<StopWatch> {
+    public static class InstrumentationAdvice implements CamelInternalProcessorTimedAdvice<Object> {
 
         private PerformanceCounter counter;
         private String type;
@@ -369,20 +442,25 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         }
 
         @Override
-        public StopWatch before(Exchange exchange) throws Exception {
+        public Object before(Exchange exchange) throws Exception {
             // only record time if stats is enabled
-            StopWatch answer = counter != null && counter.isStatisticsEnabled() ? new StopWatch() : null;
-            if (answer != null) {
+            if (counter != null && counter.isStatisticsEnabled()) {
                 beginTime(exchange);
+                return Boolean.TRUE;
             }
-            return answer;
+            return null;
         }
 
         @Override
-        public void after(Exchange exchange, StopWatch watch) throws Exception {
+        public void after(Exchange exchange, Object data) throws Exception {
+            // noop as the time is recorded when the elapsed time is known
+        }
+
+        @Override
+        public void after(Exchange exchange, Object data, long elapsed) throws Exception {
             // record end time
-            if (watch != null) {
-                recordTime(exchange, watch.stop());
+            if (data != null) {
+                recordTime(exchange, elapsed / 1000000);
             }
         }
     }
@@ -578,7 +656,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Advice to execute the {@link org.apache.camel.processor.interceptor.BacklogDebugger} if enabled.
      */
-    public static final class BacklogDebuggerAdvice implements CamelInternalProcessorAdvice<StopWatch> {
+    public static final class BacklogDebuggerAdvice implements CamelInternalProcessorTimedAdvice<Object> {
 
         private final BacklogDebugger backlogDebugger;
         private final Processor target;
@@ -593,20 +671,24 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         }
 
         @Override
-        public StopWatch before(Exchange exchange) throws Exception {
+        public Object before(Exchange exchange) throws Exception {
             if (backlogDebugger.isEnabled() && (backlogDebugger.hasBreakpoint(nodeId) || backlogDebugger.isSingleStepMode())) {
-                StopWatch watch = new StopWatch();
                 backlogDebugger.beforeProcess(exchange, target, definition);
-                return watch;
+                return Boolean.TRUE;
             } else {
                 return null;
             }
         }
 
         @Override
-        public void after(Exchange exchange, StopWatch stopWatch) throws Exception {
-            if (stopWatch != null) {
-                backlogDebugger.afterProcess(exchange, target, definition, stopWatch.stop());
+        public void after(Exchange exchange, Object data) throws Exception {
+            // noop as the debugger is invoked when the elapsed time is known
+        }
+
+        @Override
+        public void after(Exchange exchange, Object data, long elapsed) throws Exception {
+            if (data != null) {
+                backlogDebugger.afterProcess(exchange, target, definition, elapsed / 1000000);
             }
         }
     }
@@ -717,7 +799,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
                 list = new ArrayList<MessageHistory>();
                 exchange.setProperty(Exchange.MESSAGE_HISTORY, list);
             }
-            MessageHistory history = new DefaultMessageHistory(routeId, definition, new Date());
+            MessageHistory history = new DefaultMessageHistory(routeId, definition, System.currentTimeMillis());
             list.add(history);
             return history;
         }
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.Exchange;
+
+/**
+ * An advice (before and after) which needs to know the time it took to process a step in the route.
+ * <p/>
+ * The {@link CamelInternalProcessor} takes the time once, using {@link System#nanoTime()}, for all the timed advices
+ * which returned a state from {@link #before(org.apache.camel.Exchange)},
+ * and executes the {@link #after(org.apache.camel.Exchange, Object, long)} method instead of
+ * {@link #after(org.apache.camel.Exchange, Object)}, so the advice does not need to keep the time as its state.
+ *
+ * @param <T>
+ * @see CamelInternalProcessor
+ */
+public interface CamelInternalProcessorTimedAdvice<T> extends CamelInternalProcessorAdvice<T> {
+
+    /**
+     * Callback executed after processing a step in the route.
+     *
+     * @param exchange  the current exchange
+     * @param data      the state, if any, returned in the {@link #before(org.apache.camel.Exchange)} method.
+     * @param elapsed   the time in nanos it took to process the step, which is only taken if the advice returned a state
+     * @throws Exception is thrown if error during the call.
+     */
+    void after(Exchange exchange, T data, long elapsed) throws Exception;
+}
@@ -31,6 +31,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -155,6 +156,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private final int maxInflight;
+    private final boolean unorderedAggregation;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -176,6 +179,14 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                               boolean parallelProcessing, ExecutorService executorService, boolean shutdownExecutorService, boolean streaming,
                               boolean stopOnException, long timeout, Processor onPrepare, boolean shareUnitOfWork,
                               boolean parallelAggregate) {
+        this(camelContext, processors, aggregationStrategy, parallelProcessing, executorService, shutdownExecutorService,
+                streaming, stopOnException, timeout, onPrepare, shareUnitOfWork, parallelAggregate, 0, false);
+    }
+
+    public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors, AggregationStrategy aggregationStrategy,
+                              boolean parallelProcessing, ExecutorService executorService, boolean shutdownExecutorService, boolean streaming,
+                              boolean stopOnException, long timeout, Processor onPrepare, boolean shareUnitOfWork,
+                              boolean parallelAggregate, int maxInflight, boolean unorderedAggregation) {
         notNull(camelContext, "camelContext");
         this.camelContext = camelContext;
         this.processors = processors;
@@ -190,6 +201,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         this.onPrepare = onPrepare;
         this.shareUnitOfWork = shareUnitOfWork;
         this.parallelAggregate = parallelAggregate;
+        this.maxInflight = maxInflight;
+        this.unorderedAggregation = unorderedAggregation;
     }
 
     @Override
@@ -253,7 +266,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         ObjectHelper.notNull(aggregateExecutorService, "AggregateExecutorService", this);
 
         final CompletionService<Exchange> completion;
-        if (streaming) {
+        if (streaming || unorderedAggregation) {
             // execute tasks in parallel+streaming and aggregate in the order they are finished (out of order sequence)
             completion = new ExecutorCompletionService<Exchange>(executorService);
         } else {
@@ -270,17 +283,24 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             final AtomicBoolean allTasksSubmitted = new AtomicBoolean();
             final CountDownLatch aggregationOnTheFlyDone = new CountDownLatch(1);
             final AtomicException executionException = new AtomicException();
+            // limits the number of tasks which has been submitted but not yet aggregated, so the iterator
+            // is not read ahead of the processing, as otherwise the tasks and their results pile up in memory
+            final Semaphore inflight = maxInflight > 0 ? new Semaphore(maxInflight) : null;
 
             // issue task to execute in separate thread so it can aggregate on-the-fly
             // while we submit new tasks, and those tasks complete concurrently
             // this allows us to optimize work and reduce memory consumption
             final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+                    aggregationOnTheFlyDone, allTasksSubmitted, executionException, inflight);
             final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
 
             LOG.trace("Starting to submit parallel tasks");
 
             while (it.hasNext()) {
+                if (inflight != null && !acquireInflight(inflight, running, aggregationOnTheFlyDone)) {
+                    LOG.debug("Stopped submitting parallel tasks after {} tasks as processing is no longer running", total.get());
+                    break;
+                }
                 final ProcessorExchangePair pair = it.next();
                 final Exchange subExchange = pair.getExchange();
                 updateNewExchange(subExchange, total.intValue(), pairs, it);
@@ -350,6 +370,23 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         LOG.debug("Done parallel processing {} exchanges", total);
     }
 
+    /**
+     * Waits until there is room to submit another task, which applies back-pressure on the iterator.
+     *
+     * @return <tt>true</tt> if the task can be submitted, <tt>false</tt> if processing has stopped
+     * (such as due stop on exception) and no more tasks should be submitted
+     */
+    private static boolean acquireInflight(Semaphore inflight, AtomicBoolean running, CountDownLatch aggregationOnTheFlyDone)
+        throws InterruptedException {
+        while (!inflight.tryAcquire(1, TimeUnit.SECONDS)) {
+            // the permits are released by the aggregation task, so if that task is done we must not wait any longer
+            if (!running.get() || aggregationOnTheFlyDone.getCount() == 0) {
+                return false;
+            }
+        }
+        return running.get() && aggregationOnTheFlyDone.getCount() > 0;
+    }
+
     /**
      * Task to aggregate on-the-fly for completed tasks when using parallel processing.
      * <p/>
@@ -371,11 +408,12 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final CountDownLatch aggregationOnTheFlyDone;
         private final AtomicBoolean allTasksSubmitted;
         private final AtomicException executionException;
+        private final Semaphore inflight;
 
         private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
                                       CompletionService<Exchange> completion, AtomicBoolean running,
                                       CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+                                      AtomicException executionException, Semaphore inflight) {
             this.result = result;
             this.original = original;
             this.total = total;
@@ -384,6 +422,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
             this.allTasksSubmitted = allTasksSubmitted;
             this.executionException = executionException;
+            this.inflight = inflight;
         }
 
         public void run() {
@@ -402,6 +441,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 LOG.debug("Signaling we are done aggregating on the fly for exchangeId: {}", original.getExchangeId());
                 LOG.trace("Aggregate on the fly task done for exchangeId: {}", original.getExchangeId());
                 aggregationOnTheFlyDone.countDown();
+                if (inflight != null) {
+                    // wake up the other thread if its waiting to submit more tasks
+                    inflight.release(maxInflight);
+                }
             }
         }
 
@@ -490,6 +533,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 }
 
                 aggregated++;
+                if (inflight != null) {
+                    // the task is done so make room for submitting a new task
+                    inflight.release();
+                }
             }
 
             if (timedOut || stoppedOnException) {
@@ -1186,6 +1233,22 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    /**
+     * Maximum number of tasks which can be in-flight (submitted but not yet aggregated) when using parallel processing.
+     * A value of zero or negative is no limit.
+     */
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * Whether replies are aggregated in the order they are completed, instead of the order they were submitted,
+     * when using parallel processing.
+     */
+    public boolean isUnorderedAggregation() {
+        return unorderedAggregation;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
@@ -28,10 +28,12 @@ import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.impl.EmptyProducerCache;
 import org.apache.camel.impl.ProducerCache;
+import org.apache.camel.impl.StripedProducerCache;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
 import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
@@ -180,6 +182,9 @@ public class RecipientList extends ServiceSupport implements AsyncProcessor {
             if (cacheSize < 0) {
                 producerCache = new EmptyProducerCache(this, camelContext);
                 LOG.debug("RecipientList {} is not using ProducerCache", this);
+            } else if (CamelContextHelper.isStripedProducerCache(camelContext)) {
+                producerCache = cacheSize == 0 ? new StripedProducerCache(this, camelContext) : new StripedProducerCache(this, camelContext, cacheSize);
+                LOG.debug("RecipientList {} using StripedProducerCache", this);
             } else if (cacheSize == 0) {
                 producerCache = new ProducerCache(this, camelContext);
                 LOG.debug("RecipientList {} using ProducerCache with default cache size", this);
@@ -34,8 +34,10 @@ import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.EmptyProducerCache;
 import org.apache.camel.impl.ProducerCache;
+import org.apache.camel.impl.StripedProducerCache;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -372,6 +374,9 @@ public class RoutingSlip extends ServiceSupport implements AsyncProcessor, Trace
             if (cacheSize < 0) {
                 producerCache = new EmptyProducerCache(this, camelContext);
                 log.debug("RoutingSlip {} is not using ProducerCache", this);
+            } else if (CamelContextHelper.isStripedProducerCache(camelContext)) {
+                producerCache = cacheSize == 0 ? new StripedProducerCache(this, camelContext) : new StripedProducerCache(this, camelContext, cacheSize);
+                log.debug("RoutingSlip {} using StripedProducerCache", this);
             } else if (cacheSize == 0) {
                 producerCache = new ProducerCache(this, camelContext);
                 log.debug("RoutingSlip {} using ProducerCache with default cache size", this);
@@ -72,8 +72,17 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
                     boolean parallelProcessing, ExecutorService executorService, boolean shutdownExecutorService,
                     boolean streaming, boolean stopOnException, long timeout, Processor onPrepare, boolean useSubUnitOfWork,
                     boolean parallelAggregate) {
+        this(camelContext, expression, destination, aggregationStrategy, parallelProcessing, executorService, shutdownExecutorService,
+                streaming, stopOnException, timeout, onPrepare, useSubUnitOfWork, parallelAggregate, 0, false);
+    }
+
+    public Splitter(CamelContext camelContext, Expression expression, Processor destination, AggregationStrategy aggregationStrategy,
+                    boolean parallelProcessing, ExecutorService executorService, boolean shutdownExecutorService,
+                    boolean streaming, boolean stopOnException, long timeout, Processor onPrepare, boolean useSubUnitOfWork,
+                    boolean parallelAggregate, int maxInflight, boolean unorderedAggregation) {
         super(camelContext, Collections.singleton(destination), aggregationStrategy, parallelProcessing, executorService,
-                shutdownExecutorService, streaming, stopOnException, timeout, onPrepare, useSubUnitOfWork, parallelAggregate);
+                shutdownExecutorService, streaming, stopOnException, timeout, onPrepare, useSubUnitOfWork, parallelAggregate,
+                maxInflight, unorderedAggregation);
         this.expression = expression;
         notNull(expression, "expression");
         notNull(destination, "destination");
@@ -18,6 +18,7 @@ package org.apache.camel.processor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -28,10 +29,12 @@ import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
 import org.apache.camel.impl.LoggingExceptionHandler;
+import org.apache.camel.processor.resequencer.ConcurrentResequencerEngine;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
 import org.apache.camel.processor.resequencer.SequenceSender;
@@ -60,10 +63,15 @@ import org.slf4j.LoggerFactory;
  * Instances of this class poll for {@link Exchange}s from a given
  * <code>endpoint</code>. Resequencing work and the delivery of messages to
  * the next <code>processor</code> is done within the single polling thread.
+ * <p>
+ * If a <code>groupExpression</code> is configured the exchanges are re-ordered
+ * per group using a {@link ConcurrentResequencerEngine}, where each group is a
+ * separate stream, and the groups are delivered concurrently using a thread pool.
  * 
  * @version 
  * 
  * @see ResequencerEngine
+ * @see ConcurrentResequencerEngine
  */
 public class StreamResequencer extends ServiceSupport implements SequenceSender<Exchange>, AsyncProcessor, Navigate<Processor>, Traceable {
 
@@ -73,10 +81,14 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     private final CamelContext camelContext;
     private final ExceptionHandler exceptionHandler;
     private final ResequencerEngine<Exchange> engine;
+    private final SequenceElementComparator<Exchange> comparator;
     private final Processor processor;
     private Delivery delivery;
     private int capacity;
     private boolean ignoreInvalidExchanges;
+    private Expression groupExpression;
+    private ConcurrentResequencerEngine<Exchange> concurrentEngine;
+    private ScheduledExecutorService executorService;
     
     /**
      * Creates a new {@link StreamResequencer} instance.
@@ -89,6 +101,7 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         this.camelContext = camelContext;
         this.engine = new ResequencerEngine<Exchange>(comparator);
         this.engine.setSequenceSender(this);
+        this.comparator = comparator;
         this.processor = processor;
         this.exceptionHandler = new LoggingExceptionHandler(camelContext, getClass());
     }
@@ -158,6 +171,19 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         this.ignoreInvalidExchanges = ignoreInvalidExchanges;
     }
 
+    public Expression getGroupExpression() {
+        return groupExpression;
+    }
+
+    /**
+     * Sets an expression to group the exchanges by, where each group is re-ordered as a separate stream.
+     * <p/>
+     * The groups are re-ordered by a {@link ConcurrentResequencerEngine} and delivered concurrently.
+     */
+    public void setGroupExpression(Expression groupExpression) {
+        this.groupExpression = groupExpression;
+    }
+
     @Override
     public String toString() {
         return "StreamResequencer[to: " + processor + "]";
@@ -170,16 +196,35 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     @Override
     protected void doStart() throws Exception {
         ServiceHelper.startServices(processor);
-        delivery = new Delivery();
-        engine.start();
-        delivery.start();
+        if (groupExpression != null) {
+            executorService = camelContext.getExecutorServiceManager().newDefaultScheduledThreadPool(this, "StreamResequencer");
+            concurrentEngine = new ConcurrentResequencerEngine<Exchange>(comparator);
+            concurrentEngine.setCamelContext(camelContext);
+            concurrentEngine.setSequenceSender(this);
+            concurrentEngine.setTimeout(engine.getTimeout());
+            concurrentEngine.setRejectOld(engine.getRejectOld());
+            concurrentEngine.setExceptionHandler(exceptionHandler);
+            concurrentEngine.setExecutorService(executorService);
+            concurrentEngine.start();
+        } else {
+            delivery = new Delivery();
+            engine.start();
+            delivery.start();
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
         // let's stop everything in the reverse order
         // no need to stop the worker thread -- it will stop automatically when this service is stopped
-        engine.stop();
+        if (concurrentEngine != null) {
+            concurrentEngine.stop();
+            concurrentEngine = null;
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        } else {
+            engine.stop();
+        }
         ServiceHelper.stopServices(processor);
     }
 
@@ -197,7 +242,7 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     }
 
     public boolean process(Exchange exchange, AsyncCallback callback) {
-        while (engine.size() >= capacity) {
+        while (size() >= capacity) {
             try {
                 Thread.sleep(getTimeout());
             } catch (InterruptedException e) {
@@ -209,8 +254,13 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         }
 
         try {
-            engine.insert(exchange);
-            delivery.request();
+            if (concurrentEngine != null) {
+                // the concurrent engine triggers the delivery itself
+                concurrentEngine.insert(groupExpression.evaluate(exchange, Object.class), exchange);
+            } else {
+                engine.insert(exchange);
+                delivery.request();
+            }
         } catch (Exception e) {
             if (isIgnoreInvalidExchanges()) {
                 LOG.debug("Invalid Exchange. This Exchange will be ignored: {}", exchange);
@@ -223,6 +273,10 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         return true;
     }
 
+    private int size() {
+        return concurrentEngine != null ? concurrentEngine.size() : engine.size();
+    }
+
     public boolean hasNext() {
         return processor != null;
     }
@@ -0,0 +1,342 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Processor;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.Traceable;
+import org.apache.camel.util.LRUCache;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> which uses a token bucket
+ * to limit the number of message exchanges which can be sent to a processor within a specific time period.
+ * <p/>
+ * Each bucket holds up to the maximum number of requests per period, and is refilled at a steady rate
+ * so the maximum number of requests is let through per period. The bucket is implemented using a single
+ * {@link AtomicLong} which holds the time when the bucket is full again, so acquiring from the bucket
+ * does not use any locks. When the bucket is empty the exchange reserves the next free time, and is delayed
+ * until then. By default the delayed exchanges are scheduled using the {@link ScheduledExecutorService}
+ * so the caller thread is not blocked while waiting.
+ * <p/>
+ * If a correlation expression is configured then each correlation key (such as a tenant header) is throttled
+ * using its own bucket. The buckets are kept in a LRU cache which is bounded by the maximum number of keys,
+ * and when a bucket is evicted the key starts again with a full bucket.
+ *
+ * @version
+ */
+public class TokenBucketThrottler extends DelayProcessorSupport implements Traceable {
+
+    public static final int DEFAULT_MAXIMUM_KEYS = 1000;
+
+    private volatile long maximumRequestsPerPeriod;
+    private Expression maxRequestsPerPeriodExpression;
+    private final Expression correlationExpression;
+    private volatile long timePeriodMillis;
+    private boolean rejectExecution;
+    private int maximumKeys = DEFAULT_MAXIMUM_KEYS;
+    private volatile TokenBucket bucket;
+    private volatile LRUCache<Object, TokenBucket> buckets;
+
+    public TokenBucketThrottler(CamelContext camelContext, Processor processor, Expression maxRequestsPerPeriodExpression, long timePeriodMillis,
+                                Expression correlationExpression, ScheduledExecutorService executorService, boolean shutdownExecutorService,
+                                boolean rejectExecution) {
+        super(camelContext, processor, executorService, shutdownExecutorService);
+        this.rejectExecution = rejectExecution;
+
+        ObjectHelper.notNull(maxRequestsPerPeriodExpression, "maxRequestsPerPeriodExpression");
+        this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
+        this.correlationExpression = correlationExpression;
+
+        if (timePeriodMillis <= 0) {
+            throw new IllegalArgumentException("TimePeriodMillis should be a positive number, was: " + timePeriodMillis);
+        }
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucketThrottler[requests: " + maxRequestsPerPeriodExpression + " per: " + timePeriodMillis + " (ms)"
+               + (correlationExpression != null ? " by: " + correlationExpression : "") + " to: " + getProcessor() + "]";
+    }
+
+    public String getTraceLabel() {
+        return "throttle[" + maxRequestsPerPeriodExpression + " per: " + timePeriodMillis
+               + (correlationExpression != null ? " by: " + correlationExpression : "") + "]";
+    }
+
+    // Properties
+    // -----------------------------------------------------------------------
+
+    /**
+     * Sets the maximum number of requests per time period expression
+     */
+    public void setMaximumRequestsPerPeriodExpression(Expression maxRequestsPerPeriodExpression) {
+        this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
+    }
+
+    public Expression getMaximumRequestsPerPeriodExpression() {
+        return maxRequestsPerPeriodExpression;
+    }
+
+    public Expression getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    public long getTimePeriodMillis() {
+        return timePeriodMillis;
+    }
+
+    /**
+     * Sets the time period during which the maximum number of requests apply
+     */
+    public void setTimePeriodMillis(long timePeriodMillis) {
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    /**
+     * Gets the current maximum request per period value.
+     */
+    public long getCurrentMaximumRequestsPerPeriod() {
+        return maximumRequestsPerPeriod;
+    }
+
+    public boolean isRejectExecution() {
+        return rejectExecution;
+    }
+
+    public void setRejectExecution(boolean rejectExecution) {
+        this.rejectExecution = rejectExecution;
+    }
+
+    public int getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    /**
+     * Sets the maximum number of correlation keys to keep a bucket for, when throttling per correlation key.
+     * <p/>
+     * Is by default 1000.
+     */
+    public void setMaximumKeys(int maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+
+    /**
+     * Gets the number of correlation keys which currently has a bucket.
+     */
+    public int getKeyCount() {
+        LRUCache<Object, TokenBucket> map = buckets;
+        return map != null ? map.size() : 0;
+    }
+
+    /**
+     * Gets the number of exchanges which was let through during the last time period, for all the keys.
+     */
+    public long getCurrentRate() {
+        long now = System.nanoTime();
+        long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+        TokenBucket single = bucket;
+        if (single != null) {
+            return single.getRate(now, period);
+        }
+        long answer = 0;
+        LRUCache<Object, TokenBucket> map = buckets;
+        if (map != null) {
+            for (TokenBucket b : map.values()) {
+                answer += b.getRate(now, period);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the number of exchanges which was let through during the last time period, for each of the correlation keys.
+     */
+    public Map<Object, Long> getCurrentRates() {
+        Map<Object, Long> answer = new LinkedHashMap<Object, Long>();
+        LRUCache<Object, TokenBucket> map = buckets;
+        if (map != null) {
+            long now = System.nanoTime();
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+            for (Map.Entry<Object, TokenBucket> entry : map.entrySet()) {
+                answer.put(entry.getKey(), entry.getValue().getRate(now, period));
+            }
+        }
+        return answer;
+    }
+
+    // Implementation methods
+    // -----------------------------------------------------------------------
+
+    protected long calculateDelay(Exchange exchange) {
+        // evaluate as Object first to see if we get any result at all
+        Object result = maxRequestsPerPeriodExpression.evaluate(exchange, Object.class);
+        if (maximumRequestsPerPeriod == 0 && result == null) {
+            throw new RuntimeExchangeException("The max requests per period expression was evaluated as null: " + maxRequestsPerPeriodExpression, exchange);
+        }
+
+        // then must convert value to long
+        Long longValue = exchange.getContext().getTypeConverter().convertTo(Long.class, result);
+        if (longValue != null) {
+            // log if we changed max period after initial setting
+            if (maximumRequestsPerPeriod > 0 && longValue.longValue() != maximumRequestsPerPeriod) {
+                log.debug("Throttler changed maximum requests per period from {} to {}", maximumRequestsPerPeriod, longValue);
+            }
+            maximumRequestsPerPeriod = longValue;
+        }
+
+        long max = maximumRequestsPerPeriod;
+        if (max <= 0) {
+            throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + max);
+        }
+
+        long now = System.nanoTime();
+        TokenBucket target = getBucket(exchange, now);
+        // when rejecting then do not reserve the next free time, as the exchange will not be processed
+        long delay = target.acquire(max, TimeUnit.MILLISECONDS.toNanos(timePeriodMillis), !rejectExecution, now);
+        // round up to millis so we do not run before the next free time
+        return (delay + 999999) / 1000000;
+    }
+
+    private TokenBucket getBucket(Exchange exchange, long now) {
+        if (correlationExpression == null) {
+            return bucket;
+        }
+
+        Object key = correlationExpression.evaluate(exchange, Object.class);
+        if (key == null) {
+            throw new RuntimeExchangeException("The correlation expression was evaluated as null: " + correlationExpression, exchange);
+        }
+        TokenBucket answer = buckets.get(key);
+        if (answer == null) {
+            // two threads must not create a bucket for the same key
+            TokenBucket created = new TokenBucket(now);
+            answer = buckets.putIfAbsent(key, created);
+            if (answer == null) {
+                answer = created;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    protected boolean processDelay(Exchange exchange, AsyncCallback callback, long delay) {
+        if (isRejectExecution() && delay > 0) {
+            exchange.setException(new ThrottlerRejectedExecutionException("Exceed the max request limit!"));
+            callback.done(true);
+            return true;
+        } else {
+            return super.processDelay(exchange, callback, delay);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (correlationExpression != null) {
+            if (maximumKeys <= 0) {
+                throw new IllegalArgumentException("MaximumKeys must be a positive number, was: " + maximumKeys);
+            }
+            if (buckets == null) {
+                buckets = new LRUCache<Object, TokenBucket>(16, maximumKeys, false);
+            }
+        } else if (bucket == null) {
+            bucket = new TokenBucket(System.nanoTime());
+        }
+        super.doStart();
+    }
+
+    /**
+     * A token bucket which keeps the time (in nanos) when the bucket is full again, which is also known as the
+     * theoretical arrival time in the generic cell rate algorithm. Each request moves the time forward by
+     * one emission interval, and a request must wait if the time is more than one period ahead.
+     * <p/>
+     * The bucket also counts the requests in fixed windows of one period, so the current rate can be reported.
+     */
+    private static final class TokenBucket {
+
+        private final AtomicLong fullTime;
+        private final AtomicLong windowStart;
+        private final AtomicLong windowCount = new AtomicLong();
+        private volatile long previousCount;
+
+        private TokenBucket(long now) {
+            this.fullTime = new AtomicLong(now);
+            this.windowStart = new AtomicLong(now);
+        }
+
+        /**
+         * Acquires a token from the bucket.
+         *
+         * @param max      the maximum number of requests per period
+         * @param period   the period in nanos
+         * @param reserve  whether to reserve the next free time if the bucket is empty
+         * @param now      the current time in nanos
+         * @return the delay in nanos until the request is allowed, or <tt>0</tt> if allowed now
+         */
+        long acquire(long max, long period, boolean reserve, long now) {
+            long interval = Math.max(1, period / max);
+            long tolerance = period - interval;
+            while (true) {
+                long current = fullTime.get();
+                // use subtraction to compare as nano time may overflow
+                long base = current - now > 0 ? current : now;
+                long delay = base - tolerance - now;
+                if (delay > 0 && !reserve) {
+                    return delay;
+                }
+                if (fullTime.compareAndSet(current, base + interval)) {
+                    count(now, period);
+                    return delay > 0 ? delay : 0;
+                }
+            }
+        }
+
+        private void count(long now, long period) {
+            long start = windowStart.get();
+            long elapsed = now - start;
+            if (elapsed >= period && windowStart.compareAndSet(start, now)) {
+                long count = windowCount.getAndSet(0);
+                // if there has been no requests in the last period then the previous window is empty
+                previousCount = elapsed >= 2 * period ? 0 : count;
+            }
+            windowCount.incrementAndGet();
+        }
+
+        long getRate(long now, long period) {
+            long elapsed = now - windowStart.get();
+            if (elapsed >= 2 * period) {
+                return 0;
+            } else if (elapsed >= period) {
+                return windowCount.get();
+            } else {
+                return previousCount;
+            }
+        }
+    }
+
+}
@@ -53,6 +53,7 @@ import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
 import org.apache.camel.util.ExchangeHelper;
@@ -115,6 +116,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
+    private Lock[] stripedLocks;
+    private boolean hashedWheelTimeoutMap;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -249,11 +253,12 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             // bound such as JPA etc then concurrent aggregation per correlation key could
             // improve performance as we can run aggregation repository get/add in parallel
             List<Exchange> aggregated = null;
-            lock.lock();
+            Lock keyLock = getLock(key);
+            keyLock.lock();
             try {
                 aggregated = doAggregation(key, copy);
             } finally {
-                lock.unlock();
+                keyLock.unlock();
             }
 
             // we are completed so do that work outside the lock
@@ -271,6 +276,28 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Gets the lock to use for the given correlation key.
+     * <p/>
+     * When lock striping is enabled then each correlation key is bound to one of the striped locks,
+     * which allows different correlation keys to aggregate in parallel, while the same correlation key
+     * is always aggregated in sequence. Otherwise the shared aggregation lock is used.
+     *
+     * @param key the correlation key
+     * @return the lock to use
+     */
+    protected Lock getLock(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks == null) {
+            return lock;
+        }
+        // spread the hash code so keys with similar hash codes does not all end up in the same stripe
+        int hash = key.hashCode();
+        hash ^= (hash >>> 20) ^ (hash >>> 12);
+        hash ^= (hash >>> 7) ^ (hash >>> 4);
+        return locks[(hash & 0x7fffffff) % locks.length];
+    }
+
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
@@ -709,6 +736,34 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of striped locks to use, which allows aggregating different correlation keys in parallel.
+     * The same correlation key is always guarded by the same lock, so aggregation per correlation key is still done in sequence.
+     * <p/>
+     * By default a single shared lock is used for all correlation keys.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
+    public boolean isHashedWheelTimeoutMap() {
+        return hashedWheelTimeoutMap;
+    }
+
+    /**
+     * Sets whether to keep track of completion timeouts using a hashed timing wheel, instead of scanning all the
+     * correlation keys on each run of the timeout checker. This scales better when there are many open correlation keys.
+     * <p/>
+     * By default the timeout checker scans all the correlation keys.
+     */
+    public void setHashedWheelTimeoutMap(boolean hashedWheelTimeoutMap) {
+        this.hashedWheelTimeoutMap = hashedWheelTimeoutMap;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -808,6 +863,58 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Triggers the completion timeout for the given correlation key, which is invoked when the entry
+     * is evicted from the timeout map.
+     */
+    private boolean onCompletionTimeout(String key, String exchangeId) {
+        if (stripedLocks == null) {
+            return doCompletionTimeout(key, exchangeId);
+        }
+
+        Lock keyLock = getLock(key);
+        keyLock.lock();
+        try {
+            return doCompletionTimeout(key, exchangeId);
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    private boolean doCompletionTimeout(String key, String exchangeId) {
+        LOG.debug("Completion timeout triggered for correlation key: {}", key);
+
+        boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
+        if (inProgress) {
+            LOG.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+            return true;
+        }
+
+        // get the aggregated exchange
+        boolean evictionStolen = false;
+        Exchange answer = aggregationRepository.get(camelContext, key);
+        if (answer == null) {
+            evictionStolen = true;
+        } else {
+            // indicate it was completed by timeout
+            answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "timeout");
+            try {
+                answer = onCompletion(key, answer, answer, true);
+                if (answer != null) {
+                    onSubmitCompletion(key, answer);
+                }
+            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                evictionStolen = true;
+            }
+        }
+
+        if (optimisticLocking && evictionStolen) {
+            LOG.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
+                      + "for exchange with id: {} and correlation id: {}", exchangeId, key);
+        }
+        return true;
+    }
+
     /**
      * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
      */
@@ -821,47 +928,48 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         @Override
         public void purge() {
             // must acquire the shared aggregation lock to be able to purge
-            if (!optimisticLocking) { lock.lock(); }
+            // (when using striped locks then the lock for each key is acquired during eviction instead)
+            boolean useSharedLock = !optimisticLocking && stripedLocks == null;
+            if (useSharedLock) { lock.lock(); }
             try {
                 super.purge();
             } finally {
-                if (!optimisticLocking) { lock.unlock(); }
+                if (useSharedLock) { lock.unlock(); }
             }
         }
 
         @Override
         public boolean onEviction(String key, String exchangeId) {
-            log.debug("Completion timeout triggered for correlation key: {}", key);
+            return onCompletionTimeout(key, exchangeId);
+        }
+    }
 
-            boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
-            if (inProgress) {
-                LOG.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
-                return true;
-            }
+    /**
+     * Background task that looks for aggregated exchanges which is triggered by completion timeouts,
+     * using a hashed timing wheel so the task only visits the entries which are due to time out.
+     */
+    private final class AggregationHashedWheelTimeoutMap extends HashedWheelTimeoutMap<String, String> {
 
-            // get the aggregated exchange
-            boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "timeout");
-                try {
-                    answer = onCompletion(key, answer, answer, true);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
-                    }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                    evictionStolen = true;
-                }
-            }
+        private AggregationHashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+            super(executor, requestMapPollTimeMillis);
+        }
 
-            if (optimisticLocking && evictionStolen) {
-                LOG.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
-                          + "for exchange with id: {} and correlation id: {}", exchangeId, key);
+        @Override
+        public void purge() {
+            // must acquire the shared aggregation lock to be able to purge
+            // (when using striped locks then the lock for each key is acquired during eviction instead)
+            boolean useSharedLock = !optimisticLocking && stripedLocks == null;
+            if (useSharedLock) { lock.lock(); }
+            try {
+                super.purge();
+            } finally {
+                if (useSharedLock) { lock.unlock(); }
             }
-            return true;
+        }
+
+        @Override
+        public boolean onEviction(String key, String exchangeId) {
+            return onCompletionTimeout(key, exchangeId);
         }
     }
 
@@ -884,37 +992,49 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                if (!optimisticLocking) { lock.lock(); }
+                // (when using striped locks then the lock for each key is acquired instead)
+                boolean useSharedLock = !optimisticLocking && stripedLocks == null;
+                if (useSharedLock) { lock.lock(); }
                 try {
                     for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "interval");
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                                stolenInterval = true;
-                            }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            LOG.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+                        Lock keyLock = stripedLocks != null ? getLock(key) : null;
+                        if (keyLock != null) { keyLock.lock(); }
+                        try {
+                            doIntervalCompletion(key);
+                        } finally {
+                            if (keyLock != null) { keyLock.unlock(); }
                         }
                     }
                 } finally {
-                    if (!optimisticLocking) { lock.unlock(); }
+                    if (useSharedLock) { lock.unlock(); }
                 }
             }
 
             LOG.trace("Completion interval task complete");
         }
+
+        private void doIntervalCompletion(String key) {
+            boolean stolenInterval = false;
+            Exchange exchange = aggregationRepository.get(camelContext, key);
+            if (exchange == null) {
+                stolenInterval = true;
+            } else {
+                LOG.trace("Completion interval triggered for correlation key: {}", key);
+                // indicate it was completed by interval
+                exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "interval");
+                try {
+                    Exchange answer = onCompletion(key, exchange, exchange, false);
+                    if (answer != null) {
+                        onSubmitCompletion(key, answer);
+                    }
+                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                    stolenInterval = true;
+                }
+            }
+            if (optimisticLocking && stolenInterval) {
+                LOG.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+            }
+        }
     }
 
     /**
@@ -1046,6 +1166,23 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (lockStripes > 1) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Only one of optimisticLocking or lockStripes can be used, not both.");
+            }
+            if (isCompletionFromBatchConsumer()) {
+                // batch consumer completion completes all the correlation keys of the batch at once
+                throw new IllegalArgumentException("Option lockStripes cannot be used together with completionFromBatchConsumer.");
+            }
+            stripedLocks = new Lock[lockStripes];
+            for (int i = 0; i < lockStripes; i++) {
+                stripedLocks[i] = new ReentrantLock();
+            }
+            LOG.info("Using " + lockStripes + " striped locks to aggregate correlation keys in parallel");
+        } else {
+            stripedLocks = null;
+        }
+
         ServiceHelper.startServices(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1102,7 +1239,11 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                 shutdownTimeoutCheckerExecutorService = true;
             }
             // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
+            if (isHashedWheelTimeoutMap()) {
+                timeoutMap = new AggregationHashedWheelTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
+            } else {
+                timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
+            }
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1197,23 +1338,31 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            if (!optimisticLocking) { lock.lock(); }
+            // (when using striped locks then the lock for each key is acquired instead)
+            boolean useSharedLock = !optimisticLocking && stripedLocks == null;
+            if (useSharedLock) { lock.lock(); }
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "forceCompletion");
-                        Exchange answer = onCompletion(key, exchange, exchange, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    Lock keyLock = stripedLocks != null ? getLock(key) : null;
+                    if (keyLock != null) { keyLock.lock(); }
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "forceCompletion");
+                            Exchange answer = onCompletion(key, exchange, exchange, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
                         }
+                    } finally {
+                        if (keyLock != null) { keyLock.unlock(); }
                     }
                 }
             } finally {
-                if (!optimisticLocking) { lock.unlock(); }
+                if (useSharedLock) { lock.unlock(); }
             }
         }
         LOG.trace("Completed force completion of all groups task");
@@ -0,0 +1,883 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory mapped file based implementation of {@link org.apache.camel.spi.IdempotentRepository}, which is
+ * designed to hold a large number of keys, such as tens of millions of keys.
+ * <p/>
+ * The keys are appended to a log file, and the keys are indexed in a hash table which is stored in a second
+ * file (the name of the log file with <tt>.idx</tt> appended). Both files are memory mapped so the keys
+ * are not kept on the heap. A bloom filter in front of the index allows to quickly tell that a key has not
+ * been added to the repository. Looking up keys using {@link #contains(String)} is lock free, only adding and
+ * removing keys are synchronized.
+ * <p/>
+ * Removed keys are marked as removed in the log, and the log is compacted when there are many removed keys,
+ * or when there are more than {@link #setMaxEntries(int) maxEntries} keys in the log, in which case the oldest
+ * keys are discarded. The index file is kept up to date so the repository can be restarted without rebuilding
+ * the index. If the index file is missing or does not match the log file, then the index is rebuilt from the log.
+ * The bloom filter is saved to a third file (the name of the log file with <tt>.bloom</tt> appended) when the
+ * repository is stopped, so on restart only the keys which was added to the log since then has to be read.
+ * If the bloom filter file is missing or outdated, then the bloom filter is rebuilt from the keys in the index.
+ * <p/>
+ * The log file and the index file can each be at most 2gb.
+ * <p/>
+ * The files can only be used by one repository at a time, as the repository keeps its state in memory while
+ * started. Starting a second repository with the same file store in the same JVM fails, and the file store must
+ * not be shared with another JVM.
+ *
+ * @version 
+ */
+@ManagedResource(description = "Memory mapped file based idempotent repository")
+public class MappedFileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedFileIdempotentRepository.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    // the index file starts with a header, followed by the slots of the hash table
+    private static final long MAGIC = 0x43616d656c494458L;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int SLOTS_USED_OFFSET = 20;
+    private static final int LOG_END_OFFSET = 24;
+    private static final int REMOVED_BYTES_OFFSET = 32;
+    private static final int GENERATION_OFFSET = 40;
+    private static final int MIN_INDEX_CAPACITY = 1024;
+    private static final int MAX_INDEX_CAPACITY = 1 << 27;
+
+    // the log file starts with a header with the generation of the log, which changes when the log is compacted,
+    // and then each record in the log is the size of the record, the state, the hash of the key, and the key as UTF-8
+    private static final long LOG_MAGIC = 0x43616d656c4c4f47L;
+    private static final int LOG_HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 13;
+    private static final int STATE_OFFSET = 4;
+    private static final int HASH_OFFSET = 5;
+    private static final byte REMOVED = 0;
+    private static final byte LIVE = 1;
+    private static final int MIN_LOG_SIZE = 1024 * 1024;
+    private static final int MAX_LOG_SIZE = Integer.MAX_VALUE;
+
+    // the bloom filter file is a header with the generation and the end of the log when it was saved, and then the bits
+    private static final long BLOOM_MAGIC = 0x43616d656c424c4dL;
+    private static final int BLOOM_HEADER_SIZE = 24;
+
+    // the canonical paths of the file stores which are in use by a started repository
+    private static final ConcurrentMap<String, MappedFileIdempotentRepository> OPEN_FILE_STORES =
+            new ConcurrentHashMap<String, MappedFileIdempotentRepository>();
+
+    private File fileStore;
+    private int maxEntries = 1000000;
+    private double falsePositiveProbability = 0.01;
+
+    // the current files which are read without locking
+    private volatile Store store;
+    private volatile int size;
+    private volatile int logEnd;
+
+    // the state which is only accessed while holding the lock
+    private final Object lock = new Object();
+    private String openFileStore;
+    private RandomAccessFile logFile;
+    private RandomAccessFile indexFile;
+    private int slotsUsed;
+    private long removedBytes;
+    private long generation;
+
+    public MappedFileIdempotentRepository() {
+    }
+
+    public MappedFileIdempotentRepository(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    /**
+     * Creates a new memory mapped file based repository.
+     *
+     * @param fileStore  the file store
+     */
+    public static IdempotentRepository<String> mappedFileIdempotentRepository(File fileStore) {
+        return new MappedFileIdempotentRepository(fileStore);
+    }
+
+    /**
+     * Creates a new memory mapped file based repository.
+     *
+     * @param fileStore  the file store
+     * @param maxEntries the max number of keys to keep in the store
+     */
+    public static IdempotentRepository<String> mappedFileIdempotentRepository(File fileStore, int maxEntries) {
+        MappedFileIdempotentRepository repository = new MappedFileIdempotentRepository(fileStore);
+        repository.setMaxEntries(maxEntries);
+        return repository;
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        long hash = hash(key);
+        synchronized (lock) {
+            Store current = getStore();
+            if (current.bloomFilter.mightContain(hash) && findRecord(current, hash, key) >= 0) {
+                return false;
+            }
+
+            byte[] bytes = key.getBytes(UTF8);
+            int recordSize = RECORD_HEADER_SIZE + bytes.length;
+            try {
+                if (isCompactionNeeded()) {
+                    compact();
+                }
+                current = ensureLogCapacity(recordSize);
+                current = ensureIndexCapacity(current);
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+
+            int offset = logEnd;
+            ByteBuffer log = current.log.duplicate();
+            log.position(offset + STATE_OFFSET);
+            log.put(LIVE);
+            log.putLong(hash);
+            log.put(bytes);
+            // the size is written last so a partial written record is not read after a crash
+            current.log.putInt(offset, recordSize);
+            logEnd += recordSize;
+
+            current.bloomFilter.put(hash);
+            insertSlot(current, hash, offset);
+            slotsUsed++;
+            size++;
+            writeHeader(current);
+
+            // publish the changes to the readers
+            store = current;
+            return true;
+        }
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        Store current = store;
+        if (current == null) {
+            return false;
+        }
+        long hash = hash(key);
+        while (true) {
+            if (current.bloomFilter.mightContain(hash) && findRecord(current, hash, key) >= 0) {
+                return true;
+            }
+            // the files may have been grown or compacted in the meantime
+            Store latest = store;
+            if (latest == null || latest == current) {
+                return false;
+            }
+            current = latest;
+        }
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        long hash = hash(key);
+        synchronized (lock) {
+            Store current = getStore();
+            if (!current.bloomFilter.mightContain(hash)) {
+                return false;
+            }
+            int offset = findRecord(current, hash, key);
+            if (offset < 0) {
+                return false;
+            }
+
+            current.log.put(offset + STATE_OFFSET, REMOVED);
+            removedBytes += current.log.getInt(offset);
+            size--;
+            writeHeader(current);
+            store = current;
+
+            if (isCompactionNeeded()) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    throw ObjectHelper.wrapRuntimeCamelException(e);
+                }
+            }
+            return true;
+        }
+    }
+
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    /**
+     * Compacts the store by removing the removed keys, and the oldest keys if there are more than
+     * {@link #getMaxEntries()} keys.
+     */
+    @ManagedOperation(description = "Compacts the file store")
+    public void compact() throws IOException {
+        synchronized (lock) {
+            Store current = getStore();
+            int skip = Math.max(0, size - maxEntries);
+            int keep = size - skip;
+            LOG.debug("Compacting idempotent filestore: {} keeping {} of {} keys", new Object[]{fileStore, keep, size});
+
+            File logTmp = new File(fileStore.getPath() + ".tmp");
+            File indexTmp = new File(getIndexFile().getPath() + ".tmp");
+            FileUtil.deleteFile(logTmp);
+            FileUtil.deleteFile(indexTmp);
+
+            long liveBytes = (long) logEnd - removedBytes;
+            RandomAccessFile newLogFile = new RandomAccessFile(logTmp, "rw");
+            RandomAccessFile newIndexFile = new RandomAccessFile(indexTmp, "rw");
+            MappedByteBuffer log = map(newLogFile, logCapacityFor(liveBytes));
+            generation++;
+            log.putLong(0, LOG_MAGIC);
+            log.putLong(8, generation);
+            Store next = createIndex(newIndexFile, log, indexCapacityFor(keep));
+
+            ByteBuffer source = current.log.duplicate();
+            ByteBuffer target = log.duplicate();
+            target.position(LOG_HEADER_SIZE);
+            int offset = LOG_HEADER_SIZE;
+            int skipped = 0;
+            int live = 0;
+            while (offset < logEnd) {
+                int recordSize = current.log.getInt(offset);
+                if (current.log.get(offset + STATE_OFFSET) == LIVE) {
+                    if (skipped < skip) {
+                        skipped++;
+                    } else {
+                        long hash = current.log.getLong(offset + HASH_OFFSET);
+                        int position = target.position();
+                        source.limit(offset + recordSize).position(offset);
+                        target.put(source);
+                        next.bloomFilter.put(hash);
+                        insertSlot(next, hash, position);
+                        live++;
+                    }
+                }
+                offset += recordSize;
+            }
+
+            // switch to the compacted files
+            IOHelper.close(logFile, indexFile);
+            logFile = newLogFile;
+            indexFile = newIndexFile;
+            logEnd = target.position();
+            size = live;
+            slotsUsed = live;
+            removedBytes = 0;
+            writeHeader(next);
+            log.force();
+            next.index.force();
+            rename(logTmp, fileStore);
+            rename(indexTmp, getIndexFile());
+            store = next;
+        }
+    }
+
+    /**
+     * Clears the store by removing all the keys
+     */
+    @ManagedOperation(description = "Clears the file store")
+    public void clear() throws IOException {
+        synchronized (lock) {
+            getStore();
+            LOG.debug("Clearing idempotent filestore: {}", fileStore);
+            closeFiles();
+            FileUtil.deleteFile(fileStore);
+            FileUtil.deleteFile(getIndexFile());
+            FileUtil.deleteFile(getBloomFilterFile());
+            openFiles();
+        }
+    }
+
+    public File getFileStore() {
+        return fileStore;
+    }
+
+    public void setFileStore(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    @ManagedAttribute(description = "The file path for the store")
+    public String getFilePath() {
+        return fileStore.getPath();
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public int getSize() {
+        return size;
+    }
+
+    @ManagedAttribute(description = "The maximum number of keys to keep in the store")
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of keys to keep in the store. When the store has more keys the oldest keys
+     * are removed when the store is compacted. The store is compacted when it has 25% more keys than the max,
+     * so at least the max number of the most recent keys are kept.
+     * <p/>
+     * The default is 1000000.
+     */
+    @ManagedAttribute(description = "The maximum number of keys to keep in the store")
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the false positive probability of the bloom filter, when it holds {@link #getMaxEntries()} keys.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "The size of the file store in bytes")
+    public long getFileStoreSize() {
+        return logEnd;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(fileStore, "fileStore", this);
+        synchronized (lock) {
+            if (store == null) {
+                String path = fileStore.getCanonicalPath();
+                MappedFileIdempotentRepository existing = OPEN_FILE_STORES.putIfAbsent(path, this);
+                if (existing != null && existing != this) {
+                    throw new IllegalStateException("Idempotent filestore: " + path + " is already in use by another repository");
+                }
+                openFileStore = path;
+                try {
+                    openFiles();
+                } catch (Exception e) {
+                    releaseFileStore();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        synchronized (lock) {
+            if (store != null) {
+                store.log.force();
+                store.index.force();
+                try {
+                    saveBloomFilter(store);
+                } catch (IOException e) {
+                    // the bloom filter is rebuilt on the next start
+                    LOG.warn("Cannot save bloom filter of idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                }
+                closeFiles();
+            }
+            releaseFileStore();
+        }
+    }
+
+    /**
+     * Computes the hash of the key, which is stored in the log, and must therefore not be changed.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // spread the bits as the low and high bits are used for the bloom filter and the index
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Store getStore() {
+        Store current = store;
+        if (current == null) {
+            throw new IllegalStateException("MappedFileIdempotentRepository is not started: " + fileStore);
+        }
+        return current;
+    }
+
+    private File getIndexFile() {
+        return new File(fileStore.getPath() + ".idx");
+    }
+
+    private File getBloomFilterFile() {
+        return new File(fileStore.getPath() + ".bloom");
+    }
+
+    private boolean isCompactionNeeded() {
+        return size > maxEntries + maxEntries / 4 || (removedBytes > MIN_LOG_SIZE && removedBytes > logEnd / 2);
+    }
+
+    /**
+     * Finds the live record of the key
+     *
+     * @return the offset of the record in the log, or <tt>-1</tt> if not found
+     */
+    private static int findRecord(Store store, long hash, String key) {
+        ByteBuffer log = store.log;
+        ByteBuffer index = store.index;
+        int slot = (int) hash & store.mask;
+        byte[] bytes = null;
+        while (true) {
+            long value = index.getLong(HEADER_SIZE + slot * 8);
+            if (value == 0) {
+                return -1;
+            }
+            if ((int) (value >>> 32) == (int) (hash >>> 32)) {
+                int offset = (int) value - 1;
+                // the record may have been written to a larger log by a concurrent add
+                if (offset + RECORD_HEADER_SIZE <= log.limit() && log.getLong(offset + HASH_OFFSET) == hash
+                        && log.get(offset + STATE_OFFSET) == LIVE) {
+                    if (bytes == null) {
+                        bytes = key.getBytes(UTF8);
+                    }
+                    if (log.getInt(offset) == RECORD_HEADER_SIZE + bytes.length && offset + RECORD_HEADER_SIZE + bytes.length <= log.limit()
+                            && equalsKey(log, offset + RECORD_HEADER_SIZE, bytes)) {
+                        return offset;
+                    }
+                }
+            }
+            slot = (slot + 1) & store.mask;
+        }
+    }
+
+    private static boolean equalsKey(ByteBuffer log, int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (log.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void insertSlot(Store store, long hash, int offset) {
+        int slot = (int) hash & store.mask;
+        while (store.index.getLong(HEADER_SIZE + slot * 8) != 0) {
+            slot = (slot + 1) & store.mask;
+        }
+        store.index.putLong(HEADER_SIZE + slot * 8, (hash & 0xffffffff00000000L) | (offset + 1));
+    }
+
+    private void writeHeader(Store store) {
+        store.index.putInt(SIZE_OFFSET, size);
+        store.index.putInt(SLOTS_USED_OFFSET, slotsUsed);
+        store.index.putInt(LOG_END_OFFSET, logEnd);
+        store.index.putLong(REMOVED_BYTES_OFFSET, removedBytes);
+    }
+
+    private Store ensureLogCapacity(int recordSize) throws IOException {
+        Store current = store;
+        long needed = (long) logEnd + recordSize;
+        if (needed <= current.log.capacity()) {
+            return current;
+        }
+        if (needed > MAX_LOG_SIZE) {
+            throw new IOException("Idempotent filestore is full: " + fileStore);
+        }
+        MappedByteBuffer log = map(logFile, (int) Math.min(MAX_LOG_SIZE, Math.max(needed, (long) current.log.capacity() * 2)));
+        Store next = new Store(log, current.index, current.mask, current.bloomFilter);
+        store = next;
+        return next;
+    }
+
+    private Store ensureIndexCapacity(Store current) throws IOException {
+        if ((slotsUsed + 1) * 2L <= current.mask + 1) {
+            return current;
+        }
+
+        // rebuild the index with only the live records
+        File indexTmp = new File(getIndexFile().getPath() + ".tmp");
+        FileUtil.deleteFile(indexTmp);
+        RandomAccessFile newIndexFile = new RandomAccessFile(indexTmp, "rw");
+        Store next = createIndex(newIndexFile, current.log, indexCapacityFor(size + 1));
+        for (int slot = 0; slot <= current.mask; slot++) {
+            long value = current.index.getLong(HEADER_SIZE + slot * 8);
+            if (value != 0) {
+                int offset = (int) value - 1;
+                if (current.log.get(offset + STATE_OFFSET) == LIVE) {
+                    insertSlot(next, current.log.getLong(offset + HASH_OFFSET), offset);
+                }
+            }
+        }
+        Store answer = new Store(current.log, next.index, next.mask, current.bloomFilter);
+
+        IOHelper.close(indexFile);
+        indexFile = newIndexFile;
+        slotsUsed = size;
+        writeHeader(answer);
+        rename(indexTmp, getIndexFile());
+        store = answer;
+        return answer;
+    }
+
+    private Store createIndex(RandomAccessFile file, MappedByteBuffer log, int capacity) throws IOException {
+        MappedByteBuffer index = map(file, HEADER_SIZE + capacity * 8);
+        index.putLong(0, MAGIC);
+        index.putInt(8, VERSION);
+        index.putInt(CAPACITY_OFFSET, capacity);
+        index.putLong(GENERATION_OFFSET, generation);
+        return new Store(log, index, capacity - 1, new BloomFilter(maxEntries + maxEntries / 4, falsePositiveProbability));
+    }
+
+    private void openFiles() throws IOException {
+        File parent = fileStore.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            LOG.debug("Creating parent directory of filestore: {}", fileStore);
+            parent.mkdirs();
+        }
+
+        logFile = new RandomAccessFile(fileStore, "rw");
+        if (logFile.length() > MAX_LOG_SIZE) {
+            IOHelper.close(logFile);
+            throw new IOException("Idempotent filestore is too large: " + fileStore);
+        }
+        boolean created = logFile.length() == 0;
+        MappedByteBuffer log = map(logFile, (int) Math.max(MIN_LOG_SIZE, logFile.length()));
+        if (created) {
+            generation = System.currentTimeMillis();
+            log.putLong(0, LOG_MAGIC);
+            log.putLong(8, generation);
+        } else if (log.getLong(0) != LOG_MAGIC) {
+            IOHelper.close(logFile);
+            throw new IOException("Invalid idempotent filestore: " + fileStore);
+        } else {
+            generation = log.getLong(8);
+        }
+
+        // use the existing index if its valid
+        File file = getIndexFile();
+        Store current = null;
+        int indexLogEnd = 0;
+        if (file.exists()) {
+            indexFile = new RandomAccessFile(file, "rw");
+            current = loadIndex(indexFile, log);
+            if (current != null) {
+                indexLogEnd = current.index.getInt(LOG_END_OFFSET);
+                slotsUsed = current.index.getInt(SLOTS_USED_OFFSET);
+            } else {
+                LOG.info("Rebuilding invalid index of idempotent filestore: {}", fileStore);
+                IOHelper.close(indexFile);
+                FileUtil.deleteFile(file);
+            }
+        }
+        if (current == null) {
+            indexFile = new RandomAccessFile(file, "rw");
+            current = createIndex(indexFile, log, MIN_INDEX_CAPACITY);
+            slotsUsed = 0;
+        }
+        store = current;
+
+        int offset = LOG_HEADER_SIZE;
+        size = 0;
+        removedBytes = 0;
+        if (indexLogEnd > 0) {
+            // the keys before the end of the log in the index are already indexed and counted
+            size = current.index.getInt(SIZE_OFFSET);
+            removedBytes = current.index.getLong(REMOVED_BYTES_OFFSET);
+            int bloomLogEnd = loadBloomFilter(current.bloomFilter);
+            if (bloomLogEnd < LOG_HEADER_SIZE || bloomLogEnd > indexLogEnd) {
+                LOG.debug("Rebuilding bloom filter from index of idempotent filestore: {}", fileStore);
+                putIndexedKeys(current);
+                bloomLogEnd = indexLogEnd;
+            }
+            offset = bloomLogEnd;
+        }
+
+        // scan the rest of the log, to add the records which was added after the bloom filter was saved
+        // and the records which are not in the index
+        logEnd = offset;
+        while (offset + RECORD_HEADER_SIZE <= log.capacity()) {
+            int recordSize = log.getInt(offset);
+            if (recordSize < RECORD_HEADER_SIZE || offset + recordSize > log.capacity()) {
+                break;
+            }
+            long hash = log.getLong(offset + HASH_OFFSET);
+            if (log.get(offset + STATE_OFFSET) == LIVE) {
+                current.bloomFilter.put(hash);
+                if (offset >= indexLogEnd) {
+                    if (!containsSlot(current, hash, offset)) {
+                        current = ensureIndexCapacity(current);
+                        insertSlot(current, hash, offset);
+                        slotsUsed++;
+                    }
+                    size++;
+                }
+            } else if (offset >= indexLogEnd) {
+                removedBytes += recordSize;
+            }
+            offset += recordSize;
+            logEnd = offset;
+        }
+        writeHeader(current);
+        store = current;
+        LOG.debug("Loaded {} keys from idempotent filestore: {}", size, fileStore);
+
+        if (isCompactionNeeded()) {
+            compact();
+        }
+    }
+
+    private Store loadIndex(RandomAccessFile file, MappedByteBuffer log) throws IOException {
+        if (file.length() < HEADER_SIZE) {
+            return null;
+        }
+        MappedByteBuffer header = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        int capacity = header.getInt(CAPACITY_OFFSET);
+        if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION || header.getLong(GENERATION_OFFSET) != generation
+                || header.getInt(LOG_END_OFFSET) > log.capacity()) {
+            return null;
+        }
+        if (capacity < MIN_INDEX_CAPACITY || capacity > MAX_INDEX_CAPACITY || Integer.bitCount(capacity) != 1
+                || file.length() != HEADER_SIZE + capacity * 8L) {
+            return null;
+        }
+        MappedByteBuffer index = map(file, HEADER_SIZE + capacity * 8);
+        return new Store(log, index, capacity - 1, new BloomFilter(maxEntries + maxEntries / 4, falsePositiveProbability));
+    }
+
+    /**
+     * Puts the hashes of the live keys in the index into the bloom filter
+     */
+    private static void putIndexedKeys(Store store) {
+        for (int slot = 0; slot <= store.mask; slot++) {
+            long value = store.index.getLong(HEADER_SIZE + slot * 8);
+            if (value != 0) {
+                int offset = (int) value - 1;
+                if (offset + RECORD_HEADER_SIZE <= store.log.capacity() && store.log.get(offset + STATE_OFFSET) == LIVE) {
+                    store.bloomFilter.put(store.log.getLong(offset + HASH_OFFSET));
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the saved bloom filter into the given bloom filter, if it matches the current log and settings.
+     *
+     * @return the end of the log when the bloom filter was saved, or <tt>-1</tt> if it could not be loaded
+     */
+    private int loadBloomFilter(BloomFilter bloomFilter) throws IOException {
+        File file = getBloomFilterFile();
+        if (!file.exists() || file.length() != BLOOM_HEADER_SIZE + bloomFilter.bits.length() * 8L) {
+            return -1;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readLong() != BLOOM_MAGIC || in.readLong() != generation) {
+                return -1;
+            }
+            int bloomLogEnd = in.readInt();
+            if (in.readInt() != bloomFilter.numberOfHashes) {
+                return -1;
+            }
+            for (int i = 0; i < bloomFilter.bits.length(); i++) {
+                bloomFilter.bits.set(i, in.readLong());
+            }
+            return bloomLogEnd;
+        } finally {
+            IOHelper.close(in);
+        }
+    }
+
+    private void saveBloomFilter(Store store) throws IOException {
+        File file = getBloomFilterFile();
+        File tmp = new File(file.getPath() + ".tmp");
+        BloomFilter bloomFilter = store.bloomFilter;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            out.writeLong(BLOOM_MAGIC);
+            out.writeLong(generation);
+            out.writeInt(logEnd);
+            out.writeInt(bloomFilter.numberOfHashes);
+            for (int i = 0; i < bloomFilter.bits.length(); i++) {
+                out.writeLong(bloomFilter.bits.get(i));
+            }
+        } finally {
+            IOHelper.close(out);
+        }
+        rename(tmp, file);
+    }
+
+    private static boolean containsSlot(Store store, long hash, int offset) {
+        long expected = (hash & 0xffffffff00000000L) | (offset + 1);
+        int slot = (int) hash & store.mask;
+        while (true) {
+            long value = store.index.getLong(HEADER_SIZE + slot * 8);
+            if (value == 0) {
+                return false;
+            } else if (value == expected) {
+                return true;
+            }
+            slot = (slot + 1) & store.mask;
+        }
+    }
+
+    private void closeFiles() {
+        store = null;
+        IOHelper.close(logFile, indexFile);
+        logFile = null;
+        indexFile = null;
+    }
+
+    private void releaseFileStore() {
+        if (openFileStore != null) {
+            OPEN_FILE_STORES.remove(openFileStore, this);
+            openFileStore = null;
+        }
+    }
+
+    private static MappedByteBuffer map(RandomAccessFile file, int size) throws IOException {
+        return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static void rename(File from, File to) throws IOException {
+        if (!FileUtil.renameFile(from, to, false)) {
+            throw new IOException("Cannot rename file from: " + from + " to: " + to);
+        }
+    }
+
+    private static int logCapacityFor(long bytes) {
+        return (int) Math.min(MAX_LOG_SIZE, Math.max(MIN_LOG_SIZE, bytes + bytes / 2));
+    }
+
+    private static int indexCapacityFor(int keys) {
+        // keep the load factor of the hash table at 0.5 or below
+        int capacity = MIN_INDEX_CAPACITY;
+        while (capacity < keys * 2L) {
+            if (capacity == MAX_INDEX_CAPACITY) {
+                throw new IllegalStateException("Too many keys in idempotent filestore: " + keys);
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * The memory mapped log and index, and the bloom filter, which are replaced when the files are grown or compacted.
+     */
+    private static final class Store {
+        private final MappedByteBuffer log;
+        private final MappedByteBuffer index;
+        private final int mask;
+        private final BloomFilter bloomFilter;
+
+        private Store(MappedByteBuffer log, MappedByteBuffer index, int mask, BloomFilter bloomFilter) {
+            this.log = log;
+            this.index = index;
+            this.mask = mask;
+            this.bloomFilter = bloomFilter;
+        }
+    }
+
+    /**
+     * A bloom filter of the key hashes, which uses double hashing of the low and high bits of the hash.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long numberOfBits;
+        private final int numberOfHashes;
+
+        private BloomFilter(long expectedKeys, double falsePositiveProbability) {
+            long expected = Math.max(1, expectedKeys);
+            long m = (long) (-expected * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (m + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.numberOfBits = words * 64L;
+            this.numberOfHashes = Math.max(1, (int) Math.round((double) m / expected * Math.log(2)));
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numberOfHashes; i++) {
+                long bit = bitIndex(h1, h2, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numberOfHashes; i++) {
+                long bit = bitIndex(h1, h2, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                while (true) {
+                    long current = bits.get(word);
+                    if ((current & mask) != 0 || bits.compareAndSet(word, current, current | mask)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        private long bitIndex(int h1, int h2, int i) {
+            long combined = (long) h1 + (long) i * h2;
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            return combined % numberOfBits;
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Implements a latency aware load balancing policy, using the power of two choices, which picks two random
+ * destinations and chooses the one with the lowest cost, being the moving average of its response time
+ * multiplied by its number of inflight exchanges plus one.
+ * <p/>
+ * Picking two random destinations instead of the best destination avoids sending all the exchanges to the
+ * same destination, until its response time has been updated.
+ * The response time of a destination which has no inflight exchanges, and has not been used for a while,
+ * decays over time, so a destination which was slow is tried again, as it may have recovered.
+ * The response time of a destination with inflight exchanges does not decay, so a destination which
+ * hangs does not become the cheapest.
+ *
+ * @version 
+ */
+public class LatencyAwareLoadBalancer extends LoadAwareLoadBalancerSupport {
+
+    /**
+     * The default decay window in millis
+     */
+    public static final long DEFAULT_DECAY_WINDOW = 10000;
+
+    private long decayWindow = DEFAULT_DECAY_WINDOW;
+
+    public long getDecayWindow() {
+        return decayWindow;
+    }
+
+    /**
+     * Sets the time in millis it takes for the response time of an unused destination to decay to about a third.
+     * Use <tt>0</tt> to not decay the response time.
+     */
+    public void setDecayWindow(long decayWindow) {
+        this.decayWindow = decayWindow;
+    }
+
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        int size = processors.size();
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            // there is only 1
+            return processors.get(0);
+        }
+
+        // pick two different destinations at random
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Processor a = processors.get(first);
+        Processor b = processors.get(second);
+
+        ProcessorLoad loadA = getOrCreateProcessorLoad(a);
+        ProcessorLoad loadB = getOrCreateProcessorLoad(b);
+        if (loadA.getCompleted() == 0 || loadB.getCompleted() == 0) {
+            // the response time is not known yet so use the number of inflight exchanges only
+            return loadA.getInflight() <= loadB.getInflight() ? a : b;
+        }
+
+        long now = System.nanoTime();
+        return cost(loadA, now) <= cost(loadB, now) ? a : b;
+    }
+
+    /**
+     * The cost of using the destination with the given load, where the cheapest destination is chosen
+     */
+    protected double cost(ProcessorLoad load, long now) {
+        double responseTime = load.getResponseTime();
+        int inflight = load.getInflight();
+        // only decay when the destination is idle, as a destination which hangs never completes its exchanges
+        if (decayWindow > 0 && inflight == 0) {
+            long last = Math.max(load.getLastUpdated(), load.getLastDispatched());
+            long idle = Math.max(0, now - last);
+            responseTime *= Math.exp(-(double) idle / TimeUnit.MILLISECONDS.toNanos(decayWindow));
+        }
+        return responseTime * (inflight + 1);
+    }
+
+    public String toString() {
+        return "LatencyAwareLoadBalancer";
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Implements the least inflight load balancing policy, which chooses the destination with the fewest exchanges
+ * currently being processed, so slower destinations gets less exchanges.
+ * <p/>
+ * Destinations with the same number of inflight exchanges are chosen in round robin order.
+ *
+ * @version 
+ */
+public class LeastInflightLoadBalancer extends LoadAwareLoadBalancerSupport {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        int size = processors.size();
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            // there is only 1
+            return processors.get(0);
+        }
+
+        // start from the next destination in round robin order so the ties are spread evenly
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+        Processor answer = null;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Processor processor = processors.get((start + i) % size);
+            int inflight = getOrCreateProcessorLoad(processor).getInflight();
+            if (inflight < least) {
+                least = inflight;
+                answer = processor;
+                if (inflight == 0) {
+                    // cannot do better than an idle destination
+                    break;
+                }
+            }
+        }
+        return answer;
+    }
+
+    public String toString() {
+        return "LeastInflightLoadBalancer";
+    }
+}
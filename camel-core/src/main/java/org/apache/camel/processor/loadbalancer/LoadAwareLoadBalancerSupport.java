@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * A base class for {@link LoadBalancer} implementations which choose a single destination for each exchange,
+ * based on how loaded and how fast each destination is.
+ * <p/>
+ * The number of inflight exchanges and the response time of each destination is tracked without locking,
+ * where the response time is an exponentially weighted moving average (EWMA) of the time taken to process
+ * the exchanges which completed successfully.
+ *
+ * @version 
+ */
+public abstract class LoadAwareLoadBalancerSupport extends LoadBalancerSupport {
+
+    /**
+     * The default smoothing factor for the moving average of the response time
+     */
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.3;
+
+    private static final long NO_RESPONSE_TIME = Double.doubleToRawLongBits(0);
+
+    private final ConcurrentMap<Processor, ProcessorLoad> loads = new ConcurrentHashMap<Processor, ProcessorLoad>();
+    private double smoothingFactor = DEFAULT_SMOOTHING_FACTOR;
+
+    /**
+     * The load of a destination, which is updated without locking.
+     */
+    public static final class ProcessorLoad {
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        // the moving average in nanos as the raw bits of a double, so it can be updated using compare and set
+        private final AtomicLong responseTime = new AtomicLong(NO_RESPONSE_TIME);
+        private volatile long lastUpdated;
+        private volatile long lastDispatched;
+
+        /**
+         * Number of exchanges currently being processed by the destination
+         */
+        public int getInflight() {
+            return inflight.get();
+        }
+
+        /**
+         * Number of exchanges which have been completed successfully by the destination
+         */
+        public long getCompleted() {
+            return completed.get();
+        }
+
+        /**
+         * The moving average of the response time in nanos, or <tt>0</tt> if no exchanges have been completed yet
+         */
+        public double getResponseTime() {
+            return Double.longBitsToDouble(responseTime.get());
+        }
+
+        /**
+         * The {@link System#nanoTime()} of when the response time was last updated
+         */
+        public long getLastUpdated() {
+            return lastUpdated;
+        }
+
+        /**
+         * The {@link System#nanoTime()} of when an exchange was last sent to the destination
+         */
+        public long getLastDispatched() {
+            return lastDispatched;
+        }
+
+        void begin(long now) {
+            lastDispatched = now;
+            inflight.incrementAndGet();
+        }
+
+        void done(long taken, boolean success, double smoothingFactor) {
+            inflight.decrementAndGet();
+            if (!success) {
+                // a failure is often fast, and should not make the destination look faster
+                return;
+            }
+            while (true) {
+                long bits = responseTime.get();
+                double average = Double.longBitsToDouble(bits);
+                // the first response time is used as-is
+                double updated = bits == NO_RESPONSE_TIME ? taken : average + smoothingFactor * (taken - average);
+                if (responseTime.compareAndSet(bits, Double.doubleToRawLongBits(updated))) {
+                    break;
+                }
+            }
+            completed.incrementAndGet();
+            lastUpdated = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void addProcessor(Processor processor) {
+        loads.putIfAbsent(processor, new ProcessorLoad());
+        super.addProcessor(processor);
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        loads.remove(processor);
+    }
+
+    /**
+     * Gets the load of the given destination
+     *
+     * @param processor the destination
+     * @return the load, or <tt>null</tt> if the processor is not a destination of this load balancer
+     */
+    public ProcessorLoad getProcessorLoad(Processor processor) {
+        return loads.get(processor);
+    }
+
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    /**
+     * Sets the smoothing factor of the moving average of the response time, which must be between 0 and 1.
+     * A higher value discounts older response times faster.
+     */
+    public void setSmoothingFactor(double smoothingFactor) {
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            throw new IllegalArgumentException("The smoothing factor must be greater than 0 and at most 1, was: " + smoothingFactor);
+        }
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Processor> list = getProcessors();
+        if (!list.isEmpty()) {
+            Processor processor = chooseProcessor(list, exchange);
+            if (processor == null) {
+                Exception e = new IllegalStateException("No processors could be chosen to process " + exchange);
+                exchange.setException(e);
+            } else {
+                final ProcessorLoad load = getOrCreateProcessorLoad(processor);
+                final long start = System.nanoTime();
+                load.begin(start);
+                AsyncCallback done = new AsyncCallback() {
+                    public void done(boolean doneSync) {
+                        load.done(System.nanoTime() - start, exchange.getException() == null, smoothingFactor);
+                        callback.done(doneSync);
+                    }
+                };
+
+                if (processor instanceof AsyncProcessor) {
+                    AsyncProcessor async = (AsyncProcessor) processor;
+                    return async.process(exchange, done);
+                } else {
+                    try {
+                        processor.process(exchange);
+                    } catch (Exception e) {
+                        exchange.setException(e);
+                    }
+                    done.done(true);
+                    return true;
+                }
+            }
+        }
+
+        // no processors but indicate we are done
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * Chooses the destination to process the exchange
+     *
+     * @param processors the destinations
+     * @param exchange   the exchange
+     * @return the chosen destination, or <tt>null</tt> if no destination could be chosen
+     */
+    protected abstract Processor chooseProcessor(List<Processor> processors, Exchange exchange);
+
+    /**
+     * Gets the load of the destination, which is created if the destination was added after this load balancer was created
+     */
+    protected ProcessorLoad getOrCreateProcessorLoad(Processor processor) {
+        ProcessorLoad load = loads.get(processor);
+        if (load == null) {
+            load = new ProcessorLoad();
+            ProcessorLoad existing = loads.putIfAbsent(processor, load);
+            if (existing != null) {
+                load = existing;
+            }
+        }
+        return load;
+    }
+}
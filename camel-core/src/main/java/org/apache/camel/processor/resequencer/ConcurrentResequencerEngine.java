@@ -0,0 +1,524 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.LoggingExceptionHandler;
+import org.apache.camel.spi.ExceptionHandler;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Resequences elements based on a given {@link SequenceElementComparator} in the same way as
+ * {@link ResequencerEngine}, but keeps a separate sequence for each group of elements, so
+ * independent streams (for example one stream per customer or device) are re-ordered
+ * independently of each other and can be inserted and delivered concurrently.
+ * <p/>
+ * Instead of scheduling a timer task for each out-of-sequence element, the waiting elements
+ * of a group are given a deadline, and a single sweeper task which runs every
+ * <code>sweepInterval</code> milliseconds marks the elements which have timed out as
+ * <i>ready-for-delivery</i>. This means an element may wait up to <code>timeout + sweepInterval</code>
+ * milliseconds before it times out.
+ * <p/>
+ * Delivery is triggered by the engine itself. When an inserted element makes the head of a group
+ * <i>ready-for-delivery</i> the inserting thread removes the ready elements from the head of the
+ * group as a batch and sends them via the {@link SequenceSender}, which avoids handing over every
+ * element to another thread. Any further batches, and the elements which timed out, are delivered
+ * by a task submitted to the executor service. Only one thread delivers the elements of a group at
+ * any time, so elements of the same group are always delivered in sequence, while different groups
+ * are delivered in parallel.
+ *
+ * @version 
+ */
+public class ConcurrentResequencerEngine<E> {
+
+    /**
+     * The group used for elements which have no group key.
+     */
+    private static final Object DEFAULT_GROUP = new Object();
+
+    private final SequenceElementComparator<E> comparator;
+    private final Comparator<Entry<E>> entryComparator;
+    private final ConcurrentMap<Object, Partition> partitions = new ConcurrentHashMap<Object, Partition>();
+    private final Set<Partition> waitingPartitions = Collections.newSetFromMap(new ConcurrentHashMap<Partition, Boolean>());
+    private final AtomicInteger size = new AtomicInteger();
+    private ScheduledExecutorService executorService;
+    private ScheduledFuture<?> sweeper;
+    private volatile boolean running;
+    private long timeout = 2000L;
+    private long sweepInterval;
+    private long partitionIdleTimeout;
+    private int deliveryBatchSize = 100;
+    private Boolean rejectOld;
+    private SequenceSender<E> sequenceSender;
+    private ExceptionHandler exceptionHandler;
+    private CamelContext camelContext;
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000
+     * milliseconds.
+     *
+     * @param comparator a sequence element comparator.
+     */
+    public ConcurrentResequencerEngine(final SequenceElementComparator<E> comparator) {
+        this.comparator = comparator;
+        this.entryComparator = new Comparator<Entry<E>>() {
+            public int compare(Entry<E> o1, Entry<E> o2) {
+                return comparator.compare(o1.object, o2.object);
+            }
+        };
+    }
+
+    /**
+     * Starts this resequencer by scheduling the sweeper task on the executor service.
+     */
+    public void start() {
+        ObjectHelper.notNull(executorService, "executorService", this);
+        ObjectHelper.notNull(sequenceSender, "sequenceSender", this);
+        if (exceptionHandler == null) {
+            exceptionHandler = new LoggingExceptionHandler(camelContext, getClass());
+        }
+        running = true;
+        long interval = getSweepInterval();
+        sweeper = executorService.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                sweep();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops this resequencer. The executor service is not shutdown, as it is owned by the caller.
+     */
+    public void stop() {
+        running = false;
+        if (sweeper != null) {
+            sweeper.cancel(false);
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Returns the number of elements currently maintained by this resequencer.
+     *
+     * @return the number of elements currently maintained by this resequencer.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the number of groups currently maintained by this resequencer.
+     *
+     * @return the number of groups.
+     */
+    public int getGroupCount() {
+        return partitions.size();
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets this sequencer's timeout value.
+     *
+     * @param timeout the timeout in milliseconds.
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the interval in millis the sweeper runs, which by default is a tenth of the timeout.
+     */
+    public long getSweepInterval() {
+        return sweepInterval > 0 ? sweepInterval : Math.max(1, timeout / 10);
+    }
+
+    /**
+     * Sets the interval in millis the sweeper runs, to time out waiting elements.
+     */
+    public void setSweepInterval(long sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public long getPartitionIdleTimeout() {
+        return partitionIdleTimeout;
+    }
+
+    /**
+     * Sets the time in millis after which an empty group is removed, which is needed when the group keys
+     * are not bounded. A removed group forgets its last delivered element, so the next element of the group
+     * has to wait for the timeout before it is delivered, as for a new group.
+     * <p/>
+     * By default groups are never removed.
+     */
+    public void setPartitionIdleTimeout(long partitionIdleTimeout) {
+        this.partitionIdleTimeout = partitionIdleTimeout;
+    }
+
+    public int getDeliveryBatchSize() {
+        return deliveryBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of ready elements a group removes from its sequence in one go before
+     * sending them.
+     */
+    public void setDeliveryBatchSize(int deliveryBatchSize) {
+        this.deliveryBatchSize = deliveryBatchSize;
+    }
+
+    public Boolean getRejectOld() {
+        return rejectOld;
+    }
+
+    public void setRejectOld(Boolean rejectOld) {
+        this.rejectOld = rejectOld;
+    }
+
+    public SequenceSender<E> getSequenceSender() {
+        return sequenceSender;
+    }
+
+    public void setSequenceSender(SequenceSender<E> sequenceSender) {
+        this.sequenceSender = sequenceSender;
+    }
+
+    public ScheduledExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets the executor service used for the sweeper and for delivering the elements.
+     */
+    public void setExecutorService(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public ExceptionHandler getExceptionHandler() {
+        return exceptionHandler;
+    }
+
+    /**
+     * Sets the exception handler which handles exceptions thrown by the {@link SequenceSender}.
+     */
+    public void setExceptionHandler(ExceptionHandler exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    /**
+     * Sets the camel context which is used by the default exception handler.
+     */
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    /**
+     * Returns the last delivered element of the given group.
+     *
+     * @return the last delivered element or <code>null</code> if no delivery
+     *         has been made yet.
+     */
+    E getLastDelivered(Object groupKey) {
+        Partition partition = partitions.get(groupKey != null ? groupKey : DEFAULT_GROUP);
+        if (partition == null) {
+            return null;
+        }
+        synchronized (partition) {
+            return partition.lastDelivered;
+        }
+    }
+
+    /**
+     * Sets the last delivered element of the given group. This is for testing purposes only.
+     *
+     * @param o an element.
+     */
+    void setLastDelivered(Object groupKey, E o) {
+        Partition partition = getOrCreatePartition(groupKey != null ? groupKey : DEFAULT_GROUP);
+        synchronized (partition) {
+            partition.lastDelivered = o;
+        }
+    }
+
+    /**
+     * Inserts the given element into the group with the given key. If the element is not
+     * ready for immediate delivery and has no immediate predecessor then it waits for the
+     * timeout. After being timed out it is ready for delivery.
+     *
+     * @param groupKey the group key, or <tt>null</tt> to use a default group.
+     * @param o an element.
+     * @throws IllegalArgumentException if the element cannot be used with this resequencer engine
+     */
+    public void insert(Object groupKey, E o) {
+        if (!comparator.isValid(o)) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + comparator);
+        }
+
+        Object key = groupKey != null ? groupKey : DEFAULT_GROUP;
+        Entry<E> entry = new Entry<E>(o);
+        // the partition may have been removed as idle concurrently, if so then try again with a new partition
+        while (!getOrCreatePartition(key).insert(entry)) {
+            // try again
+        }
+    }
+
+    private Partition getOrCreatePartition(Object key) {
+        Partition partition = partitions.get(key);
+        if (partition == null) {
+            partition = new Partition(key);
+            Partition existing = partitions.putIfAbsent(key, partition);
+            if (existing != null) {
+                partition = existing;
+            }
+        }
+        return partition;
+    }
+
+    /**
+     * Times out the waiting elements whose deadline has passed, and removes idle groups.
+     */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        try {
+            for (Partition partition : waitingPartitions) {
+                partition.timeout(now);
+            }
+            if (partitionIdleTimeout > 0) {
+                for (Partition partition : partitions.values()) {
+                    if (partition.evictIfIdle(now)) {
+                        partitions.remove(partition.key, partition);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            // a fail safe as an exception would cancel the scheduled sweeper
+            exceptionHandler.handleException("Error sweeping resequencer", t);
+        }
+    }
+
+    /**
+     * An element of a sequence, which is <i>ready-for-delivery</i> when its deadline is zero.
+     */
+    private static final class Entry<E> {
+        private final E object;
+        private long deadline;
+
+        private Entry(E object) {
+            this.object = object;
+        }
+    }
+
+    /**
+     * The sequence of a single group. The state is guarded by the partition itself, and the
+     * elements are sent without holding the lock.
+     */
+    private final class Partition implements Runnable {
+        private final Object key;
+        private final TreeSet<Entry<E>> sequence = new TreeSet<Entry<E>>(entryComparator);
+        // the waiting elements in the order of their deadline, as the timeout is the same for all elements
+        private final ArrayDeque<Entry<E>> waiting = new ArrayDeque<Entry<E>>();
+        private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+        private E lastDelivered;
+        private long lastActivity = System.currentTimeMillis();
+        private boolean removed;
+
+        private Partition(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Inserts the element, or returns <tt>false</tt> if the partition has been removed.
+         */
+        boolean insert(Entry<E> entry) {
+            synchronized (this) {
+                if (removed) {
+                    return false;
+                }
+                lastActivity = System.currentTimeMillis();
+
+                // validate the exchange shouldn't be 'rejected' (if applicable)
+                if (rejectOld != null && rejectOld && lastDelivered != null && comparator.compare(entry.object, lastDelivered) < 0) {
+                    throw new MessageRejectedException("rejecting message [" + entry.object
+                            + "], it should have been sent before the last delivered message [" + lastDelivered + "]");
+                }
+
+                // add element to sequence in proper order, duplicates are dropped as ResequencerEngine does
+                if (!sequence.add(entry)) {
+                    return true;
+                }
+                size.incrementAndGet();
+
+                // an immediate successor does not need to wait any more for timeout
+                Entry<E> successor = sequence.higher(entry);
+                if (successor != null && successor.deadline != 0 && comparator.successor(successor.object, entry.object)) {
+                    successor.deadline = 0;
+                }
+
+                if (lastDelivered != null && comparator.successor(entry.object, lastDelivered)) {
+                    // ready
+                } else {
+                    Entry<E> predecessor = sequence.lower(entry);
+                    if (predecessor == null || !comparator.predecessor(predecessor.object, entry.object)) {
+                        entry.deadline = lastActivity + timeout;
+                        waiting.add(entry);
+                        waitingPartitions.add(this);
+                    }
+                }
+
+                if (sequence.first().deadline != 0) {
+                    return true;
+                }
+            }
+            // deliver the first batch in the inserting thread
+            if (running && deliveryScheduled.compareAndSet(false, true)) {
+                deliver(1);
+            }
+            return true;
+        }
+
+        /**
+         * Marks the waiting elements whose deadline has passed as ready.
+         */
+        void timeout(long now) {
+            boolean ready;
+            synchronized (this) {
+                // an entry which has become ready by an immediate predecessor has a deadline of 0
+                while (!waiting.isEmpty() && waiting.peekFirst().deadline <= now) {
+                    Entry<E> entry = waiting.pollFirst();
+                    entry.deadline = 0;
+                }
+                if (waiting.isEmpty()) {
+                    waitingPartitions.remove(this);
+                }
+                ready = !sequence.isEmpty() && sequence.first().deadline == 0;
+            }
+            if (ready) {
+                scheduleDelivery();
+            }
+        }
+
+        synchronized boolean evictIfIdle(long now) {
+            if (sequence.isEmpty() && !deliveryScheduled.get() && now - lastActivity > partitionIdleTimeout) {
+                removed = true;
+            }
+            return removed;
+        }
+
+        void scheduleDelivery() {
+            if (running && deliveryScheduled.compareAndSet(false, true)) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            try {
+                executorService.execute(this);
+            } catch (RejectedExecutionException e) {
+                deliveryScheduled.set(false);
+                throw e;
+            }
+        }
+
+        /**
+         * Removes the next batch of ready elements from the head of the sequence.
+         */
+        synchronized List<E> nextBatch() {
+            List<E> batch = null;
+            while (!sequence.isEmpty() && sequence.first().deadline == 0) {
+                E object = sequence.pollFirst().object;
+                if (batch == null) {
+                    batch = new ArrayList<E>();
+                }
+                batch.add(object);
+                lastDelivered = object;
+                if (batch.size() >= deliveryBatchSize) {
+                    break;
+                }
+            }
+            if (batch != null) {
+                size.addAndGet(-batch.size());
+                lastActivity = System.currentTimeMillis();
+            }
+            return batch;
+        }
+
+        synchronized boolean isHeadReady() {
+            return !sequence.isEmpty() && sequence.first().deadline == 0;
+        }
+
+        public void run() {
+            deliver(Integer.MAX_VALUE);
+        }
+
+        /**
+         * Delivers up to the given number of batches, and submits a delivery task to continue
+         * if there may be more ready elements. The caller must have set the delivery flag.
+         */
+        private void deliver(int batches) {
+            for (int i = 0; i < batches && running; i++) {
+                List<E> batch = nextBatch();
+                if (batch == null) {
+                    deliveryScheduled.set(false);
+                    // an element may have become ready after the batch was taken, but before the flag was cleared
+                    if (isHeadReady() && deliveryScheduled.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    return;
+                }
+                for (E object : batch) {
+                    try {
+                        sequenceSender.sendElement(object);
+                    } catch (Throwable t) {
+                        exceptionHandler.handleException("Error delivering resequenced element", t);
+                    }
+                }
+            }
+            if (running && isHeadReady()) {
+                // continue with the next batch on the executor
+                submit();
+            } else {
+                deliveryScheduled.set(false);
+                if (isHeadReady()) {
+                    scheduleDelivery();
+                }
+            }
+        }
+    }
+
+}
@@ -130,6 +130,36 @@ public interface InflightRepository extends StaticService {
      */
     int size(String routeId);
 
+    /**
+     * Gets the duration in millis of the exchange which has been inflight the longest time, of the
+     * exchanges which are currently inflight from the given route.
+     * <p/>
+     * The duration is computed from the time the exchange was created, the same as {@link InflightExchange#getDuration()}.
+     * This can be used to detect stuck messages, and the implementation should therefore be cheap.
+     * <p/>
+     * Will return 0 if there are no inflight exchanges. The duration is tracked regardless whether
+     * {@link #isInflightBrowseEnabled() browsing} is enabled, but may be coarse grained.
+     *
+     * @param routeId the id of the route
+     * @return duration in millis of the oldest exchange currently in flight.
+     */
+    long oldestInflightDuration(String routeId);
+
+    /**
+     * Whether the inflight exchanges are tracked, so they can be browsed using {@link #browse()}.
+     * <p/>
+     * If this is disabled then only the number of inflight exchanges is tracked, which has lower
+     * overhead when routing a high number of messages, and {@link #browse()} returns an empty collection.
+     * <p/>
+     * This option is default <tt>false</tt>.
+     */
+    void setInflightBrowseEnabled(boolean inflightBrowseEnabled);
+
+    /**
+     * Whether the inflight exchanges are tracked, so they can be browsed using {@link #browse()}.
+     */
+    boolean isInflightBrowseEnabled();
+
     /**
      * A <i>read-only</i> browser of the {@link InflightExchange}s that are currently inflight.
      */
@@ -231,6 +231,23 @@ public interface ManagementStrategy extends Service {
      */
     boolean isLoadStatisticsEnabled();
 
+    /**
+     * Sets whether to record the processing times in a latency histogram, which allows to get
+     * percentiles such as the 99th percentile of the processing time of routes and processors.
+     * <p/>
+     * The histogram requires some memory for each route and processor, and is therefore disabled by default.
+     *
+     * @param flag <tt>true</tt> to enable the latency histogram
+     */
+    void setLatencyHistogramEnabled(boolean flag);
+
+    /**
+     * Gets whether the latency histogram is enabled
+     *
+     * @return <tt>true</tt> if enabled
+     */
+    boolean isLatencyHistogramEnabled();
+
     /**
      * Sets the statistics level
      * <p/>
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.TypeConverter;
+
+/**
+ * A configurer which sets the properties of a given type of bean, such as an {@link org.apache.camel.Endpoint},
+ * using direct method calls instead of reflection.
+ * <p/>
+ * Configurers are generated at build time, and are listed in the
+ * <tt>META-INF/services/org/apache/camel/configurer/</tt> directory using the FQN class name of the bean,
+ * which allows {@link org.apache.camel.util.IntrospectionSupport} to use the configurer when setting properties on the bean.
+ * Properties which are not known by the configurer are set using reflection.
+ *
+ * @see org.apache.camel.util.IntrospectionSupport#resolvePropertyConfigurer(Class)
+ * @version 
+ */
+public interface PropertyConfigurer {
+
+    /**
+     * Sets the property on the target.
+     *
+     * @param typeConverter the type converter to convert the value to the type of the property, may be <tt>null</tt>
+     * @param target        the target bean
+     * @param name          the name of the property
+     * @param value         the value of the property
+     * @return <tt>true</tt> if the property was set, or <tt>false</tt> if the property is not known by this configurer
+     * @throws Exception is thrown if the value could not be converted, or the setter method threw an exception
+     */
+    boolean configure(TypeConverter typeConverter, Object target, String name, Object value) throws Exception;
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.Map;
+
+/**
+ * A {@link PropertyConfigurer} which can also get the properties of a given type of bean
+ * using direct method calls instead of reflection.
+ *
+ * @see org.apache.camel.util.IntrospectionSupport#getProperties(Object, java.util.Map, String, boolean)
+ * @version 
+ */
+public interface PropertyConfigurerGetter {
+
+    /**
+     * Gets the properties of the target which has both a getter and a setter method.
+     *
+     * @param target       the target bean
+     * @param properties   the map to fill in found properties
+     * @param optionPrefix the prefix to append the property key
+     * @param includeNull  whether to include <tt>null</tt> values
+     * @return <tt>true</tt> if any properties was found, <tt>false</tt> otherwise.
+     */
+    boolean getProperties(Object target, Map<String, Object> properties, String optionPrefix, boolean includeNull);
+
+}
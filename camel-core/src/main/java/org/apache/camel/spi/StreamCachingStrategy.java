@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -62,6 +63,31 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the counter for number of {@link StreamCache} created using the off-heap buffer pool.
+         */
+        long getCacheBufferPoolCounter();
+
+        /**
+         * Gets the total accumulated number of bytes which has been stream cached using the off-heap buffer pool.
+         */
+        long getCacheBufferPoolSize();
+
+        /**
+         * Gets the average number of bytes per cached stream for stream caches using the off-heap buffer pool.
+         */
+        long getCacheBufferPoolAverageSize();
+
+        /**
+         * Gets the number of bytes currently in use from the off-heap buffer pool.
+         */
+        long getBufferPoolUsed();
+
+        /**
+         * Gets the number of spooled files which are currently in use.
+         */
+        long getSpoolFilesInUse();
+
         /**
          * Reset the counters
          */
@@ -173,6 +199,47 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolChiper();
 
+    /**
+     * Sets whether to memory map the spooled files when reading them, which allows the spooled files to be read
+     * many times, such as when using multicast or redelivery, without copying the content through streams.
+     * <p/>
+     * Memory mapping is not used when the spooled files are encrypted.
+     * <p/>
+     * By default the files are not memory mapped.
+     */
+    void setSpoolMemoryMapped(boolean memoryMapped);
+
+    boolean isSpoolMemoryMapped();
+
+    /**
+     * Sets the maximum number of bytes to use for a pool of off-heap buffers, which is used before spooling to disk.
+     * When a stream should be spooled, then it is kept in buffers from this pool instead, if there is room left
+     * in the pool, and only if the pool is exhausted then the stream is spooled to disk.
+     * <p/>
+     * The buffers in the pool has the same size as the {@link #setBufferSize(int) buffer size}.
+     * <p/>
+     * By default the pool is not in use (size is 0).
+     * <p/>
+     * <b>Notice:</b> This cannot be changed at runtime.
+     */
+    void setBufferPoolSize(long size);
+
+    long getBufferPoolSize();
+
+    /**
+     * Acquires a buffer from the off-heap buffer pool.
+     *
+     * @return the buffer, or <tt>null</tt> if the buffer pool is not in use or is exhausted
+     */
+    ByteBuffer acquireBuffer();
+
+    /**
+     * Gives the buffer back to the off-heap buffer pool.
+     *
+     * @param buffer the buffer acquired from {@link #acquireBuffer()}
+     */
+    void releaseBuffer(ByteBuffer buffer);
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
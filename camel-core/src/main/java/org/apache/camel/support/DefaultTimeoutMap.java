@@ -221,7 +221,7 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
                     }
                 });
 
-                List<K> evicts = new ArrayList<K>(expired.size());
+                List<TimeoutMapEntry<K, V>> evicts = new ArrayList<TimeoutMapEntry<K, V>>(expired.size());
                 try {
                     // now fire eviction notification
                     for (TimeoutMapEntry<K, V> entry : expired) {
@@ -234,13 +234,14 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
                         }
                         if (evict) {
                             // okay this entry should be evicted
-                            evicts.add(entry.getKey());
+                            evicts.add(entry);
                         }
                     }
                 } finally {
                     // and must remove from list after we have fired the notifications
-                    for (K key : evicts) {
-                        map.remove(key);
+                    // (only remove the evicted entry, as the key may have been put again in the meantime)
+                    for (TimeoutMapEntry<K, V> entry : evicts) {
+                        map.remove(entry.getKey(), entry);
                     }
                 }
             }
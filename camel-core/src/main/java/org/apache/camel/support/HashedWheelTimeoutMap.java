@@ -0,0 +1,394 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimeoutMap} which uses a hashed timing wheel to keep track of when the entries times out.
+ * <p/>
+ * Unlike {@link DefaultTimeoutMap} the purge task does not scan all the entries in the map, but only the
+ * buckets of the wheel for the ticks which has passed since the last purge. The cost of a purge is therefore
+ * bound by the number of entries which are due to expire, and not by the size of the map. This is useful
+ * when there are a large number of entries in the map, such as many open correlation keys on the aggregator.
+ * <p/>
+ * Adding, getting and removing entries does not use any locks. New entries are handed over to the purge task using a
+ * lock-free queue, and the purge task is the only thread which touches the buckets of the wheel. Removed entries are
+ * not removed from the wheel, but are discarded when their bucket is visited. Getting an entry extends its timeout,
+ * the same as {@link DefaultTimeoutMap} does, and the entry is moved to its new bucket when its old bucket is visited.
+ * Putting an existing key updates its entry in the same way, unless the timeout is shorter than before.
+ * <p/>
+ * Each tick of the wheel is the purge poll time, and the number of buckets is configured using the wheel size.
+ * Entries which times out after more than one rotation of the wheel are visited once per rotation until they are due.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used
+ * to schedule a background task which check for old entries to purge.
+ * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ *
+ * @version 
+ */
+public class HashedWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V>, Runnable {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, TimeoutMapEntry<K, V>> map = new ConcurrentHashMap<K, TimeoutMapEntry<K, V>>();
+    private final Queue<TimeoutMapEntry<K, V>> pending = new ConcurrentLinkedQueue<TimeoutMapEntry<K, V>>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    private final List<TimeoutMapEntry<K, V>>[] wheel;
+    private final int mask;
+    // only the purge task (which holds the purge lock) is using the wheel
+    private final Lock purgeLock = new ReentrantLock();
+    private long startTime;
+    private long lastTick;
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, DEFAULT_WHEEL_SIZE);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be a positive number, was: " + requestMapPollTimeMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be a positive number, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        // use a power of two so the bucket can be found using a mask
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<TimeoutMapEntry<K, V>>[] buckets = new List[size];
+        this.wheel = buckets;
+        this.mask = size - 1;
+        this.startTime = currentTime();
+    }
+
+    public V get(K key) {
+        TimeoutMapEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // the entry is moved to the right bucket when its current bucket is visited
+        updateExpireTime(entry);
+        return entry.getValue();
+    }
+
+    public V put(K key, V value, long timeoutMillis) {
+        TimeoutMapEntry<K, V> existing = map.get(key);
+        if (existing != null && existing.getTimeout() <= timeoutMillis) {
+            // update the entry in place, as the entry is moved to the right bucket when its current bucket is visited,
+            // so putting the same key over and over again does not add to the wheel
+            V answer = existing.setValue(value);
+            existing.setTimeout(timeoutMillis);
+            updateExpireTime(existing);
+            if (map.get(key) == existing) {
+                return answer;
+            }
+            // the entry was removed or evicted in the meantime, so add it as a new entry
+        }
+
+        // a new key, or a shorter timeout which means the entry must be added to an earlier bucket
+        TimeoutMapEntry<K, V> entry = new TimeoutMapEntry<K, V>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        TimeoutMapEntry<K, V> result = map.put(key, entry);
+        pending.offer(entry);
+        return result != null ? result.getValue() : null;
+    }
+
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        TimeoutMapEntry<K, V> entry = new TimeoutMapEntry<K, V>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        TimeoutMapEntry<K, V> result = map.putIfAbsent(key, entry);
+        if (result == null) {
+            pending.offer(entry);
+            return null;
+        }
+        return result.getValue();
+    }
+
+    public V remove(K key) {
+        // the entry is discarded from the wheel when its bucket is visited
+        TimeoutMapEntry<K, V> entry = map.remove(key);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    public Object[] getKeys() {
+        Set<K> keySet = map.keySet();
+        Object[] keys = new Object[keySet.size()];
+        return keySet.toArray(keys);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    public void run() {
+        // only run if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries has been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next run
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    public void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+
+        purgeLock.lock();
+        try {
+            long now = currentTime();
+            long tick = (now - startTime) / purgePollTime;
+
+            // add the new entries to the wheel
+            TimeoutMapEntry<K, V> entry;
+            while ((entry = pending.poll()) != null) {
+                schedule(entry);
+            }
+
+            if (tick <= lastTick) {
+                return;
+            }
+
+            // visit the buckets for the ticks which has passed, but no more than one rotation of the wheel
+            long from = Math.max(lastTick + 1, tick - wheel.length + 1);
+            List<TimeoutMapEntry<K, V>> expired = new ArrayList<TimeoutMapEntry<K, V>>();
+            List<TimeoutMapEntry<K, V>> reschedule = new ArrayList<TimeoutMapEntry<K, V>>();
+            for (long i = from; i <= tick; i++) {
+                int index = (int) (i & mask);
+                List<TimeoutMapEntry<K, V>> bucket = wheel[index];
+                if (bucket == null) {
+                    continue;
+                }
+                wheel[index] = null;
+                for (TimeoutMapEntry<K, V> e : bucket) {
+                    if (map.get(e.getKey()) != e) {
+                        // the entry has been removed or replaced
+                        continue;
+                    }
+                    if (e.getExpireTime() < now && isValidForEviction(e)) {
+                        log.debug("Evicting inactive entry ID: {}", e);
+                        expired.add(e);
+                    } else {
+                        reschedule.add(e);
+                    }
+                }
+            }
+            lastTick = tick;
+
+            for (TimeoutMapEntry<K, V> e : reschedule) {
+                schedule(e);
+            }
+
+            // if we found any expired then we need to sort, onEviction and remove
+            if (!expired.isEmpty()) {
+                // sort according to the expired time so we got the first expired first
+                Collections.sort(expired, new Comparator<TimeoutMapEntry<K, V>>() {
+                    public int compare(TimeoutMapEntry<K, V> a, TimeoutMapEntry<K, V> b) {
+                        long diff = a.getExpireTime() - b.getExpireTime();
+                        if (diff == 0) {
+                            return 0;
+                        }
+                        return diff > 0 ? 1 : -1;
+                    }
+                });
+
+                for (TimeoutMapEntry<K, V> e : expired) {
+                    if (e.getExpireTime() >= now) {
+                        // the entry was put again in the meantime
+                        schedule(e);
+                        continue;
+                    }
+                    boolean evict = false;
+                    try {
+                        evict = onEviction(e.getKey(), e.getValue());
+                    } catch (Throwable t) {
+                        log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}",
+                                e.getValue(), t);
+                    }
+                    if (evict) {
+                        // only remove the evicted entry, as the key may have been put again in the meantime
+                        map.remove(e.getKey(), e);
+                    } else {
+                        // try again on the next tick
+                        schedule(e);
+                    }
+                }
+            }
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds the entry to the bucket of the first tick after the entry expires,
+     * or the next tick if the entry has already expired
+     */
+    private void schedule(TimeoutMapEntry<K, V> entry) {
+        long tick = (entry.getExpireTime() - startTime) / purgePollTime + 1;
+        if (tick <= lastTick) {
+            tick = lastTick + 1;
+        }
+        int index = (int) (tick & mask);
+        List<TimeoutMapEntry<K, V>> bucket = wheel[index];
+        if (bucket == null) {
+            bucket = new ArrayList<TimeoutMapEntry<K, V>>();
+            wheel[index] = bucket;
+        }
+        bucket.add(entry);
+    }
+
+    /**
+     * Number of entries which are pending or scheduled in the wheel, which includes removed entries
+     * until their bucket is visited.
+     */
+    int getScheduledSize() {
+        purgeLock.lock();
+        try {
+            int answer = pending.size();
+            for (List<TimeoutMapEntry<K, V>> bucket : wheel) {
+                if (bucket != null) {
+                    answer += bucket.size();
+                }
+            }
+            return answer;
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    public boolean onEviction(K key, V value) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        // the wheel is empty as its cleared on stop, and any entries added while we were stopped are pending
+        purgeLock.lock();
+        try {
+            startTime = currentTime();
+            lastTick = 0;
+        } finally {
+            purgeLock.unlock();
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map and wheel if we stop
+        purgeLock.lock();
+        try {
+            map.clear();
+            pending.clear();
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = null;
+            }
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+}
@@ -27,9 +27,9 @@ import org.apache.camel.TimeoutMap;
  */
 public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V> {
     private K key;
-    private V value;
+    private volatile V value;
     private long timeout;
-    private long expireTime;
+    private volatile long expireTime;
 
     public TimeoutMapEntry(K id, V handler, long timeout) {
         this.key = id;
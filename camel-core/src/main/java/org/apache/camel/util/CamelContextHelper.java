@@ -222,6 +222,24 @@ public final class CamelContextHelper {
         return 1000;
     }
 
+    /**
+     * Whether the dynamic EIPs such as the recipient list and routing slip should use a
+     * {@link org.apache.camel.impl.StripedProducerCache}.
+     * <p/>
+     * Will use the property set on CamelContext with the key {@link Exchange#STRIPED_PRODUCER_CACHE}.
+     * If no property has been set, then it will fallback to return <tt>false</tt>.
+     *
+     * @param camelContext the camel context
+     * @return <tt>true</tt> to use the striped producer cache
+     */
+    public static boolean isStripedProducerCache(CamelContext camelContext) {
+        if (camelContext != null) {
+            // we cannot use Camel type converters as they may not be ready this early
+            return Boolean.parseBoolean(camelContext.getProperty(Exchange.STRIPED_PRODUCER_CACHE));
+        }
+        return false;
+    }
+
     /**
      * Gets the maximum endpoint cache size.
      * <p/>
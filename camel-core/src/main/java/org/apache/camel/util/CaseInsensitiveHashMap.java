@@ -0,0 +1,446 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases, which is optimized for the
+ * typical number of headers on a {@link org.apache.camel.Message}.
+ * <p/>
+ * The keys are hashed and compared case insensitive without creating any new objects, and the entries are
+ * stored using open addressing in plain arrays. The map iterates the entries in the order they were added.
+ * Copying a map into another {@link CaseInsensitiveHashMap} is done by copying the arrays.
+ * <p/>
+ * The map uses the same case insensitive semantics as {@link CaseInsensitiveMap}, but uses O(1) for lookup
+ * instead of O(log n). Like {@link CaseInsensitiveMap} the keys must not be <tt>null</tt>.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ *
+ * @version 
+ */
+public class CaseInsensitiveHashMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = -3466404372372367530L;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // the entries in the order they were added, where removed entries have a null key
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // the hash table which holds the position of the entry + 1, or 0 if the slot is empty
+    private int[] table;
+    // number of positions in use in the entry arrays (including removed entries)
+    private int used;
+    private int size;
+    private transient int modCount;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public CaseInsensitiveHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CaseInsensitiveHashMap(int initialCapacity) {
+        int capacity = Math.max(4, initialCapacity);
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        table = new int[tableSizeFor(capacity)];
+    }
+
+    public CaseInsensitiveHashMap(Map<? extends String, ?> map) {
+        if (map instanceof CaseInsensitiveHashMap && ((CaseInsensitiveHashMap) map).size == ((CaseInsensitiveHashMap) map).used) {
+            // no removed entries so we can just copy the arrays
+            CaseInsensitiveHashMap other = (CaseInsensitiveHashMap) map;
+            int capacity = Math.max(4, other.keys.length);
+            keys = Arrays.copyOf(other.keys, capacity);
+            values = Arrays.copyOf(other.values, capacity);
+            hashes = Arrays.copyOf(other.hashes, capacity);
+            table = other.table.clone();
+            used = other.used;
+            size = other.size;
+        } else {
+            int capacity = Math.max(DEFAULT_CAPACITY, map.size() + map.size() / 2);
+            keys = new String[capacity];
+            values = new Object[capacity];
+            hashes = new int[capacity];
+            table = new int[tableSizeFor(capacity)];
+            putAll(map);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null && ObjectHelper.equal(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int pos = indexOf(key);
+        return pos >= 0 ? values[pos] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        int hash = hash(key);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int pos = table[slot] - 1;
+            if (hashes[pos] == hash && key.equalsIgnoreCase(keys[pos])) {
+                // keep the original key case, as CaseInsensitiveMap does
+                Object answer = values[pos];
+                values[pos] = value;
+                return answer;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (used == keys.length) {
+            resize();
+            // the table has been rebuilt so add the entry from scratch
+            return put(key, value);
+        }
+
+        int pos = used++;
+        keys[pos] = key;
+        values[pos] = value;
+        hashes[pos] = hash;
+        table[slot] = pos + 1;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String name = (String) key;
+        int hash = hash(name);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int pos = table[slot] - 1;
+            if (hashes[pos] == hash && name.equalsIgnoreCase(keys[pos])) {
+                Object answer = values[pos];
+                keys[pos] = null;
+                values[pos] = null;
+                deleteSlot(slot);
+                if (pos == used - 1) {
+                    used--;
+                }
+                size--;
+                modCount++;
+                return answer;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        if (used > 0) {
+            Arrays.fill(keys, 0, used, null);
+            Arrays.fill(values, 0, used, null);
+            Arrays.fill(table, 0);
+            used = 0;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Computes the case insensitive hash code of the key, without creating a new lower or upper case String
+     */
+    static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            // same conversion as String.CASE_INSENSITIVE_ORDER uses to compare characters
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        // keep the load factor of the hash table at 0.5 or below
+        int n = 1;
+        while (n < capacity * 2) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        String name = (String) key;
+        int hash = hash(name);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int pos = table[slot] - 1;
+            if (hashes[pos] == hash && name.equalsIgnoreCase(keys[pos])) {
+                return pos;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Deletes the slot from the hash table, and shifts the following slots backwards
+     * so we do not need tombstones for removed entries
+     */
+    private void deleteSlot(int slot) {
+        int mask = table.length - 1;
+        int free = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (table[next] == 0) {
+                break;
+            }
+            int ideal = hashes[table[next] - 1] & mask;
+            // the entry can only be moved back if its ideal slot is not cyclic between the free and the next slot
+            boolean between = free <= next ? (free < ideal && ideal <= next) : (free < ideal || ideal <= next);
+            if (!between) {
+                table[free] = table[next];
+                free = next;
+            }
+        }
+        table[free] = 0;
+    }
+
+    /**
+     * Grows the entry arrays (or compacts them if there are many removed entries), and rebuilds the hash table
+     */
+    private void resize() {
+        int capacity = keys.length;
+        if (size >= capacity - (capacity >> 2)) {
+            capacity = capacity * 2;
+        }
+        String[] newKeys = new String[capacity];
+        Object[] newValues = new Object[capacity];
+        int[] newHashes = new int[capacity];
+        int[] newTable = new int[tableSizeFor(capacity)];
+        int mask = newTable.length - 1;
+
+        int pos = 0;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                newKeys[pos] = keys[i];
+                newValues[pos] = values[i];
+                newHashes[pos] = hashes[i];
+                int slot = hashes[i] & mask;
+                while (newTable[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                newTable[slot] = pos + 1;
+                pos++;
+            }
+        }
+
+        keys = newKeys;
+        values = newValues;
+        hashes = newHashes;
+        table = newTable;
+        used = pos;
+        modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            int pos = indexOf(entry.getKey());
+            return pos >= 0 && ObjectHelper.equal(values[pos], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (contains(o)) {
+                CaseInsensitiveHashMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (next < used && keys[next] == null) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            advance();
+            return new Entry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // removing an entry does not move the other entries
+            CaseInsensitiveHashMap.this.remove(keys[current]);
+            expectedModCount = modCount;
+            current = -1;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+
+        private final int pos;
+        private final String key;
+
+        private Entry(int pos) {
+            this.pos = pos;
+            this.key = keys[pos];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return keys[pos] == key ? values[pos] : get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (keys[pos] == key) {
+                Object answer = values[pos];
+                values[pos] = value;
+                return answer;
+            }
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            return ObjectHelper.equal(getKey(), that.getKey()) && ObjectHelper.equal(getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A case insensitive map which shares its entries with the map it was copied from, until either of the maps
+ * is changed. The map is copied on the first write, and this allows to copy messages with many headers cheaply,
+ * such as when using the Multicast or Splitter EIPs, as those copies are often never changed.
+ * <p/>
+ * A map becomes shared when its entries are put into an empty map using {@link #putAll(java.util.Map)}, which is
+ * what happens when a {@link org.apache.camel.Message} is copied.
+ * <p/>
+ * The entries are stored in a {@link CaseInsensitiveHashMap} and therefore the same case insensitive semantics applies.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ *
+ * @version 
+ */
+public class CopyOnWriteCaseInsensitiveMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 4524018326453539136L;
+
+    private Map<String, Object> map;
+    private boolean shared;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public CopyOnWriteCaseInsensitiveMap() {
+        this.map = new CaseInsensitiveHashMap();
+    }
+
+    public CopyOnWriteCaseInsensitiveMap(Map<? extends String, ?> map) {
+        this();
+        putAll(map);
+    }
+
+    /**
+     * Whether the entries are currently shared with another map
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        ensureNotShared();
+        return map.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (shared && !map.containsKey(key)) {
+            // nothing to remove so no need to copy
+            return null;
+        }
+        ensureNotShared();
+        return map.remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (m == this || m.isEmpty()) {
+            return;
+        }
+        if (m instanceof CopyOnWriteCaseInsensitiveMap && map.isEmpty()) {
+            // we are empty so we can share the entries with the other map, until either of us is changed
+            CopyOnWriteCaseInsensitiveMap other = (CopyOnWriteCaseInsensitiveMap) m;
+            other.shared = true;
+            this.shared = true;
+            this.map = other.map;
+            return;
+        }
+        ensureNotShared();
+        map.putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            // no need to copy the entries as we are to be cleared
+            map = new CaseInsensitiveHashMap();
+            shared = false;
+        } else {
+            map.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Copies the shared entries so we can change them without affecting the other map(s)
+     */
+    private void ensureNotShared() {
+        if (shared) {
+            map = new CaseInsensitiveHashMap(map);
+            shared = false;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator(map);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.entrySet().contains(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            ensureNotShared();
+            return map.entrySet().remove(o);
+        }
+
+        @Override
+        public void clear() {
+            CopyOnWriteCaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private final Map<String, Object> iterated;
+        private final Iterator<Map.Entry<String, Object>> it;
+        private Map.Entry<String, Object> current;
+
+        private EntryIterator(Map<String, Object> iterated) {
+            this.iterated = iterated;
+            this.it = iterated.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            current = it.next();
+            return new CopyOnWriteEntry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (!shared && map == iterated) {
+                it.remove();
+            } else {
+                // the entries are (or has been) shared so remove from our own copy
+                ensureNotShared();
+                map.remove(current.getKey());
+            }
+            current = null;
+        }
+
+        private final class CopyOnWriteEntry implements Map.Entry<String, Object> {
+
+            private final Map.Entry<String, Object> entry;
+
+            private CopyOnWriteEntry(Map.Entry<String, Object> entry) {
+                this.entry = entry;
+            }
+
+            @Override
+            public String getKey() {
+                return entry.getKey();
+            }
+
+            @Override
+            public Object getValue() {
+                return map == iterated ? entry.getValue() : map.get(entry.getKey());
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                if (!shared && map == iterated) {
+                    return entry.setValue(value);
+                }
+                // the entries are (or has been) shared so update our own copy
+                ensureNotShared();
+                return map.put(entry.getKey(), value);
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+                return ObjectHelper.equal(getKey(), that.getKey()) && ObjectHelper.equal(getValue(), that.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                Object value = getValue();
+                return (getKey() == null ? 0 : getKey().hashCode()) ^ (value == null ? 0 : value.hashCode());
+            }
+
+            @Override
+            public String toString() {
+                return getKey() + "=" + getValue();
+            }
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.apache.camel.util;
 
 import java.beans.PropertyEditor;
 import java.beans.PropertyEditorManager;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -34,12 +35,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.PropertyConfigurer;
+import org.apache.camel.spi.PropertyConfigurerGetter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,9 +57,17 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * This implementation will use a cache when the {@link #getProperties(Object, java.util.Map, String)}
  * method is being used. Also the {@link #cacheClass(Class)} method gives access to the introspect cache.
+ * <p/>
+ * If a {@link PropertyConfigurer} has been generated at build time for the class of the bean, then properties
+ * are set using the configurer, and only properties which are not known by the configurer are set using reflection.
  */
 public final class IntrospectionSupport {
 
+    /**
+     * The path where the {@link PropertyConfigurer}s are listed using the FQN class name of the bean they configure.
+     */
+    public static final String CONFIGURER_RESOURCE_PATH = "META-INF/services/org/apache/camel/configurer/";
+
     private static final Logger LOG = LoggerFactory.getLogger(IntrospectionSupport.class);
     private static final Pattern GETTER_PATTERN = Pattern.compile("(get|is)[A-Z].*");
     private static final Pattern SETTER_PATTERN = Pattern.compile("set[A-Z].*");
@@ -64,6 +76,13 @@ public final class IntrospectionSupport {
     // use a weak cache as we dont want the cache to keep around as it reference classes
     // which could prevent classloader to unload classes if being referenced from this cache
     private static final LRUCache<Class<?>, ClassInfo> CACHE = new LRUWeakCache<Class<?>, ClassInfo>(1000);
+    // use a soft cache for the configurers as they are resolved by loading a resource from the classpath
+    private static final LRUCache<Class<?>, PropertyConfigurer> CONFIGURERS = new LRUSoftCache<Class<?>, PropertyConfigurer>(1000);
+    private static final PropertyConfigurer NO_CONFIGURER = new PropertyConfigurer() {
+        public boolean configure(TypeConverter typeConverter, Object target, String name, Object value) {
+            return false;
+        }
+    };
     private static final Object LOCK = new Object();
 
     static {
@@ -130,6 +149,7 @@ public final class IntrospectionSupport {
             LOG.debug("Clearing cache[size={}, hits={}, misses={}, evicted={}]", new Object[]{CACHE.size(), CACHE.getHits(), CACHE.getMisses(), CACHE.getEvicted()});
         }
         CACHE.clear();
+        CONFIGURERS.clear();
 
         // flush java beans introspector as it may be in use by the PropertyEditor
         java.beans.Introspector.flushCaches();
@@ -234,6 +254,12 @@ public final class IntrospectionSupport {
             optionPrefix = "";
         }
 
+        // use the configurer which has been generated at build time
+        PropertyConfigurer configurer = resolvePropertyConfigurer(target.getClass());
+        if (configurer instanceof PropertyConfigurerGetter) {
+            return ((PropertyConfigurerGetter) configurer).getProperties(target, properties, optionPrefix, includeNull);
+        }
+
         ClassInfo cache = cacheClass(target.getClass());
 
         for (MethodInfo info : cache.methods) {
@@ -479,6 +505,18 @@ public final class IntrospectionSupport {
         Class<?> clazz = target.getClass();
         Collection<Method> setters;
 
+        // use the configurer which has been generated at build time, unless the value must be looked up in the registry
+        if (context == null || refName == null || value != null) {
+            PropertyConfigurer configurer = resolvePropertyConfigurer(clazz);
+            // exceptions thrown by the setter method are not translated, as there is no other setter method to try
+            if (configurer != null && configurer.configure(typeConverter, target, name, value)) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Configured property: {} on bean: {} with value: {}", new Object[]{name, target, value});
+                }
+                return true;
+            }
+        }
+
         // we need to lookup the value from the registry
         if (context != null && refName != null && value == null) {
             setters = findSetterMethodsOrderedByParameterType(clazz, name, allowBuilderPattern);
@@ -557,14 +595,107 @@ public final class IntrospectionSupport {
         if (typeConversionFailed != null) {
             // we did not find a setter method to use, and if we did try to use a type converter then throw
             // this kind of exception as the caused by will hint this error
-            throw new IllegalArgumentException("Could not find a suitable setter for property: " + name
-                    + " as there isn't a setter method with same type: " + (value != null ? value.getClass().getCanonicalName() : "[null]")
-                    + " nor type conversion possible: " + typeConversionFailed.getMessage());
+            throw createNoSuitableSetterException(name, value, typeConversionFailed);
         } else {
             return false;
         }
     }
 
+    private static IllegalArgumentException createNoSuitableSetterException(String name, Object value, Exception typeConversionFailed) {
+        return new IllegalArgumentException("Could not find a suitable setter for property: " + name
+                + " as there isn't a setter method with same type: " + (value != null ? value.getClass().getCanonicalName() : "[null]")
+                + " nor type conversion possible: " + typeConversionFailed.getMessage());
+    }
+
+    /**
+     * Converts the value to the type of the property, the same way as when the property is set using reflection.
+     * <p/>
+     * This is used by the {@link PropertyConfigurer}s which has been generated at build time.
+     *
+     * @param typeConverter the type converter, may be <tt>null</tt>
+     * @param type          the type of the property
+     * @param name          the name of the property
+     * @param value         the value
+     * @return the converted value
+     * @throws Exception is thrown if the value could not be converted
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T convertPropertyValue(TypeConverter typeConverter, Class<T> type, String name, Object value) throws Exception {
+        Object answer = value;
+        if (value != null && !ObjectHelper.convertPrimitiveTypeToWrapperType(type).isInstance(value)) {
+            // fail the same way as when the value could not be converted for the setter method using reflection
+            try {
+                answer = convert(typeConverter, type, value);
+            } catch (NoTypeConversionAvailableException e) {
+                throw createNoSuitableSetterException(name, value, e);
+            } catch (IllegalArgumentException e) {
+                throw createNoSuitableSetterException(name, value, e);
+            }
+        }
+        if (answer == null && type.isPrimitive()) {
+            throw createNoSuitableSetterException(name, value,
+                    new IllegalArgumentException("Cannot set null value on primitive type: " + type));
+        }
+        return (T) answer;
+    }
+
+    /**
+     * Resolves the {@link PropertyConfigurer} which has been generated at build time for the given class.
+     * <p/>
+     * The configurer is listed in the {@link #CONFIGURER_RESOURCE_PATH} directory using the FQN class name,
+     * in a file with a <tt>class</tt> property with the FQN class name of the configurer.
+     *
+     * @param clazz the class of the bean
+     * @return the configurer, or <tt>null</tt> if no configurer exists for the class
+     */
+    public static PropertyConfigurer resolvePropertyConfigurer(Class<?> clazz) {
+        PropertyConfigurer configurer = CONFIGURERS.get(clazz);
+        if (configurer == null) {
+            configurer = doResolvePropertyConfigurer(clazz);
+            CONFIGURERS.put(clazz, configurer);
+        }
+        return configurer != NO_CONFIGURER ? configurer : null;
+    }
+
+    private static PropertyConfigurer doResolvePropertyConfigurer(Class<?> clazz) {
+        if (clazz.getClassLoader() == null) {
+            // a class from the JDK
+            return NO_CONFIGURER;
+        }
+
+        String uri = CONFIGURER_RESOURCE_PATH + clazz.getName();
+        ClassLoader classLoader = clazz.getClassLoader();
+        InputStream is = classLoader.getResourceAsStream(uri);
+        if (is == null) {
+            // the configurer may have been generated in another JAR
+            classLoader = Thread.currentThread().getContextClassLoader();
+            is = classLoader != null ? classLoader.getResourceAsStream(uri) : null;
+        }
+        if (is == null) {
+            return NO_CONFIGURER;
+        }
+
+        try {
+            Properties properties = new Properties();
+            properties.load(IOHelper.buffered(is));
+            String className = properties.getProperty("class");
+            if (className == null) {
+                LOG.warn("Ignoring configurer file: {} as it has no class property", uri);
+                return NO_CONFIGURER;
+            }
+            LOG.debug("Using configurer: {} for class: {}", className, clazz.getName());
+            return ObjectHelper.newInstance(classLoader.loadClass(className), PropertyConfigurer.class);
+        } catch (Exception e) {
+            LOG.warn("Ignoring configurer for class: " + clazz.getName() + " due " + e.getMessage(), e);
+            return NO_CONFIGURER;
+        } catch (LinkageError e) {
+            LOG.warn("Ignoring configurer for class: " + clazz.getName() + " due " + e.getMessage(), e);
+            return NO_CONFIGURER;
+        } finally {
+            IOHelper.close(is, uri, LOG);
+        }
+    }
+
     public static boolean setProperty(TypeConverter typeConverter, Object target, String name, Object value) throws Exception {
         // allow build pattern as a setter as well
         return setProperty(null, typeConverter, target, name, value, null, true);
@@ -125,6 +125,17 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
         return map.put(k, v);
     }
 
+    /**
+     * Puts the value in the cache if the key is not already in the cache, which is done atomically.
+     *
+     * @param k the key
+     * @param v the value
+     * @return the existing value, or <tt>null</tt> if the value was put in the cache
+     */
+    public V putIfAbsent(K k, V v) {
+        return map.putIfAbsent(k, v);
+    }
+
     @Override
     public V remove(Object o) {
         return map.remove(o);
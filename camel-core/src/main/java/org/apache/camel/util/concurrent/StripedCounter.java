@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which spreads the updates over a number of cells, to reduce contention when the counter
+ * is updated by many threads at the same time, such as counters updated for every message.
+ * <p/>
+ * The counter starts with a single value, and only creates the cells the first time an update is contended,
+ * so counters which are not updated concurrently stays small.
+ * <p/>
+ * Updating the counter is cheap, but getting the value of the counter requires to sum all the cells,
+ * and the value is not an atomic snapshot if the counter is updated concurrently.
+ */
+public final class StripedCounter {
+
+    // number of longs between each cell so the cells are on different cache lines
+    private static final int PADDING = 8;
+    private static final int MAX_CELLS = 64;
+    private static final int CELLS;
+
+    static {
+        int n = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (n < processors * 2 && n < MAX_CELLS) {
+            n <<= 1;
+        }
+        CELLS = n;
+    }
+
+    private final AtomicLong base = new AtomicLong();
+    private volatile AtomicLongArray cells;
+
+    /**
+     * Adds the given value to the counter
+     */
+    public void add(long value) {
+        AtomicLongArray cs = cells;
+        if (cs == null) {
+            long current = base.get();
+            if (base.compareAndSet(current, current + value)) {
+                return;
+            }
+            cs = createCells();
+        }
+        cs.addAndGet(index(), value);
+    }
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Decrements the counter by one
+     */
+    public void decrement() {
+        add(-1);
+    }
+
+    /**
+     * Gets the value of the counter, which is the sum of all the cells.
+     */
+    public long get() {
+        long sum = base.get();
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < CELLS; i++) {
+                sum += cs.get(i * PADDING);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Resets the counter to zero.
+     * <p/>
+     * Updates to the counter which happens concurrently with the reset may be lost.
+     */
+    public void reset() {
+        base.set(0);
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < CELLS; i++) {
+                cs.set(i * PADDING, 0);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+
+    private synchronized AtomicLongArray createCells() {
+        if (cells == null) {
+            cells = new AtomicLongArray(CELLS * PADDING);
+        }
+        return cells;
+    }
+
+    private static int index() {
+        // spread the thread ids so threads created after each other uses different cells
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & (CELLS - 1)) * PADDING;
+    }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.util.Date;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.impl.DefaultExchange;
+
+/**
+ * Tests that the methods chosen by {@link BeanInfo} for the message body types are cached correctly.
+ *
+ * @version 
+ */
+public class BeanInfoChosenMethodCacheTest extends ContextTestSupport {
+
+    public void testChooseMethodByBodyType() throws Exception {
+        BeanInfo beanInfo = new BeanInfo(context, MyBean.class);
+        MyBean bean = new MyBean();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("hello", chooseMethod(beanInfo, bean, "World"));
+            assertEquals("bye", chooseMethod(beanInfo, bean, new StringBuilder("World")));
+        }
+    }
+
+    public void testChooseMethodSharedWithCachedBeanInfo() throws Exception {
+        BeanInfo beanInfo = new BeanInfo(context, MyBean.class);
+        MyBean bean = new MyBean();
+        assertEquals("hello", chooseMethod(beanInfo, bean, "World"));
+
+        // the bean info is copied from the cache
+        BeanInfo other = new BeanInfo(context, MyBean.class);
+        assertEquals("hello", chooseMethod(other, bean, "World"));
+        assertEquals("bye", chooseMethod(other, bean, new StringBuilder("World")));
+    }
+
+    public void testChooseMethodByExchangePattern() throws Exception {
+        BeanInfo beanInfo = new BeanInfo(context, MyVoidBean.class);
+        MyVoidBean bean = new MyVoidBean();
+
+        for (int i = 0; i < 3; i++) {
+            // the void method cannot be used for InOut
+            Exchange exchange = createExchange("World");
+            assertEquals("hello", beanInfo.createInvocation(bean, exchange).getMethod().getName());
+
+            exchange = createExchange("World");
+            exchange.setPattern(ExchangePattern.InOnly);
+            try {
+                beanInfo.createInvocation(bean, exchange);
+                fail("Should have thrown an exception");
+            } catch (AmbiguousMethodCallException e) {
+                assertEquals(2, e.getMethods().size());
+            }
+        }
+    }
+
+    public void testChooseMethodWithConvertedBodyNotCached() throws Exception {
+        BeanInfo beanInfo = new BeanInfo(context, MyConvertBean.class);
+        MyConvertBean bean = new MyConvertBean();
+
+        // the body can be converted to an int
+        Exchange exchange = createExchange("123");
+        assertEquals("number", beanInfo.createInvocation(bean, exchange).getMethod().getName());
+        assertEquals(Integer.valueOf(123), exchange.getIn().getBody());
+
+        // but this body of the same type cannot, so the chosen method must not be reused
+        exchange = createExchange("abc");
+        try {
+            beanInfo.createInvocation(bean, exchange);
+            fail("Should have thrown an exception");
+        } catch (AmbiguousMethodCallException e) {
+            assertEquals(2, e.getMethods().size());
+        }
+        assertEquals("abc", exchange.getIn().getBody());
+    }
+
+    private String chooseMethod(BeanInfo beanInfo, Object bean, Object body) throws Exception {
+        return beanInfo.createInvocation(bean, createExchange(body)).getMethod().getName();
+    }
+
+    private Exchange createExchange(Object body) {
+        Exchange exchange = new DefaultExchange(context, ExchangePattern.InOut);
+        exchange.getIn().setBody(body);
+        return exchange;
+    }
+
+    public static class MyBean {
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+
+        public String bye(StringBuilder name) {
+            return "Bye " + name;
+        }
+    }
+
+    public static class MyVoidBean {
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+
+        public void log(String name) {
+        }
+    }
+
+    public static class MyConvertBean {
+        public String number(Integer number) {
+            return "Number " + number;
+        }
+
+        public String date(Date date) {
+            return "Date " + date;
+        }
+    }
+
+}
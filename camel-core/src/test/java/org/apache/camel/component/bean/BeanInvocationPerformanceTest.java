@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Measures the overhead of invoking a bean using {@link BeanProcessor}, and the cost of the reflective call
+ * compared to a {@link MethodHandle}.
+ * <p/>
+ * Run the test at the parent commit to compare the bean processor numbers with the numbers before the chosen
+ * method was cached.
+ *
+ * @version 
+ */
+public class BeanInvocationPerformanceTest extends ContextTestSupport {
+
+    private static final int WARMUP = 200000;
+    private static final int TIMES = 2000000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Throwable {
+        runBeanProcessor("overloaded methods", new MyOverloadedBean());
+        runBeanProcessor("single method", new MySingleBean());
+        runReflection();
+        runMethodHandle();
+    }
+
+    private void runBeanProcessor(String name, Object bean) throws Exception {
+        BeanProcessor processor = new BeanProcessor(bean, context);
+        processor.start();
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                processor.process(createExchange());
+            }
+            StopWatch watch = new StopWatch();
+            for (int i = 0; i < TIMES; i++) {
+                processor.process(createExchange());
+            }
+            log.info("BeanProcessor with {}: {} ns per invocation", name, watch.taken() * 1000000 / TIMES);
+        } finally {
+            processor.stop();
+        }
+    }
+
+    private void runReflection() throws Exception {
+        MySingleBean bean = new MySingleBean();
+        Method method = MySingleBean.class.getMethod("hello", String.class);
+        Object result = null;
+        // also inflates the reflective accessor, which happens after 15 invocations
+        for (int i = 0; i < WARMUP; i++) {
+            result = method.invoke(bean, "World");
+        }
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < TIMES * 10; i++) {
+            result = method.invoke(bean, "World");
+        }
+        log.info("Method.invoke: {} ns per call", (double) watch.taken() * 1000000 / (TIMES * 10));
+        assertEquals("World", result);
+    }
+
+    private void runMethodHandle() throws Throwable {
+        MySingleBean bean = new MySingleBean();
+        MethodHandle handle = MethodHandles.publicLookup().findVirtual(MySingleBean.class, "hello",
+                MethodType.methodType(String.class, String.class));
+        String result = null;
+        for (int i = 0; i < WARMUP; i++) {
+            result = (String) handle.invokeExact(bean, "World");
+        }
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < TIMES * 10; i++) {
+            result = (String) handle.invokeExact(bean, "World");
+        }
+        log.info("MethodHandle.invokeExact: {} ns per call", (double) watch.taken() * 1000000 / (TIMES * 10));
+        assertEquals("World", result);
+    }
+
+    private Exchange createExchange() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("World");
+        return exchange;
+    }
+
+    public static class MySingleBean {
+
+        public String hello(String name) {
+            // do as little as possible so the cost of the call is measured
+            return name;
+        }
+    }
+
+    public static class MyOverloadedBean {
+
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+
+        public String hello(Integer number) {
+            return "Hello number " + number;
+        }
+
+        public String hello(String name, Exchange exchange) {
+            return "Hello " + name + " from " + exchange.getExchangeId();
+        }
+
+        public void ping() {
+        }
+    }
+
+}
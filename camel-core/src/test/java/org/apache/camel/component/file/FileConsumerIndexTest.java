@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Unit test for skipping unchanged files using the file index
+ */
+public class FileConsumerIndexTest extends ContextTestSupport {
+
+    // not idempotent so only the index prevents the files from being consumed again
+    private final String fileUri = "file:target/index/inbox?noop=true&idempotent=false&initialDelay=0&delay=10"
+            + "&indexFile=target/index/files.idx";
+    // write using a temporary file so the consumer does not pick up a file which is being written
+    private final String producerUri = "file:target/index/inbox?tempPrefix=.";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/index");
+        super.setUp();
+    }
+
+    public void testIndexSkipsUnchangedFiles() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World");
+
+        template.sendBodyAndHeader(producerUri, "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(producerUri, "Bye World", Exchange.FILE_NAME, "bye.txt");
+
+        assertMockEndpointsSatisfied();
+
+        // let the consumer poll a couple of times, which should skip the files
+        mock.reset();
+        mock.expectedMessageCount(0);
+        mock.setAssertPeriod(300);
+        assertMockEndpointsSatisfied();
+
+        GenericFileIndex index = context.getEndpoint(fileUri, FileEndpoint.class).getIndex();
+        assertEquals(2, index.getSize());
+        assertTrue("Should skip files", index.getSkippedCount() > 0);
+        assertTrue("Should skip files", index.getSkipRatio() > 0.5);
+
+        // a changed file is consumed again
+        mock.reset();
+        mock.expectedBodiesReceived("Hello Camel World");
+
+        template.sendBodyAndHeader(producerUri, "Hello Camel World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testIndexSurvivesRestart() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World");
+
+        template.sendBodyAndHeader(producerUri, "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(producerUri, "Bye World", Exchange.FILE_NAME, "bye.txt");
+
+        assertMockEndpointsSatisfied();
+
+        // restart which creates a new endpoint and index from the index file
+        context.stop();
+        context.start();
+
+        mock = getMockEndpoint("mock:result");
+        mock.reset();
+        mock.expectedBodiesReceived("Hi World");
+        mock.setAssertPeriod(300);
+
+        template.sendBodyAndHeader(producerUri, "Hi World", Exchange.FILE_NAME, "hi.txt");
+
+        assertMockEndpointsSatisfied();
+
+        GenericFileIndex index = context.getEndpoint(fileUri, FileEndpoint.class).getIndex();
+        assertEquals(3, index.getSize());
+    }
+
+    public void testSameIndexFileRejected() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("file:target/index/other?noop=true&indexFile=target/index/files.idx").to("mock:other");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            IllegalStateException cause = ObjectHelper.getException(IllegalStateException.class, e);
+            assertNotNull("Should fail as the index file is in use", cause);
+            assertTrue(cause.getMessage(), cause.getMessage().contains("is already in use"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(fileUri).convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.TestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performance test which measures the time until the first file is processed, and the used heap at that time,
+ * when consuming from a large synthetic directory tree, with and without streaming scan.
+ */
+public class FileConsumerStreamingScanPerformanceTest extends TestSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileConsumerStreamingScanPerformanceTest.class);
+
+    private final String dir = "target/streamingperf";
+    private final int directories = 1000;
+    private final int filesPerDirectory = 1000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        createTree();
+
+        runPerformance("file:" + dir + "?recursive=true&noop=true&idempotent=false");
+        runPerformance("file:" + dir + "?recursive=true&noop=true&idempotent=false&streamingScan=true");
+        runPerformance("file:" + dir + "?recursive=true&noop=true&idempotent=false&streamingScan=true&scanParallelism=4");
+    }
+
+    private void createTree() throws Exception {
+        File root = new File(dir);
+        if (new File(root, "dir" + (directories - 1)).exists()) {
+            // already created by a previous run
+            return;
+        }
+        for (int i = 0; i < directories; i++) {
+            File sub = new File(root, "dir" + i);
+            sub.mkdirs();
+            for (int j = 0; j < filesPerDirectory; j++) {
+                new File(sub, "file" + j + ".txt").createNewFile();
+            }
+        }
+    }
+
+    private void runPerformance(final String uri) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong usedHeap = new AtomicLong();
+
+        CamelContext context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).routeId("perf").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if (latch.getCount() > 0) {
+                                // the gathered files are still referenced while the first file is processed
+                                System.gc();
+                                Runtime runtime = Runtime.getRuntime();
+                                usedHeap.set(runtime.totalMemory() - runtime.freeMemory());
+                                latch.countDown();
+                            }
+                        }
+                    });
+            }
+        });
+        context.start();
+
+        System.gc();
+        long start = System.currentTimeMillis();
+        context.startRoute("perf");
+        assertTrue("Should process a file", latch.await(10, TimeUnit.MINUTES));
+        long taken = System.currentTimeMillis() - start;
+
+        LOG.info("{} first exchange after {} millis with {} MB used heap",
+                new Object[]{uri, taken, usedHeap.get() / (1024 * 1024)});
+        context.stop();
+    }
+
+}
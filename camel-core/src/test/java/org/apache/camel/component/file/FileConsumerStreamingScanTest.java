@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * Unit test for processing the files while scanning the directories
+ */
+public class FileConsumerStreamingScanTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/streaming");
+        super.setUp();
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testStreamingScanRecursive() throws Exception {
+        createFiles("target/streaming/a");
+        startRoute("file:target/streaming/a?streamingScan=true&recursive=true&minDepth=2&maxDepth=3");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("a2", "b2", "a3", "b3");
+        mock.message(3).property(Exchange.BATCH_SIZE).isEqualTo(4);
+        mock.message(3).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStreamingScanParallel() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                template.sendBodyAndHeader("file:target/streaming/b/dir" + i + "/sub" + j, "Hello " + i + "-" + j, Exchange.FILE_NAME, "hello.txt");
+            }
+        }
+        startRoute("file:target/streaming/b?streamingScan=true&scanParallelism=4&recursive=true");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(100);
+        mock.message(99).property(Exchange.BATCH_SIZE).isEqualTo(100);
+        mock.message(99).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        assertMockEndpointsSatisfied();
+
+        // each file should only be processed once
+        assertEquals(100, mock.getReceivedExchanges().size());
+    }
+
+    public void testStreamingScanMaxMessagesPerPoll() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("file:target/streaming/c", "Hello " + i, Exchange.FILE_NAME, "hello" + i + ".txt");
+        }
+        startRoute("file:target/streaming/c?streamingScan=true&maxMessagesPerPoll=3&delay=5000");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+        mock.message(0).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).property(Exchange.BATCH_COMPLETE).isEqualTo(false);
+        mock.message(2).property(Exchange.BATCH_INDEX).isEqualTo(2);
+        mock.message(2).property(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(2).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStreamingScanDoneFile() throws Exception {
+        template.sendBodyAndHeader("file:target/streaming/d", "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file:target/streaming/d", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader("file:target/streaming/d", "", Exchange.FILE_NAME, "hello.done");
+        startRoute("file:target/streaming/d?streamingScan=true&doneFileName=${file:name.noext}.done");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testDefaultStreamDirectory() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            template.sendBodyAndHeader("file:target/streaming/e", "Hello " + i, Exchange.FILE_NAME, "hello" + i + ".txt");
+        }
+        context.start();
+
+        FileEndpoint endpoint = context.getEndpoint("file:target/streaming/e?maxMessagesPerPoll=2&eagerMaxMessagesPerPoll=false", FileEndpoint.class);
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        MyStreamingConsumer consumer = new MyStreamingConsumer(endpoint, mock.createProducer());
+        consumer.setStartScheduler(false);
+        ServiceHelper.startService(consumer);
+        try {
+            mock.expectedMessageCount(2);
+            mock.message(1).property(Exchange.BATCH_SIZE).isEqualTo(2);
+            mock.message(1).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+            // the files are gathered first, and then processed one at a time
+            assertEquals(2, consumer.poll());
+            assertMockEndpointsSatisfied();
+
+            // the file which was gathered but not processed is no longer in progress
+            List<String> processed = new ArrayList<String>();
+            for (Exchange exchange : mock.getReceivedExchanges()) {
+                processed.add(exchange.getIn().getHeader(Exchange.FILE_NAME_ONLY, String.class));
+            }
+            for (int i = 0; i < 3; i++) {
+                String name = "hello" + i + ".txt";
+                String key = new File("target/streaming/e/" + name).getAbsolutePath();
+                assertEquals(name, processed.contains(name), endpoint.getInProgressRepository().contains(key));
+            }
+        } finally {
+            ServiceHelper.stopService(consumer);
+        }
+    }
+
+    private void createFiles(String dir) {
+        template.sendBodyAndHeader("file:" + dir, "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:" + dir, "b", Exchange.FILE_NAME, "b.txt");
+        template.sendBodyAndHeader("file:" + dir + "/foo", "a2", Exchange.FILE_NAME, "a2.txt");
+        template.sendBodyAndHeader("file:" + dir + "/foo/bar", "a3", Exchange.FILE_NAME, "a3.txt");
+        template.sendBodyAndHeader("file:" + dir + "/bar", "b2", Exchange.FILE_NAME, "b2.txt");
+        template.sendBodyAndHeader("file:" + dir + "/bar/foo", "b3", Exchange.FILE_NAME, "b3.txt");
+        template.sendBodyAndHeader("file:" + dir + "/bar/foo/baz", "b4", Exchange.FILE_NAME, "b4.txt");
+    }
+
+    private void startRoute(final String uri) throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+    }
+
+    /**
+     * A consumer which only enables the streaming scan, and uses the default {@link GenericFileConsumer#streamDirectory(String)}
+     */
+    private static final class MyStreamingConsumer extends GenericFileConsumer<File> {
+        private final FileConsumer delegate;
+
+        private MyStreamingConsumer(FileEndpoint endpoint, Processor processor) throws Exception {
+            super(endpoint, processor, new FileOperations(endpoint));
+            this.delegate = endpoint.createConsumer(processor);
+            setMaxMessagesPerPoll(endpoint.getMaxMessagesPerPoll());
+        }
+
+        @Override
+        protected boolean isStreamingScan() {
+            return true;
+        }
+
+        @Override
+        protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+            return delegate.pollDirectory(fileName, fileList, depth);
+        }
+
+        @Override
+        protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
+            return delegate.isMatched(file, doneFileName, files);
+        }
+    }
+
+}
@@ -17,9 +17,11 @@
 package org.apache.camel.component.file;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
@@ -177,4 +179,64 @@ public class GenericFileConverterTest extends ContextTestSupport {
         assertMockEndpointsSatisfied();
     }
 
+    public void testToFileChannelBody() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/gf")
+                    .convertBodyTo(FileChannelBody.class)
+                    .process(new Processor() {
+                        @Override
+                        public void process(Exchange exchange) throws Exception {
+                            FileChannelBody body = assertIsInstanceOf(FileChannelBody.class, exchange.getIn().getBody());
+                            assertEquals(11, body.getLength());
+
+                            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                            assertEquals(11, body.transferTo(Channels.newChannel(bos)));
+                            assertEquals("Hello World", bos.toString());
+
+                            // should fallback to read the file when converting to other types
+                            assertEquals("Hello World", exchange.getIn().getBody(String.class));
+                        }
+                    })
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.message(0).body().isInstanceOf(FileChannelBody.class);
+
+        template.sendBodyAndHeader("file://target/gf", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testToFileChannelBodyWithCharset() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/gf?charset=UTF-8")
+                    .process(new Processor() {
+                        @Override
+                        public void process(Exchange exchange) throws Exception {
+                            // the file must be read using the charset so it cannot be sent as-is
+                            assertNull(exchange.getIn().getBody(FileChannelBody.class));
+                        }
+                    })
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.message(0).body(String.class).isEqualTo("Hello World");
+
+        template.sendBodyAndHeader("file://target/gf", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
 }
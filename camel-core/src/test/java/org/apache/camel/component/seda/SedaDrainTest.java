@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.SimpleRegistry;
+
+/**
+ * @version 
+ */
+public class SedaDrainTest extends ContextTestSupport {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        SimpleRegistry registry = new SimpleRegistry();
+        registry.put("myIdle", new SpinYieldIdleStrategy(10, 10));
+        return new DefaultCamelContext(registry);
+    }
+
+    public void testConfigure() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:foo?maxDrainSize=50&idleStrategy=park", SedaEndpoint.class);
+        assertEquals(50, endpoint.getMaxDrainSize());
+        assertIsInstanceOf(ParkIdleStrategy.class, endpoint.getIdleStrategy());
+
+        endpoint = resolveMandatoryEndpoint("seda:bar?idleStrategy=#myIdle", SedaEndpoint.class);
+        assertSame(context.getRegistry().lookupByName("myIdle"), endpoint.getIdleStrategy());
+
+        endpoint = resolveMandatoryEndpoint("seda:baz", SedaEndpoint.class);
+        assertEquals(1, endpoint.getMaxDrainSize());
+        assertIsInstanceOf(BlockingIdleStrategy.class, endpoint.getIdleStrategy());
+    }
+
+    public void testDrainOneByOne() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:drain");
+        mock.expectedBodiesReceived("A", "B", "C", "D", "E");
+
+        for (String body : new String[]{"A", "B", "C", "D", "E"}) {
+            template.sendBody("seda:drain?maxDrainSize=3&drainStatisticsEnabled=true", body);
+        }
+        context.startRoute("drain");
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:drain?maxDrainSize=3&drainStatisticsEnabled=true", SedaEndpoint.class);
+        // the 5 exchanges was taken as 3 and 2 exchanges
+        assertEquals(2, endpoint.getDrainCount());
+        assertEquals(3, endpoint.drainSizeAtPercentile(100));
+        assertEquals(5, endpoint.queueDepthAtPercentile(100));
+    }
+
+    public void testDrainAsGroupedExchange() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:grouped");
+        mock.expectedMessageCount(1);
+
+        Future<Object> a = template.asyncSendBody("seda:grouped?waitForTaskToComplete=Always", "A");
+        Future<Object> b = template.asyncSendBody("seda:grouped?waitForTaskToComplete=Always", "B");
+        Future<Object> c = template.asyncSendBody("seda:grouped?waitForTaskToComplete=Always", "C");
+        // wait for the exchanges to be on the queue
+        SedaEndpoint endpoint = context.getEndpoint("seda:grouped", SedaEndpoint.class);
+        for (int i = 0; i < 50 && endpoint.getCurrentQueueSize() < 3; i++) {
+            Thread.sleep(20);
+        }
+        context.startRoute("grouped");
+
+        assertMockEndpointsSatisfied();
+
+        Exchange grouped = mock.getReceivedExchanges().get(0);
+        List<?> list = grouped.getProperty(Exchange.GROUPED_EXCHANGE, List.class);
+        assertEquals(3, list.size());
+        // the async producers may have sent the exchanges in any order
+        Set<Object> bodies = new HashSet<Object>();
+        for (Object exchange : list) {
+            bodies.add(((Exchange) exchange).getIn().getBody());
+        }
+        assertEquals(new HashSet<Object>(Arrays.asList("A", "B", "C")), bodies);
+        assertEquals(3, grouped.getProperty(Exchange.BATCH_SIZE, Integer.class).intValue());
+
+        // the waiting producers are done when the grouped exchange is done
+        a.get(5, TimeUnit.SECONDS);
+        b.get(5, TimeUnit.SECONDS);
+        c.get(5, TimeUnit.SECONDS);
+    }
+
+    public void testDrainAsGroupedExchangeRejectsInOut() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:grouped");
+        mock.expectedMessageCount(1);
+
+        Future<Object> a = template.asyncSendBody("seda:grouped?waitForTaskToComplete=Always", "A");
+        Future<Object> b = template.asyncRequestBody("seda:grouped", "B");
+        SedaEndpoint endpoint = context.getEndpoint("seda:grouped", SedaEndpoint.class);
+        for (int i = 0; i < 50 && endpoint.getCurrentQueueSize() < 2; i++) {
+            Thread.sleep(20);
+        }
+        context.startRoute("grouped");
+
+        assertMockEndpointsSatisfied();
+
+        Exchange grouped = mock.getReceivedExchanges().get(0);
+        assertEquals(1, grouped.getProperty(Exchange.GROUPED_EXCHANGE, List.class).size());
+
+        a.get(5, TimeUnit.SECONDS);
+        try {
+            template.extractFutureBody(b, 5, TimeUnit.SECONDS, String.class);
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+
+    public void testDrainStatisticsDisabledByDefault() throws Exception {
+        getMockEndpoint("mock:grouped").expectedMessageCount(1);
+
+        template.sendBody("seda:grouped", "A");
+        context.startRoute("grouped");
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:grouped", SedaEndpoint.class);
+        assertFalse(endpoint.isDrainStatisticsEnabled());
+        assertEquals(0, endpoint.getDrainCount());
+    }
+
+    public void testPendingExchangesSizeIncludesDrained() throws Exception {
+        getMockEndpoint("mock:slow").expectedMessageCount(3);
+
+        for (String body : new String[]{"A", "B", "C"}) {
+            template.sendBody("seda:slow?maxDrainSize=10", body);
+        }
+        context.startRoute("slow");
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:slow?maxDrainSize=10", SedaEndpoint.class);
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("slow").getConsumer();
+        for (int i = 0; i < 50 && endpoint.getCurrentQueueSize() > 0; i++) {
+            Thread.sleep(20);
+        }
+        // the exchanges are taken from the queue, but not yet processed
+        assertEquals(0, endpoint.getCurrentQueueSize());
+        assertEquals(3, consumer.getPendingExchangesSize());
+
+        release.countDown();
+        assertMockEndpointsSatisfied();
+        assertEquals(0, consumer.getPendingExchangesSize());
+    }
+
+    public void testParkIdleStrategy() throws Exception {
+        getMockEndpoint("mock:park").expectedBodiesReceived("A", "B", "C");
+
+        template.sendBody("seda:park?idleStrategy=park", "A");
+        Thread.sleep(20);
+        template.sendBody("seda:park?idleStrategy=park", "B");
+        template.sendBody("seda:park?idleStrategy=park", "C");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSpinYieldIdleStrategy() throws Exception {
+        getMockEndpoint("mock:spin").expectedBodiesReceived("A", "B", "C");
+
+        template.sendBody("seda:spin?idleStrategy=#myIdle&maxDrainSize=10", "A");
+        Thread.sleep(20);
+        template.sendBody("seda:spin?idleStrategy=#myIdle&maxDrainSize=10", "B");
+        template.sendBody("seda:spin?idleStrategy=#myIdle&maxDrainSize=10", "C");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:drain?maxDrainSize=3&drainStatisticsEnabled=true").routeId("drain").noAutoStartup().to("mock:drain");
+
+                from("seda:grouped?maxDrainSize=10&drainAsGroupedExchange=true").routeId("grouped").noAutoStartup().to("mock:grouped");
+
+                from("seda:slow?maxDrainSize=10").routeId("slow").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            release.await(5, TimeUnit.SECONDS);
+                        }
+                    }).to("mock:slow");
+
+                from("seda:park?idleStrategy=park").to("mock:park");
+
+                from("seda:spin?idleStrategy=#myIdle&maxDrainSize=10").to("mock:spin");
+            }
+        };
+    }
+}
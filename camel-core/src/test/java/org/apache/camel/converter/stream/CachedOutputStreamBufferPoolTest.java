@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+
+/**
+ * @version 
+ */
+public class CachedOutputStreamBufferPoolTest extends ContextTestSupport {
+
+    private static final String TEST_STRING = "This is a test string and it has enough"
+        + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setBufferSize(32);
+        context.getStreamCachingStrategy().setBufferPoolSize(256);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        deleteDirectory("target/cachedir");
+        createDirectory("target/cachedir");
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testCacheStreamToBufferPool() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        // should not spool to disk as there is room in the buffer pool
+        File file = new File("target/cachedir");
+        assertEquals("we should have no temp file", 0, file.list().length);
+        assertEquals(4 * 32, statistics.getBufferPoolUsed());
+
+        StreamCache cache = cos.newStreamCache();
+        assertIsInstanceOf(PooledInputStreamCache.class, cache);
+        assertTrue(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        // can read it again after reset
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString("UTF-8"));
+
+        exchange.getIn().setBody(cache);
+        assertSame(cache, context.getStreamCachingStrategy().cache(exchange));
+        assertEquals(1, statistics.getCacheBufferPoolCounter());
+        assertEquals(TEST_STRING.length(), statistics.getCacheBufferPoolSize());
+
+        // the buffers are given back to the pool when the exchange is done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getBufferPoolUsed());
+
+        cache.reset();
+        try {
+            ((InputStream) cache).read();
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected as the buffers has been released
+        }
+    }
+
+    public void testCacheStreamBufferPoolExhausted() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        // the first write is kept in the buffer pool
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        assertEquals(4 * 32, statistics.getBufferPoolUsed());
+        // and the next write exhausts the pool and we spool to disk
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/cachedir");
+        assertEquals("we should have a temp file", 1, file.list().length);
+        assertEquals(1, statistics.getSpoolFilesInUse());
+        assertEquals(0, statistics.getBufferPoolUsed());
+
+        StreamCache cache = cos.newStreamCache();
+        assertIsInstanceOf(FileInputStreamCache.class, cache);
+        assertEquals(TEST_STRING + TEST_STRING + TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        ((InputStream) cache).close();
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("we should have no temp file", 0, file.list().length);
+    }
+
+    public void testCacheStreamToMemoryMappedFile() throws Exception {
+        context.getStreamCachingStrategy().setBufferPoolSize(0);
+        context.getStreamCachingStrategy().setSpoolMemoryMapped(true);
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/cachedir");
+        assertEquals("we should have a temp file", 1, file.list().length);
+
+        StreamCache cache = cos.newStreamCache();
+        assertIsInstanceOf(FileInputStreamCache.class, cache);
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        // read it many times
+        for (int i = 0; i < 3; i++) {
+            cache.reset();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            cache.writeTo(bos);
+            assertEquals(TEST_STRING, bos.toString("UTF-8"));
+            cache.reset();
+            assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+        }
+
+        ((InputStream) cache).close();
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("we should have no temp file", 0, file.list().length);
+
+        // the file is unmapped so it can no longer be read
+        try {
+            ((InputStream) cache).read();
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected as the file has been released
+        }
+    }
+
+    public void testCloseMemoryMappedFileDeletesSpoolFile() throws Exception {
+        context.getStreamCachingStrategy().setBufferPoolSize(0);
+        context.getStreamCachingStrategy().setSpoolMemoryMapped(true);
+        context.start();
+
+        // not closed on completion so closing the output stream cleans up
+        CachedOutputStream cos = new CachedOutputStream(exchange, false);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/cachedir");
+        assertEquals("we should have a temp file", 1, file.list().length);
+
+        InputStream is = cos.getInputStream();
+        assertIsInstanceOf(FileInputStreamCache.class, is);
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, is));
+
+        cos.close();
+        assertEquals("we should have no temp file", 0, file.list().length);
+
+        try {
+            is.read();
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected as the file has been released
+        }
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.impl;
 
+import java.util.Date;
+
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.InflightRepository;
@@ -27,6 +29,7 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
 
     public void testDefaultInflightRepository() throws Exception {
         InflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(true);
 
         assertEquals(0, repo.size());
 
@@ -37,6 +40,7 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         Exchange e2 = new DefaultExchange(context);
         repo.add(e2);
         assertEquals(2, repo.size());
+        assertEquals(2, repo.browse().size());
 
         repo.remove(e2);
         assertEquals(1, repo.size());
@@ -44,4 +48,138 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         repo.remove(e1);
         assertEquals(0, repo.size());
     }
+
+    public void testInflightBrowseDisabled() throws Exception {
+        InflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(false);
+        assertFalse(repo.isInflightBrowseEnabled());
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        assertEquals(2, repo.size());
+        assertEquals(0, repo.browse().size());
+
+        repo.remove(e2);
+        assertEquals(1, repo.size());
+
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+    }
+
+    public void testOldestInflightDuration() throws Exception {
+        InflightRepository repo = new DefaultInflightRepository();
+        assertEquals(0, repo.oldestInflightDuration("foo"));
+
+        long now = System.currentTimeMillis();
+
+        Exchange e1 = new DefaultExchange(context);
+        e1.setProperty(Exchange.CREATED_TIMESTAMP, new Date(now - 5000));
+        repo.add(e1, "foo");
+
+        Exchange e2 = new DefaultExchange(context);
+        e2.setProperty(Exchange.CREATED_TIMESTAMP, new Date(now - 2000));
+        repo.add(e2, "foo");
+
+        // exchanges without a timestamp is not taken into account
+        Exchange e3 = new DefaultExchange(context);
+        repo.add(e3, "foo");
+
+        assertEquals(3, repo.size("foo"));
+        assertEquals(0, repo.size("bar"));
+        assertEquals(0, repo.oldestInflightDuration("bar"));
+
+        long duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 5000 but was " + duration, duration >= 5000 && duration < 6000);
+
+        repo.remove(e1, "foo");
+        duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 2000 but was " + duration, duration >= 2000 && duration < 3000);
+
+        repo.remove(e2, "foo");
+        assertEquals(0, repo.oldestInflightDuration("foo"));
+        assertEquals(1, repo.size("foo"));
+
+        repo.remove(e3, "foo");
+        assertEquals(0, repo.size("foo"));
+
+        // add again to the same slot after it was emptied
+        repo.add(e1, "foo");
+        duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 5000 but was " + duration, duration >= 5000 && duration < 6000);
+        repo.remove(e1, "foo");
+        assertEquals(0, repo.oldestInflightDuration("foo"));
+    }
+
+    public void testOldestInflightDurationBrowseToggled() throws Exception {
+        InflightRepository repo = new DefaultInflightRepository();
+        assertFalse(repo.isInflightBrowseEnabled());
+        long now = System.currentTimeMillis();
+
+        Exchange e1 = new DefaultExchange(context);
+        e1.setProperty(Exchange.CREATED_TIMESTAMP, new Date(now - 5000));
+        repo.add(e1, "foo");
+
+        // the age is tracked also when browsing is disabled
+        assertEquals(1, repo.size("foo"));
+        long duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 5000 but was " + duration, duration >= 5000 && duration < 6000);
+
+        repo.setInflightBrowseEnabled(true);
+        duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 5000 but was " + duration, duration >= 5000 && duration < 6000);
+
+        Exchange e2 = new DefaultExchange(context);
+        e2.setProperty(Exchange.CREATED_TIMESTAMP, new Date(now - 2000));
+        repo.add(e2, "foo");
+        assertEquals(2, repo.size("foo"));
+
+        repo.setInflightBrowseEnabled(false);
+        repo.remove(e1, "foo");
+        assertEquals(1, repo.size("foo"));
+        duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 2000 but was " + duration, duration >= 2000 && duration < 3000);
+
+        repo.remove(e2, "foo");
+        assertEquals(0, repo.size("foo"));
+        assertEquals(0, repo.oldestInflightDuration("foo"));
+    }
+
+    public void testOldestInflightDurationManyExchanges() throws Exception {
+        InflightRepository repo = new DefaultInflightRepository();
+        long now = System.currentTimeMillis();
+
+        // add the exchanges in descending age so the slots are not created in order
+        Exchange[] exchanges = new Exchange[200];
+        for (int i = 0; i < exchanges.length; i++) {
+            exchanges[i] = new DefaultExchange(context);
+            exchanges[i].setProperty(Exchange.CREATED_TIMESTAMP, new Date(now - 1000 - (i % 50) * 100));
+            repo.add(exchanges[i], "foo");
+        }
+        assertEquals(200, repo.size("foo"));
+        long duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 5900 but was " + duration, duration >= 5900 && duration < 6900);
+
+        // the exchange id may be changed while the exchange is inflight
+        exchanges[49].setExchangeId("changed");
+
+        // remove the oldest exchanges
+        for (int i = 0; i < exchanges.length; i++) {
+            if (i % 50 >= 40) {
+                repo.remove(exchanges[i], "foo");
+            }
+        }
+        assertEquals(160, repo.size("foo"));
+        duration = repo.oldestInflightDuration("foo");
+        assertTrue("Should be around 4900 but was " + duration, duration >= 4900 && duration < 5900);
+
+        for (int i = 0; i < exchanges.length; i++) {
+            if (i % 50 < 40) {
+                repo.remove(exchanges[i], "foo");
+            }
+        }
+        assertEquals(0, repo.size("foo"));
+        assertEquals(0, repo.oldestInflightDuration("foo"));
+    }
 }
@@ -274,4 +274,54 @@ public class DefaultMessageHeaderTest extends TestCase {
         assertEquals(Integer.valueOf(123), msg.getHeader("beer", "123", Integer.class));
     }
 
+    public void testCopyDoesNotShareChangedHeaders() {
+        DefaultMessage msg = new DefaultMessage();
+        msg.setHeader("foo", "cheese");
+        msg.setHeader("bar", "beer");
+
+        Message copy = msg.copy();
+        assertEquals("cheese", copy.getHeader("FOO"));
+        assertEquals("beer", copy.getHeader("bar"));
+
+        copy.setHeader("foo", "cake");
+        copy.removeHeader("bar");
+        msg.getHeaders().put("baz", "wine");
+
+        assertEquals("cheese", msg.getHeader("foo"));
+        assertEquals("beer", msg.getHeader("bar"));
+        assertEquals("cake", copy.getHeader("foo"));
+        assertNull(copy.getHeader("bar"));
+        assertNull(copy.getHeader("baz"));
+        assertEquals(3, msg.getHeaders().size());
+        assertEquals(1, copy.getHeaders().size());
+    }
+
+    public void testHeadersIteratedInInsertionOrder() {
+        DefaultMessage msg = new DefaultMessage();
+        msg.setHeader("zebra", 1);
+        msg.setHeader("Apple", 2);
+        msg.setHeader("mango", 3);
+        msg.setHeader("banana", 4);
+
+        // the headers are not sorted by key, but kept in the order they were added
+        assertEquals("[zebra, Apple, mango, banana]", msg.getHeaders().keySet().toString());
+
+        // setting an existing header does not change its position, or the case of its key
+        msg.setHeader("APPLE", 5);
+        assertEquals("[zebra, Apple, mango, banana]", msg.getHeaders().keySet().toString());
+        assertEquals(5, msg.getHeader("apple"));
+
+        // removing and adding a header adds it last
+        msg.removeHeader("ZEBRA");
+        msg.setHeader("zebra", 6);
+        assertEquals("[Apple, mango, banana, zebra]", msg.getHeaders().keySet().toString());
+
+        // and a copy keeps the same order
+        Message copy = msg.copy();
+        assertEquals("[Apple, mango, banana, zebra]", copy.getHeaders().keySet().toString());
+        copy.setHeader("cherry", 7);
+        assertEquals("[Apple, mango, banana, zebra, cherry]", copy.getHeaders().keySet().toString());
+        assertEquals("[Apple, mango, banana, zebra]", msg.getHeaders().keySet().toString());
+    }
+
 }
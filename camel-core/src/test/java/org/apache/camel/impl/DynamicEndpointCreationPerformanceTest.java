@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test which measures how many endpoints can be created per second, such as when a recipient list
+ * sends to endpoints with a dynamic uri, where all the endpoints are configured with options.
+ */
+public class DynamicEndpointCreationPerformanceTest extends ContextTestSupport {
+
+    private final int size = 50000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        runPerformance(5000);
+
+        runPerformance(size);
+    }
+
+    private void runPerformance(int count) throws Exception {
+        // the endpoint uris without the path, which is made unique per endpoint
+        String[][] uris = {
+            {"file:target/dynamic", "?fileName=${header.name}&fileExist=Append&charset=UTF-8&autoCreate=false&tempPrefix=tmp&keepLastModified=true"},
+            {"seda:dynamic", "?size=1000&blockWhenFull=true&concurrentConsumers=2&waitForTaskToComplete=Never"},
+            {"log:dynamic", "?level=DEBUG&showAll=true&multiline=true&maxChars=1000"},
+            {"timer:dynamic", "?period=500&delay=-1&fixedRate=true&repeatCount=10"}
+        };
+
+        for (String[] uri : uris) {
+            StopWatch watch = new StopWatch();
+            for (int i = 0; i < count; i++) {
+                context.getEndpoint(uri[0] + count + "-" + i + uri[1]);
+            }
+            long taken = watch.taken();
+            log.info("Created {} {} endpoints in {} millis ({} per second)",
+                    new Object[]{count, uri[0], taken, taken > 0 ? count * 1000L / taken : "n/a"});
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.apache.camel.impl;
 
 import java.util.Collection;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
@@ -29,6 +30,13 @@ import org.apache.camel.spi.InflightRepository;
  */
 public class InflightRepositoryBrowseTest extends ContextTestSupport {
 
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getInflightRepository().setInflightBrowseEnabled(true);
+        return context;
+    }
+
     public void testInflight() throws Exception {
         assertEquals(0, context.getInflightRepository().browse().size());
 
@@ -0,0 +1,178 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Enumeration;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.component.seda.SedaEndpoint;
+import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test which measures the startup time and the number of loaded classes when starting
+ * a context with 500 XML routes, where all the endpoints are configured with options.
+ * <p/>
+ * The routes are started in a new class loader each time, so the classes are loaded as when starting up.
+ * The test toggles whether the property configurers which has been generated at build time are used,
+ * or the endpoints are configured using reflection.
+ */
+public class ManyRoutesStartupPerformanceTest extends TestSupport {
+
+    private static final int ROUTES = 500;
+    private static final int TIMES = 5;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        String xml = createRoutesXml();
+        run("generated configurers", xml, true);
+        run("reflection", xml, false);
+    }
+
+    private void run(String name, String xml, boolean configurers) throws Exception {
+        // warm up
+        start(xml, configurers);
+
+        long taken = 0;
+        long loaded = 0;
+        for (int i = 0; i < TIMES; i++) {
+            long[] result = start(xml, configurers);
+            taken += result[0];
+            loaded += result[1];
+        }
+        log.info("Started {} routes using {} in {} millis, loaded {} classes",
+                new Object[]{ROUTES, name, taken / TIMES, loaded / TIMES});
+    }
+
+    private static long[] start(String xml, boolean configurers) throws Exception {
+        String[] classPath = System.getProperty("java.class.path").split(File.pathSeparator);
+        URL[] urls = new URL[classPath.length];
+        for (int i = 0; i < classPath.length; i++) {
+            urls[i] = new File(classPath[i]).toURI().toURL();
+        }
+
+        ConfigurerClassLoader classLoader = new ConfigurerClassLoader(urls, configurers);
+        // the configurers are also looked up using the thread context class loader
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            Class<?> startup = classLoader.loadClass(Startup.class.getName());
+            return (long[]) startup.getMethod("start", String.class, boolean.class).invoke(null, xml, configurers);
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+            classLoader.close();
+        }
+    }
+
+    private static String createRoutesXml() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<routes xmlns=\"http://camel.apache.org/schema/spring\">\n");
+        // each iteration adds two routes
+        for (int i = 0; i < ROUTES / 2; i++) {
+            sb.append("  <route>\n");
+            sb.append("    <from uri=\"direct:start").append(i).append("\"/>\n");
+            sb.append("    <to uri=\"seda:queue").append(i).append("?size=1000&amp;blockWhenFull=true&amp;waitForTaskToComplete=Never\"/>\n");
+            sb.append("    <to uri=\"log:route").append(i).append("?level=DEBUG&amp;showAll=true&amp;multiline=true\"/>\n");
+            sb.append("    <to uri=\"file:target/startup?fileName=route").append(i)
+                .append(".txt&amp;fileExist=Append&amp;charset=UTF-8&amp;autoCreate=false\"/>\n");
+            sb.append("  </route>\n");
+            sb.append("  <route>\n");
+            sb.append("    <from uri=\"seda:queue").append(i).append("?size=1000&amp;concurrentConsumers=2&amp;pollTimeout=2000\"/>\n");
+            sb.append("    <to uri=\"mock:result").append(i).append("?retainFirst=10&amp;assertPeriod=0\"/>\n");
+            sb.append("  </route>\n");
+        }
+        sb.append("</routes>\n");
+        return sb.toString();
+    }
+
+    /**
+     * Starts the routes, when loaded by a new class loader
+     */
+    public static final class Startup {
+
+        private Startup() {
+        }
+
+        /**
+         * @return the time taken in millis, and the number of loaded classes
+         */
+        public static long[] start(String xml, boolean configurers) throws Exception {
+            ClassLoadingMXBean bean = ManagementFactory.getClassLoadingMXBean();
+            long before = bean.getTotalLoadedClassCount();
+
+            StopWatch watch = new StopWatch();
+            DefaultCamelContext context = new DefaultCamelContext();
+            context.disableJMX();
+            context.addRouteDefinitions(context.loadRoutesDefinition(new ByteArrayInputStream(xml.getBytes("UTF-8"))).getRoutes());
+            context.start();
+            long taken = watch.taken();
+            long loaded = bean.getTotalLoadedClassCount() - before;
+
+            try {
+                if (context.getRoutes().size() != ROUTES) {
+                    throw new IllegalStateException("Should start " + ROUTES + " routes, was " + context.getRoutes().size());
+                }
+                if ((IntrospectionSupport.resolvePropertyConfigurer(SedaEndpoint.class) != null) != configurers) {
+                    throw new IllegalStateException("Should " + (configurers ? "" : "not ") + "use the generated configurers");
+                }
+            } finally {
+                // stopping is not measured, and the seda consumers would otherwise each wait for their poll timeout
+                context.getShutdownStrategy().setTimeout(1);
+                context.stop();
+            }
+            return new long[]{taken, loaded};
+        }
+    }
+
+    /**
+     * A class loader which can hide the generated configurers
+     */
+    private static final class ConfigurerClassLoader extends URLClassLoader {
+
+        private final boolean configurers;
+
+        private ConfigurerClassLoader(URL[] urls, boolean configurers) {
+            super(urls, ClassLoader.getSystemClassLoader().getParent());
+            this.configurers = configurers;
+        }
+
+        @Override
+        public URL findResource(String name) {
+            return isHidden(name) ? null : super.findResource(name);
+        }
+
+        @Override
+        public Enumeration<URL> findResources(String name) throws IOException {
+            return isHidden(name) ? Collections.<URL>emptyEnumeration() : super.findResources(name);
+        }
+
+        private boolean isHidden(String name) {
+            return !configurers && name.startsWith(IntrospectionSupport.CONFIGURER_RESOURCE_PATH);
+        }
+    }
+}
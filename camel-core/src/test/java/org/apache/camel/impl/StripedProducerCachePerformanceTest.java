@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performance test of a dynamic recipient list which sends to many distinct endpoints from many threads,
+ * which compares the {@link ProducerCache} and the {@link StripedProducerCache}.
+ * <p/>
+ * There are more endpoints than the producer cache can hold, so the producers are evicted, and the number of
+ * producers created tells how often the cache missed.
+ */
+public class StripedProducerCachePerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StripedProducerCachePerformanceTest.class);
+
+    private final int threads = 20;
+    private final int size = 200000;
+    private final int endpoints = 2000;
+    private final int cacheSize = 1000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        runPerformance(false);
+        runPerformance(true);
+    }
+
+    private void runPerformance(boolean striped) throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        CamelContext camel = new DefaultCamelContext();
+        camel.addComponent("counting", new DefaultComponent() {
+            @Override
+            protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+                return new DefaultEndpoint(uri, this) {
+                    public Producer createProducer() throws Exception {
+                        created.incrementAndGet();
+                        return new DefaultProducer(this) {
+                            public void process(Exchange exchange) throws Exception {
+                                // noop
+                            }
+                        };
+                    }
+
+                    public Consumer createConsumer(Processor processor) throws Exception {
+                        throw new UnsupportedOperationException("Consumer not supported");
+                    }
+
+                    public boolean isSingleton() {
+                        return true;
+                    }
+                };
+            }
+        });
+        if (striped) {
+            camel.getProperties().put(Exchange.STRIPED_PRODUCER_CACHE, "true");
+        }
+        camel.getProperties().put(Exchange.MAXIMUM_CACHE_POOL_SIZE, "" + cacheSize);
+        camel.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").recipientList(header("to"));
+            }
+        });
+        camel.start();
+
+        final ProducerTemplate template = camel.createProducerTemplate();
+        final CountDownLatch latch = new CountDownLatch(size);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            executor.submit(new Runnable() {
+                public void run() {
+                    template.sendBodyAndHeader("direct:start", "Hello", "to", "counting:perf" + (index % endpoints));
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(5, TimeUnit.MINUTES);
+        executor.shutdownNow();
+
+        LOG.info("{} of {} producers sent {} messages to {} endpoints in {} millis, creating {} producers",
+                new Object[]{striped ? "StripedProducerCache" : "ProducerCache", cacheSize, size, endpoints, watch.taken(), created.get()});
+        camel.stop();
+    }
+
+}
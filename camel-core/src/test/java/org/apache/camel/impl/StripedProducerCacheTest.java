@@ -0,0 +1,277 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.ServicePoolAware;
+
+/**
+ * @version 
+ */
+public class StripedProducerCacheTest extends ContextTestSupport {
+
+    private final AtomicInteger createCounter = new AtomicInteger();
+    private final AtomicInteger stopCounter = new AtomicInteger();
+
+    public void testCacheSingletonProducers() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context);
+        cache.start();
+
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 5; j++) {
+                Endpoint e = new MyEndpoint(false, i);
+                Producer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+        }
+
+        assertEquals("Size should be 3", 3, cache.size());
+        assertEquals(3, createCounter.get());
+        assertEquals(0, stopCounter.get());
+        assertEquals(12, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        cache.stop();
+
+        assertEquals(3, stopCounter.get());
+    }
+
+    public void testCacheStopExpired() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context, 5);
+        cache.start();
+
+        for (int i = 0; i < 8; i++) {
+            Endpoint e = new MyEndpoint(false, i);
+            Producer p = cache.acquireProducer(e);
+            cache.releaseProducer(e, p);
+        }
+
+        assertEquals("Size should be 5", 5, cache.size());
+
+        cache.stop();
+
+        assertEquals(8, stopCounter.get());
+    }
+
+    public void testCacheAdmitsOnSecondMiss() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context, 2);
+        cache.start();
+
+        for (int i = 0; i < 2; i++) {
+            Endpoint e = new MyEndpoint(false, i);
+            cache.releaseProducer(e, cache.acquireProducer(e));
+        }
+
+        // the cache is full so the producer is used once and stopped
+        Endpoint e = new MyEndpoint(false, 2);
+        cache.releaseProducer(e, cache.acquireProducer(e));
+        assertEquals("Size should be 2", 2, cache.size());
+        assertEquals(1, stopCounter.get());
+
+        // the endpoint is cached the second time it is missed, which evicts the least recently used producer
+        cache.releaseProducer(e, cache.acquireProducer(e));
+        assertEquals("Size should be 2", 2, cache.size());
+        assertEquals(2, stopCounter.get());
+        cache.releaseProducer(e, cache.acquireProducer(e));
+        assertEquals(4, createCounter.get());
+        assertEquals(2, stopCounter.get());
+
+        cache.stop();
+    }
+
+    public void testCacheScanMoreEndpointsThanCapacity() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context, 2);
+        cache.start();
+
+        // sending to 5 endpoints in turn would never hit a LRU cache of 2 producers
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5; i++) {
+                Endpoint e = new MyEndpoint(false, i);
+                cache.releaseProducer(e, cache.acquireProducer(e));
+            }
+        }
+
+        // the first 2 endpoints stays cached
+        assertEquals("Size should be 2", 2, cache.size());
+        assertEquals(4, cache.getHits());
+        assertEquals(11, createCounter.get());
+        assertEquals(9, stopCounter.get());
+
+        cache.stop();
+        assertEquals(11, stopCounter.get());
+    }
+
+    public void testPooledProducersSizedByPeakConcurrency() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context);
+        cache.start();
+
+        Endpoint e = new MyEndpoint(true, 1);
+
+        // use 3 producers at the same time
+        List<Producer> producers = new ArrayList<Producer>();
+        for (int i = 0; i < 3; i++) {
+            producers.add(cache.acquireProducer(e));
+        }
+        assertEquals(3, createCounter.get());
+        for (Producer p : producers) {
+            cache.releaseProducer(e, p);
+        }
+        assertEquals("Size should be 3", 3, cache.size());
+
+        // the pooled producers should be reused
+        producers.clear();
+        for (int i = 0; i < 3; i++) {
+            producers.add(cache.acquireProducer(e));
+        }
+        assertEquals(3, createCounter.get());
+        assertEquals("Size should be 0", 0, cache.size());
+
+        // and a 4th producer must be created
+        producers.add(cache.acquireProducer(e));
+        assertEquals(4, createCounter.get());
+        for (Producer p : producers) {
+            cache.releaseProducer(e, p);
+        }
+        assertEquals("Size should be 4", 4, cache.size());
+        assertEquals(0, stopCounter.get());
+
+        cache.stop();
+
+        assertEquals("Size should be 0", 0, cache.size());
+        assertEquals(4, stopCounter.get());
+    }
+
+    public void testPooledProducersMaximumPoolSize() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context);
+        cache.setMaximumPoolSize(2);
+        cache.start();
+
+        Endpoint e = new MyEndpoint(true, 1);
+
+        List<Producer> producers = new ArrayList<Producer>();
+        for (int i = 0; i < 5; i++) {
+            producers.add(cache.acquireProducer(e));
+        }
+        for (Producer p : producers) {
+            cache.releaseProducer(e, p);
+        }
+
+        // only 2 producers are kept and the others are stopped
+        assertEquals("Size should be 2", 2, cache.size());
+        assertEquals(3, stopCounter.get());
+        assertEquals(3, cache.getEvicted());
+
+        cache.stop();
+
+        assertEquals(5, stopCounter.get());
+    }
+
+    public void testPooledProducersPerEndpoint() throws Exception {
+        StripedProducerCache cache = new StripedProducerCache(this, context);
+        cache.start();
+
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 5; j++) {
+                Endpoint e = new MyEndpoint(true, i);
+                Producer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+        }
+
+        // one producer per endpoint
+        assertEquals(3, createCounter.get());
+        assertEquals("Size should be 3", 3, cache.size());
+        assertEquals(12, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        cache.resetCacheStatistics();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+
+        cache.purge();
+        assertEquals("Size should be 0", 0, cache.size());
+        assertEquals(3, stopCounter.get());
+
+        cache.stop();
+    }
+
+    private final class MyEndpoint extends DefaultEndpoint {
+
+        private final boolean pooled;
+        private final int number;
+
+        private MyEndpoint(boolean pooled, int number) {
+            this.pooled = pooled;
+            this.number = number;
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            createCounter.incrementAndGet();
+            return pooled ? new MyPooledProducer(this) : new MyProducer(this);
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) throws Exception {
+            return null;
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return true;
+        }
+
+        @Override
+        public String getEndpointUri() {
+            return "my://" + number;
+        }
+    }
+
+    private class MyProducer extends DefaultProducer {
+
+        public MyProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public void process(Exchange exchange) throws Exception {
+            // noop
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            stopCounter.incrementAndGet();
+        }
+    }
+
+    private final class MyPooledProducer extends MyProducer implements ServicePoolAware {
+
+        public MyPooledProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+import org.apache.camel.spi.UuidGenerator;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ThreadLocalUuidGeneratorTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadLocalUuidGeneratorTest.class);
+
+    public void testGenerateUUID() {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator();
+
+        String firstUUID = uuidGenerator.generateUuid();
+        String secondUUID = uuidGenerator.generateUuid();
+
+        assertNotSame(firstUUID, secondUUID);
+        assertTrue(firstUUID, firstUUID.startsWith("ID-"));
+        assertTrue(firstUUID, firstUUID.endsWith("-1"));
+        assertTrue(secondUUID, secondUUID.endsWith("-2"));
+    }
+
+    public void testGenerateUUIDManyDigits() {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator("FOO");
+
+        String uuid = null;
+        for (int i = 0; i < 12345; i++) {
+            uuid = uuidGenerator.generateUuid();
+        }
+        assertTrue(uuid, uuid.startsWith("FOO-"));
+        assertTrue(uuid, uuid.endsWith("-12345"));
+    }
+
+    public void testGenerateUUIDConcurrently() throws Exception {
+        List<List<String>> result = generate(new ThreadLocalUuidGenerator(), 5, 1000);
+
+        Set<String> uuids = new HashSet<String>();
+        for (List<String> ids : result) {
+            uuids.addAll(ids);
+        }
+        assertEquals("Should be unique ids", 5000, uuids.size());
+    }
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        int threads = 20;
+        int count = 500000;
+
+        // warm up
+        generate(new ActiveMQUuidGenerator(), threads, 10000);
+        generate(new JavaUuidGenerator(), threads, 10000);
+        generate(new ThreadLocalUuidGenerator(), threads, 10000);
+
+        runPerformance(new ActiveMQUuidGenerator(), threads, count);
+        runPerformance(new JavaUuidGenerator(), threads, count);
+        runPerformance(new ThreadLocalUuidGenerator(), threads, count);
+    }
+
+    private void runPerformance(UuidGenerator uuidGenerator, int threads, int count) throws Exception {
+        StopWatch watch = new StopWatch();
+        generate(uuidGenerator, threads, count);
+        LOG.info("{} generated {} ids using {} threads took {} millis",
+                new Object[]{uuidGenerator.getClass().getSimpleName(), threads * count, threads, watch.taken()});
+    }
+
+    private static List<List<String>> generate(final UuidGenerator uuidGenerator, int threads, final int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<Future<List<String>>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<List<String>>() {
+                    public List<String> call() throws Exception {
+                        List<String> ids = new ArrayList<String>(count);
+                        for (int j = 0; j < count; j++) {
+                            ids.add(uuidGenerator.generateUuid());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            List<List<String>> answer = new ArrayList<List<String>>();
+            for (Future<List<String>> future : futures) {
+                answer.add(future.get());
+            }
+            return answer;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import junit.framework.TestCase;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.TypeConverterSupport;
+
+/**
+ * @version 
+ */
+public class TypeConverterRegistryCachedLookupTest extends TestCase {
+
+    public void testOverrideCachedTypeConverter() {
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter(0));
+
+        // convert twice so the type converter is cached
+        assertEquals(123, context.getTypeConverter().convertTo(MyOrder.class, "123").getId());
+        assertEquals(456, context.getTypeConverter().convertTo(MyOrder.class, "456").getId());
+
+        // override the type converter which should be used from now on
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter(1000));
+        assertEquals(1123, context.getTypeConverter().convertTo(MyOrder.class, "123").getId());
+
+        // and removing it should also remove it from the cache
+        context.getTypeConverterRegistry().removeTypeConverter(MyOrder.class, String.class);
+        assertNull(context.getTypeConverter().convertTo(MyOrder.class, "123"));
+    }
+
+    public void testConvertWrapperToPrimitive() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getTypeConverterRegistry().getStatistics().setStatisticsEnabled(true);
+
+        Integer number = 123;
+        assertSame(number, context.getTypeConverter().convertTo(int.class, number));
+        assertEquals(Boolean.TRUE, context.getTypeConverter().convertTo(boolean.class, Boolean.TRUE));
+
+        // no conversion was needed
+        assertEquals(2, context.getTypeConverterRegistry().getStatistics().getNoopCounter());
+        assertEquals(0, context.getTypeConverterRegistry().getStatistics().getAttemptCounter());
+    }
+
+    private static class MyOrder {
+        private int id;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+
+    private static class MyOrderTypeConverter extends TypeConverterSupport {
+
+        private final int offset;
+
+        MyOrderTypeConverter(int offset) {
+            this.offset = offset;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            // converter from value to the MyOrder bean
+            MyOrder order = new MyOrder();
+            order.setId(offset + Integer.parseInt(value.toString()));
+            return (T) order;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test of the type conversions which typically happens on every message such as
+ * getting the message body as a String and getting a header as a number.
+ */
+public class TypeConverterRegistryLookupPerformanceTest extends ContextTestSupport {
+
+    private int size = 10000000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World".getBytes());
+        exchange.getIn().setHeader("count", "123");
+        exchange.getIn().setHeader("total", 456);
+
+        TypeConverter converter = context.getTypeConverter();
+
+        // warm up so the type converters has been looked up
+        for (int i = 0; i < 100000; i++) {
+            convert(converter, exchange);
+        }
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            convert(converter, exchange);
+        }
+        long taken = watch.taken();
+        log.info("Converted " + size + " times in " + taken + " millis (" + (size * 1000L / Math.max(1, taken)) + " ops/sec)");
+    }
+
+    private static void convert(TypeConverter converter, Exchange exchange) {
+        assertNotNull(converter.convertTo(String.class, exchange, exchange.getIn().getBody()));
+        assertNotNull(converter.convertTo(Long.class, exchange, exchange.getIn().getHeader("count")));
+        assertNotNull(converter.convertTo(int.class, exchange, exchange.getIn().getHeader("total")));
+        assertNotNull(converter.convertTo(String.class, exchange, exchange.getIn().getHeader("total")));
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.impl.DefaultClassResolver;
+import org.apache.camel.impl.DefaultFactoryFinderResolver;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.util.ReflectionInjector;
+
+/**
+ * Tests that the type converter loaders generated at build time registers the same type converters
+ * from camel-core as when the type converters are loaded using reflection.
+ *
+ * @version 
+ */
+public class CoreTypeConverterLoaderTest extends TestSupport {
+
+    private static final int WARMUP = 5;
+    private static final int TIMES = 20;
+
+    public void testGeneratedLoadersMatchReflection() throws Exception {
+        assertNotNull("camel-core should be built with the annotation processor",
+                getClass().getClassLoader().getResource(CoreTypeConverterLoader.META_INF_CORE_LOADERS));
+
+        DefaultTypeConverter generated = createRegistry();
+        new CoreTypeConverterLoader().load(generated);
+
+        DefaultTypeConverter reflection = createRegistry();
+        new ReflectionCoreTypeConverterLoader().load(reflection);
+
+        Set<String> expected = listTypeConverters(reflection);
+        assertTrue("Should load the core type converters", expected.size() > 100);
+        assertEquals(expected, listTypeConverters(generated));
+        assertEquals(reflection.fallbackConverters.size(), generated.fallbackConverters.size());
+    }
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // load the type converters in a new class loader each time, so the classes are loaded as when starting up
+        run("generated loaders", true);
+        run("reflection", false);
+    }
+
+    private void run(String name, boolean generated) throws Exception {
+        String[] classPath = System.getProperty("java.class.path").split(File.pathSeparator);
+        URL[] urls = new URL[classPath.length];
+        for (int i = 0; i < classPath.length; i++) {
+            urls[i] = new File(classPath[i]).toURI().toURL();
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            load(urls, generated);
+        }
+        long taken = 0;
+        for (int i = 0; i < TIMES; i++) {
+            taken += load(urls, generated);
+        }
+        log.info("Loading the core type converters using {}: {} micros per startup", name, taken / TIMES / 1000);
+    }
+
+    private static long load(URL[] urls, boolean generated) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+        try {
+            Class<?> startup = classLoader.loadClass(Startup.class.getName());
+            return (Long) startup.getMethod("load", boolean.class).invoke(null, generated);
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    private static DefaultTypeConverter createRegistry() {
+        return new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+    }
+
+    private static Set<String> listTypeConverters(DefaultTypeConverter registry) {
+        Set<String> answer = new TreeSet<String>();
+        for (Class<?>[] pair : registry.listAllTypeConvertersFromTo()) {
+            answer.add(pair[0].getName() + " -> " + pair[1].getName());
+        }
+        return answer;
+    }
+
+    /**
+     * Loads the core type converters into a new registry, when loaded by a new class loader
+     */
+    public static final class Startup {
+
+        private Startup() {
+        }
+
+        /**
+         * @return the time taken in nanos
+         */
+        public static long load(boolean generated) throws Exception {
+            // create the registry first, as it is the same for both loaders
+            TypeConverterRegistry registry = createRegistry();
+            long start = System.nanoTime();
+            TypeConverterLoader loader = generated ? new CoreTypeConverterLoader() : new ReflectionCoreTypeConverterLoader();
+            loader.load(registry);
+            return System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Loads the core type converters using reflection, as when camel-core has not been built with the annotation processor
+     */
+    private static final class ReflectionCoreTypeConverterLoader extends AnnotationTypeConverterLoader {
+
+        private ReflectionCoreTypeConverterLoader() {
+            super(new CorePackageScanClassResolver());
+        }
+
+        @Override
+        protected void loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) throws IOException, TypeConverterLoaderException {
+            // do not use the generated loaders
+        }
+
+        @Override
+        protected String[] findPackageNames() throws IOException {
+            return new CoreTypeConverterLoader().findPackageNames();
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.net.URL;
+
+import junit.framework.TestCase;
+import org.apache.camel.Converter;
+import org.apache.camel.Exchange;
+import org.apache.camel.FallbackConverter;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterRegistry;
+
+/**
+ * @version 
+ */
+public class GeneratedTypeConverterLoaderTest extends TestCase {
+
+    public void testLoad() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+        new MyConverterLoader().load(context.getTypeConverterRegistry());
+
+        assertConverters(context);
+    }
+
+    public void testLoadFromIndex() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        // the index also contains an unknown loader which should be ignored
+        URL url = getClass().getResource("MyTypeConverterLoader.txt");
+        assertNotNull(url);
+        AnnotationTypeConverterLoader loader = new AnnotationTypeConverterLoader(new DefaultPackageScanClassResolver());
+        loader.loadGeneratedTypeConverterLoaders(context.getTypeConverterRegistry(), getClass().getClassLoader(), url);
+
+        assertConverters(context);
+    }
+
+    private void assertConverters(DefaultCamelContext context) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+
+        // static converter method
+        MyOrder order = context.getTypeConverter().convertTo(MyOrder.class, "123");
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+
+        // instance converter method with exchange
+        exchange.setProperty("prefix", "Order ");
+        assertEquals("Order 123", context.getTypeConverter().convertTo(String.class, exchange, order));
+
+        // fallback converter method
+        assertEquals(Integer.valueOf(123), context.getTypeConverter().convertTo(Integer.class, exchange, order));
+
+        // exceptions from the converter method is wrapped the same way as when invoked using reflection
+        try {
+            context.getTypeConverter().mandatoryConvertTo(MyOrder.class, "ABC");
+            fail("Should have thrown exception");
+        } catch (TypeConversionException e) {
+            assertTrue(e.getCause() instanceof RuntimeCamelException);
+            assertTrue(e.getCause().getCause() instanceof NumberFormatException);
+        }
+    }
+
+    public static class MyOrder {
+        private final int id;
+
+        public MyOrder(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @Converter
+    public static class MyConverter {
+
+        @Converter
+        public static MyOrder toOrder(String id) {
+            return new MyOrder(Integer.parseInt(id));
+        }
+
+        @Converter
+        public String toString(MyOrder order, Exchange exchange) {
+            return exchange.getProperty("prefix", String.class) + order.getId();
+        }
+
+        @FallbackConverter
+        public static Object convertTo(Class<?> type, Exchange exchange, Object value, TypeConverterRegistry registry) {
+            if (type == Integer.class && value instanceof MyOrder) {
+                return ((MyOrder) value).getId();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A type converter loader as generated by the annotation processor for {@link MyConverter}
+     */
+    public static final class MyConverterLoader extends GeneratedTypeConverterLoaderSupport {
+
+        public MyConverterLoader() {
+            super(MyConverter.class);
+        }
+
+        @Override
+        public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+            addTypeConverter(registry, MyOrder.class, String.class, 0, false);
+            addTypeConverter(registry, String.class, MyOrder.class, 1, false);
+            addFallbackTypeConverter(registry, 2, false, false);
+        }
+
+        @Override
+        protected Object convertTo(int index, Class<?> type, Exchange exchange, Object value, TypeConverterRegistry registry) throws Exception {
+            switch (index) {
+            case 0:
+                return MyConverter.toOrder((String) value);
+            case 1:
+                return ((MyConverter) getInstance(registry)).toString((MyOrder) value, exchange);
+            case 2:
+                return MyConverter.convertTo(type, exchange, value, registry);
+            default:
+                throw new IllegalArgumentException("Unknown type converter with index: " + index);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+
+/**
+ * Tests that the expressions and predicates compiled by {@link SimpleCompiler} evaluate
+ * the same as when they are not compiled.
+ *
+ * @version 
+ */
+public class SimpleCompilerTest extends ExchangeTestSupport {
+
+    public void testCompileConcat() throws Exception {
+        exchange.getIn().setBody("World");
+
+        assertExpression("Hello ${body}", "Hello World");
+        assertExpression("Hello ${body} from ${header.foo}", "Hello World from abc");
+        assertExpression("${header.foo}${header.bar}", "abc123");
+        assertExpression("Hello ${header.unknown} there", "Hello  there");
+        assertExpression("${header.foo}-${header.bar}++", "abc-124");
+        assertExpression("Hello ${header.${header.foo}} there", "Hello  there");
+    }
+
+    public void testCompileConcatToString() throws Exception {
+        Expression compiled = new SimpleExpressionParser("Hello ${body}", true, true).parseExpression();
+        Expression parsed = new SimpleExpressionParser("Hello ${body}", true).parseExpression();
+        assertEquals(parsed.toString(), compiled.toString());
+    }
+
+    public void testCompileEqual() throws Exception {
+        assertPredicate("${header.foo} == 'abc'", true);
+        assertPredicate("${in.header.foo} == 'abc'", true);
+        assertPredicate("${header.foo} == \"abc\"", true);
+        assertPredicate("${header.foo} == 'def'", false);
+        assertPredicate("${header.foo} == ''", false);
+        assertPredicate("${header.unknown} == 'abc'", false);
+        assertPredicate("${header.unknown} == ''", false);
+
+        // type coercion
+        assertPredicate("${header.bar} == '123'", true);
+        assertPredicate("${header.bar} == '124'", false);
+    }
+
+    public void testCompileNotEqual() throws Exception {
+        assertPredicate("${header.foo} != 'abc'", false);
+        assertPredicate("${header.foo} != 'def'", true);
+        assertPredicate("${header.unknown} != 'abc'", true);
+        assertPredicate("${header.bar} != '123'", false);
+        assertPredicate("${header.bar} != '124'", true);
+    }
+
+    public void testNotCompiled() throws Exception {
+        // these shapes are not compiled but should of course still work
+        assertPredicate("${header.foo} == ${header.foo}", true);
+        assertPredicate("${header.bar} > 100", true);
+        assertPredicate("${header.foo} == 'abc' && ${header.bar} == '123'", true);
+        assertPredicate("${header.foo} == 'a${header.unknown}bc'", true);
+    }
+
+    public void testCompileEqualToString() throws Exception {
+        Predicate compiled = new SimplePredicateParser("${header.foo} == 'abc'", true, true).parsePredicate();
+        Predicate parsed = new SimplePredicateParser("${header.foo} == 'abc'", true).parsePredicate();
+        assertEquals(parsed.toString(), compiled.toString());
+    }
+
+    private void assertExpression(String expression, String expected) {
+        Expression compiled = new SimpleExpressionParser(expression, true, true).parseExpression();
+        Expression parsed = new SimpleExpressionParser(expression, true).parseExpression();
+
+        assertEquals(expected, parsed.evaluate(exchange, String.class));
+        assertEquals(expected, compiled.evaluate(exchange, String.class));
+    }
+
+    private void assertPredicate(String predicate, boolean expected) {
+        Predicate compiled = new SimplePredicateParser(predicate, true, true).parsePredicate();
+        Predicate parsed = new SimplePredicateParser(predicate, true).parsePredicate();
+
+        assertEquals(predicate, expected, parsed.matches(exchange));
+        assertEquals(predicate, expected, compiled.matches(exchange));
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+
+/**
+ * @version 
+ */
+public class SimpleLanguageCacheTest extends ExchangeTestSupport {
+
+    public void testExpressionCached() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+
+        Expression exp = simple.createExpression("Hello ${header.foo}");
+        assertSame(exp, simple.createExpression("Hello ${header.foo}"));
+        assertNotSame(exp, simple.createExpression("Bye ${header.foo}"));
+
+        assertEquals("Hello abc", exp.evaluate(exchange, String.class));
+    }
+
+    public void testPredicateCached() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+
+        Predicate predicate = simple.createPredicate("${header.foo} == 'abc'");
+        assertSame(predicate, simple.createPredicate("${header.foo} == 'abc'"));
+
+        assertTrue(predicate.matches(exchange));
+    }
+
+    public void testCacheDisabled() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCacheSize(0);
+
+        assertNotSame(simple.createExpression("${header.foo}"), simple.createExpression("${header.foo}"));
+        assertNotSame(simple.createPredicate("${header.foo} == 'abc'"), simple.createPredicate("${header.foo} == 'abc'"));
+    }
+
+    public void testCacheBounded() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCacheSize(10);
+
+        Expression exp = simple.createExpression("${header.foo}");
+        for (int i = 0; i < 20; i++) {
+            simple.createExpression("${header.foo" + i + "}");
+        }
+
+        // the first expression has been evicted
+        assertNotSame(exp, simple.createExpression("${header.foo}"));
+    }
+
+    public void testCacheClearedWhenFunctionTokensChanged() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+        assertEquals("abc", simple.createExpression("${header.foo}").evaluate(exchange, String.class));
+
+        try {
+            SimpleLanguage.changeFunctionStartToken("[[");
+            SimpleLanguage.changeFunctionEndToken("]]");
+
+            // the old tokens no longer work, so the cached expression must not be used
+            assertEquals("${header.foo}", simple.createExpression("${header.foo}").evaluate(exchange, String.class));
+            assertEquals("abc", simple.createExpression("[[header.foo]]").evaluate(exchange, String.class));
+        } finally {
+            // replace old tokens
+            SimpleLanguage.changeFunctionStartToken("${", "$simple{");
+            SimpleLanguage.changeFunctionEndToken("}");
+        }
+
+        assertEquals("abc", simple.createExpression("${header.foo}").evaluate(exchange, String.class));
+    }
+
+}
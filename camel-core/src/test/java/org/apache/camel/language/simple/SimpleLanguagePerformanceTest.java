@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performance test of the costs to parse and evaluate simple expressions and predicates,
+ * with and without the cache and compilation.
+ *
+ * @version 
+ */
+public class SimpleLanguagePerformanceTest extends ExchangeTestSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SimpleLanguagePerformanceTest.class);
+
+    private final int size = 1000000;
+    private final String[] expressions = {"${header.foo}", "${body}", "Hello ${body} from ${header.foo}"};
+    private final String predicate = "${in.header.foo} == 'abc'";
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        runPerformance(createLanguage(false, false), 10000);
+        runPerformance(createLanguage(true, true), 10000);
+
+        runPerformance(createLanguage(false, false), size);
+        runPerformance(createLanguage(true, false), size);
+        runPerformance(createLanguage(true, true), size);
+    }
+
+    private SimpleLanguage createLanguage(boolean cache, boolean compile) {
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCacheSize(cache ? 1000 : 0);
+        simple.setCompile(compile);
+        return simple;
+    }
+
+    private void runPerformance(SimpleLanguage simple, int count) throws Exception {
+        String name = "cache=" + (simple.getCacheSize() > 0) + " compile=" + simple.isCompile();
+
+        for (String text : expressions) {
+            StopWatch watch = new StopWatch();
+            for (int i = 0; i < count; i++) {
+                simple.createExpression(text);
+            }
+            long parse = watch.taken();
+
+            Expression exp = simple.createExpression(text);
+            watch.restart();
+            for (int i = 0; i < count; i++) {
+                exp.evaluate(exchange, String.class);
+            }
+            long evaluate = watch.taken();
+
+            if (count == size) {
+                LOG.info("{} {} parse: {} evaluate: {} millis", new Object[]{name, text, parse, evaluate});
+            }
+        }
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < count; i++) {
+            simple.createPredicate(predicate);
+        }
+        long parse = watch.taken();
+
+        Predicate pred = simple.createPredicate(predicate);
+        watch.restart();
+        for (int i = 0; i < count; i++) {
+            pred.matches(exchange);
+        }
+        long evaluate = watch.taken();
+
+        if (count == size) {
+            LOG.info("{} {} parse: {} evaluate: {} millis", new Object[]{name, predicate, parse, evaluate});
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class ManagedFileConsumerIndexTest extends ManagementTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/managedindex");
+        super.setUp();
+    }
+
+    public void testManageFileConsumerIndex() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("file:target/managedindex/inbox", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+
+        // let the consumer poll a couple of times, which should skip the file
+        mock.reset();
+        mock.expectedMessageCount(0);
+        mock.setAssertPeriod(300);
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> names = mbeanServer.queryNames(new ObjectName("org.apache.camel" + ":type=services,*"), null);
+        ObjectName on = null;
+        for (ObjectName name : names) {
+            if (name.toString().contains("GenericFileIndex")) {
+                on = name;
+                break;
+            }
+        }
+
+        assertTrue("Should be registered", mbeanServer.isRegistered(on));
+
+        Integer size = (Integer) mbeanServer.getAttribute(on, "Size");
+        assertEquals(1, size.intValue());
+
+        Long skipped = (Long) mbeanServer.getAttribute(on, "SkippedCount");
+        assertTrue("Should skip the file", skipped > 0);
+
+        Double ratio = (Double) mbeanServer.getAttribute(on, "SkipRatio");
+        assertTrue("Should skip the file", ratio > 0.5);
+
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+        skipped = (Long) mbeanServer.getAttribute(on, "SkippedCount");
+        assertTrue(skipped <= 1);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/managedindex/inbox?noop=true&idempotent=false&initialDelay=0&delay=10"
+                        + "&indexFile=target/managedindex/files.idx")
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -16,10 +16,12 @@
  */
 package org.apache.camel.management;
 
+import javax.management.Attribute;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.management.openmbean.TabularData;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.builder.RouteBuilder;
@@ -29,6 +31,13 @@ import org.apache.camel.builder.RouteBuilder;
  */
 public class ManagedInflightRepositoryTest extends ManagementTestSupport {
 
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getInflightRepository().setInflightBrowseEnabled(true);
+        return context;
+    }
+
     public void testInflightRepository() throws Exception {
         // JMX tests dont work well on AIX CI servers (hangs them)
         if (isPlatform("aix")) {
@@ -42,6 +51,22 @@ public class ManagedInflightRepositoryTest extends ManagementTestSupport {
         assertMockEndpointsSatisfied();
     }
 
+    public void testInflightBrowseEnabled() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=camel-1,type=services,name=DefaultInflightRepository");
+
+        mbeanServer.setAttribute(name, new Attribute("InflightBrowseEnabled", false));
+        assertFalse(context.getInflightRepository().isInflightBrowseEnabled());
+
+        mbeanServer.setAttribute(name, new Attribute("InflightBrowseEnabled", true));
+        assertTrue(context.getInflightRepository().isInflightBrowseEnabled());
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
@@ -61,6 +86,12 @@ public class ManagedInflightRepositoryTest extends ManagementTestSupport {
                                 Integer routeSize = (Integer) mbeanServer.invoke(name, "size", new Object[]{"foo"}, new String[]{"java.lang.String"});
                                 assertEquals(1, routeSize.intValue());
 
+                                Long oldest = (Long) mbeanServer.invoke(name, "oldestInflightDuration", new Object[]{"foo"}, new String[]{"java.lang.String"});
+                                assertTrue(oldest.longValue() >= 0);
+
+                                Boolean browse = (Boolean) mbeanServer.getAttribute(name, "InflightBrowseEnabled");
+                                assertTrue(browse);
+
                                 TabularData data = (TabularData) mbeanServer.invoke(name, "browse", null, null);
                                 assertNotNull(data);
 
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedLatencyHistogramTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getManagementStrategy().setLatencyHistogramEnabled(true);
+        return context;
+    }
+
+    public void testLatencyHistogram() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"foo\"");
+        ObjectName processor = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"myDelay\"");
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(route, "LatencyHistogramEnabled"));
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(processor, "LatencyHistogramEnabled"));
+
+        Long max = (Long) mbeanServer.getAttribute(route, "MaxProcessingTime");
+        Long p50 = (Long) mbeanServer.getAttribute(route, "P50ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(route, "P99ProcessingTime");
+        Long p999 = (Long) mbeanServer.getAttribute(route, "P999ProcessingTime");
+        assertTrue("Should take around 20 millis: was " + p50, p50 >= 19);
+        assertTrue(p50 <= p99);
+        assertTrue(p99 <= p999);
+        assertTrue(p999 <= max);
+
+        p99 = (Long) mbeanServer.getAttribute(processor, "P99ProcessingTime");
+        assertTrue("Should take around 20 millis: was " + p99, p99 >= 19);
+
+        String xml = (String) mbeanServer.invoke(route, "dumpStatsAsXml", new Object[]{false}, new String[]{"boolean"});
+        assertTrue(xml, xml.contains("p99ProcessingTime="));
+
+        // reset should clear the histogram
+        mbeanServer.invoke(route, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(route, "P99ProcessingTime"));
+
+        // and it can be disabled
+        mbeanServer.setAttribute(route, new Attribute("LatencyHistogramEnabled", false));
+        template.sendBody("direct:start", "Bye World");
+        assertEquals(0L, mbeanServer.getAttribute(route, "P99ProcessingTime"));
+    }
+
+    public void testLatencyHistogramDisabledByDefault() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        context.getManagementStrategy().setLatencyHistogramEnabled(false);
+        context.stopRoute("foo");
+        context.removeRoute("foo");
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:bar").routeId("bar").to("mock:bar");
+            }
+        });
+
+        template.sendBody("direct:bar", "Hello World");
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"bar\"");
+        assertEquals(Boolean.FALSE, mbeanServer.getAttribute(route, "LatencyHistogramEnabled"));
+        assertEquals(0L, mbeanServer.getAttribute(route, "P50ProcessingTime"));
+
+        String xml = (String) mbeanServer.invoke(route, "dumpStatsAsXml", new Object[]{false}, new String[]{"boolean"});
+        assertFalse(xml, xml.contains("p99ProcessingTime"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                    .delay(20).id("myDelay")
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
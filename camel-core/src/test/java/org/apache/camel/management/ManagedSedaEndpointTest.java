@@ -16,6 +16,7 @@
  */
 package org.apache.camel.management;
 
+import javax.management.Attribute;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
@@ -32,16 +33,21 @@ public class ManagedSedaEndpointTest extends ManagementTestSupport {
             return;
         }
 
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=camel-1,type=endpoints,name=\"seda://start\"");
+
+        // the drain statistics are disabled by default
+        Boolean statistics = (Boolean) mbeanServer.getAttribute(name, "DrainStatisticsEnabled");
+        assertFalse(statistics);
+        mbeanServer.setAttribute(name, new Attribute("DrainStatisticsEnabled", true));
+
         getMockEndpoint("mock:result").expectedMessageCount(2);
 
         template.sendBody("seda:start", "Hello World");
         template.sendBody("seda:start", "Bye World");
 
         assertMockEndpointsSatisfied();
-
-        MBeanServer mbeanServer = getMBeanServer();
-
-        ObjectName name = ObjectName.getInstance("org.apache.camel:context=camel-1,type=endpoints,name=\"seda://start\"");
         String uri = (String) mbeanServer.getAttribute(name, "EndpointUri");
         assertEquals("seda://start", uri);
 
@@ -54,6 +60,18 @@ public class ManagedSedaEndpointTest extends ManagementTestSupport {
         Boolean singleton = (Boolean) mbeanServer.getAttribute(name, "Singleton");
         assertEquals(true, singleton.booleanValue());
 
+        Integer maxDrainSize = (Integer) mbeanServer.getAttribute(name, "MaxDrainSize");
+        assertEquals(1, maxDrainSize.intValue());
+
+        String idle = (String) mbeanServer.getAttribute(name, "IdleStrategyName");
+        assertEquals("blocking", idle);
+
+        Long drainCount = (Long) mbeanServer.getAttribute(name, "DrainCount");
+        assertEquals(2, drainCount.longValue());
+
+        Long drainSize = (Long) mbeanServer.invoke(name, "drainSizeAtPercentile", new Object[]{99.0}, new String[]{"double"});
+        assertEquals(1, drainSize.longValue());
+
         // stop route
         context.stopRoute("foo");
 
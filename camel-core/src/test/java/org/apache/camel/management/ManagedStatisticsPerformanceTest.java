@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performance test which measures the overhead of the performance counters, by routing messages using
+ * many threads with the statistics level set to <tt>Off</tt>, <tt>All</tt> and with the latency histogram enabled.
+ *
+ * @version 
+ */
+public class ManagedStatisticsPerformanceTest extends ManagementTestSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ManagedStatisticsPerformanceTest.class);
+
+    private final int threads = 20;
+    private final int size = 50000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        runPerformance(ManagementStatisticsLevel.All, true, 1000);
+
+        runPerformance(ManagementStatisticsLevel.Off, false, size);
+        runPerformance(ManagementStatisticsLevel.All, false, size);
+        runPerformance(ManagementStatisticsLevel.All, true, size);
+    }
+
+    private void runPerformance(ManagementStatisticsLevel level, boolean histogram, final int count) throws Exception {
+        CamelContext camel = new DefaultCamelContext();
+        camel.getManagementStrategy().setStatisticsLevel(level);
+        camel.getManagementStrategy().setLatencyHistogramEnabled(histogram);
+        camel.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setHeader("foo", constant("bar"))
+                    .to("log:foo?level=OFF")
+                    .transform(body().append(" World"));
+            }
+        });
+        camel.start();
+
+        final ProducerTemplate producer = camel.createProducerTemplate();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            StopWatch watch = new StopWatch();
+            List<Future<Object>> futures = new ArrayList<Future<Object>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<Object>() {
+                    public Object call() throws Exception {
+                        for (int j = 0; j < count; j++) {
+                            producer.sendBody("direct:start", "Hello");
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+
+            if (count == size) {
+                LOG.info("Statistics level {} with histogram {} routed {} messages using {} threads took {} millis",
+                        new Object[]{level, histogram, threads * count, threads, watch.taken()});
+            }
+        } finally {
+            executor.shutdownNow();
+            camel.stop();
+        }
+    }
+
+}
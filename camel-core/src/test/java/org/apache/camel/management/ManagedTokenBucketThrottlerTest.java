@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version
+ */
+public class ManagedTokenBucketThrottlerTest extends ManagementTestSupport {
+
+    public void testManageTokenBucketThrottler() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBodyAndHeader("direct:start", "Gold " + i, "tenant", "gold");
+            template.sendBodyAndHeader("direct:start", "Silver " + i, "tenant", "silver");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName throttlerName = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"mythrottler\"");
+
+        Long timePeriod = (Long) mbeanServer.getAttribute(throttlerName, "TimePeriodMillis");
+        assertEquals(10000, timePeriod.longValue());
+        Long max = (Long) mbeanServer.getAttribute(throttlerName, "MaximumRequestsPerPeriod");
+        assertEquals(10, max.longValue());
+        String expression = (String) mbeanServer.getAttribute(throttlerName, "CorrelationExpression");
+        assertTrue(expression.contains("tenant"));
+        Integer maxKeys = (Integer) mbeanServer.getAttribute(throttlerName, "MaximumKeys");
+        assertEquals(100, maxKeys.intValue());
+        Integer keys = (Integer) mbeanServer.getAttribute(throttlerName, "KeyCount");
+        assertEquals(2, keys.intValue());
+
+        TabularData data = (TabularData) mbeanServer.invoke(throttlerName, "currentRates", null, null);
+        assertNotNull(data);
+        assertEquals(2, data.size());
+
+        // change the throttler using JMX
+        mbeanServer.setAttribute(throttlerName, new Attribute("MaximumRequestsPerPeriod", (long) 2));
+        template.sendBodyAndHeader("direct:start", "Bronze", "tenant", "bronze");
+        max = (Long) mbeanServer.getAttribute(throttlerName, "MaximumRequestsPerPeriod");
+        assertEquals(2, max.longValue());
+        keys = (Integer) mbeanServer.getAttribute(throttlerName, "KeyCount");
+        assertEquals(3, keys.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .throttle(10).timePeriodMillis(10000).correlationExpression(header("tenant")).maximumKeys(100).id("mythrottler")
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.apache.camel.management.mbean.Statistic;
+
+/**
+ * @version 
+ */
+public class StatisticTest extends TestCase {
+
+    public void testDelta() {
+        Statistic delta = new Statistic("delta", null, Statistic.UpdateMode.DELTA);
+        assertEquals(0, delta.getValue());
+
+        delta.updateValue(5);
+        assertEquals(5, delta.getValue());
+        delta.updateValue(8);
+        assertEquals(3, delta.getValue());
+        delta.updateValue(2);
+        assertEquals(-6, delta.getValue());
+        assertEquals(3, delta.getUpdateCount());
+
+        delta.reset();
+        assertEquals(0, delta.getValue());
+        assertEquals(0, delta.getUpdateCount());
+    }
+
+    public void testCompareAndSetFirstValue() throws Exception {
+        final Statistic first = new Statistic("first", null, Statistic.UpdateMode.VALUE);
+        final AtomicInteger winners = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final long value = i + 1;
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (first.compareAndSet(0, value)) {
+                        winners.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, winners.get());
+        assertTrue(first.getValue() > 0);
+        assertFalse(first.compareAndSet(0, 123));
+
+        first.reset();
+        assertTrue(first.compareAndSet(0, 123));
+        assertEquals(123, first.getValue());
+    }
+
+    public void testCompareAndSetNotSupportedByCounter() {
+        Statistic counter = new Statistic("counter", null, Statistic.UpdateMode.COUNTER);
+        try {
+            counter.compareAndSet(0, 1);
+            fail("Should have thrown exception");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+}
@@ -22,6 +22,8 @@ import javax.xml.bind.JAXBException;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.model.loadbalancer.CircuitBreakerLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -242,6 +244,25 @@ public class XmlParseTest extends XmlTestSupport {
         assertTrue("The loadBalancer should be RandomLoadBalancerDefinition", loadBalance.getLoadBalancerType() instanceof RandomLoadBalancerDefinition);
     }
 
+    public void testParseLeastInflightLoadBalance() throws Exception {
+        RouteDefinition route = assertOneRoute("routeWithLeastInflightLoadBalance.xml");
+        assertFrom(route, "seda:a");
+        LoadBalanceDefinition loadBalance = assertOneProcessorInstanceOf(LoadBalanceDefinition.class, route);
+        assertEquals("Here should have 3 output here", 3, loadBalance.getOutputs().size());
+        assertTrue("The loadBalancer should be LeastInflightLoadBalancerDefinition", loadBalance.getLoadBalancerType() instanceof LeastInflightLoadBalancerDefinition);
+    }
+
+    public void testParseLatencyAwareLoadBalance() throws Exception {
+        RouteDefinition route = assertOneRoute("routeWithLatencyAwareLoadBalance.xml");
+        assertFrom(route, "seda:a");
+        LoadBalanceDefinition loadBalance = assertOneProcessorInstanceOf(LoadBalanceDefinition.class, route);
+        assertEquals("Here should have 3 output here", 3, loadBalance.getOutputs().size());
+        assertTrue("The loadBalancer should be LatencyAwareLoadBalancerDefinition", loadBalance.getLoadBalancerType() instanceof LatencyAwareLoadBalancerDefinition);
+        LatencyAwareLoadBalancerDefinition strategy = (LatencyAwareLoadBalancerDefinition)loadBalance.getLoadBalancerType();
+        assertEquals("Should have smoothing factor of 0.5", 0.5, strategy.getSmoothingFactor(), 0.0);
+        assertEquals("Should have decay window of 5000L", 5000L, strategy.getDecayWindow().longValue());
+    }
+
     public void testParseTopicLoadBalance() throws Exception {
         RouteDefinition route = assertOneRoute("routeWithTopicLoadBalance.xml");
         assertFrom(route, "seda:a");
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test which measures the bytes allocated per message routed through a route with 30 steps,
+ * which is mostly the overhead of the routing engine between the steps.
+ */
+public class CamelInternalProcessorAllocationPerformanceTest extends ContextTestSupport {
+
+    private static final int STEPS = 30;
+    private final int size = 200000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        runPerformance(20000);
+
+        runPerformance(size);
+    }
+
+    private void runPerformance(int count) throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+
+        long before = allocatedBytes(bean, id);
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < count; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        long taken = watch.taken();
+        long after = allocatedBytes(bean, id);
+
+        // the allocated bytes is only available on some JVMs
+        String perMessage = before >= 0 ? "" + (after - before) / count : "n/a";
+        log.info("Routed {} messages through {} steps in {} millis, allocated {} bytes per message",
+                new Object[]{count, STEPS, taken, perMessage});
+    }
+
+    private static long allocatedBytes(ThreadMXBean bean, long id) {
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(id);
+        }
+        return -1;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                final Processor noop = new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        // noop
+                    }
+                };
+
+                RouteDefinition route = from("direct:start");
+                for (int i = 0; i < STEPS; i++) {
+                    route.process(noop);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.TestSupport;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+
+/**
+ * @version 
+ */
+public class CamelInternalProcessorTest extends TestSupport {
+
+    private final List<String> calls = new ArrayList<String>();
+
+    public void testAdvicesState() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                calls.add("process");
+            }
+        });
+        // more advices than there is fixed slots for the state
+        for (int i = 0; i < 7; i++) {
+            // every other advice has no state
+            internal.addAdvice(new MyAdvice("" + i, i % 2 == 0));
+        }
+
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        internal.process(exchange);
+
+        assertEquals("[before0, before1, before2, before3, before4, before5, before6, process, "
+                + "after6-state6, after5-null, after4-state4, after3-null, after2-state2, after1-null, after0-state0]", calls.toString());
+    }
+
+    public void testTimedAdvice() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                Thread.sleep(50);
+            }
+        });
+        internal.addAdvice(new MyAdvice("0", true));
+        MyTimedAdvice timed = new MyTimedAdvice();
+        internal.addAdvice(timed);
+
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        internal.process(exchange);
+
+        assertTrue("Should take at least 50 millis, was " + timed.elapsed, timed.elapsed >= 50000000);
+        assertEquals("[before0, after0-state0]", calls.toString());
+    }
+
+    private final class MyAdvice implements CamelInternalProcessorAdvice<String> {
+
+        private final String name;
+        private final boolean state;
+
+        private MyAdvice(String name, boolean state) {
+            this.name = name;
+            this.state = state;
+        }
+
+        @Override
+        public String before(Exchange exchange) throws Exception {
+            calls.add("before" + name);
+            return state ? "state" + name : null;
+        }
+
+        @Override
+        public void after(Exchange exchange, String data) throws Exception {
+            calls.add("after" + name + "-" + data);
+        }
+    }
+
+    private static final class MyTimedAdvice implements CamelInternalProcessorTimedAdvice<Object> {
+
+        private long elapsed = -1;
+
+        @Override
+        public Object before(Exchange exchange) throws Exception {
+            // return a state so the time is taken
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public void after(Exchange exchange, Object data) throws Exception {
+            fail("Should call the timed after");
+        }
+
+        @Override
+        public void after(Exchange exchange, Object data, long elapsed) throws Exception {
+            this.elapsed = elapsed;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.processor.loadbalancer.LatencyAwareLoadBalancer;
+
+public class LatencyAwareLoadBalanceTest extends ContextTestSupport {
+    protected MockEndpoint slow;
+    protected MockEndpoint fast;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        slow = getMockEndpoint("mock:slow");
+        fast = getMockEndpoint("mock:fast");
+    }
+
+    public void testLatencyAware() throws Exception {
+        // once the response times are known the fast processor should get the exchanges
+        fast.expectedMinimumMessageCount(40);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+        assertTrue("The slow processor should get only a few exchanges", slow.getReceivedCounter() <= 10);
+    }
+
+    public void testSlowProcessorIsTriedAgain() throws Exception {
+        // the response time of the slow processor decays while it is idle so it is tried again
+        slow.expectedMinimumMessageCount(2);
+
+        long end = System.currentTimeMillis() + 3000;
+        while (System.currentTimeMillis() < end && slow.getReceivedCounter() < 2) {
+            template.sendBody("direct:decay", "Hello World");
+            Thread.sleep(5);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testBlockingProcessorIsNotChosen() throws Exception {
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer();
+        loadBalancer.setDecayWindow(50);
+        // completes the first 5 exchanges, and then blocks by never calling back
+        MyAsyncProcessor blocking = new MyAsyncProcessor(5);
+        MyAsyncProcessor steady = new MyAsyncProcessor(Integer.MAX_VALUE);
+        loadBalancer.addProcessor(blocking);
+        loadBalancer.addProcessor(steady);
+
+        for (int i = 0; i < 1000 && blocking.received <= 5; i++) {
+            loadBalancer.process(new DefaultExchange(context), new NoopCallback());
+        }
+        assertEquals("The blocking processor should have blocked", 1, blocking.callbacks.size());
+
+        // the blocking processor is not idle, so its response time must not decay
+        Thread.sleep(200);
+
+        int before = blocking.received;
+        for (int i = 0; i < 50; i++) {
+            loadBalancer.process(new DefaultExchange(context), new NoopCallback());
+        }
+        int chosen = blocking.received - before;
+        assertTrue("The blocking processor should get only a few exchanges, was: " + chosen, chosen < 10);
+    }
+
+    private static final class NoopCallback implements AsyncCallback {
+        public void done(boolean doneSync) {
+            // noop
+        }
+    }
+
+    private static final class MyAsyncProcessor implements AsyncProcessor {
+        private final int complete;
+        private final List<AsyncCallback> callbacks = new ArrayList<AsyncCallback>();
+        private int received;
+
+        private MyAsyncProcessor(int complete) {
+            this.complete = complete;
+        }
+
+        public void process(Exchange exchange) throws Exception {
+            throw new UnsupportedOperationException("Should not be called");
+        }
+
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            if (received++ >= complete) {
+                callbacks.add(callback);
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            callback.done(true);
+            return true;
+        }
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance().latencyAware().to("direct:slow", "mock:fast");
+
+                from("direct:decay").loadBalance().latencyAware(0.3, 50).to("direct:slow", "mock:fast");
+
+                from("direct:slow").delay(50).to("mock:slow");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+public class LeastInflightLoadBalanceTest extends ContextTestSupport {
+    protected MockEndpoint x;
+    protected MockEndpoint y;
+    protected MockEndpoint z;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        x = getMockEndpoint("mock:x");
+        y = getMockEndpoint("mock:y");
+        z = getMockEndpoint("mock:z");
+    }
+
+    public void testLeastInflight() throws Exception {
+        // there are no inflight exchanges so they are chosen in round robin order
+        x.expectedBodiesReceived("A", "D");
+        y.expectedBodiesReceived("B", "E");
+        z.expectedBodiesReceived("C", "F");
+
+        for (String body : new String[]{"A", "B", "C", "D", "E", "F"}) {
+            template.sendBody("direct:start", body);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testAvoidBusyProcessor() throws Exception {
+        MockEndpoint slow = getMockEndpoint("mock:slow");
+        slow.expectedBodiesReceived("Slow");
+        MockEndpoint fast = getMockEndpoint("mock:fast");
+        fast.expectedMessageCount(10);
+
+        // the first exchange goes to the slow processor which is busy until released
+        template.asyncSendBody("direct:busy", "Slow");
+        assertTrue("The slow processor should be started", started.await(10, TimeUnit.SECONDS));
+
+        // so the fast processor should get all the other exchanges
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:busy", "Fast " + i);
+        }
+        fast.assertIsSatisfied();
+
+        release.countDown();
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance().leastInflight().to("mock:x", "mock:y", "mock:z");
+
+                from("direct:busy").loadBalance().leastInflight().to("direct:slow", "mock:fast");
+
+                from("direct:slow")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            started.countDown();
+                            release.await(10, TimeUnit.SECONDS);
+                        }
+                    })
+                    .to("mock:slow");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test which compares the load balancers when one of the destinations is much slower than the others,
+ * by sending messages concurrently and measuring the throughput and the response times seen by the clients.
+ */
+public class LoadBalancerSkewedLatencyPerformanceTest extends ContextTestSupport {
+
+    private static final String[] BALANCERS = {"roundRobin", "random", "leastInflight", "latencyAware"};
+    private final int threads = 20;
+    private final int size = 5000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        for (String balancer : BALANCERS) {
+            runPerformance(balancer, 1000);
+        }
+
+        for (String balancer : BALANCERS) {
+            runPerformance(balancer, size);
+        }
+    }
+
+    private void runPerformance(final String balancer, int count) throws Exception {
+        final int perThread = count / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            StopWatch watch = new StopWatch();
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(new Callable<long[]>() {
+                    public long[] call() throws Exception {
+                        long[] times = new long[perThread];
+                        for (int j = 0; j < perThread; j++) {
+                            long start = System.nanoTime();
+                            template.sendBody("direct:" + balancer, "Hello World");
+                            times[j] = System.nanoTime() - start;
+                        }
+                        return times;
+                    }
+                });
+            }
+
+            long[] times = new long[perThread * threads];
+            for (int i = 0; i < threads; i++) {
+                System.arraycopy((long[]) futures[i].get(), 0, times, i * perThread, perThread);
+            }
+            long taken = watch.taken();
+
+            Arrays.sort(times);
+            log.info("{} routed {} messages in {} millis, response time p50 {} micros, p99 {} micros",
+                    new Object[]{balancer, times.length, taken, percentile(times, 0.5), percentile(times, 0.99)});
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return TimeUnit.NANOSECONDS.toMicros(sorted[(int) (percentile * (sorted.length - 1))]);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:roundRobin").loadBalance().roundRobin().to("direct:slow", "direct:fast1", "direct:fast2");
+                from("direct:random").loadBalance().random().to("direct:slow", "direct:fast1", "direct:fast2");
+                from("direct:leastInflight").loadBalance().leastInflight().to("direct:slow", "direct:fast1", "direct:fast2");
+                from("direct:latencyAware").loadBalance().latencyAware().to("direct:slow", "direct:fast1", "direct:fast2");
+
+                // simulate a destination which is 10 times slower than the others
+                from("direct:slow").process(new Sleep(20));
+                from("direct:fast1").process(new Sleep(2));
+                from("direct:fast2").process(new Sleep(2));
+            }
+        };
+    }
+
+    private static final class Sleep implements Processor {
+        private final long millis;
+
+        private Sleep(long millis) {
+            this.millis = millis;
+        }
+
+        public void process(Exchange exchange) throws Exception {
+            Thread.sleep(millis);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.processor.idempotent.FileIdempotentRepository;
+import org.apache.camel.processor.idempotent.MappedFileIdempotentRepository;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @version 
+ */
+public class MappedFileIdempotentRepositoryTest extends TestSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedFileIdempotentRepositoryTest.class);
+
+    private File store = new File("target/mappedidempotent/store.dat");
+    private File index = new File("target/mappedidempotent/store.dat.idx");
+    private File bloom = new File("target/mappedidempotent/store.dat.bloom");
+    private MappedFileIdempotentRepository repo;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory("target/mappedidempotent");
+        repo = new MappedFileIdempotentRepository(store);
+        repo.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        repo.stop();
+        super.tearDown();
+    }
+
+    public void testAddContainsRemove() throws Exception {
+        assertFalse(repo.contains("foo"));
+        assertTrue(repo.add("foo"));
+        assertFalse(repo.add("foo"));
+        assertTrue(repo.contains("foo"));
+        assertTrue(repo.add(""));
+        assertTrue(repo.contains(""));
+        assertTrue(repo.add("æøå"));
+        assertTrue(repo.contains("æøå"));
+        assertEquals(3, repo.getSize());
+
+        assertTrue(repo.remove("foo"));
+        assertFalse(repo.remove("foo"));
+        assertFalse(repo.contains("foo"));
+        assertEquals(2, repo.getSize());
+
+        // can be added again
+        assertTrue(repo.add("foo"));
+        assertTrue(repo.contains("foo"));
+        assertEquals(3, repo.getSize());
+    }
+
+    public void testManyKeysAndRestart() throws Exception {
+        // more than the initial size of the index and the log
+        for (int i = 0; i < 50000; i++) {
+            assertTrue(repo.add("ID-myhost-1234-" + i));
+        }
+        assertTrue(repo.remove("ID-myhost-1234-123"));
+        assertEquals(49999, repo.getSize());
+
+        repo.stop();
+        repo = new MappedFileIdempotentRepository(store);
+        repo.start();
+
+        assertEquals(49999, repo.getSize());
+        assertFalse(repo.contains("ID-myhost-1234-123"));
+        for (int i = 0; i < 50000; i++) {
+            if (i != 123) {
+                assertTrue(repo.contains("ID-myhost-1234-" + i));
+            }
+        }
+        assertFalse(repo.contains("ID-myhost-1234-50000"));
+    }
+
+    public void testRebuildIndex() throws Exception {
+        for (int i = 0; i < 5000; i++) {
+            repo.add("key" + i);
+        }
+        repo.stop();
+
+        assertTrue(index.delete());
+
+        repo = new MappedFileIdempotentRepository(store);
+        repo.start();
+        assertTrue(index.exists());
+        assertEquals(5000, repo.getSize());
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(repo.contains("key" + i));
+        }
+    }
+
+    public void testRebuildBloomFilter() throws Exception {
+        for (int i = 0; i < 5000; i++) {
+            repo.add("key" + i);
+        }
+        repo.stop();
+        assertTrue(bloom.exists());
+
+        assertTrue(bloom.delete());
+
+        // the bloom filter is rebuilt from the index
+        repo = new MappedFileIdempotentRepository(store);
+        repo.start();
+        assertEquals(5000, repo.getSize());
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(repo.contains("key" + i));
+        }
+        assertFalse(repo.contains("key5000"));
+    }
+
+    public void testOutdatedBloomFilter() throws Exception {
+        for (int i = 0; i < 5000; i++) {
+            repo.add("key" + i);
+        }
+        repo.stop();
+        File copy = new File("target/mappedidempotent/copy.bloom");
+        FileUtil.copyFile(bloom, copy);
+
+        repo = new MappedFileIdempotentRepository(store);
+        repo.start();
+        for (int i = 5000; i < 6000; i++) {
+            repo.add("key" + i);
+        }
+        repo.remove("key1");
+        repo.stop();
+
+        // use the bloom filter from before the last keys was added, as if the repository was not stopped properly
+        FileUtil.copyFile(copy, bloom);
+
+        repo = new MappedFileIdempotentRepository(store);
+        repo.start();
+        assertEquals(5999, repo.getSize());
+        assertFalse(repo.contains("key1"));
+        for (int i = 2; i < 6000; i++) {
+            assertTrue(repo.contains("key" + i));
+        }
+    }
+
+    public void testMaxEntries() throws Exception {
+        repo.setMaxEntries(1000);
+
+        for (int i = 0; i < 1300; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+
+        // the oldest keys should be discarded when compacted, which happens when adding key1251
+        assertEquals(1049, repo.getSize());
+        assertFalse(repo.contains("key0"));
+        assertFalse(repo.contains("key250"));
+        assertTrue(repo.contains("key251"));
+        assertTrue(repo.contains("key1299"));
+
+        // and it should still be so after a restart
+        repo.stop();
+        repo = new MappedFileIdempotentRepository(store);
+        repo.setMaxEntries(1000);
+        repo.start();
+        assertEquals(1049, repo.getSize());
+        assertFalse(repo.contains("key250"));
+        assertTrue(repo.contains("key251"));
+    }
+
+    public void testCompact() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            repo.add("key" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            repo.remove("key" + i);
+        }
+        long before = repo.getFileStoreSize();
+
+        repo.compact();
+
+        assertTrue(repo.getFileStoreSize() < before);
+        assertEquals(500, repo.getSize());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, repo.contains("key" + i));
+        }
+        assertTrue(repo.add("key0"));
+        assertFalse(repo.add("key1"));
+    }
+
+    public void testClear() throws Exception {
+        repo.add("foo");
+        repo.add("bar");
+
+        repo.clear();
+
+        assertEquals(0, repo.getSize());
+        assertFalse(repo.contains("foo"));
+        assertTrue(repo.add("bar"));
+    }
+
+    public void testFileStoreInUse() throws Exception {
+        // the same file using another path
+        MappedFileIdempotentRepository other = new MappedFileIdempotentRepository(new File("target/mappedidempotent/../mappedidempotent/store.dat"));
+        try {
+            other.start();
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("is already in use"));
+        }
+
+        // can be used when the repository is stopped
+        repo.add("foo");
+        repo.stop();
+        other.start();
+        assertTrue(other.contains("foo"));
+        other.stop();
+
+        // and the other repository is no longer using the file
+        repo.start();
+        assertTrue(repo.contains("foo"));
+    }
+
+    public void testNotStarted() throws Exception {
+        repo.stop();
+        assertFalse(repo.contains("foo"));
+        try {
+            repo.add("foo");
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        int size = 1000000;
+        repo.setMaxEntries(size);
+
+        runPerformance(MemoryIdempotentRepository.memoryIdempotentRepository(size), size);
+        runPerformance(FileIdempotentRepository.fileIdempotentRepository(new File("target/mappedidempotent/file.dat"), size, Long.MAX_VALUE), size);
+        runPerformance(repo, size);
+    }
+
+    private void runPerformance(IdempotentRepository<String> repository, int count) throws Exception {
+        repository.start();
+        try {
+            StopWatch watch = new StopWatch();
+            for (int i = 0; i < count; i++) {
+                repository.add("ID-myhost-1234-1420070400000-0-" + i);
+            }
+            long add = watch.taken();
+
+            watch.restart();
+            for (int i = 0; i < count; i++) {
+                repository.contains("ID-myhost-1234-1420070400000-0-" + i);
+            }
+            long contains = watch.taken();
+
+            watch.restart();
+            for (int i = 0; i < count; i++) {
+                repository.contains("ID-otherhost-1234-1420070400000-0-" + i);
+            }
+            long missing = watch.taken();
+
+            LOG.info("{} add: {} contains: {} missing: {} millis",
+                    new Object[]{repository.getClass().getSimpleName(), add, contains, missing});
+        } finally {
+            repository.stop();
+        }
+    }
+
+}
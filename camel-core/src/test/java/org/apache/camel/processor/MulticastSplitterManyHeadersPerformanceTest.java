@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test of the Multicast and Splitter EIPs fanning out messages with many headers,
+ * where each copy of the message shares the headers until the copy changes them.
+ */
+public class MulticastSplitterManyHeadersPerformanceTest extends ContextTestSupport {
+
+    private final int size = 100000;
+    private final Map<String, Object> headers = new HashMap<String, Object>();
+    private final List<String> body = new ArrayList<String>();
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            headers.put("JMSHeader" + i, "Value" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            body.add("Line " + i);
+        }
+
+        // warm up
+        runPerformance("direct:multicast", 1000);
+        runPerformance("direct:split", 1000);
+
+        log.info("Multicast took " + runPerformance("direct:multicast", size) + " millis for " + size + " messages");
+        log.info("Splitter took " + runPerformance("direct:split", size) + " millis for " + size + " messages");
+    }
+
+    private long runPerformance(String uri, int messages) throws Exception {
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < messages; i++) {
+            template.sendBodyAndHeaders(uri, body, headers);
+        }
+        return watch.taken();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:multicast")
+                    .multicast().to("log:a?level=OFF", "log:b?level=OFF", "log:c?level=OFF", "log:d?level=OFF", "log:e?level=OFF",
+                        "log:f?level=OFF", "log:g?level=OFF", "log:h?level=OFF", "log:i?level=OFF", "log:j?level=OFF");
+
+                from("direct:split")
+                    .split(body()).to("log:split?level=OFF");
+            }
+        };
+    }
+}
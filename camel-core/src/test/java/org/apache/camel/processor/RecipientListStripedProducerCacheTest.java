@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class RecipientListStripedProducerCacheTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getProperties().put(Exchange.STRIPED_PRODUCER_CACHE, "true");
+        return context;
+    }
+
+    public void testStripedProducerCache() throws Exception {
+        MockEndpoint x = getMockEndpoint("mock:x");
+        MockEndpoint y = getMockEndpoint("mock:y");
+        MockEndpoint z = getMockEndpoint("mock:z");
+
+        x.expectedBodiesReceived("foo", "bar");
+        y.expectedBodiesReceived("foo", "bar");
+        z.expectedBodiesReceived("foo", "bar");
+
+        sendBody("foo", "mock:x,mock:y,mock:z");
+        sendBody("bar", "mock:x,mock:y,mock:z");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStripedProducerCacheConcurrent() throws Exception {
+        MockEndpoint x = getMockEndpoint("mock:x");
+        MockEndpoint y = getMockEndpoint("mock:y");
+        x.expectedMessageCount(100);
+        y.expectedMessageCount(50);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            executor.submit(new Runnable() {
+                public void run() {
+                    sendBody("Hello " + index, index % 2 == 0 ? "mock:x,mock:y" : "mock:x,seda:foo");
+                }
+            });
+        }
+
+        assertMockEndpointsSatisfied();
+        executor.shutdownNow();
+    }
+
+    protected void sendBody(String body, String recipients) {
+        template.sendBodyAndHeader("direct:a", body, "recipientListHeader", recipients);
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:a").recipientList(header("recipientListHeader").tokenize(","));
+            }
+        };
+    }
+
+}
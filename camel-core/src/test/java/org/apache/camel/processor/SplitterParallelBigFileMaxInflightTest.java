@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+
+/**
+ * Manual test which splits a big file using streaming and parallel processing, with and without
+ * a limit on the number of in-flight messages, and reports the time taken and peak memory used.
+ *
+ * @version 
+ */
+public class SplitterParallelBigFileMaxInflightTest extends ContextTestSupport {
+
+    private int lines = 500000;
+    private volatile long peakMemory;
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/split");
+        createDirectory("target/split");
+        createBigFile();
+        super.setUp();
+    }
+
+    private void createBigFile() throws Exception {
+        File file = new File("target/split/bigfile.txt");
+        FileOutputStream fos = new FileOutputStream(file);
+        for (int i = 0; i < lines; i++) {
+            String line = "line-" + i + LS;
+            fos.write(line.getBytes());
+        }
+        IOHelper.close(fos);
+    }
+
+    public void testNoop() {
+        // noop
+    }
+
+    // disabled due manual test
+    public void xxxtestSplitParallelBigFileMaxInflight() throws Exception {
+        runSplit("direct:unbounded");
+        runSplit("direct:bounded");
+    }
+
+    private void runSplit(String uri) throws Exception {
+        System.gc();
+        peakMemory = 0;
+        StopWatch watch = new StopWatch();
+
+        NotifyBuilder builder = new NotifyBuilder(context).from(uri).whenDone(1).create();
+        template.sendBody(uri, new File("target/split/bigfile.txt"));
+        boolean done = builder.matches(5, TimeUnit.MINUTES);
+
+        log.info("Splitting using {} took {} with peak memory {} MB",
+                new Object[]{uri, TimeUtils.printDuration(watch.stop()), peakMemory / 1024 / 1024});
+
+        if (!done) {
+            throw new CamelException("Could not split file in 5 minutes");
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:unbounded")
+                    .split(body().tokenize(LS)).streaming().parallelProcessing()
+                        .to("direct:slow")
+                    .end();
+
+                from("direct:bounded")
+                    .split(body().tokenize(LS)).streaming().parallelProcessing().maxInflight(100)
+                        .to("direct:slow")
+                    .end();
+
+                from("direct:slow")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            Runtime runtime = Runtime.getRuntime();
+                            long used = runtime.totalMemory() - runtime.freeMemory();
+                            if (used > peakMemory) {
+                                peakMemory = used;
+                            }
+                        }
+                    })
+                    .to("log:split?groupSize=10000");
+            }
+        };
+    }
+
+}
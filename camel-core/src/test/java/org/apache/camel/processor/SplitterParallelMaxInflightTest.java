@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int MAX_INFLIGHT = 5;
+
+    private final AtomicInteger read = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger maxReadAhead = new AtomicInteger();
+    private ExecutorService service;
+
+    protected void setUp() throws Exception {
+        // use a pool with more threads than the max in-flight so the pool does not limit the tasks
+        service = Executors.newFixedThreadPool(20);
+        super.setUp();
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        service.shutdownNow();
+    }
+
+    public void testSplitMaxInflight() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:split");
+        mock.expectedMessageCount(50);
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", 50);
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(50, read.get());
+        assertTrue("Should not read more than " + MAX_INFLIGHT + " ahead, was " + maxReadAhead.get(), maxReadAhead.get() <= MAX_INFLIGHT);
+    }
+
+    public void testSplitMaxInflightStopOnException() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(0);
+
+        try {
+            template.sendBody("direct:stop", 50);
+            fail("Should thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertEquals("Forced", e.getCause().getCause().getMessage());
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // should stop reading the iterator when the splitter failed
+        assertTrue("Should not read all the messages, was " + read.get(), read.get() < 50);
+    }
+
+    public void testSplitUnorderedAggregation() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:unordered", "Slow,B,C,D");
+
+        assertMockEndpointsSatisfied();
+
+        // the slow message is aggregated last as the replies are aggregated as they complete
+        List<?> bodies = mock.getReceivedExchanges().get(0).getIn().getBody(List.class);
+        assertEquals(4, bodies.size());
+        assertEquals("Slow", bodies.get(3));
+    }
+
+    public Iterator<Integer> counter(final int size) {
+        return new Iterator<Integer>() {
+            public boolean hasNext() {
+                return read.get() < size;
+            }
+
+            public Integer next() {
+                return read.incrementAndGet();
+            }
+
+            public void remove() {
+                // noop
+            }
+        };
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split().method(SplitterParallelMaxInflightTest.this, "counter")
+                        .streaming().parallelProcessing().executorService(service).maxInflight(MAX_INFLIGHT)
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                Thread.sleep(10);
+                                // the tasks are only aggregated after they are completed
+                                int ahead = read.get() - completed.get();
+                                if (ahead > maxReadAhead.get()) {
+                                    maxReadAhead.set(ahead);
+                                }
+                                completed.incrementAndGet();
+                            }
+                        })
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:stop")
+                    .split().method(SplitterParallelMaxInflightTest.this, "counter")
+                        .streaming().parallelProcessing().executorService(service).maxInflight(MAX_INFLIGHT).stopOnException()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                if (exchange.getIn().getBody(Integer.class) == 3) {
+                                    throw new IllegalArgumentException("Forced");
+                                }
+                                Thread.sleep(10);
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+
+                from("direct:unordered")
+                    .split(body().tokenize(",")).aggregationStrategy(new BodyListAggregationStrategy())
+                        .parallelProcessing().executorService(service).unorderedAggregation()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                if ("Slow".equals(exchange.getIn().getBody(String.class))) {
+                                    Thread.sleep(500);
+                                }
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private static final class BodyListAggregationStrategy implements AggregationStrategy {
+
+        @SuppressWarnings("unchecked")
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                List<Object> list = new ArrayList<Object>();
+                list.add(newExchange.getIn().getBody());
+                newExchange.getIn().setBody(list);
+                return newExchange;
+            }
+            oldExchange.getIn().getBody(List.class).add(newExchange.getIn().getBody());
+            return oldExchange;
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class StreamResequencerGroupTest extends ContextTestSupport {
+
+    public void testResequencePerGroup() throws Exception {
+        MockEndpoint a = getMockEndpoint("mock:a");
+        a.expectedBodiesReceived("a1", "a2", "a3");
+        MockEndpoint b = getMockEndpoint("mock:b");
+        b.expectedBodiesReceived("b1", "b2", "b3");
+
+        sendBody("a", "a3", 3L);
+        sendBody("b", "b2", 2L);
+        sendBody("a", "a1", 1L);
+        sendBody("b", "b3", 3L);
+        sendBody("a", "a2", 2L);
+        sendBody("b", "b1", 1L);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private void sendBody(String group, String body, long seqnum) {
+        Map<String, Object> headers = new HashMap<String, Object>();
+        headers.put("group", group);
+        headers.put("seqnum", seqnum);
+        template.sendBodyAndHeaders("direct:start", body, headers);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .resequence(header("seqnum")).stream().timeout(500).groupExpression(header("group"))
+                    .choice()
+                        .when(header("group").isEqualTo("a")).to("mock:a")
+                        .otherwise().to("mock:b");
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class TokenBucketThrottlerTest extends ContextTestSupport {
+    private static final int INTERVAL = 500;
+
+    public void testThrottledDoesNotBlockCaller() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(5);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:b", "Message " + i);
+        }
+        resultEndpoint.assertIsSatisfied();
+
+        // the bucket is full at first, and then one message per interval
+        long delta = System.currentTimeMillis() - start + 200;
+        long minimumTime = 3 * INTERVAL;
+        assertTrue("Should take at least " + minimumTime + "ms, was: " + delta, delta >= minimumTime);
+    }
+
+    public void testThrottlePerKey() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(9);
+
+        long start = System.currentTimeMillis();
+        for (String tenant : new String[]{"A", "B", "C"}) {
+            for (int i = 1; i <= 3; i++) {
+                template.sendBodyAndHeader("seda:c", tenant + i, "tenant", tenant);
+            }
+        }
+
+        resultEndpoint.assertIsSatisfied();
+
+        // each tenant has its own bucket, so only the third message for each tenant is delayed
+        long delta = System.currentTimeMillis() - start;
+        assertTrue("Should take at least " + INTERVAL + "ms, was: " + delta, delta >= INTERVAL - 100);
+        assertTrue("Should take less than " + (3 * INTERVAL) + "ms, was: " + delta, delta < 3 * INTERVAL);
+    }
+
+    public void testRejectExecution() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(2);
+
+        int rejected = 0;
+        for (int i = 0; i < 5; i++) {
+            try {
+                template.sendBody("direct:reject", "Message " + i);
+            } catch (Exception e) {
+                assertIsInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+                rejected++;
+            }
+        }
+
+        resultEndpoint.assertIsSatisfied();
+        assertEquals(3, rejected);
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("seda:b?concurrentConsumers=5").throttle(2).timePeriodMillis(2 * INTERVAL).tokenBucket().to("mock:result");
+
+                from("seda:c?concurrentConsumers=5")
+                    .throttle(2).timePeriodMillis(2 * INTERVAL).correlationExpression(header("tenant"))
+                    .to("mock:result");
+
+                from("direct:reject").throttle(2).timePeriodMillis(10000).tokenBucket().rejectExecution(true).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+
+/**
+ * Unit test for the aggregator using a hashed timing wheel to trigger completion timeouts.
+ *
+ * @version 
+ */
+public class AggregateHashedWheelTimeoutTest extends ContextTestSupport {
+
+    public void testAggregateHashedWheelTimeout() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceivedInAnyOrder("A+B", "C", "D+E+F");
+        result.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "timeout");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        template.sendBodyAndHeader("direct:start", "B", "id", 1);
+        template.sendBodyAndHeader("direct:start", "C", "id", 2);
+        template.sendBodyAndHeader("direct:start", "D", "id", 3);
+        template.sendBodyAndHeader("direct:start", "E", "id", 3);
+        template.sendBodyAndHeader("direct:start", "F", "id", 3);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testAggregateHashedWheelTimeoutCompletedBySize() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("A+B+C+D", "E");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        template.sendBodyAndHeader("direct:start", "B", "id", 1);
+        template.sendBodyAndHeader("direct:start", "C", "id", 1);
+        template.sendBodyAndHeader("direct:start", "D", "id", 1);
+        // the first group was completed by size, so this starts a new group which completes by timeout
+        template.sendBodyAndHeader("direct:start", "E", "id", 1);
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals("size", result.getReceivedExchanges().get(0).getProperty(Exchange.AGGREGATED_COMPLETED_BY));
+        assertEquals("timeout", result.getReceivedExchanges().get(1).getProperty(Exchange.AGGREGATED_COMPLETED_BY));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy())
+                        .completionSize(4).completionTimeout(500).hashedWheelTimeoutMap()
+                        .to("mock:result");
+            }
+        };
+    }
+}
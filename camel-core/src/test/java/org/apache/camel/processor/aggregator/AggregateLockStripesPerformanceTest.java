@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+import org.apache.camel.processor.aggregate.MemoryAggregationRepository;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Performance test which compares the throughput of the aggregator using a single shared lock
+ * versus using striped locks, with an increasing number of concurrent threads.
+ */
+public class AggregateLockStripesPerformanceTest extends ContextTestSupport {
+
+    private final int keys = 1000;
+    private final int size = 200000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        for (int threads = 1; threads <= 32; threads = threads * 2) {
+            long shared = runPerformance("direct:shared", threads);
+            long striped = runPerformance("direct:striped", threads);
+            log.info("Threads: " + threads + " shared lock: " + (size * 1000L / Math.max(1, shared)) + " msg/sec"
+                    + ", striped locks: " + (size * 1000L / Math.max(1, striped)) + " msg/sec");
+        }
+    }
+
+    private long runPerformance(final String uri, int threads) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(size);
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < threads; i++) {
+            final int offset = i;
+            final int threadSize = size / threads;
+            executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < threadSize; j++) {
+                        template.sendBodyAndHeader(uri, "Hello", "id", (offset * threadSize + j) % keys);
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+
+        assertTrue("Should all work", latch.await(5, TimeUnit.MINUTES));
+        long taken = watch.taken();
+
+        executorService.shutdownNow();
+        return taken;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:shared")
+                    .aggregate(header("id"), new CountingAggregationStrategy()).completionSize(100)
+                        .aggregationRepository(new MemoryAggregationRepository())
+                        .to("log:shared?level=OFF&groupSize=1000");
+
+                from("direct:striped")
+                    .aggregate(header("id"), new CountingAggregationStrategy()).completionSize(100).lockStripes(64)
+                        .aggregationRepository(new MemoryAggregationRepository())
+                        .to("log:striped?level=OFF&groupSize=1000");
+            }
+        };
+    }
+
+    private static final class CountingAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            // simulate some work being done during aggregation
+            String body = newExchange.getIn().getBody(String.class);
+            int hash = 0;
+            for (int i = 0; i < 200; i++) {
+                hash = 31 * hash + body.hashCode() + i;
+            }
+            newExchange.getIn().setHeader("hash", hash);
+
+            if (oldExchange == null) {
+                newExchange.getIn().setBody(1);
+                return newExchange;
+            }
+            int count = oldExchange.getIn().getBody(Integer.class);
+            oldExchange.getIn().setBody(count + 1);
+            return oldExchange;
+        }
+    }
+}
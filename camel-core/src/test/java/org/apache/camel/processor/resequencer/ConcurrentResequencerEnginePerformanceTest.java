@@ -0,0 +1,208 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performance test which compares the throughput and the reordering latency of {@link ResequencerEngine}
+ * and {@link ConcurrentResequencerEngine} for a stream where 10% of the elements are out of order.
+ */
+public class ConcurrentResequencerEnginePerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentResequencerEnginePerformanceTest.class);
+
+    private final int size = 1000000;
+    private final int groups = 16;
+    private final int outOfOrderPercentage = 10;
+    private final long timeout = 100;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        runSingle(createInput(10000, 1));
+        runConcurrent(createInput(10000, groups));
+
+        runSingle(createInput(size, 1));
+        runConcurrent(createInput(size, groups));
+    }
+
+    private void runSingle(Sample[] input) throws Exception {
+        LatencySender sender = new LatencySender(input.length);
+        ResequencerEngine<Sample> engine = new ResequencerEngine<Sample>(new SampleComparator());
+        engine.setSequenceSender(sender);
+        engine.setTimeout(timeout);
+        engine.start();
+        // so the first element does not wait for the timeout
+        engine.setLastDelivered(new Sample(0, -1));
+
+        StopWatch watch = new StopWatch();
+        for (Sample sample : input) {
+            sample.inserted = System.nanoTime();
+            synchronized (engine) {
+                engine.insert(sample);
+                engine.deliver();
+            }
+        }
+        // deliver the elements which are still waiting for the timeout
+        while (!sender.await(10)) {
+            synchronized (engine) {
+                engine.deliver();
+            }
+        }
+        engine.stop();
+
+        log("ResequencerEngine", input.length, watch.taken(), sender);
+    }
+
+    private void runConcurrent(Sample[] input) throws Exception {
+        LatencySender sender = new LatencySender(input.length);
+        ScheduledExecutorService executorService = Executors.newScheduledThreadPool(4);
+        ConcurrentResequencerEngine<Sample> engine = new ConcurrentResequencerEngine<Sample>(new SampleComparator());
+        engine.setSequenceSender(sender);
+        engine.setExecutorService(executorService);
+        engine.setTimeout(timeout);
+        engine.start();
+        for (int i = 0; i < groups; i++) {
+            engine.setLastDelivered(i, new Sample(i, -1));
+        }
+
+        StopWatch watch = new StopWatch();
+        for (Sample sample : input) {
+            sample.inserted = System.nanoTime();
+            engine.insert(sample.group, sample);
+        }
+        sender.await(60000);
+        engine.stop();
+        executorService.shutdownNow();
+
+        log("ConcurrentResequencerEngine", input.length, watch.taken(), sender);
+    }
+
+    private void log(String name, int count, long taken, LatencySender sender) {
+        if (count == size) {
+            LOG.info("{} delivered: {} in {} millis ({} msg/sec) latency avg: {} max: {} micros",
+                new Object[]{name, sender.delivered(), taken, count * 1000L / Math.max(1, taken),
+                    sender.averageLatencyMicros(), sender.maxLatencyMicros()});
+        }
+        assertEquals(count, sender.delivered());
+    }
+
+    /**
+     * Creates the input where each group has its own sequence, and the given percentage of the elements
+     * are swapped with the next element of the same group.
+     */
+    private Sample[] createInput(int count, int groupCount) {
+        Sample[] answer = new Sample[count];
+        for (int i = 0; i < count; i++) {
+            answer[i] = new Sample(i % groupCount, i / groupCount);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i + groupCount < count; i++) {
+            if (random.nextInt(100) < outOfOrderPercentage) {
+                Sample tmp = answer[i];
+                answer[i] = answer[i + groupCount];
+                answer[i + groupCount] = tmp;
+                // do not swap the same element again
+                i++;
+            }
+        }
+        return answer;
+    }
+
+    private static final class Sample {
+        private final int group;
+        private final int seq;
+        private long inserted;
+
+        private Sample(int group, int seq) {
+            this.group = group;
+            this.seq = seq;
+        }
+    }
+
+    private static final class SampleComparator implements SequenceElementComparator<Sample> {
+
+        public boolean predecessor(Sample o1, Sample o2) {
+            return o2.seq - o1.seq == 1;
+        }
+
+        public boolean successor(Sample o1, Sample o2) {
+            return o1.seq - o2.seq == 1;
+        }
+
+        public boolean isValid(Sample o1) {
+            return true;
+        }
+
+        public int compare(Sample o1, Sample o2) {
+            return o1.seq < o2.seq ? -1 : (o1.seq == o2.seq ? 0 : 1);
+        }
+    }
+
+    private static final class LatencySender implements SequenceSender<Sample> {
+        private final CountDownLatch latch;
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        private LatencySender(int count) {
+            this.latch = new CountDownLatch(count);
+        }
+
+        public void sendElement(Sample o) throws Exception {
+            long latency = System.nanoTime() - o.inserted;
+            totalLatency.addAndGet(latency);
+            long max = maxLatency.get();
+            while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+                max = maxLatency.get();
+            }
+            delivered.incrementAndGet();
+            latch.countDown();
+        }
+
+        boolean await(long millis) throws InterruptedException {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        long delivered() {
+            return delivered.get();
+        }
+
+        long averageLatencyMicros() {
+            return totalLatency.get() / Math.max(1, delivered.get()) / 1000;
+        }
+
+        long maxLatencyMicros() {
+            return maxLatency.get() / 1000;
+        }
+    }
+
+}
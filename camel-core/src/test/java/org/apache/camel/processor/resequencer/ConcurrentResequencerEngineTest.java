@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.TestSupport;
+
+public class ConcurrentResequencerEngineTest extends TestSupport {
+
+    private ScheduledExecutorService executorService;
+    private ConcurrentResequencerEngine<Integer> resequencer;
+    private SequenceBuffer<Integer> buffer;
+
+    public void setUp() throws Exception {
+        executorService = Executors.newScheduledThreadPool(4);
+    }
+
+    public void tearDown() throws Exception {
+        if (resequencer != null) {
+            resequencer.stop();
+        }
+        executorService.shutdownNow();
+    }
+
+    public void testTimeout1() throws Exception {
+        initResequencer(500);
+        resequencer.insert(null, 4);
+        assertNull(buffer.poll(250));
+        assertEquals((Integer)4, buffer.take());
+        assertEquals((Integer)4, resequencer.getLastDelivered(null));
+        assertEquals(0, resequencer.size());
+    }
+
+    public void testTimeout2() throws Exception {
+        initResequencer(500);
+        resequencer.setLastDelivered(null, 2);
+        resequencer.insert(null, 4);
+        assertNull(buffer.poll(250));
+        assertEquals((Integer)4, buffer.take());
+        assertEquals((Integer)4, resequencer.getLastDelivered(null));
+    }
+
+    public void testTimeout3() throws Exception {
+        initResequencer(500);
+        resequencer.setLastDelivered(null, 3);
+        resequencer.insert(null, 4);
+        assertEquals((Integer)4, buffer.poll(250));
+        assertEquals((Integer)4, resequencer.getLastDelivered(null));
+    }
+
+    public void testTimeout4() throws Exception {
+        initResequencer(500);
+        resequencer.setLastDelivered(null, 2);
+        resequencer.insert(null, 4);
+        resequencer.insert(null, 3);
+        assertEquals((Integer)3, buffer.poll(250));
+        assertEquals((Integer)4, buffer.poll(250));
+        assertEquals((Integer)4, resequencer.getLastDelivered(null));
+    }
+
+    public void testGroupsAreIndependent() throws Exception {
+        initResequencer(500);
+        resequencer.setLastDelivered("a", 1);
+        resequencer.setLastDelivered("b", 1);
+
+        // b is waiting for 2, which should not hold back a
+        resequencer.insert("b", 3);
+        resequencer.insert("a", 3);
+        resequencer.insert("a", 2);
+        assertEquals((Integer)2, buffer.poll(250));
+        assertEquals((Integer)3, buffer.poll(250));
+        assertEquals(1, resequencer.size());
+
+        resequencer.insert("b", 2);
+        assertEquals((Integer)2, buffer.poll(250));
+        assertEquals((Integer)3, buffer.poll(250));
+        assertEquals((Integer)3, resequencer.getLastDelivered("a"));
+        assertEquals((Integer)3, resequencer.getLastDelivered("b"));
+        assertEquals(2, resequencer.getGroupCount());
+        assertEquals(0, resequencer.size());
+    }
+
+    public void testRejectOld() throws Exception {
+        initResequencer(500);
+        resequencer.setRejectOld(true);
+        resequencer.setLastDelivered("a", 5);
+        try {
+            resequencer.insert("a", 3);
+            fail("Should have thrown exception");
+        } catch (MessageRejectedException e) {
+            // expected
+        }
+
+        // other groups are not affected
+        resequencer.setLastDelivered("b", 2);
+        resequencer.insert("b", 3);
+        assertEquals((Integer)3, buffer.poll(250));
+    }
+
+    public void testPartitionIdleTimeout() throws Exception {
+        buffer = new SequenceBuffer<Integer>();
+        resequencer = new ConcurrentResequencerEngine<Integer>(new IntegerComparator());
+        resequencer.setSequenceSender(buffer);
+        resequencer.setExecutorService(executorService);
+        resequencer.setTimeout(100);
+        resequencer.setPartitionIdleTimeout(100);
+        resequencer.start();
+
+        resequencer.insert("a", 1);
+        assertEquals((Integer)1, buffer.poll(1000));
+        assertEquals(1, resequencer.getGroupCount());
+
+        // the empty group is removed after being idle
+        Thread.sleep(500);
+        assertEquals(0, resequencer.getGroupCount());
+
+        resequencer.insert("a", 2);
+        assertEquals((Integer)2, buffer.poll(1000));
+    }
+
+    public void testReverse() throws Exception {
+        initResequencer(100);
+        for (int i = 99; i >= 0; i--) {
+            resequencer.insert(i % 4, i);
+        }
+        int[] last = new int[]{-1, -1, -1, -1};
+        for (int i = 0; i < 100; i++) {
+            Integer next = buffer.poll(2000);
+            assertNotNull(next);
+            int group = next % 4;
+            assertTrue("Out of order " + next + " after " + last[group], next > last[group]);
+            last[group] = next;
+        }
+    }
+
+    private void initResequencer(long timeout) {
+        buffer = new SequenceBuffer<Integer>();
+        resequencer = new ConcurrentResequencerEngine<Integer>(new IntegerComparator());
+        resequencer.setSequenceSender(buffer);
+        resequencer.setExecutorService(executorService);
+        resequencer.setTimeout(timeout);
+        resequencer.start();
+    }
+
+}
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @version 
+ */
+public class HashedWheelTimeoutMapTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimeoutMapTest.class);
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    public void testHashedWheelTimeoutMapPurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testHashedWheelTimeoutMapGetRemove() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+
+        assertNull(map.put("A", 123, 50));
+        assertEquals(Integer.valueOf(123), map.putIfAbsent("A", 456, 50));
+        assertEquals(1, map.size());
+
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertEquals(null, map.get("A"));
+        assertEquals(0, map.size());
+
+        map.put("B", 1, 50);
+        map.put("C", 2, 50);
+        assertEquals(2, map.getKeys().length);
+
+        map.stop();
+    }
+
+    public void testRemovedNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 50);
+        map.remove("A");
+        // put again with a longer timeout which must not be evicted by the old entry
+        map.put("B", 3, 5000);
+
+        Thread.sleep(250);
+        map.purge();
+
+        assertTrue(keys.isEmpty());
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(3), map.get("B"));
+
+        map.stop();
+    }
+
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+        final List<Integer> values = new ArrayList<Integer>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                values.add(value);
+                return true;
+            }
+        };
+        map.start();
+        assertEquals(0, map.size());
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 800);
+
+        // wait until the scheduler has purged
+        for (int i = 0; i < 50 && map.size() > 1; i++) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(5, keys.size());
+        assertEquals("D", keys.get(0));
+        assertEquals(4, values.get(0).intValue());
+        assertEquals("B", keys.get(1));
+        assertEquals(2, values.get(1).intValue());
+        assertEquals("A", keys.get(4));
+        assertEquals(1, values.get(4).intValue());
+
+        assertEquals(1, map.size());
+
+        map.stop();
+    }
+
+    public void testExpiredNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                // do not evict special key
+                if ("gold".equals(key)) {
+                    return false;
+                }
+                keys.add(key);
+                return true;
+            }
+        };
+        map.start();
+
+        map.put("A", 1, 90);
+        map.put("gold", 9, 100);
+
+        Thread.sleep(500);
+        map.purge();
+
+        assertEquals(1, keys.size());
+        assertEquals("A", keys.get(0));
+
+        // and keep the gold in the map
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(9), map.get("gold"));
+
+        map.stop();
+    }
+
+    public void testTimeoutLongerThanWheel() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        // the wheel only covers 4 x 20 millis
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 20, 4) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        assertEquals(4, map.getWheelSize());
+        map.start();
+
+        map.put("A", 1, 300);
+
+        Thread.sleep(150);
+        assertTrue(keys.isEmpty());
+        assertEquals(1, map.size());
+
+        for (int i = 0; i < 50 && map.size() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, keys.size());
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testGetExtendsTimeout() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 20);
+        map.start();
+
+        map.put("A", 1, 200);
+
+        // keep accessing the entry so it does not time out
+        for (int i = 0; i < 8; i++) {
+            Thread.sleep(50);
+            assertEquals(Integer.valueOf(1), map.get("A"));
+        }
+        assertEquals(1, map.size());
+
+        for (int i = 0; i < 50 && map.size() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testPutSameKeyIsBounded() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 20);
+        map.start();
+
+        // such as the aggregator which puts the correlation key for every message
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i == 0 ? null : Integer.valueOf(i - 1), map.put("A", i, 200));
+        }
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(9999), map.get("A"));
+        assertTrue("Should only schedule the key once but was " + map.getScheduledSize(), map.getScheduledSize() <= 1);
+
+        // keep putting the entry so it does not time out
+        for (int i = 0; i < 8; i++) {
+            Thread.sleep(50);
+            map.put("A", i, 200);
+        }
+        assertEquals(1, map.size());
+        assertTrue("Should only schedule the key once but was " + map.getScheduledSize(), map.getScheduledSize() <= 1);
+
+        // a shorter timeout adds the entry again
+        map.put("A", 1, 50);
+        assertTrue(map.getScheduledSize() <= 2);
+
+        for (int i = 0; i < 50 && map.size() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testHashedWheelTimeoutMapStopStart() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+        map.put("A", 1, 500);
+
+        assertEquals(1, map.size());
+        map.stop();
+
+        assertEquals(0, map.size());
+        map.put("A", 1, 50);
+
+        // should not timeout as the scheduler doesn't run
+        Thread.sleep(250);
+        assertEquals(1, map.size());
+
+        // start and wait for scheduler to purge
+        map.start();
+        Thread.sleep(250);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+        // now it should be gone
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+}
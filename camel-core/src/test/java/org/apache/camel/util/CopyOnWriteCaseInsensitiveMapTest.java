@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class CopyOnWriteCaseInsensitiveMapTest extends TestCase {
+
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CopyOnWriteCaseInsensitiveMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("FoO"));
+    }
+
+    public void testSharedUntilWrite() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        CopyOnWriteCaseInsensitiveMap copy = new CopyOnWriteCaseInsensitiveMap(map);
+        assertTrue(map.isShared());
+        assertTrue(copy.isShared());
+        assertEquals("cheese", copy.get("FOO"));
+        assertEquals(2, copy.size());
+
+        // changing the copy should not affect the original
+        copy.put("Foo", "cake");
+        assertFalse(copy.isShared());
+        assertEquals("cake", copy.get("foo"));
+        assertEquals("cheese", map.get("foo"));
+        assertEquals(2, copy.size());
+
+        // and changing the original should not affect the copy
+        map.remove("BAR");
+        assertFalse(map.isShared());
+        assertNull(map.get("bar"));
+        assertEquals("beer", copy.get("bar"));
+    }
+
+    public void testSharedRemoveUnknownKey() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        CopyOnWriteCaseInsensitiveMap copy = new CopyOnWriteCaseInsensitiveMap(map);
+        assertNull(copy.remove("unknown"));
+        assertTrue(copy.isShared());
+    }
+
+    public void testSharedClear() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        CopyOnWriteCaseInsensitiveMap copy = new CopyOnWriteCaseInsensitiveMap(map);
+        copy.clear();
+        assertTrue(copy.isEmpty());
+        assertEquals("cheese", map.get("foo"));
+    }
+
+    public void testSharedIteratorRemove() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        CopyOnWriteCaseInsensitiveMap copy = new CopyOnWriteCaseInsensitiveMap(map);
+        Iterator<String> it = copy.keySet().iterator();
+        while (it.hasNext()) {
+            if ("bar".equals(it.next())) {
+                it.remove();
+            }
+        }
+
+        assertEquals(1, copy.size());
+        assertNull(copy.get("bar"));
+        assertEquals(2, map.size());
+        assertEquals("beer", map.get("BAR"));
+    }
+
+    public void testSharedEntrySetValue() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        CopyOnWriteCaseInsensitiveMap copy = new CopyOnWriteCaseInsensitiveMap(map);
+        for (Map.Entry<String, Object> entry : copy.entrySet()) {
+            entry.setValue("cake");
+        }
+
+        assertEquals("cake", copy.get("foo"));
+        assertEquals("cheese", map.get("foo"));
+    }
+
+    public void testEqualsAndPutAllFromOtherMap() {
+        Map<String, Object> other = new HashMap<String, Object>();
+        other.put("foo", "cheese");
+        other.put("bar", "beer");
+
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap(other);
+        assertFalse(map.isShared());
+        assertEquals(other, map);
+        assertEquals(other.hashCode(), map.hashCode());
+        assertEquals("beer", map.get("BAR"));
+    }
+
+    public void testSerialization() throws Exception {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        CopyOnWriteCaseInsensitiveMap copy = new CopyOnWriteCaseInsensitiveMap(map);
+
+        ByteArrayOutputStream bStream = new ByteArrayOutputStream();
+        ObjectOutputStream objStream = new ObjectOutputStream(bStream);
+        objStream.writeObject(copy);
+
+        ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(bStream.toByteArray()));
+        CopyOnWriteCaseInsensitiveMap result = (CopyOnWriteCaseInsensitiveMap) inStream.readObject();
+        assertEquals("cheese", result.get("FOO"));
+
+        // changing the de-serialized map should not affect the original
+        result.put("foo", "cake");
+        assertEquals("cheese", map.get("foo"));
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.component.file.FileEndpoint;
+import org.apache.camel.component.seda.SedaEndpoint;
+
+/**
+ * Tests that the endpoint options are set and get the same way, whether or not a property configurer
+ * has been generated for the endpoint.
+ */
+public class IntrospectionSupportConfigurerTest extends ContextTestSupport {
+
+    public void testGetProperties() throws Exception {
+        assertSameProperties(context.getEndpoint("seda:foo?size=100&concurrentConsumers=2"));
+        assertSameProperties(context.getEndpoint("log:foo?level=DEBUG&showAll=true"));
+        assertSameProperties(context.getEndpoint("timer:foo?period=500&delay=-1"));
+        assertSameProperties(context.getEndpoint("file:target/foo?delay=5000&charset=UTF-8"));
+    }
+
+    public void testGetPropertiesWithPrefix() throws Exception {
+        Endpoint endpoint = context.getEndpoint("seda:foo?size=100");
+
+        Map<String, Object> properties = new HashMap<String, Object>();
+        assertTrue(IntrospectionSupport.getProperties(endpoint, properties, "seda.", false));
+        assertEquals(100, properties.get("seda.size"));
+        assertFalse(properties.containsKey("size"));
+        for (Object value : properties.values()) {
+            assertNotNull(value);
+        }
+    }
+
+    public void testSetProperties() throws Exception {
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo", SedaEndpoint.class);
+
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put("size", "1000");
+        properties.put("BlockWhenFull", "true");
+        properties.put("concurrentConsumers", 4);
+        properties.put("unknown", "bar");
+        IntrospectionSupport.setProperties(context.getTypeConverter(), endpoint, properties);
+
+        assertEquals(1000, endpoint.getSize());
+        assertTrue(endpoint.isBlockWhenFull());
+        assertEquals(4, endpoint.getConcurrentConsumers());
+        // the unknown option is left in the map
+        assertEquals(1, properties.size());
+        assertEquals("bar", properties.get("unknown"));
+    }
+
+    public void testSetPropertyInvalidValue() throws Exception {
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo", SedaEndpoint.class);
+
+        try {
+            IntrospectionSupport.setProperty(context.getTypeConverter(), endpoint, "size", "abc");
+            fail("Should have thrown exception");
+        } catch (TypeConversionException e) {
+            assertEquals("abc", e.getValue());
+            assertEquals(int.class, e.getToType());
+        }
+    }
+
+    public void testSetPropertySetterThrowsException() throws Exception {
+        FileEndpoint endpoint = context.getEndpoint("file:target/foo", FileEndpoint.class);
+
+        // the exception thrown by the setter should not be translated into a no suitable setter exception
+        try {
+            IntrospectionSupport.setProperty(context.getTypeConverter(), endpoint, "bufferSize", "0");
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("BufferSize must be a positive value, was 0", e.getMessage());
+        }
+    }
+
+    public void testSetPropertyNullOnPrimitive() throws Exception {
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo", SedaEndpoint.class);
+
+        try {
+            IntrospectionSupport.setProperty(context.getTypeConverter(), endpoint, "size", null);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Could not find a suitable setter for property: size"));
+        }
+    }
+
+    private static void assertSameProperties(Endpoint endpoint) throws Exception {
+        Map<String, Object> properties = new HashMap<String, Object>();
+        IntrospectionSupport.getProperties(endpoint, properties, null);
+
+        // gather the properties using reflection
+        Map<String, Object> expected = new HashMap<String, Object>();
+        for (IntrospectionSupport.MethodInfo info : IntrospectionSupport.cacheClass(endpoint.getClass()).methods) {
+            if (info.isGetter && info.hasGetterAndSetter) {
+                try {
+                    expected.put(info.getterOrSetterShorthandName, info.method.invoke(endpoint));
+                } catch (Exception e) {
+                    // ignore
+                }
+            }
+        }
+
+        assertEquals("Properties of " + endpoint, expected.keySet(), properties.keySet());
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertEquals("Property " + entry.getKey() + " of " + endpoint, entry.getValue(), properties.get(entry.getKey()));
+        }
+    }
+}
@@ -103,6 +103,8 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Blu
     @XmlAttribute(required = false)
     private String runtimeEndpointRegistryEnabled;
     @XmlAttribute(required = false)
+    private String inflightBrowseEnabled;
+    @XmlAttribute(required = false)
     private String managementNamePattern;
     @XmlAttribute(required = false)
     private String threadNamePattern;
@@ -361,6 +363,14 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Blu
         this.runtimeEndpointRegistryEnabled = runtimeEndpointRegistryEnabled;
     }
 
+    public String getInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
+    }
+
+    public void setInflightBrowseEnabled(String inflightBrowseEnabled) {
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+    }
+
     public String getManagementNamePattern() {
         return managementNamePattern;
     }
@@ -443,6 +443,11 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             if (loadStatisticsEnabled != null) {
                 getContext().getManagementStrategy().setLoadStatisticsEnabled(loadStatisticsEnabled);
             }
+
+            Boolean latencyHistogramEnabled = CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getLatencyHistogramEnabled());
+            if (latencyHistogramEnabled != null) {
+                getContext().getManagementStrategy().setLatencyHistogramEnabled(latencyHistogramEnabled);
+            }
         }
     }
 
@@ -477,6 +482,14 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (spoolChiper != null) {
             getContext().getStreamCachingStrategy().setSpoolChiper(spoolChiper);
         }
+        Boolean spoolMemoryMapped = CamelContextHelper.parseBoolean(getContext(), streamCaching.getSpoolMemoryMapped());
+        if (spoolMemoryMapped != null) {
+            getContext().getStreamCachingStrategy().setSpoolMemoryMapped(spoolMemoryMapped);
+        }
+        Long bufferPoolSize = CamelContextHelper.parseLong(getContext(), streamCaching.getBufferPoolSize());
+        if (bufferPoolSize != null) {
+            getContext().getStreamCachingStrategy().setBufferPoolSize(bufferPoolSize);
+        }
         Boolean remove = CamelContextHelper.parseBoolean(getContext(), streamCaching.getRemoveSpoolDirectoryWhenStopping());
         if (remove != null) {
             getContext().getStreamCachingStrategy().setRemoveSpoolDirectoryWhenStopping(remove);
@@ -649,6 +662,8 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
 
     public abstract String getRuntimeEndpointRegistryEnabled();
 
+    public abstract String getInflightBrowseEnabled();
+
     public abstract String getManagementNamePattern();
 
     public abstract String getThreadNamePattern();
@@ -730,6 +745,9 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (getRuntimeEndpointRegistryEnabled() != null) {
             ctx.getRuntimeEndpointRegistry().setEnabled(CamelContextHelper.parseBoolean(getContext(), getRuntimeEndpointRegistryEnabled()));
         }
+        if (getInflightBrowseEnabled() != null) {
+            ctx.getInflightRepository().setInflightBrowseEnabled(CamelContextHelper.parseBoolean(getContext(), getInflightBrowseEnabled()));
+        }
         if (getManagementNamePattern() != null) {
             ctx.getManagementNameStrategy().setNamePattern(getManagementNamePattern());
         }
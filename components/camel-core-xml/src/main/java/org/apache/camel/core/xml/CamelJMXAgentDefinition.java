@@ -111,6 +111,12 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
     @XmlAttribute
     private String loadStatisticsEnabled;
 
+    /**
+     * A flag that indicates whether to record processing times in a latency histogram for percentiles
+     */
+    @XmlAttribute
+    private String latencyHistogramEnabled;
+
     /**
      * A flag that indicates whether to include hostname in JMX MBean names.
      */
@@ -227,6 +233,14 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
         this.loadStatisticsEnabled = loadStatisticsEnabled;
     }
 
+    public String getLatencyHistogramEnabled() {
+        return latencyHistogramEnabled;
+    }
+
+    public void setLatencyHistogramEnabled(String latencyHistogramEnabled) {
+        this.latencyHistogramEnabled = latencyHistogramEnabled;
+    }
+
     public String getIncludeHostName() {
         return includeHostName;
     }
@@ -272,6 +286,9 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
         if (loadStatisticsEnabled != null) {
             sb.append(", loadStatisticsEnabled=").append(loadStatisticsEnabled);
         }
+        if (latencyHistogramEnabled != null) {
+            sb.append(", latencyHistogramEnabled=").append(latencyHistogramEnabled);
+        }
         if (onlyRegisterProcessorWithCustomId != null) {
             sb.append(", onlyRegisterProcessorWithCustomId=").append(onlyRegisterProcessorWithCustomId);
         }
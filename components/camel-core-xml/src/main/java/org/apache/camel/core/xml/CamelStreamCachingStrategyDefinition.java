@@ -56,6 +56,12 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     @XmlAttribute
     private String bufferSize;
 
+    @XmlAttribute
+    private String bufferPoolSize;
+
+    @XmlAttribute
+    private String spoolMemoryMapped;
+
     @XmlAttribute
     private String removeSpoolDirectoryWhenStopping;
 
@@ -129,6 +135,22 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.bufferSize = bufferSize;
     }
 
+    public String getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    public void setBufferPoolSize(String bufferPoolSize) {
+        this.bufferPoolSize = bufferPoolSize;
+    }
+
+    public String getSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    public void setSpoolMemoryMapped(String spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
     public String getRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
     }
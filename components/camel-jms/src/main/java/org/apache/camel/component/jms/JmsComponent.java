@@ -358,6 +358,10 @@ public class JmsComponent extends UriEndpointComponent implements ApplicationCon
         getConfiguration().setRequestTimeoutCheckerInterval(requestTimeoutCheckerInterval);
     }
 
+    public void setRequestTimeoutHashedWheel(boolean requestTimeoutHashedWheel) {
+        getConfiguration().setRequestTimeoutHashedWheel(requestTimeoutHashedWheel);
+    }
+
     public void setTransferExchange(boolean transferExchange) {
         getConfiguration().setTransferExchange(transferExchange);
     }
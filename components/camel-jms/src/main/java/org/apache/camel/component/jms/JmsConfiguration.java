@@ -110,6 +110,8 @@ public class JmsConfiguration implements Cloneable {
     private long requestTimeout = 20000L;
     @UriParam(defaultValue = "1000")
     private long requestTimeoutCheckerInterval = 1000L;
+    @UriParam(defaultValue = "false")
+    private boolean requestTimeoutHashedWheel;
     @UriParam(defaultValue = "1")
     private int idleTaskExecutionLimit = 1;
     @UriParam(defaultValue = "1")
@@ -1213,6 +1215,19 @@ public class JmsConfiguration implements Cloneable {
         this.requestTimeoutCheckerInterval = requestTimeoutCheckerInterval;
     }
 
+    public boolean isRequestTimeoutHashedWheel() {
+        return requestTimeoutHashedWheel;
+    }
+
+    /**
+     * Sets whether the request timeout checker should use a hashed timing wheel, so it only visits the
+     * requests which are due to time out, instead of scanning all the pending requests on each run.
+     * This scales better when there are many pending requests.
+     */
+    public void setRequestTimeoutHashedWheel(boolean requestTimeoutHashedWheel) {
+        this.requestTimeoutHashedWheel = requestTimeoutHashedWheel;
+    }
+
     public String getReplyTo() {
         return replyToDestination;
     }
@@ -18,21 +18,50 @@ package org.apache.camel.component.jms.reply;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.apache.camel.TimeoutMap;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A {@link org.apache.camel.TimeoutMap} which is used to track reply messages which
  * has been timed out, and thus should trigger the waiting {@link org.apache.camel.Exchange} to
  * timeout as well.
+ * <p/>
+ * The timeouts are tracked by a {@link DefaultTimeoutMap}, or optionally by a {@link HashedWheelTimeoutMap},
+ * so the timeout checker only visits the correlation ids which are due to time out, instead of scanning all of them.
  *
  * @version 
  */
-public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
+public class CorrelationTimeoutMap extends ServiceSupport implements TimeoutMap<String, ReplyHandler> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CorrelationTimeoutMap.class);
+    private final TimeoutMap<String, ReplyHandler> delegate;
     private CorrelationListener listener;
 
     public CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
-        super(executor, requestMapPollTimeMillis);
+        this(executor, requestMapPollTimeMillis, false);
+    }
+
+    public CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean hashedWheel) {
+        if (hashedWheel) {
+            delegate = new HashedWheelTimeoutMap<String, ReplyHandler>(executor, requestMapPollTimeMillis) {
+                @Override
+                public boolean onEviction(String key, ReplyHandler value) {
+                    return CorrelationTimeoutMap.this.onEviction(key, value);
+                }
+            };
+        } else {
+            delegate = new DefaultTimeoutMap<String, ReplyHandler>(executor, requestMapPollTimeMillis) {
+                @Override
+                public boolean onEviction(String key, ReplyHandler value) {
+                    return CorrelationTimeoutMap.this.onEviction(key, value);
+                }
+            };
+        }
     }
 
     public void setListener(CorrelationListener listener) {
@@ -54,22 +83,20 @@ public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandle
             value.onTimeout(key);
         } catch (Throwable e) {
             // must ignore so we ensure we evict the element
-            log.warn("Error processing onTimeout for correlationID: " + key + " due: " + e.getMessage() + ". This exception is ignored.", e);
+            LOG.warn("Error processing onTimeout for correlationID: " + key + " due: " + e.getMessage() + ". This exception is ignored.", e);
         }
 
         // return true to remove the element
-        log.trace("Evicted correlationID: {}", key);
+        LOG.trace("Evicted correlationID: {}", key);
         return true;
     }
 
-    @Override
     public ReplyHandler get(String key) {
-        ReplyHandler answer = super.get(key);
-        log.trace("Get correlationID: {} -> {}", key, answer != null);
+        ReplyHandler answer = delegate.get(key);
+        LOG.trace("Get correlationID: {} -> {}", key, answer != null);
         return answer;
     }
 
-    @Override
     public ReplyHandler put(String key, ReplyHandler value, long timeoutMillis) {
         try {
             if (listener != null) {
@@ -82,15 +109,14 @@ public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandle
         ReplyHandler result;
         if (timeoutMillis <= 0) {
             // no timeout (must use Integer.MAX_VALUE)
-            result = super.put(key, value, Integer.MAX_VALUE);
+            result = delegate.put(key, value, Integer.MAX_VALUE);
         } else {
-            result = super.put(key, value, timeoutMillis);
+            result = delegate.put(key, value, timeoutMillis);
         }
-        log.trace("Added correlationID: {} to timeout after: {} millis", key, timeoutMillis);
+        LOG.trace("Added correlationID: {} to timeout after: {} millis", key, timeoutMillis);
         return result;
     }
 
-    @Override
     public ReplyHandler putIfAbsent(String key, ReplyHandler value, long timeoutMillis) {
         try {
             if (listener != null) {
@@ -103,19 +129,18 @@ public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandle
         ReplyHandler result;
         if (timeoutMillis <= 0) {
             // no timeout (must use Integer.MAX_VALUE)
-            result = super.putIfAbsent(key, value, Integer.MAX_VALUE);
+            result = delegate.putIfAbsent(key, value, Integer.MAX_VALUE);
         } else {
-            result = super.putIfAbsent(key, value, timeoutMillis);
+            result = delegate.putIfAbsent(key, value, timeoutMillis);
         }
         if (result == null) {
-            log.trace("Added correlationID: {} to timeout after: {} millis", key, timeoutMillis);
+            LOG.trace("Added correlationID: {} to timeout after: {} millis", key, timeoutMillis);
         } else {
-            log.trace("Duplicate correlationID: {} detected", key);
+            LOG.trace("Duplicate correlationID: {} detected", key);
         }
         return result;
     }
 
-    @Override
     public ReplyHandler remove(String key) {
         try {
             if (listener != null) {
@@ -125,9 +150,36 @@ public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandle
             // ignore
         }
 
-        ReplyHandler answer = super.remove(key);
-        log.trace("Removed correlationID: {} -> {}", key, answer != null);
+        ReplyHandler answer = delegate.remove(key);
+        LOG.trace("Removed correlationID: {} -> {}", key, answer != null);
         return answer;
     }
 
+    public Object[] getKeys() {
+        return delegate.getKeys();
+    }
+
+    public int size() {
+        return delegate.size();
+    }
+
+    public void purge() {
+        delegate.purge();
+    }
+
+    public void run() {
+        delegate.run();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // the delegate schedules its own purge task
+        ServiceHelper.startService(delegate);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(delegate);
+    }
+
 }
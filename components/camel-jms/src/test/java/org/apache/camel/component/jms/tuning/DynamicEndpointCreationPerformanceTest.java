@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.tuning;
+
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.jms.CamelJmsTestHelper;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.apache.camel.util.StopWatch;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Performance test which measures how many jms endpoints can be created per second, such as when a recipient list
+ * sends to queues with a dynamic name, where all the endpoints are configured with options.
+ */
+@Ignore("Manual test")
+public class DynamicEndpointCreationPerformanceTest extends CamelTestSupport {
+
+    private final int size = 50000;
+
+    @Test
+    public void testPerformance() throws Exception {
+        // warm up
+        runPerformance(5000);
+
+        runPerformance(size);
+    }
+
+    private void runPerformance(int count) throws Exception {
+        String options = "?concurrentConsumers=2&maxConcurrentConsumers=5&deliveryPersistent=false&timeToLive=5000"
+                + "&replyToType=Exclusive&requestTimeout=30000&transacted=false&disableReplyTo=true";
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < count; i++) {
+            context.getEndpoint("activemq:queue:dynamic" + count + "-" + i + options);
+        }
+        long taken = watch.taken();
+        log.info("Created {} jms endpoints in {} millis ({} per second)",
+                new Object[]{count, taken, taken > 0 ? count * 1000L / taken : "n/a"});
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+
+        return camelContext;
+    }
+
+}
@@ -82,6 +82,10 @@ public class Mina2Configuration implements Cloneable {
     private boolean orderedThreadPoolExecutor = true;
     @UriParam(defaultValue = "true")
     private boolean cachedAddress = true;
+    @UriParam(defaultValue = "false")
+    private boolean zeroCopy;
+    @UriParam(defaultValue = "10000")
+    private long zeroCopyTimeout = 10000;
 
     /**
      * Returns a copy of this configuration
@@ -301,6 +305,31 @@ public class Mina2Configuration implements Cloneable {
         return cachedAddress;
     }
 
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
+    /**
+     * Whether the producer should send local files using zero-copy, which transfers the file content from the
+     * file system to the socket without reading it into memory. This only applies to TCP without SSL, textline,
+     * transferExchange or custom filters, and other bodies are sent as usual.
+     */
+    public void setZeroCopy(boolean zeroCopy) {
+        this.zeroCopy = zeroCopy;
+    }
+
+    public long getZeroCopyTimeout() {
+        return zeroCopyTimeout;
+    }
+
+    /**
+     * The time in millis a zero-copy transfer of a file may make no progress, before the producer fails.
+     * The transfer of a large file may take longer in total.
+     */
+    public void setZeroCopyTimeout(long zeroCopyTimeout) {
+        this.zeroCopyTimeout = zeroCopyTimeout;
+    }
+
     // here we just shows the option setting of host, port, protocol 
     public String getUriString() {
         return "mina2:" + getProtocol() + ":" + getHost() + ":" + getPort();
@@ -16,8 +16,13 @@
  */
 package org.apache.camel.component.mina2;
 
+import java.io.Closeable;
+
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.util.IOHelper;
+import org.apache.mina.core.file.FileRegion;
+import org.apache.mina.core.future.IoFutureListener;
 import org.apache.mina.core.future.WriteFuture;
 import org.apache.mina.core.session.IoSession;
 import org.slf4j.Logger;
@@ -59,4 +64,48 @@ public final class Mina2Helper {
             }
         }
     }
+
+    /**
+     * Asynchronously writes the given file region to MINA session, and closes the file when the write is done.
+     * Will wait until the file region has been written, unless the write makes no progress within the timeout.
+     *
+     * @param session  the MINA session
+     * @param region   the file region to write (send)
+     * @param file     the file of the region, which is closed when the write is done
+     * @param timeout  the time in millis the write may make no progress
+     * @param exchange the exchange
+     * @throws CamelExchangeException is thrown if the file region could not be written for some reasons
+     *                                (eg remote connection is closed etc.)
+     */
+    public static void writeFileRegion(IoSession session, FileRegion region, final Closeable file, long timeout, Exchange exchange)
+        throws CamelExchangeException {
+        WriteFuture future;
+        try {
+            future = session.write(region);
+        } catch (RuntimeException e) {
+            IOHelper.close(file, "file", LOG);
+            throw e;
+        }
+        // the file must not be closed before MINA is done with the file region, which may be after we gave up waiting
+        future.addListener(new IoFutureListener<WriteFuture>() {
+            public void operationComplete(WriteFuture future) {
+                IOHelper.close(file, "file", LOG);
+            }
+        });
+
+        LOG.trace("Waiting for write to complete for file region: {} using session: {}", region, session);
+        long written = -1;
+        while (!future.awaitUninterruptibly(timeout)) {
+            // a large file may take longer than the timeout, so only give up if no bytes has been written meanwhile
+            if (region.getWrittenBytes() == written) {
+                throw new CamelExchangeException("Cannot write file region: " + region.getFilename() + " using session: " + session
+                        + " as no bytes has been written within " + timeout + " millis", exchange);
+            }
+            written = region.getWrittenBytes();
+        }
+        if (future.getException() != null) {
+            throw new CamelExchangeException("Cannot write file region: " + region.getFilename() + " using session: " + session,
+                    exchange, future.getException());
+        }
+    }
 }
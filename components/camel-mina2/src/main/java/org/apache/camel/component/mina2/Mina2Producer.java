@@ -16,8 +16,10 @@
  */
 package org.apache.camel.component.mina2;
 
+import java.io.File;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -28,10 +30,13 @@ import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangeTimedOutException;
 import org.apache.camel.ServicePoolAware;
+import org.apache.camel.component.file.FileChannelBody;
+import org.apache.camel.component.file.GenericFile;
 import org.apache.camel.converter.IOConverter;
 import org.apache.camel.impl.DefaultProducer;
 import org.apache.camel.util.CamelLogger;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.mina.core.file.DefaultFileRegion;
 import org.apache.mina.core.filterchain.DefaultIoFilterChainBuilder;
 import org.apache.mina.core.filterchain.IoFilter;
 import org.apache.mina.core.future.CloseFuture;
@@ -136,9 +141,17 @@ public class Mina2Producer extends DefaultProducer implements ServicePoolAware {
             return; // exit early since nothing to write
         }
 
+        FileChannel fileChannel = null;
         // if textline enabled then covert to a String which must be used for textline
         if (getEndpoint().getConfiguration().isTextline()) {
             body = getEndpoint().getCamelContext().getTypeConverter().mandatoryConvertTo(String.class, exchange, body);
+        } else if (getEndpoint().getConfiguration().isZeroCopy()) {
+            FileChannelBody file = getZeroCopyBody(exchange, body);
+            if (file != null) {
+                LOG.trace("Sending file using zero-copy: {}", file);
+                fileChannel = file.openChannel();
+                body = new DefaultFileRegion(fileChannel, 0, file.getLength());
+            }
         }
 
         // if sync is true then we should also wait for a response (synchronous mode)
@@ -160,7 +173,12 @@ public class Mina2Producer extends DefaultProducer implements ServicePoolAware {
             LOG.debug("Writing body: {}", out);
         }
         // write the body
-        Mina2Helper.writeBody(session, body, exchange);
+        if (fileChannel != null) {
+            // the file region does not close the file channel, so it is closed when the file region has been written
+            Mina2Helper.writeFileRegion(session, (DefaultFileRegion) body, fileChannel, getEndpoint().getConfiguration().getZeroCopyTimeout(), exchange);
+        } else {
+            Mina2Helper.writeBody(session, body, exchange);
+        }
 
         if (sync) {
             // wait for response, consider timeout
@@ -188,6 +206,25 @@ public class Mina2Producer extends DefaultProducer implements ServicePoolAware {
         }
     }
 
+    /**
+     * Gets the body as a {@link FileChannelBody} to send it using zero-copy if the body is a local file,
+     * or <tt>null</tt> if the body should be sent as usual.
+     * <p/>
+     * Whether zero-copy was used is stored as the {@link Exchange#FILE_ZERO_COPY} property on the exchange.
+     */
+    protected FileChannelBody getZeroCopyBody(Exchange exchange, Object body) {
+        Mina2Configuration configuration = getEndpoint().getConfiguration();
+        FileChannelBody answer = null;
+        // the file region bypasses the codec, so it cannot be used with ssl, custom filters or the exchange holder
+        boolean plain = "tcp".equals(configuration.getProtocol()) && configuration.getSslContextParameters() == null
+                && !configuration.isTransferExchange() && (configuration.getFilters() == null || configuration.getFilters().isEmpty());
+        if (plain && (body instanceof GenericFile || body instanceof File || body instanceof FileChannelBody)) {
+            answer = exchange.getContext().getTypeConverter().convertTo(FileChannelBody.class, exchange, body);
+        }
+        exchange.setProperty(Exchange.FILE_ZERO_COPY, answer != null);
+        return answer;
+    }
+
     protected void maybeDisconnectOnDone(Exchange exchange) {
         if (session == null) {
             return;
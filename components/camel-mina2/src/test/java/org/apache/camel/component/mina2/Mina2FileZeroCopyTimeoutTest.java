@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.mina2;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.junit.Test;
+
+/**
+ * Tests that a zero-copy transfer of a file may take longer than the timeout, as long as it makes progress.
+ *
+ * @version 
+ */
+public class Mina2FileZeroCopyTimeoutTest extends BaseMina2Test {
+
+    private static final long SIZE = 16 * 1024 * 1024;
+
+    @Test
+    public void testZeroCopyToSlowReceiver() throws Exception {
+        final File file = new File("target/zerocopy/large.dat");
+        file.getParentFile().mkdirs();
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(SIZE);
+        } finally {
+            raf.close();
+        }
+
+        final ServerSocket server = new ServerSocket();
+        server.setReceiveBufferSize(8192);
+        server.bind(new InetSocketAddress("localhost", getPort()));
+        ExecutorService executor = context.getExecutorServiceManager().newSingleThreadExecutor(this, "SlowReceiver");
+        try {
+            // the receiver reads slowly, so the transfer takes longer than the timeout
+            Future<Long> received = executor.submit(new Callable<Long>() {
+                public Long call() throws Exception {
+                    Socket socket = server.accept();
+                    try {
+                        InputStream is = socket.getInputStream();
+                        byte[] buffer = new byte[8192];
+                        long total = 0;
+                        int len;
+                        while (total < SIZE && (len = is.read(buffer)) != -1) {
+                            // pause for every 256kb read
+                            if ((total + len) / (256 * 1024) > total / (256 * 1024)) {
+                                Thread.sleep(20);
+                            }
+                            total += len;
+                        }
+                        return total;
+                    } finally {
+                        socket.close();
+                    }
+                }
+            });
+
+            long start = System.currentTimeMillis();
+            String uri = String.format("mina2:tcp://localhost:%1$s?sync=false&allowDefaultCodec=false&zeroCopy=true&zeroCopyTimeout=500", getPort());
+            Exchange out = template.send(uri, new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                    exchange.getIn().setBody(file);
+                }
+            });
+            long taken = System.currentTimeMillis() - start;
+
+            assertNull(out.getException());
+            assertEquals(Boolean.TRUE, out.getProperty(Exchange.FILE_ZERO_COPY));
+            assertTrue("The transfer should take longer than the timeout, was " + taken + " millis", taken > 500);
+            assertEquals(SIZE, received.get(30, TimeUnit.SECONDS).longValue());
+        } finally {
+            context.getExecutorServiceManager().shutdownNow(executor);
+            server.close();
+        }
+    }
+
+}
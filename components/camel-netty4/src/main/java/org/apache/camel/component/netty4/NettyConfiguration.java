@@ -92,6 +92,8 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
     private boolean producerPoolEnabled = true;
     @UriParam(defaultValue = "false")
     private boolean udpConnectionlessSending;
+    @UriParam(defaultValue = "false")
+    private boolean zeroCopy;
 
     /**
      * Returns a copy of this configuration
@@ -482,6 +484,19 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
         this.udpConnectionlessSending = udpConnectionlessSending;
     }
 
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
+    /**
+     * Whether the producer should send local files using zero-copy, which transfers the file content from the
+     * file system to the socket without reading it into memory. This only applies to TCP without SSL, textline
+     * or transferExchange, and other bodies are sent as usual.
+     */
+    public void setZeroCopy(boolean zeroCopy) {
+        this.zeroCopy = zeroCopy;
+    }
+
     private static <T> void addToHandlersList(List<T> configured, List<T> handlers, Class<T> handlerType) {
         if (handlers != null) {
             for (T handler : handlers) {
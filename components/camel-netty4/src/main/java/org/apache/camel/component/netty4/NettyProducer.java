@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.netty4;
 
+import java.io.File;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.util.Map;
@@ -29,6 +30,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
@@ -42,6 +44,8 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.CamelException;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.component.file.FileChannelBody;
+import org.apache.camel.component.file.GenericFile;
 import org.apache.camel.impl.DefaultAsyncProducer;
 import org.apache.camel.util.CamelLogger;
 import org.apache.camel.util.ExchangeHelper;
@@ -199,6 +203,7 @@ public class NettyProducer extends DefaultAsyncProducer {
                 LOG.trace("Got channel from pool {}", existing);
             }
         } catch (Exception e) {
+            releaseZeroCopyBody(body);
             exchange.setException(e);
             callback.done(true);
             return true;
@@ -206,6 +211,7 @@ public class NettyProducer extends DefaultAsyncProducer {
 
         // we must have a channel
         if (existing == null) {
+            releaseZeroCopyBody(body);
             exchange.setException(new CamelExchangeException("Cannot get channel from pool", exchange));
             callback.done(true);
             return true;
@@ -284,11 +290,45 @@ public class NettyProducer extends DefaultAsyncProducer {
         // if textline enabled then covert to a String which must be used for textline
         if (getConfiguration().isTextline()) {
             body = NettyHelper.getTextlineBody(body, exchange, getConfiguration().getDelimiter(), getConfiguration().isAutoAppendDelimiter());
+        } else if (getConfiguration().isZeroCopy()) {
+            body = getZeroCopyBody(exchange, body);
         }
 
         return body;
     }
 
+    /**
+     * Gets a {@link DefaultFileRegion} to send the body using zero-copy if the body is a local file,
+     * otherwise the body is returned as-is.
+     * <p/>
+     * Whether zero-copy was used is stored as the {@link Exchange#FILE_ZERO_COPY} property on the exchange.
+     */
+    protected Object getZeroCopyBody(Exchange exchange, Object body) throws Exception {
+        FileChannelBody file = null;
+        // the file region is written as-is to the socket, so it cannot be used with ssl or the exchange holder
+        if (isTcp() && !configuration.isSsl() && configuration.getSslHandler() == null && configuration.getSslContextParameters() == null
+                && !configuration.isTransferExchange()
+                && (body instanceof GenericFile || body instanceof File || body instanceof FileChannelBody)) {
+            file = exchange.getContext().getTypeConverter().convertTo(FileChannelBody.class, exchange, body);
+        }
+
+        exchange.setProperty(Exchange.FILE_ZERO_COPY, file != null);
+        if (file == null) {
+            return body;
+        }
+
+        LOG.trace("Sending file using zero-copy: {}", file);
+        // the file region closes the file channel when it has been written and released
+        return new DefaultFileRegion(file.openChannel(), 0, file.getLength());
+    }
+
+    private static void releaseZeroCopyBody(Object body) {
+        // the file region was not written, so release it to close its file channel
+        if (body instanceof DefaultFileRegion) {
+            ((DefaultFileRegion) body).release();
+        }
+    }
+
     /**
      * To get the {@link NettyCamelState} from the given channel.
      */
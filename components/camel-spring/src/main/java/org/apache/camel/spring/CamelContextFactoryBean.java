@@ -114,6 +114,8 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Spr
     @XmlAttribute(required = false)
     private String runtimeEndpointRegistryEnabled;
     @XmlAttribute(required = false)
+    private String inflightBrowseEnabled;
+    @XmlAttribute(required = false)
     private String managementNamePattern;
     @XmlAttribute(required = false)
     private String threadNamePattern;
@@ -614,6 +616,14 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Spr
         this.runtimeEndpointRegistryEnabled = runtimeEndpointRegistryEnabled;
     }
 
+    public String getInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
+    }
+
+    public void setInflightBrowseEnabled(String inflightBrowseEnabled) {
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+    }
+
     public String getManagementNamePattern() {
         return managementNamePattern;
     }
@@ -0,0 +1,440 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import static org.apache.camel.tools.apt.IOHelper.loadText;
+
+/**
+ * Processes all Camel <tt>@Converter</tt> classes and generate a type converter loader for each class, which
+ * registers and invokes the converter methods without reflection, and an index file listing the generated loaders.
+ * <p/>
+ * Only the classes from the packages listed in the <tt>META-INF/services/org/apache/camel/TypeConverter</tt> file
+ * are processed, as those are the classes which would otherwise be found by classpath scanning at runtime.
+ */
+@SupportedAnnotationTypes({"org.apache.camel.Converter", "org.apache.camel.FallbackConverter"})
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class ConverterAnnotationProcessor extends AbstractAnnotationProcessor {
+
+    private static final String CONVERTER = "org.apache.camel.Converter";
+    private static final String FALLBACK_CONVERTER = "org.apache.camel.FallbackConverter";
+    private static final String EXCHANGE = "org.apache.camel.Exchange";
+    private static final String TYPE_CONVERTER_REGISTRY = "org.apache.camel.spi.TypeConverterRegistry";
+
+    private static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    private static final String META_INF_LOADERS = "META-INF/services/org/apache/camel/TypeConverterLoader";
+    private static final String META_INF_CORE_LOADERS = "META-INF/services/org/apache/camel/CoreTypeConverterLoader";
+    // the dummy package which camel-core lists in its META_INF_SERVICES file
+    private static final String CORE_PACKAGE = "org.apache.camel.core";
+
+    private final Set<String> loaders = new TreeSet<String>();
+    private List<String> packageNames;
+    private boolean core;
+
+    public boolean process(Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!loaders.isEmpty()) {
+                writeIndex();
+            }
+            return true;
+        }
+
+        Elements elementUtils = processingEnv.getElementUtils();
+        TypeElement converter = elementUtils.getTypeElement(CONVERTER);
+        if (converter == null) {
+            return true;
+        }
+        if (packageNames == null) {
+            packageNames = findPackageNames();
+        }
+        if (packageNames.isEmpty()) {
+            // the type converters are not discovered by classpath scanning so there is nothing to index
+            return true;
+        }
+
+        Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(converter);
+        for (Element element : elements) {
+            if (element.getKind() == ElementKind.CLASS) {
+                TypeElement classElement = (TypeElement) element;
+                if (isScanned(classElement)) {
+                    processConverterClass(classElement);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the package names from the <tt>META-INF/services/org/apache/camel/TypeConverter</tt> file.
+     */
+    protected List<String> findPackageNames() {
+        List<String> answer = new ArrayList<String>();
+        String text = null;
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", META_INF_SERVICES);
+            InputStream is = resource.openInputStream();
+            try {
+                text = loadText(is, true);
+            } finally {
+                IOHelper.close(is);
+            }
+        } catch (IOException e) {
+            // no such file so the type converters are not discovered by classpath scanning
+        } catch (IllegalArgumentException e) {
+            // ignore
+        }
+        if (text != null) {
+            for (String line : text.split("\n")) {
+                for (String name : line.split(",")) {
+                    name = name.trim();
+                    if (CORE_PACKAGE.equals(name)) {
+                        // camel-core has a hardcoded list of the type converter classes, so index all of them
+                        core = true;
+                        answer.add("");
+                    } else if (name.length() > 0) {
+                        answer.add(name);
+                    }
+                }
+            }
+        }
+        return answer;
+    }
+
+    protected boolean isScanned(TypeElement classElement) {
+        String name = classElement.getQualifiedName().toString();
+        for (String packageName : packageNames) {
+            if (packageName.length() == 0 || name.equals(packageName) || name.startsWith(packageName + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void processConverterClass(TypeElement classElement) {
+        Elements elementUtils = processingEnv.getElementUtils();
+        Types typeUtils = processingEnv.getTypeUtils();
+
+        if (classElement.getModifiers().contains(Modifier.PRIVATE)) {
+            warning("Ignoring converter type: " + classElement.getQualifiedName() + " as a private class cannot be used by the generated type converter loader");
+            return;
+        }
+        boolean canInstantiate = !classElement.getModifiers().contains(Modifier.ABSTRACT)
+                && (classElement.getNestingKind().isNested() ? classElement.getModifiers().contains(Modifier.STATIC) : true);
+
+        List<ConverterMethod> methods = new ArrayList<ConverterMethod>();
+        List<ExecutableElement> visited = new ArrayList<ExecutableElement>();
+        TypeElement type = classElement;
+        while (type != null && !"java.lang.Object".equals(type.getQualifiedName().toString())) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                boolean overridden = false;
+                for (ExecutableElement other : visited) {
+                    if (elementUtils.overrides(other, method, classElement) || elementUtils.hides(other, method)) {
+                        overridden = true;
+                        break;
+                    }
+                }
+                visited.add(method);
+                if (overridden) {
+                    continue;
+                }
+
+                AnnotationMirror annotation = findConverterAnnotation(method, CONVERTER);
+                AnnotationMirror fallbackAnnotation = annotation == null ? findConverterAnnotation(method, FALLBACK_CONVERTER) : null;
+                if (annotation == null && fallbackAnnotation == null) {
+                    continue;
+                }
+                ConverterMethod converter = new ConverterMethod(method, fallbackAnnotation != null);
+                if (annotation != null) {
+                    converter.allowNull = getBooleanValue(annotation, CONVERTER, "allowNull");
+                } else {
+                    converter.allowNull = getBooleanValue(fallbackAnnotation, FALLBACK_CONVERTER, "allowNull");
+                    converter.canPromote = getBooleanValue(fallbackAnnotation, FALLBACK_CONVERTER, "canPromote");
+                }
+
+                String kind = converter.fallback ? "fallback converter" : "converter";
+                Set<Modifier> modifiers = method.getModifiers();
+                if (converter.fallback ? !isValidFallbackConverterMethod(method) : !isValidConverterMethod(method)) {
+                    warning("Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                            + " as a " + kind + " method has invalid parameters");
+                } else if (modifiers.contains(Modifier.ABSTRACT) || !modifiers.contains(Modifier.PUBLIC)) {
+                    warning("Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                            + " as a " + kind + " method is not a public and concrete method");
+                } else if (method.getReturnType().getKind() == TypeKind.VOID) {
+                    warning("Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                            + " as a " + kind + " method returns a void method");
+                } else if (!modifiers.contains(Modifier.STATIC) && !canInstantiate) {
+                    warning("Ignoring bad " + kind + " on type: " + classElement.getQualifiedName() + " method: " + method
+                            + " as the type cannot be instantiated");
+                } else {
+                    methods.add(converter);
+                }
+            }
+            TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) typeUtils.asElement(superclass) : null;
+        }
+
+        if (methods.isEmpty()) {
+            return;
+        }
+
+        PackageElement packageElement = elementUtils.getPackageOf(classElement);
+        String packageName = packageElement.getQualifiedName().toString();
+        String className = classElement.getQualifiedName().toString();
+        // flatten the name of nested classes
+        String simpleName = (packageName.length() > 0 ? className.substring(packageName.length() + 1) : className).replace(".", "");
+        String loaderName = simpleName + "Loader";
+        String fqn = packageName.length() > 0 ? packageName + "." + loaderName : loaderName;
+
+        Writer out = null;
+        try {
+            out = processingEnv.getFiler().createSourceFile(fqn, classElement).openWriter();
+            PrintWriter writer = new PrintWriter(out);
+            writeLoader(writer, packageName, loaderName, className, methods);
+            writer.flush();
+            loaders.add(fqn);
+        } catch (IOException e) {
+            error("Cannot generate the type converter loader " + fqn + " for the converter type: " + className + " due " + e.getMessage());
+        } finally {
+            IOHelper.close(out);
+        }
+    }
+
+    protected void writeLoader(PrintWriter writer, String packageName, String loaderName, String className, List<ConverterMethod> methods) {
+        Types typeUtils = processingEnv.getTypeUtils();
+
+        if (packageName.length() > 0) {
+            writer.println("package " + packageName + ";");
+            writer.println();
+        }
+        writer.println("/**");
+        writer.println(" * Type converter loader for the {@link " + className + "} type converters.");
+        writer.println(" * <p/>");
+        writer.println(" * Generated by camel-apt - do NOT edit this file!");
+        writer.println(" */");
+        writer.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        writer.println("public final class " + loaderName + " extends org.apache.camel.impl.converter.GeneratedTypeConverterLoaderSupport {");
+        writer.println();
+        writer.println("    public " + loaderName + "() {");
+        writer.println("        super(" + className + ".class);");
+        writer.println("    }");
+        writer.println();
+        writer.println("    @Override");
+        writer.println("    public void load(" + TYPE_CONVERTER_REGISTRY + " registry) throws org.apache.camel.TypeConverterLoaderException {");
+        for (int i = 0; i < methods.size(); i++) {
+            ConverterMethod converter = methods.get(i);
+            if (converter.fallback) {
+                writer.println("        addFallbackTypeConverter(registry, " + i + ", " + converter.allowNull + ", " + converter.canPromote + ");");
+            } else {
+                String toType = typeUtils.erasure(converter.method.getReturnType()).toString();
+                String fromType = typeUtils.erasure(converter.method.getParameters().get(0).asType()).toString();
+                writer.println("        addTypeConverter(registry, " + toType + ".class, " + fromType + ".class, " + i + ", " + converter.allowNull + ");");
+            }
+        }
+        writer.println("    }");
+        writer.println();
+        writer.println("    @Override");
+        writer.println("    protected Object convertTo(int index, Class<?> type, " + EXCHANGE + " exchange, Object value, "
+                + TYPE_CONVERTER_REGISTRY + " registry) throws Exception {");
+        writer.println("        switch (index) {");
+        for (int i = 0; i < methods.size(); i++) {
+            ConverterMethod converter = methods.get(i);
+            List<? extends VariableElement> parameters = converter.method.getParameters();
+            List<String> arguments = new ArrayList<String>();
+            if (converter.fallback) {
+                arguments.add(cast(parameters.get(0), "type", Class.class.getName()));
+                if (parameters.size() == 4) {
+                    arguments.add(cast(parameters.get(1), "exchange", EXCHANGE));
+                }
+                arguments.add(cast(parameters.get(parameters.size() - 2), "value", Object.class.getName()));
+                arguments.add(cast(parameters.get(parameters.size() - 1), "registry", TYPE_CONVERTER_REGISTRY));
+            } else {
+                arguments.add(cast(parameters.get(0), "value", Object.class.getName()));
+                if (parameters.size() == 2) {
+                    arguments.add(cast(parameters.get(1), "exchange", EXCHANGE));
+                }
+            }
+            String target = converter.method.getModifiers().contains(Modifier.STATIC)
+                    ? className : "((" + className + ") getInstance(registry))";
+            writer.println("        case " + i + ":");
+            writer.println("            return " + target + "." + converter.method.getSimpleName() + "(" + join(arguments) + ");");
+        }
+        writer.println("        default:");
+        writer.println("            throw new IllegalArgumentException(\"Unknown type converter with index: \" + index);");
+        writer.println("        }");
+        writer.println("    }");
+        writer.println("}");
+    }
+
+    protected void writeIndex() {
+        final String fileName = core ? META_INF_CORE_LOADERS : META_INF_LOADERS;
+
+        // keep the existing loaders in case only some of the sources was compiled
+        String text = null;
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", fileName);
+            InputStream is = resource.openInputStream();
+            try {
+                text = loadText(is, true);
+            } finally {
+                IOHelper.close(is);
+            }
+        } catch (IOException e) {
+            // no existing file
+        } catch (IllegalArgumentException e) {
+            // ignore
+        }
+        if (text != null) {
+            for (String line : text.split("\n")) {
+                line = line.trim();
+                if (line.length() > 0 && processingEnv.getElementUtils().getTypeElement(line) != null) {
+                    loaders.add(line);
+                }
+            }
+        }
+
+        Func1<PrintWriter, Void> handler = new Func1<PrintWriter, Void>() {
+            @Override
+            public Void call(PrintWriter writer) {
+                writer.println("# Generated by camel-apt - do NOT edit this file!");
+                for (String loader : loaders) {
+                    writer.println(loader);
+                }
+                return null;
+            }
+        };
+        processFile("", fileName, handler);
+    }
+
+    protected boolean isValidConverterMethod(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        return parameters.size() == 1 || (parameters.size() == 2 && isAssignable(parameters.get(1), EXCHANGE));
+    }
+
+    protected boolean isValidFallbackConverterMethod(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        return (parameters.size() == 3 || (parameters.size() == 4 && isAssignable(parameters.get(1), EXCHANGE)))
+                && isAssignable(parameters.get(parameters.size() - 1), TYPE_CONVERTER_REGISTRY);
+    }
+
+    /**
+     * Whether the parameter is of the given type, or a sub type
+     */
+    private boolean isAssignable(VariableElement parameter, String typeName) {
+        Types typeUtils = processingEnv.getTypeUtils();
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(typeName);
+        return type != null && typeUtils.isAssignable(typeUtils.erasure(parameter.asType()), typeUtils.erasure(type.asType()));
+    }
+
+    /**
+     * Finds the given annotation on the method, either directly or as a meta annotation
+     */
+    private AnnotationMirror findConverterAnnotation(ExecutableElement method, String annotationName) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationName.equals(annotationType.getQualifiedName().toString())) {
+                return annotation;
+            }
+            for (AnnotationMirror meta : annotationType.getAnnotationMirrors()) {
+                if (annotationName.equals(((TypeElement) meta.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                    return meta;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the boolean value of the annotation, which is only used if the annotation is present directly (not as meta annotation)
+     */
+    private boolean getBooleanValue(AnnotationMirror annotation, String annotationName, String name) {
+        DeclaredType annotationType = annotation.getAnnotationType();
+        if (!annotationName.equals(((TypeElement) annotationType.asElement()).getQualifiedName().toString())) {
+            return false;
+        }
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (name.equals(entry.getKey().getSimpleName().toString())) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Casts the variable with the given name and declared type to the type of the parameter, if the types differ
+     */
+    private String cast(VariableElement parameter, String name, String declaredType) {
+        TypeMirror type = processingEnv.getTypeUtils().erasure(parameter.asType());
+        if (type.getKind().isPrimitive()) {
+            // the value is boxed so cast to the wrapper type and let the compiler unbox the value
+            type = processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType();
+        }
+        String typeName = type.toString();
+        return typeName.equals(declaredType) ? name : "(" + typeName + ") " + name;
+    }
+
+    private static String join(List<String> arguments) {
+        CollectionStringBuffer buffer = new CollectionStringBuffer(", ");
+        for (String argument : arguments) {
+            buffer.append(argument);
+        }
+        return buffer.toString();
+    }
+
+    private static final class ConverterMethod {
+        private final ExecutableElement method;
+        private final boolean fallback;
+        private boolean allowNull;
+        private boolean canPromote;
+
+        private ConverterMethod(ExecutableElement method, boolean fallback) {
+            this.method = method;
+            this.fallback = fallback;
+        }
+    }
+}
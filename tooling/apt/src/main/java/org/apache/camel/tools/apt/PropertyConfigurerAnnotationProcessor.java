@@ -0,0 +1,331 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import org.apache.camel.spi.UriEndpoint;
+import org.apache.camel.spi.UriParams;
+
+/**
+ * Processes all Camel {@link UriEndpoint}s and {@link UriParams} classes and generate a property configurer for
+ * each class, which sets and gets the options using direct calls to the setter and getter methods instead of reflection.
+ * <p/>
+ * The configurers are listed in the <tt>META-INF/services/org/apache/camel/configurer/</tt> directory using the
+ * FQN class name of the endpoint, which is where <tt>IntrospectionSupport</tt> looks for them.
+ * <p/>
+ * This processor does not claim the annotations, so the {@link EndpointAnnotationProcessor} must be
+ * listed after this processor.
+ */
+@SupportedAnnotationTypes({"org.apache.camel.spi.UriEndpoint", "org.apache.camel.spi.UriParams"})
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class PropertyConfigurerAnnotationProcessor extends AbstractAnnotationProcessor {
+
+    private static final String META_INF_CONFIGURERS = "META-INF/services/org/apache/camel/configurer/";
+
+    private final Set<String> processed = new HashSet<String>();
+
+    public boolean process(Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+
+        Set<Element> elements = new HashSet<Element>();
+        elements.addAll(roundEnv.getElementsAnnotatedWith(UriEndpoint.class));
+        elements.addAll(roundEnv.getElementsAnnotatedWith(UriParams.class));
+        for (Element element : elements) {
+            if (element.getKind() == ElementKind.CLASS) {
+                TypeElement classElement = (TypeElement) element;
+                if (processed.add(classElement.getQualifiedName().toString())) {
+                    processConfigurerClass(classElement);
+                }
+            }
+        }
+        // let the endpoint annotation processor process the annotations as well
+        return false;
+    }
+
+    protected void processConfigurerClass(TypeElement classElement) {
+        Elements elementUtils = processingEnv.getElementUtils();
+        Types typeUtils = processingEnv.getTypeUtils();
+
+        // only the concrete classes are configured, as the configurer is looked up using the class of the bean
+        if (classElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+        boolean accessible = !classElement.getNestingKind().isNested() || classElement.getModifiers().contains(Modifier.STATIC);
+        for (Element type = classElement; type.getKind().isClass(); type = type.getEnclosingElement()) {
+            accessible &= !type.getModifiers().contains(Modifier.PRIVATE);
+        }
+        if (!accessible) {
+            warning("Ignoring type: " + classElement.getQualifiedName() + " as it cannot be used by the generated property configurer");
+            return;
+        }
+
+        String packageName = elementUtils.getPackageOf(classElement).getQualifiedName().toString();
+
+        // find the public setter and getter methods the same way as IntrospectionSupport does using reflection
+        Map<String, List<ExecutableElement>> setters = new TreeMap<String, List<ExecutableElement>>();
+        Map<String, ExecutableElement> getters = new TreeMap<String, ExecutableElement>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elementUtils.getAllMembers(classElement))) {
+            TypeElement declaringClass = (TypeElement) method.getEnclosingElement();
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || "java.lang.Object".equals(declaringClass.getQualifiedName().toString())) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            if (isSetter(method)) {
+                List<ExecutableElement> methods = setters.get(name);
+                if (methods == null) {
+                    methods = new ArrayList<ExecutableElement>();
+                    setters.put(name, methods);
+                }
+                // the same method may be inherited from both a class and an interface
+                if (!containsSameParameterType(methods, method)) {
+                    methods.add(method);
+                }
+            } else if (isGetter(method) && !getters.containsKey(name)) {
+                getters.put(name, method);
+            }
+        }
+
+        // the options which can be set without reflection must have exactly one setter method
+        Map<String, ExecutableElement> options = new TreeMap<String, ExecutableElement>();
+        Set<String> writableProperties = new HashSet<String>();
+        for (Map.Entry<String, List<ExecutableElement>> entry : setters.entrySet()) {
+            for (ExecutableElement setter : entry.getValue()) {
+                if (setter.getReturnType().getKind() == TypeKind.VOID) {
+                    writableProperties.add(getShorthandName(setter));
+                }
+            }
+            if (entry.getValue().size() == 1) {
+                ExecutableElement setter = entry.getValue().get(0);
+                TypeMirror parameterType = typeUtils.erasure(setter.getParameters().get(0).asType());
+                if (setter.getReturnType().getKind() == TypeKind.VOID && !setter.getModifiers().contains(Modifier.STATIC)
+                        && isAccessible(parameterType, packageName)) {
+                    options.put(entry.getKey().substring(3), setter);
+                }
+            }
+        }
+
+        // the properties which can be read must have both a getter and a setter method
+        Map<String, ExecutableElement> properties = new TreeMap<String, ExecutableElement>();
+        for (ExecutableElement getter : getters.values()) {
+            String name = getShorthandName(getter);
+            if (writableProperties.contains(name) && !properties.containsKey(name)) {
+                properties.put(name, getter);
+            }
+        }
+
+        if (options.isEmpty() && properties.isEmpty()) {
+            return;
+        }
+
+        String className = classElement.getQualifiedName().toString();
+        // flatten the name of nested classes
+        String simpleName = (packageName.length() > 0 ? className.substring(packageName.length() + 1) : className).replace(".", "");
+        String configurerName = simpleName + "Configurer";
+        final String fqn = packageName.length() > 0 ? packageName + "." + configurerName : configurerName;
+
+        Writer out = null;
+        try {
+            out = processingEnv.getFiler().createSourceFile(fqn, classElement).openWriter();
+            PrintWriter writer = new PrintWriter(out);
+            writeConfigurer(writer, packageName, configurerName, className, options, properties);
+            writer.flush();
+        } catch (IOException e) {
+            warning("Cannot generate the property configurer " + fqn + " for the type: " + className + " due " + e.getMessage());
+            return;
+        } finally {
+            IOHelper.close(out);
+        }
+
+        // the configurer is looked up using the binary name of the class, which is the name used by Class.getName()
+        String fileName = META_INF_CONFIGURERS + elementUtils.getBinaryName(classElement);
+        Func1<PrintWriter, Void> handler = new Func1<PrintWriter, Void>() {
+            @Override
+            public Void call(PrintWriter writer) {
+                writer.println("# Generated by camel-apt - do NOT edit this file!");
+                writer.println("class=" + fqn);
+                return null;
+            }
+        };
+        processFile("", fileName, handler);
+    }
+
+    protected void writeConfigurer(PrintWriter writer, String packageName, String configurerName, String className,
+                                   Map<String, ExecutableElement> options, Map<String, ExecutableElement> properties) {
+        Types typeUtils = processingEnv.getTypeUtils();
+
+        if (packageName.length() > 0) {
+            writer.println("package " + packageName + ";");
+            writer.println();
+        }
+        writer.println("import java.util.Map;");
+        writer.println();
+        writer.println("import org.apache.camel.TypeConverter;");
+        writer.println("import org.apache.camel.spi.PropertyConfigurer;");
+        writer.println("import org.apache.camel.spi.PropertyConfigurerGetter;");
+        writer.println();
+        writer.println("import static org.apache.camel.util.IntrospectionSupport.convertPropertyValue;");
+        writer.println();
+        writer.println("/**");
+        writer.println(" * Property configurer for {@link " + className + "}.");
+        writer.println(" * <p/>");
+        writer.println(" * Generated by camel-apt - do NOT edit this file!");
+        writer.println(" */");
+        writer.println("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\"})");
+        writer.println("public final class " + configurerName + " implements PropertyConfigurer, PropertyConfigurerGetter {");
+        writer.println();
+        writer.println("    @Override");
+        writer.println("    public boolean configure(TypeConverter typeConverter, Object target, String name, Object value) throws Exception {");
+        writer.println("        " + className + " bean = (" + className + ") target;");
+        writer.println("        switch (name) {");
+        for (Map.Entry<String, ExecutableElement> entry : options.entrySet()) {
+            String propertyName = entry.getKey();
+            ExecutableElement setter = entry.getValue();
+            // the property name can be given with or without the first letter in upper case
+            Set<String> names = new TreeSet<String>();
+            names.add(propertyName);
+            names.add(propertyName.substring(0, 1).toLowerCase(Locale.ENGLISH) + propertyName.substring(1));
+            for (String name : names) {
+                writer.println("        case \"" + name + "\":");
+            }
+            String parameterType = typeUtils.erasure(setter.getParameters().get(0).asType()).toString();
+            writer.println("            bean." + setter.getSimpleName() + "(convertPropertyValue(typeConverter, " + parameterType + ".class, name, value));");
+            writer.println("            return true;");
+        }
+        writer.println("        default:");
+        writer.println("            return false;");
+        writer.println("        }");
+        writer.println("    }");
+        writer.println();
+        writer.println("    @Override");
+        writer.println("    public boolean getProperties(Object target, Map<String, Object> properties, String optionPrefix, boolean includeNull) {");
+        writer.println("        " + className + " bean = (" + className + ") target;");
+        writer.println("        boolean answer = false;");
+        writer.println("        Object value;");
+        for (Map.Entry<String, ExecutableElement> entry : properties.entrySet()) {
+            ExecutableElement getter = entry.getValue();
+            String instance = getter.getModifiers().contains(Modifier.STATIC) ? className : "bean";
+            writer.println("        try {");
+            writer.println("            value = " + instance + "." + getter.getSimpleName() + "();");
+            writer.println("            if (value != null || includeNull) {");
+            writer.println("                properties.put(optionPrefix + \"" + entry.getKey() + "\", value);");
+            writer.println("                answer = true;");
+            writer.println("            }");
+            writer.println("        } catch (Exception e) {");
+            writer.println("            // ignore the same way as when using reflection");
+            writer.println("        }");
+        }
+        writer.println("        return answer;");
+        writer.println("    }");
+        writer.println();
+        writer.println("}");
+    }
+
+    private boolean containsSameParameterType(List<ExecutableElement> methods, ExecutableElement method) {
+        Types typeUtils = processingEnv.getTypeUtils();
+        TypeMirror parameterType = typeUtils.erasure(method.getParameters().get(0).asType());
+        for (ExecutableElement other : methods) {
+            if (typeUtils.isSameType(parameterType, typeUtils.erasure(other.getParameters().get(0).asType()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the type can be referred to from the generated configurer in the given package
+     */
+    private boolean isAccessible(TypeMirror type, String packageName) {
+        while (type.getKind() == TypeKind.ARRAY) {
+            type = ((ArrayType) type).getComponentType();
+        }
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        String typePackageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+        for (; element.getKind().isClass() || element.getKind().isInterface(); element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!modifiers.contains(Modifier.PUBLIC) && !packageName.equals(typePackageName))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the method is a setter, which is a <tt>setXXX</tt> method with one parameter, including the builder pattern
+     */
+    private static boolean isSetter(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        return name.length() > 3 && name.startsWith("set") && Character.isUpperCase(name.charAt(3))
+                && method.getParameters().size() == 1;
+    }
+
+    /**
+     * Whether the method is a getter, which is a <tt>getXXX</tt> method, or a <tt>isXXX</tt> method returning a boolean
+     */
+    private static boolean isGetter(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        TypeMirror type = method.getReturnType();
+        if (!method.getParameters().isEmpty() || type.getKind() == TypeKind.VOID) {
+            return false;
+        }
+        if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+            return true;
+        }
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))
+                && (type.getKind() == TypeKind.BOOLEAN || "java.lang.Boolean".equals(type.toString()));
+    }
+
+    private static String getShorthandName(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        name = name.startsWith("is") ? name.substring(2) : name.substring(3);
+        return name.substring(0, 1).toLowerCase(Locale.ENGLISH) + name.substring(1);
+    }
+}
@@ -0,0 +1,370 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.EndpointRequiredDefinition;
+import org.apache.camel.model.FromDefinition;
+import org.apache.camel.model.ModelHelper;
+import org.apache.camel.model.ProcessorDefinitionHelper;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.util.CamelContextHelper;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.IntrospectionSupport;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Validates the routes in the XML files of the project ahead of time, and generates
+ * {@link org.apache.camel.spi.PropertyConfigurer}s for the endpoints used by the routes.
+ * <p/>
+ * The routes are validated by resolving their endpoints, which fails on unknown components and unknown options
+ * the same way as when the routes are started. The generated configurers set the endpoint options using
+ * direct method calls, which avoids reflection when the routes are started.
+ * <p/>
+ * Endpoints with placeholders in their uri cannot be resolved ahead of time, and are skipped.
+ *
+ * @goal prepare-routes
+ * @phase generate-sources
+ * @requiresDependencyResolution compile
+ */
+public class PrepareRoutesMojo extends AbstractMojo {
+
+    private static final String SPRING_NAMESPACE = "http://camel.apache.org/schema/spring";
+    private static final String BLUEPRINT_NAMESPACE = "http://camel.apache.org/schema/blueprint";
+
+    /**
+     * The maven project.
+     *
+     * @parameter property="project"
+     * @required
+     * @readonly
+     */
+    protected MavenProject project;
+
+    /**
+     * The directory with the XML files which contains the routes.
+     *
+     * @parameter property="camel.routesDirectory"
+     *            default-value="${basedir}/src/main/resources"
+     */
+    protected File routesDirectory;
+
+    /**
+     * The output directory for the generated configurers.
+     *
+     * @parameter default-value="${project.build.directory}/generated-sources/camel"
+     */
+    protected File outputDirectory;
+
+    /**
+     * The output directory for the generated resource files which lists the configurers.
+     *
+     * @parameter default-value="${project.build.directory}/generated-resources/camel"
+     */
+    protected File resourcesOutputDirectory;
+
+    /**
+     * The package name of the generated configurers, which is by default the group id of the project
+     * with <tt>.configurer</tt> appended.
+     *
+     * @parameter property="camel.configurerPackage"
+     */
+    protected String configurerPackage;
+
+    /**
+     * Whether to fail the build if a route is not valid.
+     *
+     * @parameter property="camel.failOnError"
+     *            default-value="true"
+     */
+    protected boolean failOnError;
+
+    /**
+     * Whether to generate the configurers for the endpoints.
+     *
+     * @parameter property="camel.generateConfigurers"
+     *            default-value="true"
+     */
+    protected boolean generateConfigurers;
+
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        List<File> files = new ArrayList<File>();
+        findXmlFiles(routesDirectory, files);
+        if (files.isEmpty()) {
+            getLog().info("No XML files found in: " + routesDirectory);
+            return;
+        }
+
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        DefaultCamelContext context = new DefaultCamelContext();
+        try {
+            ClassLoader classLoader = createClassLoader();
+            Thread.currentThread().setContextClassLoader(classLoader);
+            context.setApplicationContextClassLoader(classLoader);
+            context.disableJMX();
+
+            Map<String, RouteDefinition> routes = new LinkedHashMap<String, RouteDefinition>();
+            for (File file : files) {
+                loadRoutes(file, routes);
+            }
+            getLog().info("Validating " + routes.size() + " routes from " + files.size() + " XML files in: " + routesDirectory);
+
+            Set<Class<?>> types = new HashSet<Class<?>>();
+            List<String> errors = new ArrayList<String>();
+            for (Map.Entry<String, RouteDefinition> entry : routes.entrySet()) {
+                validateRoute(context, entry.getKey(), entry.getValue(), types, errors);
+            }
+            if (!errors.isEmpty()) {
+                for (String error : errors) {
+                    getLog().error(error);
+                }
+                if (failOnError) {
+                    throw new MojoFailureException("Found " + errors.size() + " invalid endpoints in the routes. See the log for details.");
+                }
+            }
+
+            if (generateConfigurers) {
+                generateConfigurers(classLoader, types);
+            }
+        } catch (MojoFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Cannot prepare the routes due " + e.getMessage(), e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+            try {
+                context.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    // Implementation methods
+    //-------------------------------------------------------------------------
+
+    protected void findXmlFiles(File dir, List<File> files) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                findXmlFiles(child, files);
+            } else if (child.getName().endsWith(".xml")) {
+                files.add(child);
+            }
+        }
+    }
+
+    /**
+     * Loads the routes from the XML file, which can be a file with routes, or a Spring or Blueprint XML file
+     * with a <tt>camelContext</tt> or <tt>routeContext</tt>.
+     */
+    protected void loadRoutes(File file, Map<String, RouteDefinition> routes) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document;
+        try {
+            document = factory.newDocumentBuilder().parse(file);
+        } catch (Exception e) {
+            getLog().debug("Skipping file: " + file + " as it cannot be parsed as XML due " + e.getMessage());
+            return;
+        }
+
+        List<Element> elements = new ArrayList<Element>();
+        findRouteElements(document.getDocumentElement(), elements);
+        if (elements.isEmpty()) {
+            return;
+        }
+
+        Unmarshaller unmarshaller = ModelHelper.createJaxbContext().createUnmarshaller();
+        for (int i = 0; i < elements.size(); i++) {
+            RouteDefinition route = unmarshal(unmarshaller, elements.get(i));
+            String name = file.getName() + ":" + (route.getId() != null ? route.getId() : "route" + (i + 1));
+            routes.put(name, route);
+        }
+    }
+
+    /**
+     * Finds the <tt>route</tt> elements in the Spring or Blueprint namespace.
+     */
+    protected void findRouteElements(Element element, List<Element> elements) {
+        String namespace = element.getNamespaceURI();
+        if ("route".equals(element.getLocalName()) && (SPRING_NAMESPACE.equals(namespace) || BLUEPRINT_NAMESPACE.equals(namespace))) {
+            elements.add(element);
+            return;
+        }
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element) {
+                findRouteElements((Element) child, elements);
+            }
+        }
+    }
+
+    private RouteDefinition unmarshal(Unmarshaller unmarshaller, Element element) throws JAXBException {
+        // the model uses the spring namespace so blueprint routes must be renamed
+        renameNamespace(element, BLUEPRINT_NAMESPACE, SPRING_NAMESPACE);
+        return unmarshaller.unmarshal(element, RouteDefinition.class).getValue();
+    }
+
+    private static void renameNamespace(Element element, String from, String to) {
+        if (from.equals(element.getNamespaceURI())) {
+            element = (Element) element.getOwnerDocument().renameNode(element, to, element.getLocalName());
+        }
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element) {
+                renameNamespace((Element) child, from, to);
+            }
+        }
+    }
+
+    /**
+     * Validates the route by resolving the endpoints, and gathers the classes of the endpoints.
+     */
+    protected void validateRoute(DefaultCamelContext context, String name, RouteDefinition route, Set<Class<?>> types, List<String> errors) {
+        List<String> uris = new ArrayList<String>();
+        for (FromDefinition from : route.getInputs()) {
+            uris.add(from.getUri());
+        }
+        Iterator<EndpointRequiredDefinition> it = ProcessorDefinitionHelper.filterTypeInOutputs(route.getOutputs(), EndpointRequiredDefinition.class);
+        while (it.hasNext()) {
+            uris.add(it.next().getEndpointUri());
+        }
+
+        for (String uri : uris) {
+            if (uri == null || uri.startsWith("ref:")) {
+                // the endpoint is a reference to a bean which is not available ahead of time
+                continue;
+            }
+            if (uri.contains("{{")) {
+                getLog().debug("Skipping endpoint: " + uri + " in route: " + name + " as the uri has placeholders");
+                continue;
+            }
+            try {
+                Endpoint endpoint = CamelContextHelper.getMandatoryEndpoint(context, uri);
+                types.add(endpoint.getClass());
+            } catch (Exception e) {
+                errors.add("Invalid endpoint: " + uri + " in route: " + name + " due " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Generates the configurers for the given classes, unless a configurer exists already on the classpath
+     */
+    protected void generateConfigurers(ClassLoader classLoader, Set<Class<?>> types) throws IOException {
+        String packageName = configurerPackage;
+        if (packageName == null) {
+            packageName = project.getGroupId().replaceAll("[^A-Za-z0-9_.]", "_") + ".configurer";
+        }
+        PropertyConfigurerGenerator generator = new PropertyConfigurerGenerator(packageName);
+
+        Set<String> classNames = new HashSet<String>();
+        int count = 0;
+        for (Class<?> type : types) {
+            String resourceName = IntrospectionSupport.CONFIGURER_RESOURCE_PATH + type.getName();
+            if (classLoader.getResource(resourceName) != null) {
+                getLog().debug("Using the existing configurer for: " + type.getName());
+                continue;
+            }
+            if (!generator.canGenerate(type)) {
+                getLog().debug("Cannot generate configurer for: " + type.getName());
+                continue;
+            }
+
+            // ensure the name is unique in case there are classes with the same simple name
+            String className = type.getSimpleName() + "Configurer";
+            for (int i = 2; !classNames.add(className); i++) {
+                className = type.getSimpleName() + i + "Configurer";
+            }
+
+            File sourceFile = new File(outputDirectory, packageName.replace('.', File.separatorChar) + File.separator + className + ".java");
+            writeFile(sourceFile, generator.generate(type, className));
+
+            File resourceFile = new File(resourcesOutputDirectory, resourceName);
+            writeFile(resourceFile, "# Generated by camel-maven-plugin - do NOT edit this file!\nclass=" + packageName + "." + className + "\n");
+            count++;
+        }
+        getLog().info("Generated " + count + " configurers for " + types.size() + " endpoints in: " + outputDirectory);
+
+        project.addCompileSourceRoot(outputDirectory.getPath());
+        Resource resource = new Resource();
+        resource.setDirectory(resourcesOutputDirectory.getPath());
+        project.addResource(resource);
+    }
+
+    private static void writeFile(File file, String text) throws IOException {
+        file.getParentFile().mkdirs();
+        // the generated files are always UTF-8 regardless of the platform encoding
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(text);
+        } finally {
+            IOHelper.close(writer);
+        }
+    }
+
+    protected ClassLoader createClassLoader() throws Exception {
+        List<?> elements = project.getCompileClasspathElements();
+        getLog().debug("Using classpath: " + elements);
+        List<URL> urls = new ArrayList<URL>();
+        for (Object element : elements) {
+            try {
+                urls.add(new File((String) element).toURI().toURL());
+            } catch (MalformedURLException e) {
+                throw new MojoExecutionException("Invalid classpath element: " + element, e);
+            }
+        }
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), getClass().getClassLoader());
+    }
+}
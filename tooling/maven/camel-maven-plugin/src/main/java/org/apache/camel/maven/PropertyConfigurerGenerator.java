@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates the source code of a {@link org.apache.camel.spi.PropertyConfigurer} for a given class, which sets
+ * the properties using direct calls to the public setter methods of the class.
+ * <p/>
+ * Properties with overloaded setter methods are not included, as the best setter method to use depends on the value,
+ * and those properties are set using reflection as usual.
+ */
+public class PropertyConfigurerGenerator {
+
+    private final String packageName;
+
+    public PropertyConfigurerGenerator(String packageName) {
+        this.packageName = packageName;
+    }
+
+    /**
+     * Whether a configurer can be generated for the given class
+     */
+    public boolean canGenerate(Class<?> type) {
+        return isAccessible(type) && !findSetters(type).isEmpty();
+    }
+
+    /**
+     * Generates the source code of the configurer
+     *
+     * @param type      the class to configure
+     * @param className the simple class name of the configurer
+     * @return the source code
+     */
+    public String generate(Class<?> type, String className) {
+        String typeName = type.getCanonicalName();
+
+        StringBuilder sb = new StringBuilder();
+        if (packageName.length() > 0) {
+            sb.append("package ").append(packageName).append(";\n");
+            sb.append("\n");
+        }
+        sb.append("import org.apache.camel.TypeConverter;\n");
+        sb.append("import org.apache.camel.spi.PropertyConfigurer;\n");
+        sb.append("\n");
+        sb.append("import static org.apache.camel.util.IntrospectionSupport.convertPropertyValue;\n");
+        sb.append("\n");
+        sb.append("/**\n");
+        sb.append(" * Configurer for {@link ").append(typeName).append("}.\n");
+        sb.append(" * <p/>\n");
+        sb.append(" * Generated by camel-maven-plugin - do NOT edit this file!\n");
+        sb.append(" */\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\"})\n");
+        sb.append("public final class ").append(className).append(" implements PropertyConfigurer {\n");
+        sb.append("\n");
+        sb.append("    @Override\n");
+        sb.append("    public boolean configure(TypeConverter typeConverter, Object target, String name, Object value) throws Exception {\n");
+        sb.append("        ").append(typeName).append(" bean = (").append(typeName).append(") target;\n");
+        sb.append("        switch (name) {\n");
+        for (Method setter : findSetters(type).values()) {
+            String propertyName = setter.getName().substring(3);
+            // the property name can be given with or without the first letter in upper case
+            Set<String> names = new TreeSet<String>();
+            names.add(propertyName);
+            names.add(Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1));
+            for (String name : names) {
+                sb.append("        case \"").append(name).append("\":\n");
+            }
+            String parameterType = setter.getParameterTypes()[0].getCanonicalName();
+            sb.append("            bean.").append(setter.getName()).append("(convertPropertyValue(typeConverter, ")
+                .append(parameterType).append(".class, name, value));\n");
+            sb.append("            return true;\n");
+        }
+        sb.append("        default:\n");
+        sb.append("            return false;\n");
+        sb.append("        }\n");
+        sb.append("    }\n");
+        sb.append("\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Finds the public setter methods, which are not overloaded, sorted by their name
+     */
+    protected Map<String, Method> findSetters(Class<?> type) {
+        Map<String, List<Method>> candidates = new TreeMap<String, List<Method>>();
+        for (Method method : type.getMethods()) {
+            if (isSetter(method)) {
+                List<Method> methods = candidates.get(method.getName());
+                if (methods == null) {
+                    methods = new ArrayList<Method>();
+                    candidates.put(method.getName(), methods);
+                }
+                methods.add(method);
+            }
+        }
+
+        Map<String, Method> answer = new TreeMap<String, Method>();
+        for (Map.Entry<String, List<Method>> entry : candidates.entrySet()) {
+            if (entry.getValue().size() == 1) {
+                Method method = entry.getValue().get(0);
+                Class<?> parameterType = method.getParameterTypes()[0];
+                // the parameter type must be accessible from the generated configurer
+                Class<?> componentType = parameterType;
+                while (componentType.isArray()) {
+                    componentType = componentType.getComponentType();
+                }
+                if (componentType.isPrimitive() || isAccessible(componentType)) {
+                    answer.put(entry.getKey(), method);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Whether the class can be referred to from the generated configurer
+     */
+    private static boolean isAccessible(Class<?> type) {
+        if (type.getCanonicalName() == null) {
+            // an anonymous or local class
+            return false;
+        }
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getEnclosingClass()) {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSetter(Method method) {
+        String name = method.getName();
+        return name.length() > 3 && name.startsWith("set") && Character.isUpperCase(name.charAt(3))
+                && method.getParameterTypes().length == 1 && method.getReturnType() == Void.TYPE
+                && !Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+    }
+}
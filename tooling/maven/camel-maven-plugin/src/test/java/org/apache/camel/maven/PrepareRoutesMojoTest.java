@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import org.apache.camel.component.direct.DirectEndpoint;
+import org.apache.camel.component.log.LogEndpoint;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.component.seda.SedaEndpoint;
+import org.apache.camel.component.timer.TimerEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteDefinition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link PrepareRoutesMojo}
+ */
+public class PrepareRoutesMojoTest {
+
+    private static final File SPRING_ROUTES = new File("src/test/resources/org/apache/camel/maven/spring-routes.xml");
+    private static final File BLUEPRINT_ROUTES = new File("src/test/resources/org/apache/camel/maven/blueprint-routes.xml");
+
+    private final PrepareRoutesMojo mojo = new PrepareRoutesMojo();
+    private DefaultCamelContext context;
+
+    @Before
+    public void setUp() throws Exception {
+        context = new DefaultCamelContext();
+        context.disableJMX();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.stop();
+    }
+
+    @Test
+    public void testFindRouteElementsSpring() throws Exception {
+        List<Element> elements = findRouteElements(SPRING_ROUTES);
+
+        // the routes in the routeContext and the camelContext
+        assertEquals(3, elements.size());
+        assertEquals("audit", elements.get(0).getAttribute("id"));
+        assertEquals("orders", elements.get(1).getAttribute("id"));
+    }
+
+    @Test
+    public void testFindRouteElementsBlueprint() throws Exception {
+        List<Element> elements = findRouteElements(BLUEPRINT_ROUTES);
+
+        assertEquals(2, elements.size());
+        assertEquals("timer", elements.get(0).getAttribute("id"));
+        assertEquals("unknown", elements.get(1).getAttribute("id"));
+    }
+
+    @Test
+    public void testValidateSpringRoutes() throws Exception {
+        Map<String, RouteDefinition> routes = new LinkedHashMap<String, RouteDefinition>();
+        mojo.loadRoutes(SPRING_ROUTES, routes);
+        assertEquals("[spring-routes.xml:audit, spring-routes.xml:orders, spring-routes.xml:route3]", routes.keySet().toString());
+
+        Set<Class<?>> types = new HashSet<Class<?>>();
+        List<String> errors = new ArrayList<String>();
+        for (Map.Entry<String, RouteDefinition> entry : routes.entrySet()) {
+            mojo.validateRoute(context, entry.getKey(), entry.getValue(), types, errors);
+        }
+
+        // the endpoints with placeholders and references are skipped
+        assertEquals(setOf(SedaEndpoint.class, LogEndpoint.class, DirectEndpoint.class, MockEndpoint.class), types);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("Invalid endpoint: seda:invalid?unknownOption=true in route: spring-routes.xml:route3"));
+        assertTrue(errors.get(0), errors.get(0).contains("unknownOption"));
+    }
+
+    @Test
+    public void testValidateBlueprintRoutes() throws Exception {
+        Map<String, RouteDefinition> routes = new LinkedHashMap<String, RouteDefinition>();
+        mojo.loadRoutes(BLUEPRINT_ROUTES, routes);
+        assertEquals("[blueprint-routes.xml:timer, blueprint-routes.xml:unknown]", routes.keySet().toString());
+
+        Set<Class<?>> types = new HashSet<Class<?>>();
+        List<String> errors = new ArrayList<String>();
+        for (Map.Entry<String, RouteDefinition> entry : routes.entrySet()) {
+            mojo.validateRoute(context, entry.getKey(), entry.getValue(), types, errors);
+        }
+
+        assertEquals(setOf(TimerEndpoint.class, LogEndpoint.class, DirectEndpoint.class), types);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("Invalid endpoint: unknown:foo in route: blueprint-routes.xml:unknown"));
+    }
+
+    private List<Element> findRouteElements(File file) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(file);
+
+        List<Element> elements = new ArrayList<Element>();
+        mojo.findRouteElements(document.getDocumentElement(), elements);
+        return elements;
+    }
+
+    private static Set<Class<?>> setOf(Class<?>... types) {
+        Set<Class<?>> answer = new HashSet<Class<?>>();
+        for (Class<?> type : types) {
+            answer.add(type);
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.PropertyConfigurer;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.IntrospectionSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link PropertyConfigurerGenerator}
+ */
+public class PropertyConfigurerGeneratorTest {
+
+    private static final String PACKAGE_NAME = "org.apache.camel.maven.configurer";
+    private static final File OUT_DIR = new File("target/configurer-test");
+
+    private final PropertyConfigurerGenerator generator = new PropertyConfigurerGenerator(PACKAGE_NAME);
+    private DefaultCamelContext context;
+    private TypeConverter typeConverter;
+
+    @Before
+    public void setUp() throws Exception {
+        FileUtil.removeDir(OUT_DIR);
+        context = new DefaultCamelContext();
+        context.disableJMX();
+        context.start();
+        typeConverter = context.getTypeConverter();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.stop();
+        IntrospectionSupport.stop();
+    }
+
+    @Test
+    public void testFindSetters() {
+        assertEquals("[setEnabled, setName, setSize, setTags, setUnit]", generator.findSetters(MyBean.class).keySet().toString());
+    }
+
+    @Test
+    public void testCanGenerate() {
+        assertTrue(generator.canGenerate(MyBean.class));
+        assertFalse("The class is not public", generator.canGenerate(MyPackageBean.class));
+        assertFalse("The class has no setters", generator.canGenerate(Object.class));
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+        String source = generator.generate(MyBean.class, "MyBeanConfigurer");
+
+        assertTrue(source.contains("case \"Name\":\n        case \"name\":\n            bean.setName("));
+        assertTrue(source.contains("bean.setSize(convertPropertyValue(typeConverter, int.class, name, value));"));
+        assertTrue(source.contains("bean.setTags(convertPropertyValue(typeConverter, java.lang.String[].class, name, value));"));
+        assertTrue(source.contains("bean.setUnit(convertPropertyValue(typeConverter, java.util.concurrent.TimeUnit.class, name, value));"));
+        // overloaded, builder style, non-public and static setters are set using reflection
+        assertFalse(source.contains("setTimeout"));
+        assertFalse(source.contains("setColor"));
+        assertFalse(source.contains("setHidden"));
+        assertFalse(source.contains("setInternal"));
+        assertFalse(source.contains("setDefaultName"));
+    }
+
+    @Test
+    public void testGeneratedConfigurerCompiles() throws Exception {
+        PropertyConfigurer configurer = compile(MyBean.class, "MyBeanConfigurer").newInstance();
+
+        MyBean bean = new MyBean();
+        assertTrue(configurer.configure(typeConverter, bean, "name", "foo"));
+        assertTrue(configurer.configure(typeConverter, bean, "Size", "123"));
+        assertTrue(configurer.configure(typeConverter, bean, "enabled", "true"));
+        assertTrue(configurer.configure(typeConverter, bean, "unit", "SECONDS"));
+        assertEquals("foo", bean.getName());
+        assertEquals(123, bean.getSize());
+        assertTrue(bean.isEnabled());
+        assertEquals(java.util.concurrent.TimeUnit.SECONDS, bean.getUnit());
+
+        // not known by the configurer
+        assertFalse(configurer.configure(typeConverter, bean, "timeout", 5000L));
+        assertFalse(configurer.configure(typeConverter, bean, "color", "red"));
+        assertFalse(configurer.configure(typeConverter, bean, "unknown", "bar"));
+    }
+
+    @Test
+    public void testResolvePropertyConfigurer() throws Exception {
+        Class<? extends PropertyConfigurer> type = compile(MyResolvedBean.class, "MyResolvedBeanConfigurer");
+        // list the configurer the same way as the prepare-routes goal
+        write(new File(OUT_DIR, "classes/" + IntrospectionSupport.CONFIGURER_RESOURCE_PATH + MyResolvedBean.class.getName()),
+                "class=" + type.getName() + "\n");
+
+        // the configurer is looked up using the thread context class loader, as it is not in the JAR of the bean
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(type.getClassLoader());
+        try {
+            PropertyConfigurer configurer = IntrospectionSupport.resolvePropertyConfigurer(MyResolvedBean.class);
+            assertNotNull(configurer);
+            assertEquals(type.getName(), configurer.getClass().getName());
+            // the configurer is cached
+            assertTrue(configurer == IntrospectionSupport.resolvePropertyConfigurer(MyResolvedBean.class));
+
+            MyResolvedBean bean = new MyResolvedBean();
+            assertTrue(IntrospectionSupport.setProperty(typeConverter, bean, "name", "foo"));
+            assertEquals("foo", bean.getName());
+            // the overloaded setter is set using reflection
+            assertTrue(IntrospectionSupport.setProperty(typeConverter, bean, "timeout", "5000"));
+            assertEquals(5000L, bean.getTimeout());
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+        }
+
+        assertNull("Should not resolve a configurer for a class which has none", IntrospectionSupport.resolvePropertyConfigurer(MyBean.class));
+    }
+
+    /**
+     * Generates and compiles the configurer, and loads it using a new class loader
+     */
+    private Class<? extends PropertyConfigurer> compile(Class<?> beanType, String className) throws Exception {
+        File sourceFile = new File(OUT_DIR, "src/" + PACKAGE_NAME.replace('.', '/') + "/" + className + ".java");
+        write(sourceFile, generator.generate(beanType, className));
+
+        File classesDir = new File(OUT_DIR, "classes");
+        classesDir.mkdirs();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("Should run on a JDK", compiler);
+        int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDir.getPath(), sourceFile.getPath());
+        assertEquals("The generated configurer should compile", 0, result);
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toURI().toURL()}, getClass().getClassLoader());
+        return classLoader.loadClass(PACKAGE_NAME + "." + className).asSubclass(PropertyConfigurer.class);
+    }
+
+    private static void write(File file, String text) throws IOException {
+        file.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(text);
+        } finally {
+            IOHelper.close(writer);
+        }
+    }
+
+    public static class MyBean {
+        private String name;
+        private int size;
+        private boolean enabled;
+        private String[] tags;
+        private java.util.concurrent.TimeUnit unit;
+        private long timeout;
+        private String color;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public void setTags(String[] tags) {
+            this.tags = tags;
+        }
+
+        public java.util.concurrent.TimeUnit getUnit() {
+            return unit;
+        }
+
+        public void setUnit(java.util.concurrent.TimeUnit unit) {
+            this.unit = unit;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+
+        public void setTimeout(String timeout) {
+            this.timeout = Long.parseLong(timeout);
+        }
+
+        public String getColor() {
+            return color;
+        }
+
+        public MyBean setColor(String color) {
+            this.color = color;
+            return this;
+        }
+
+        protected void setHidden(String hidden) {
+        }
+
+        void setInternal(String internal) {
+        }
+
+        public static void setDefaultName(String defaultName) {
+        }
+    }
+
+    public static class MyResolvedBean {
+        private String name;
+        private long timeout;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+
+        public void setTimeout(String timeout) {
+            this.timeout = Long.parseLong(timeout);
+        }
+    }
+
+    static class MyPackageBean {
+        public void setName(String name) {
+        }
+    }
+}